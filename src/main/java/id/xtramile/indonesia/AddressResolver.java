@@ -0,0 +1,25 @@
+package id.xtramile.indonesia;
+
+import id.xtramile.indonesia.model.AddressMatch;
+
+import java.util.Optional;
+
+/**
+ * Interface for resolving free-text Indonesian addresses into the administrative hierarchy.
+ * <p>
+ * Implementations parse addresses such as "Kel. Menteng, Kec. Menteng, Jakarta Pusat, DKI Jakarta"
+ * and match their parts against provinces, cities, districts and villages.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public interface AddressResolver {
+
+    /**
+     * Resolves an address into the best matching administrative hierarchy.
+     *
+     * @param address the free-text address
+     * @return an Optional containing the best match, or empty if no administrative unit could be matched
+     */
+    Optional<AddressMatch> resolve(String address);
+}
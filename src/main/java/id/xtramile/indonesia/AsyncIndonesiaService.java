@@ -0,0 +1,401 @@
+package id.xtramile.indonesia;
+
+import id.xtramile.indonesia.model.AdministrativeLevel;
+import id.xtramile.indonesia.model.City;
+import id.xtramile.indonesia.model.Cluster;
+import id.xtramile.indonesia.model.District;
+import id.xtramile.indonesia.model.GeohashHit;
+import id.xtramile.indonesia.model.Indonesia;
+import id.xtramile.indonesia.model.NearbyHit;
+import id.xtramile.indonesia.model.Province;
+import id.xtramile.indonesia.model.SearchHit;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.spatial.GeoRegion;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking view of an IndonesiaService for asynchronous applications.
+ * <p>
+ * Every method returns a CompletableFuture instead of blocking. Lookups by code and small
+ * hierarchy queries take constant or near-constant time and are completed on the calling
+ * thread, so the returned future is already done. Searches, spatial queries, batch operations
+ * and large listings are run on an executor, so they never occupy the caller's thread, which
+ * is typically an event loop.
+ * <p>
+ * Failures are reported through the returned future rather than thrown, with the exception of
+ * null arguments that are checked before any work is submitted.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public interface AsyncIndonesiaService {
+
+    /**
+     * Returns the blocking service that this view delegates to.
+     *
+     * @return the underlying service
+     */
+    IndonesiaService getService();
+
+    /**
+     * Finds a province by its code. Completes on the calling thread.
+     *
+     * @param provinceCode the province code to search for
+     * @return a future of an Optional containing the Province if found, empty otherwise
+     */
+    CompletableFuture<Optional<Province>> findProvince(long provinceCode);
+
+    /**
+     * Finds a city by its code. Completes on the calling thread.
+     *
+     * @param cityCode the city code to search for
+     * @return a future of an Optional containing the City if found, empty otherwise
+     */
+    CompletableFuture<Optional<City>> findCity(long cityCode);
+
+    /**
+     * Finds a district by its code. Completes on the calling thread.
+     *
+     * @param districtCode the district code to search for
+     * @return a future of an Optional containing the District if found, empty otherwise
+     */
+    CompletableFuture<Optional<District>> findDistrict(long districtCode);
+
+    /**
+     * Finds a village by its code. Completes on the calling thread.
+     *
+     * @param villageCode the village code to search for
+     * @return a future of an Optional containing the Village if found, empty otherwise
+     */
+    CompletableFuture<Optional<Village>> findVillage(long villageCode);
+
+    /**
+     * Retrieves all cities within a specific province. Completes on the calling thread.
+     *
+     * @param provinceCode the province code
+     * @return a future of the cities in the specified province
+     */
+    CompletableFuture<List<City>> getCitiesByProvince(long provinceCode);
+
+    /**
+     * Retrieves all districts within a specific city. Completes on the calling thread.
+     *
+     * @param cityCode the city code
+     * @return a future of the districts in the specified city
+     */
+    CompletableFuture<List<District>> getDistrictsByCity(long cityCode);
+
+    /**
+     * Retrieves all villages within a specific district. Completes on the calling thread.
+     *
+     * @param districtCode the district code
+     * @return a future of the villages in the specified district
+     */
+    CompletableFuture<List<Village>> getVillagesByDistrict(long districtCode);
+
+    /**
+     * Retrieves all villages within a specific city. Runs on the executor.
+     *
+     * @param cityCode the city code
+     * @return a future of the villages in the specified city
+     */
+    CompletableFuture<List<Village>> getVillagesByCity(long cityCode);
+
+    /**
+     * Retrieves all villages within a specific province. Runs on the executor.
+     *
+     * @param provinceCode the province code
+     * @return a future of the villages in the specified province
+     */
+    CompletableFuture<List<Village>> getVillagesByProvince(long provinceCode);
+
+    /**
+     * Finds the villages of a batch of codes. Runs on the executor.
+     * <p>
+     * The codes are copied before this method returns, so the array may be reused at once.
+     *
+     * @param villageCodes the village codes to look up
+     * @return a future of the villages aligned with {@code villageCodes}, with null for unknown codes
+     * @throws NullPointerException if villageCodes is null
+     * @see IndonesiaService#findVillages(long[])
+     */
+    CompletableFuture<List<Village>> findVillages(long[] villageCodes);
+
+    /**
+     * Builds the complete hierarchies of a batch of village codes. Runs on the executor.
+     * <p>
+     * The codes are copied before this method returns, so the array may be reused at once.
+     *
+     * @param villageCodes the village codes to build from
+     * @return a future of the hierarchies aligned with {@code villageCodes}, with null for unknown codes
+     * @throws NullPointerException if villageCodes is null
+     * @see IndonesiaService#buildFromVillageCodes(long[])
+     */
+    CompletableFuture<List<Indonesia>> buildFromVillageCodes(long[] villageCodes);
+
+    /**
+     * Checks which codes of a batch exist at a level. Runs on the executor.
+     * <p>
+     * The codes are copied before this method returns, so the array may be reused at once.
+     *
+     * @param level the administrative level of the codes
+     * @param codes the codes to check
+     * @return a future of a BitSet with bit {@code i} set if {@code codes[i]} exists
+     * @throws NullPointerException if level or codes is null
+     * @see IndonesiaService#validateCodes(AdministrativeLevel, long[])
+     */
+    CompletableFuture<BitSet> validateCodes(AdministrativeLevel level, long[] codes);
+
+    /**
+     * Searches for provinces by name. Runs on the executor.
+     *
+     * @param query the search query string
+     * @return a future of the matching provinces, or all provinces if query is empty
+     */
+    CompletableFuture<List<Province>> searchProvinces(String query);
+
+    /**
+     * Searches for cities by name. Runs on the executor.
+     *
+     * @param query the search query string
+     * @return a future of the matching cities, or all cities if query is empty
+     */
+    CompletableFuture<List<City>> searchCities(String query);
+
+    /**
+     * Searches for cities by name within a province. Runs on the executor.
+     *
+     * @param query        the search query string
+     * @param provinceCode the code of the province to search in
+     * @return a future of the matching cities in the province
+     * @see IndonesiaService#searchCities(String, Long)
+     */
+    CompletableFuture<List<City>> searchCities(String query, long provinceCode);
+
+    /**
+     * Searches for districts by name. Runs on the executor.
+     *
+     * @param query the search query string
+     * @return a future of the matching districts, or all districts if query is empty
+     */
+    CompletableFuture<List<District>> searchDistricts(String query);
+
+    /**
+     * Searches for districts by name within a province or city. Runs on the executor.
+     *
+     * @param query      the search query string
+     * @param parentCode the code of the province or city to search in
+     * @return a future of the matching districts under the parent
+     * @see IndonesiaService#searchDistricts(String, Long)
+     */
+    CompletableFuture<List<District>> searchDistricts(String query, long parentCode);
+
+    /**
+     * Searches for villages by name. Runs on the executor.
+     *
+     * @param query the search query string
+     * @return a future of the matching villages, or all villages if query is empty
+     */
+    CompletableFuture<List<Village>> searchVillages(String query);
+
+    /**
+     * Searches for villages by name within a province, city or district. Runs on the executor.
+     *
+     * @param query      the search query string
+     * @param parentCode the code of the province, city or district to search in
+     * @return a future of the matching villages under the parent
+     * @see IndonesiaService#searchVillages(String, Long)
+     */
+    CompletableFuture<List<Village>> searchVillages(String query, long parentCode);
+
+    /**
+     * Searches all levels at once and ranks the matches. Runs on the executor.
+     *
+     * @param query the search query string
+     * @param limit the maximum number of hits to return
+     * @return a future of up to {@code limit} hits, best first, which fails with an
+     * IllegalArgumentException if limit is not positive
+     * @see IndonesiaService#search(String, int)
+     */
+    CompletableFuture<List<SearchHit>> search(String query, int limit);
+
+    /**
+     * Finds the province nearest to the given location. Runs on the executor.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return a future of an Optional containing the nearest province, or empty if no provinces are loaded
+     */
+    CompletableFuture<Optional<Province>> findNearestProvince(double latitude, double longitude);
+
+    /**
+     * Finds the city nearest to the given location. Runs on the executor.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return a future of an Optional containing the nearest city, or empty if no cities are loaded
+     */
+    CompletableFuture<Optional<City>> findNearestCity(double latitude, double longitude);
+
+    /**
+     * Finds the district nearest to the given location. Runs on the executor.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return a future of an Optional containing the nearest district, or empty if no districts are loaded
+     */
+    CompletableFuture<Optional<District>> findNearestDistrict(double latitude, double longitude);
+
+    /**
+     * Finds the village nearest to the given location. Runs on the executor.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return a future of an Optional containing the nearest village, or empty if no villages are loaded
+     */
+    CompletableFuture<Optional<Village>> findNearestVillage(double latitude, double longitude);
+
+    /**
+     * Finds the village nearest to the given location within a province, city or district.
+     * Runs on the executor.
+     *
+     * @param latitude   the latitude of the location
+     * @param longitude  the longitude of the location
+     * @param parentCode the code of the province, city or district to search in
+     * @return a future of an Optional containing the nearest village, or empty if the parent code is not valid
+     */
+    CompletableFuture<Optional<Village>> findNearestVillage(double latitude, double longitude, long parentCode);
+
+    /**
+     * Finds the village nearest to the given location by descending the hierarchy. Runs on the executor.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param beamWidth the number of candidates kept at each level
+     * @return a future of an Optional containing the nearest village found, which fails with an
+     * IllegalArgumentException if beamWidth is not positive
+     * @see IndonesiaService#findNearestVillageByHierarchy(double, double, int)
+     */
+    CompletableFuture<Optional<Village>> findNearestVillageByHierarchy(double latitude, double longitude, int beamWidth);
+
+    /**
+     * Finds the units of a level whose centroids are nearest to the given location.
+     * Runs on the executor.
+     *
+     * @param level     the administrative level to search
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param count     the maximum number of units to return
+     * @return a future of up to {@code count} hits, nearest first, which fails with an
+     * IllegalArgumentException if count is not positive
+     * @throws NullPointerException if level is null
+     */
+    CompletableFuture<List<NearbyHit>> findKNearest(AdministrativeLevel level, double latitude, double longitude, int count);
+
+    /**
+     * Finds all units of a level whose centroids lie within a distance of the given location.
+     * Runs on the executor.
+     *
+     * @param level     the administrative level to search
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param radiusKm  the radius in kilometers
+     * @return a future of the hits within the radius, nearest first, which fails with an
+     * IllegalArgumentException if radiusKm is negative or not a number
+     * @throws NullPointerException if level is null
+     */
+    CompletableFuture<List<NearbyHit>> findWithinRadius(AdministrativeLevel level, double latitude, double longitude, double radiusKm);
+
+    /**
+     * Finds the cities or districts nearest to a city or district. Runs on the executor.
+     *
+     * @param code  the code of a city or district
+     * @param count the maximum number of neighbors to return
+     * @return a future of up to {@code count} hits of the same level, nearest first, which fails
+     * with an IllegalArgumentException if count is not positive
+     */
+    CompletableFuture<List<NearbyHit>> getNeighbors(long code, int count);
+
+    /**
+     * Finds the provinces whose centroids lie within a region. Runs on the executor.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a future of the provinces within the region
+     * @throws NullPointerException if region is null
+     * @see IndonesiaService#streamProvincesWithin(GeoRegion)
+     */
+    CompletableFuture<List<Province>> findProvincesWithin(GeoRegion region);
+
+    /**
+     * Finds the cities whose centroids lie within a region. Runs on the executor.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a future of the cities within the region
+     * @throws NullPointerException if region is null
+     * @see IndonesiaService#streamCitiesWithin(GeoRegion)
+     */
+    CompletableFuture<List<City>> findCitiesWithin(GeoRegion region);
+
+    /**
+     * Finds the districts whose centroids lie within a region. Runs on the executor.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a future of the districts within the region
+     * @throws NullPointerException if region is null
+     * @see IndonesiaService#streamDistrictsWithin(GeoRegion)
+     */
+    CompletableFuture<List<District>> findDistrictsWithin(GeoRegion region);
+
+    /**
+     * Finds the villages whose centroids lie within a region. Runs on the executor.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a future of the villages within the region
+     * @throws NullPointerException if region is null
+     * @see IndonesiaService#streamVillagesWithin(GeoRegion)
+     */
+    CompletableFuture<List<Village>> findVillagesWithin(GeoRegion region);
+
+    /**
+     * Finds the units of a level whose centroid geohash starts with a prefix. Runs on the executor.
+     *
+     * @param level  the administrative level to search
+     * @param prefix the geohash prefix, matched case-insensitively
+     * @return a future of the hits in geohash order
+     * @throws NullPointerException if level or prefix is null
+     * @see IndonesiaService#findByGeohashPrefix(AdministrativeLevel, String)
+     */
+    CompletableFuture<List<GeohashHit>> findByGeohashPrefix(AdministrativeLevel level, String prefix);
+
+    /**
+     * Groups the villages within a region into clusters for a map zoom level. Runs on the executor.
+     *
+     * @param zoom   the map zoom level
+     * @param region the map viewport or other region
+     * @return a future of the clusters within the region, which fails with an
+     * IllegalArgumentException if zoom is negative
+     * @throws NullPointerException if region is null
+     * @see IndonesiaService#clusterVillages(int, GeoRegion)
+     */
+    CompletableFuture<List<Cluster>> clusterVillages(int zoom, GeoRegion region);
+
+    /**
+     * Resolves a location into the administrative hierarchy that contains it. Runs on the executor.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return a future of an Optional containing the hierarchy of the nearest unit, or empty if no data is loaded
+     */
+    CompletableFuture<Optional<Indonesia>> reverseGeocode(double latitude, double longitude);
+
+    /**
+     * Reloads all data from the loader. Runs on the executor.
+     *
+     * @return a future that completes when the data has been reloaded
+     */
+    CompletableFuture<Void> refreshData();
+}
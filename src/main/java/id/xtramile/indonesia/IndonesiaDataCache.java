@@ -1,13 +1,25 @@
 package id.xtramile.indonesia;
 
 import id.xtramile.indonesia.cache.CacheStats;
+import id.xtramile.indonesia.constant.Constant;
+import id.xtramile.indonesia.model.AdministrativeLevel;
 import id.xtramile.indonesia.model.City;
 import id.xtramile.indonesia.model.District;
+import id.xtramile.indonesia.model.Indonesia;
 import id.xtramile.indonesia.model.Province;
 import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.spatial.ClusterIndex;
+import id.xtramile.indonesia.spatial.GeohashIndex;
+import id.xtramile.indonesia.spatial.NeighborIndex;
+import id.xtramile.indonesia.spatial.SpatialIndex;
+import id.xtramile.indonesia.util.CodeBatch;
+import id.xtramile.indonesia.util.DistanceCalculator;
 
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Interface for caching Indonesia administrative data (provinces, cities, districts, and villages).
@@ -109,6 +121,20 @@ public interface IndonesiaDataCache {
      */
     Province getProvince(Long provinceCode);
 
+    /**
+     * Retrieves a province by code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getProvince(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param provinceCode the province code
+     * @return the Province if found, null otherwise
+     * @since 1.2
+     */
+    default Province getProvince(long provinceCode) {
+        return getProvince(Long.valueOf(provinceCode));
+    }
+
     /**
      * Retrieves a city by code without creating a defensive copy.
      *
@@ -118,6 +144,20 @@ public interface IndonesiaDataCache {
      */
     City getCity(Long cityCode);
 
+    /**
+     * Retrieves a city by code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getCity(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param cityCode the city code
+     * @return the City if found, null otherwise
+     * @since 1.2
+     */
+    default City getCity(long cityCode) {
+        return getCity(Long.valueOf(cityCode));
+    }
+
     /**
      * Retrieves a district by code without creating a defensive copy.
      *
@@ -127,6 +167,20 @@ public interface IndonesiaDataCache {
      */
     District getDistrict(Long districtCode);
 
+    /**
+     * Retrieves a district by code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getDistrict(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param districtCode the district code
+     * @return the District if found, null otherwise
+     * @since 1.2
+     */
+    default District getDistrict(long districtCode) {
+        return getDistrict(Long.valueOf(districtCode));
+    }
+
     /**
      * Retrieves a village by code without creating a defensive copy.
      *
@@ -136,6 +190,20 @@ public interface IndonesiaDataCache {
      */
     Village getVillage(Long villageCode);
 
+    /**
+     * Retrieves a village by code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getVillage(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param villageCode the village code
+     * @return the Village if found, null otherwise
+     * @since 1.2
+     */
+    default Village getVillage(long villageCode) {
+        return getVillage(Long.valueOf(villageCode));
+    }
+
     /**
      * Retrieves cities by province code without creating a defensive copy.
      *
@@ -145,6 +213,20 @@ public interface IndonesiaDataCache {
      */
     List<City> getCitiesByProvinceCode(Long provinceCode);
 
+    /**
+     * Retrieves cities by province code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getCitiesByProvinceCode(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param provinceCode the province code
+     * @return a list of cities, or empty list if not found
+     * @since 1.2
+     */
+    default List<City> getCitiesByProvinceCode(long provinceCode) {
+        return getCitiesByProvinceCode(Long.valueOf(provinceCode));
+    }
+
     /**
      * Retrieves districts by city code without creating a defensive copy.
      *
@@ -154,6 +236,20 @@ public interface IndonesiaDataCache {
      */
     List<District> getDistrictsByCityCode(Long cityCode);
 
+    /**
+     * Retrieves districts by city code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getDistrictsByCityCode(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param cityCode the city code
+     * @return a list of districts, or empty list if not found
+     * @since 1.2
+     */
+    default List<District> getDistrictsByCityCode(long cityCode) {
+        return getDistrictsByCityCode(Long.valueOf(cityCode));
+    }
+
     /**
      * Retrieves villages by district code without creating a defensive copy.
      *
@@ -163,6 +259,20 @@ public interface IndonesiaDataCache {
      */
     List<Village> getVillagesByDistrictCode(Long districtCode);
 
+    /**
+     * Retrieves villages by district code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getVillagesByDistrictCode(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param districtCode the district code
+     * @return a list of villages, or empty list if not found
+     * @since 1.2
+     */
+    default List<Village> getVillagesByDistrictCode(long districtCode) {
+        return getVillagesByDistrictCode(Long.valueOf(districtCode));
+    }
+
     /**
      * Retrieves villages by province code using optimized index.
      *
@@ -172,6 +282,20 @@ public interface IndonesiaDataCache {
      */
     List<Village> getVillagesByProvinceCode(Long provinceCode);
 
+    /**
+     * Retrieves villages by province code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getVillagesByProvinceCode(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param provinceCode the province code
+     * @return a list of villages, or empty list if not found
+     * @since 1.2
+     */
+    default List<Village> getVillagesByProvinceCode(long provinceCode) {
+        return getVillagesByProvinceCode(Long.valueOf(provinceCode));
+    }
+
     /**
      * Retrieves villages by city code using optimized index.
      *
@@ -181,6 +305,366 @@ public interface IndonesiaDataCache {
      */
     List<Village> getVillagesByCityCode(Long cityCode);
 
+    /**
+     * Retrieves villages by city code without boxing the code.
+     * <p>
+     * The default implementation delegates to {@link #getVillagesByCityCode(Long)}; implementations
+     * should override it so that lookups in hot loops do not allocate.
+     *
+     * @param cityCode the city code
+     * @return a list of villages, or empty list if not found
+     * @since 1.2
+     */
+    default List<Village> getVillagesByCityCode(long cityCode) {
+        return getVillagesByCityCode(Long.valueOf(cityCode));
+    }
+
+    /**
+     * Retrieves the cities whose code lies in [fromCode, toCode), ordered by code.
+     * <p>
+     * City codes of a province form a contiguous range, so this can be used to scope
+     * queries to a single province. The default implementation filters a copy of
+     * {@link #getCities()}; implementations should override it with a sorted index.
+     *
+     * @param fromCode the inclusive lower bound of the code range
+     * @param toCode   the exclusive upper bound of the code range
+     * @return a read-only list of cities in the range, or empty list if none
+     * @since 1.2
+     */
+    default List<City> getCitiesInCodeRange(long fromCode, long toCode) {
+        return getCities().values().stream()
+                .filter(city -> city.getCode() >= fromCode && city.getCode() < toCode)
+                .sorted(Comparator.comparingLong(City::getCode))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the districts whose code lies in [fromCode, toCode), ordered by code.
+     * <p>
+     * District codes of a province or city form a contiguous range. The default
+     * implementation filters a copy of {@link #getDistricts()}; implementations should
+     * override it with a sorted index.
+     *
+     * @param fromCode the inclusive lower bound of the code range
+     * @param toCode   the exclusive upper bound of the code range
+     * @return a read-only list of districts in the range, or empty list if none
+     * @since 1.2
+     */
+    default List<District> getDistrictsInCodeRange(long fromCode, long toCode) {
+        return getDistricts().values().stream()
+                .filter(district -> district.getCode() >= fromCode && district.getCode() < toCode)
+                .sorted(Comparator.comparingLong(District::getCode))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the villages whose code lies in [fromCode, toCode), ordered by code.
+     * <p>
+     * Village codes of a province, city or district form a contiguous range. The default
+     * implementation filters a copy of {@link #getVillages()}; implementations should
+     * override it with a sorted index.
+     *
+     * @param fromCode the inclusive lower bound of the code range
+     * @param toCode   the exclusive upper bound of the code range
+     * @return a read-only list of villages in the range, or empty list if none
+     * @since 1.2
+     */
+    default List<Village> getVillagesInCodeRange(long fromCode, long toCode) {
+        return getVillages().values().stream()
+                .filter(village -> village.getCode() >= fromCode && village.getCode() < toCode)
+                .sorted(Comparator.comparingLong(Village::getCode))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the city nearest to a location among the cities whose code lies in [fromCode, toCode).
+     * <p>
+     * The default implementation scans {@link #getCitiesInCodeRange(long, long)} with
+     * {@link DistanceCalculator#findNearestCity(double, double, List)}; implementations should
+     * override it with coordinates precomputed when the cities are stored.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param fromCode  the inclusive lower bound of the code range
+     * @param toCode    the exclusive upper bound of the code range
+     * @return the nearest city in the range, or null if the range is empty
+     * @since 1.2
+     */
+    default City findNearestCityInCodeRange(double latitude, double longitude, long fromCode, long toCode) {
+        return DistanceCalculator.findNearestCity(latitude, longitude, getCitiesInCodeRange(fromCode, toCode));
+    }
+
+    /**
+     * Finds the district nearest to a location among the districts whose code lies in [fromCode, toCode).
+     * <p>
+     * The default implementation scans {@link #getDistrictsInCodeRange(long, long)} with
+     * {@link DistanceCalculator#findNearestDistrict(double, double, List)}; implementations should
+     * override it with coordinates precomputed when the districts are stored.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param fromCode  the inclusive lower bound of the code range
+     * @param toCode    the exclusive upper bound of the code range
+     * @return the nearest district in the range, or null if the range is empty
+     * @since 1.2
+     */
+    default District findNearestDistrictInCodeRange(double latitude, double longitude, long fromCode, long toCode) {
+        return DistanceCalculator.findNearestDistrict(latitude, longitude, getDistrictsInCodeRange(fromCode, toCode));
+    }
+
+    /**
+     * Finds the village nearest to a location among the villages whose code lies in [fromCode, toCode).
+     * <p>
+     * The default implementation scans {@link #getVillagesInCodeRange(long, long)} with
+     * {@link DistanceCalculator#findNearestVillage(double, double, List)}; implementations should
+     * override it with coordinates precomputed when the villages are stored.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param fromCode  the inclusive lower bound of the code range
+     * @param toCode    the exclusive upper bound of the code range
+     * @return the nearest village in the range, or null if the range is empty
+     * @since 1.2
+     */
+    default Village findNearestVillageInCodeRange(double latitude, double longitude, long fromCode, long toCode) {
+        return DistanceCalculator.findNearestVillage(latitude, longitude, getVillagesInCodeRange(fromCode, toCode));
+    }
+
+    /**
+     * Retrieves a spatial index over the coordinates of all cached provinces.
+     * <p>
+     * The default implementation builds a new index from {@link #getProvinces()} on every call;
+     * implementations should build it once when the provinces are stored.
+     *
+     * @return the spatial index of provinces
+     * @since 1.2
+     */
+    default SpatialIndex<Province> getProvinceSpatialIndex() {
+        return SpatialIndex.of(getProvinces().values(), Province::getLatitude, Province::getLongitude);
+    }
+
+    /**
+     * Retrieves a spatial index over the coordinates of all cached cities.
+     * <p>
+     * The default implementation builds a new index from {@link #getCities()} on every call;
+     * implementations should build it once when the cities are stored.
+     *
+     * @return the spatial index of cities
+     * @since 1.2
+     */
+    default SpatialIndex<City> getCitySpatialIndex() {
+        return SpatialIndex.of(getCities().values(), City::getLatitude, City::getLongitude);
+    }
+
+    /**
+     * Retrieves a spatial index over the coordinates of all cached districts.
+     * <p>
+     * The default implementation builds a new index from {@link #getDistricts()} on every call;
+     * implementations should build it once when the districts are stored.
+     *
+     * @return the spatial index of districts
+     * @since 1.2
+     */
+    default SpatialIndex<District> getDistrictSpatialIndex() {
+        return SpatialIndex.of(getDistricts().values(), District::getLatitude, District::getLongitude);
+    }
+
+    /**
+     * Retrieves a spatial index over the coordinates of all cached villages.
+     * <p>
+     * The default implementation builds a new index from {@link #getVillages()} on every call;
+     * implementations should build it once when the villages are stored.
+     *
+     * @return the spatial index of villages
+     * @since 1.2
+     */
+    default SpatialIndex<Village> getVillageSpatialIndex() {
+        return SpatialIndex.of(getVillages().values(), Village::getLatitude, Village::getLongitude);
+    }
+
+    /**
+     * Retrieves a geohash index over the coordinates of all cached provinces.
+     * <p>
+     * The default implementation builds a new index from {@link #getProvinces()} on every call;
+     * implementations should build it once when the provinces are stored.
+     *
+     * @return the geohash index of provinces
+     * @since 1.2
+     */
+    default GeohashIndex<Province> getProvinceGeohashIndex() {
+        return GeohashIndex.of(getProvinces().values(), Province::getLatitude, Province::getLongitude);
+    }
+
+    /**
+     * Retrieves a geohash index over the coordinates of all cached cities.
+     * <p>
+     * The default implementation builds a new index from {@link #getCities()} on every call;
+     * implementations should build it once when the cities are stored.
+     *
+     * @return the geohash index of cities
+     * @since 1.2
+     */
+    default GeohashIndex<City> getCityGeohashIndex() {
+        return GeohashIndex.of(getCities().values(), City::getLatitude, City::getLongitude);
+    }
+
+    /**
+     * Retrieves a geohash index over the coordinates of all cached districts.
+     * <p>
+     * The default implementation builds a new index from {@link #getDistricts()} on every call;
+     * implementations should build it once when the districts are stored.
+     *
+     * @return the geohash index of districts
+     * @since 1.2
+     */
+    default GeohashIndex<District> getDistrictGeohashIndex() {
+        return GeohashIndex.of(getDistricts().values(), District::getLatitude, District::getLongitude);
+    }
+
+    /**
+     * Retrieves a geohash index over the coordinates of all cached villages.
+     * <p>
+     * The default implementation builds a new index from {@link #getVillages()} on every call;
+     * implementations should build it once when the villages are stored.
+     *
+     * @return the geohash index of villages
+     * @since 1.2
+     */
+    default GeohashIndex<Village> getVillageGeohashIndex() {
+        return GeohashIndex.of(getVillages().values(), Village::getLatitude, Village::getLongitude);
+    }
+
+    /**
+     * Retrieves the map clusters of all cached villages.
+     * <p>
+     * The default implementation builds a new index from {@link #getVillageGeohashIndex()} on
+     * every call, discarding the clusters computed for earlier calls; implementations should
+     * build it once when the villages are stored.
+     *
+     * @return the cluster index of villages
+     * @since 1.2
+     */
+    default ClusterIndex getVillageClusterIndex() {
+        return ClusterIndex.of(getVillageGeohashIndex(), Village::getLatitude, Village::getLongitude);
+    }
+
+    /**
+     * Retrieves the graph of the nearest neighbors of every cached city.
+     * <p>
+     * The default implementation builds a new graph of {@link Constant#NEIGHBOR_COUNT} neighbors
+     * from {@link #getCitySpatialIndex()} on every call; implementations should build it once
+     * when the cities are stored.
+     *
+     * @return the neighbor graph of cities
+     * @since 1.2
+     */
+    default NeighborIndex<City> getCityNeighborIndex() {
+        return NeighborIndex.of(getCitySpatialIndex(), City::getCode, Constant.NEIGHBOR_COUNT);
+    }
+
+    /**
+     * Retrieves the graph of the nearest neighbors of every cached district.
+     * <p>
+     * The default implementation builds a new graph of {@link Constant#NEIGHBOR_COUNT} neighbors
+     * from {@link #getDistrictSpatialIndex()} on every call; implementations should build it once
+     * when the districts are stored.
+     *
+     * @return the neighbor graph of districts
+     * @since 1.2
+     */
+    default NeighborIndex<District> getDistrictNeighborIndex() {
+        return NeighborIndex.of(getDistrictSpatialIndex(), District::getCode, Constant.NEIGHBOR_COUNT);
+    }
+
+    /**
+     * Retrieves the precomputed hierarchy of a province.
+     * <p>
+     * The default implementation precomputes nothing and returns null; implementations may
+     * build one shared Indonesia object per cached province when the data is stored.
+     *
+     * @param province the cached province
+     * @return the hierarchy whose province is this instance, or null if none is precomputed
+     * @since 1.2
+     */
+    default Indonesia getHierarchy(Province province) {
+        return null;
+    }
+
+    /**
+     * Retrieves the precomputed hierarchy of a city.
+     * <p>
+     * The default implementation precomputes nothing and returns null; implementations may
+     * build one shared Indonesia object per cached city when the data is stored.
+     *
+     * @param city the cached city
+     * @return the hierarchy whose city is this instance, or null if none is precomputed
+     * @since 1.2
+     */
+    default Indonesia getHierarchy(City city) {
+        return null;
+    }
+
+    /**
+     * Retrieves the precomputed hierarchy of a district.
+     * <p>
+     * The default implementation precomputes nothing and returns null; implementations may
+     * build one shared Indonesia object per cached district when the data is stored.
+     *
+     * @param district the cached district
+     * @return the hierarchy whose district is this instance, or null if none is precomputed
+     * @since 1.2
+     */
+    default Indonesia getHierarchy(District district) {
+        return null;
+    }
+
+    /**
+     * Retrieves the precomputed hierarchy of a village.
+     * <p>
+     * The default implementation precomputes nothing and returns null; implementations may
+     * build one shared Indonesia object per cached village when the data is stored.
+     *
+     * @param village the cached village
+     * @return the hierarchy whose village is this instance, or null if none is precomputed
+     * @since 1.2
+     */
+    default Indonesia getHierarchy(Village village) {
+        return null;
+    }
+
+    /**
+     * Checks which codes of a batch belong to cached entities of the given level.
+     * <p>
+     * The default implementation looks every code up with {@link #getProvince(Long)},
+     * {@link #getCity(Long)}, {@link #getDistrict(Long)} or {@link #getVillage(Long)}, boxing
+     * each code; implementations should search their own primitive code arrays instead.
+     *
+     * @param level the administrative level of the codes
+     * @param codes the codes to check
+     * @return a bit set in which bit {@code i} is set if {@code codes[i]} exists
+     * @throws NullPointerException if level or codes is null
+     * @since 1.2
+     */
+    default BitSet findExistingCodes(AdministrativeLevel level, long[] codes) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        switch (level) {
+            case PROVINCE:
+                return CodeBatch.test(codes, code -> getProvince(code) != null);
+
+            case CITY:
+                return CodeBatch.test(codes, code -> getCity(code) != null);
+
+            case DISTRICT:
+                return CodeBatch.test(codes, code -> getDistrict(code) != null);
+
+            default:
+                return CodeBatch.test(codes, code -> getVillage(code) != null);
+        }
+    }
+
     /**
      * Clears all cached data and resets the loaded state.
      */
@@ -2,9 +2,12 @@ package id.xtramile.indonesia;
 
 import id.xtramile.indonesia.cache.CacheStats;
 import id.xtramile.indonesia.model.*;
+import id.xtramile.indonesia.spatial.GeoRegion;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Service interface for querying Indonesia administrative data.
@@ -26,6 +29,17 @@ public interface IndonesiaService {
      */
     Optional<Province> findProvince(Long provinceCode);
 
+    /**
+     * Finds a province by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param provinceCode the province code to search for
+     * @return an Optional containing the Province if found, empty otherwise
+     * @since 1.2
+     */
+    Optional<Province> findProvince(long provinceCode);
+
     /**
      * Retrieves all provinces.
      *
@@ -49,6 +63,17 @@ public interface IndonesiaService {
      */
     Optional<City> findCity(Long cityCode);
 
+    /**
+     * Finds a city by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param cityCode the city code to search for
+     * @return an Optional containing the City if found, empty otherwise
+     * @since 1.2
+     */
+    Optional<City> findCity(long cityCode);
+
     /**
      * Retrieves all cities within a specific province.
      *
@@ -57,6 +82,17 @@ public interface IndonesiaService {
      */
     List<City> getCitiesByProvince(Long provinceCode);
 
+    /**
+     * Retrieves all cities within a specific province by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param provinceCode the province code
+     * @return a list of cities in the specified province
+     * @since 1.2
+     */
+    List<City> getCitiesByProvince(long provinceCode);
+
     /**
      * Retrieves all cities.
      *
@@ -72,6 +108,19 @@ public interface IndonesiaService {
      */
     List<City> searchCities(String query);
 
+    /**
+     * Searches for cities by name within a single province (case-insensitive partial match).
+     * <p>
+     * Only the cities whose code falls in the province's code range are examined.
+     *
+     * @param query        the search query string
+     * @param provinceCode the code of the province to search in
+     * @return a list of matching cities in the province, all cities of the province if query is empty,
+     * or an empty list if the province code is not valid
+     * @since 1.2
+     */
+    List<City> searchCities(String query, Long provinceCode);
+
     /**
      * Finds a district by its code.
      *
@@ -80,6 +129,17 @@ public interface IndonesiaService {
      */
     Optional<District> findDistrict(Long districtCode);
 
+    /**
+     * Finds a district by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param districtCode the district code to search for
+     * @return an Optional containing the District if found, empty otherwise
+     * @since 1.2
+     */
+    Optional<District> findDistrict(long districtCode);
+
     /**
      * Retrieves all districts within a specific city.
      *
@@ -88,6 +148,17 @@ public interface IndonesiaService {
      */
     List<District> getDistrictsByCity(Long cityCode);
 
+    /**
+     * Retrieves all districts within a specific city by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param cityCode the city code
+     * @return a list of districts in the specified city
+     * @since 1.2
+     */
+    List<District> getDistrictsByCity(long cityCode);
+
     /**
      * Retrieves all districts.
      *
@@ -103,6 +174,20 @@ public interface IndonesiaService {
      */
     List<District> searchDistricts(String query);
 
+    /**
+     * Searches for districts by name within a province or city (case-insensitive partial match).
+     * <p>
+     * The level of the parent is derived from the length of its code, and only the districts
+     * whose code falls in the parent's code range are examined.
+     *
+     * @param query      the search query string
+     * @param parentCode the code of the province or city to search in
+     * @return a list of matching districts under the parent, all districts of the parent if query is empty,
+     * or an empty list if the parent code is not a valid province or city code
+     * @since 1.2
+     */
+    List<District> searchDistricts(String query, Long parentCode);
+
     /**
      * Finds a village by its code.
      *
@@ -111,6 +196,59 @@ public interface IndonesiaService {
      */
     Optional<Village> findVillage(Long villageCode);
 
+    /**
+     * Finds a village by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param villageCode the village code to search for
+     * @return an Optional containing the Village if found, empty otherwise
+     * @since 1.2
+     */
+    Optional<Village> findVillage(long villageCode);
+
+    /**
+     * Finds the villages of a batch of codes in one call.
+     * <p>
+     * Codes are looked up in ascending order, so repeated codes are looked up once.
+     *
+     * @param villageCodes the village codes to search for
+     * @return a fixed-size list holding, at the position of each code, the village with that code,
+     * or null if there is none
+     * @throws NullPointerException if villageCodes is null
+     * @since 1.2
+     */
+    List<Village> findVillages(long[] villageCodes);
+
+    /**
+     * Builds the complete hierarchies of a batch of village codes in one call.
+     * <p>
+     * Codes are resolved in ascending order, so villages sharing a district, city or province
+     * share a single lookup of each parent, and repeated codes share one Indonesia object.
+     *
+     * @param villageCodes the village codes to build from
+     * @return a fixed-size list holding, at the position of each code, the hierarchy of the
+     * village with that code, or null if there is none
+     * @throws NullPointerException if villageCodes is null
+     * @since 1.2
+     */
+    List<Indonesia> buildFromVillageCodes(long[] villageCodes);
+
+    /**
+     * Checks which codes of a batch are well-formed codes of existing units of the given level.
+     * <p>
+     * Codes are read from the primitive array without boxing and searched in the code-sorted
+     * arrays of the cache; large batches are checked in parallel.
+     *
+     * @param level the administrative level of the codes
+     * @param codes the codes to check
+     * @return a bit set in which bit {@code i} is set if {@code codes[i]} is a valid code of an
+     * existing unit
+     * @throws NullPointerException if level or codes is null
+     * @since 1.2
+     */
+    BitSet validateCodes(AdministrativeLevel level, long[] codes);
+
     /**
      * Retrieves all villages within a specific district.
      *
@@ -119,6 +257,17 @@ public interface IndonesiaService {
      */
     List<Village> getVillagesByDistrict(Long districtCode);
 
+    /**
+     * Retrieves all villages within a specific district by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param districtCode the district code
+     * @return a list of villages in the specified district
+     * @since 1.2
+     */
+    List<Village> getVillagesByDistrict(long districtCode);
+
     /**
      * Retrieves all villages.
      *
@@ -134,6 +283,20 @@ public interface IndonesiaService {
      */
     List<Village> searchVillages(String query);
 
+    /**
+     * Searches for villages by name within a province, city or district (case-insensitive partial match).
+     * <p>
+     * The level of the parent is derived from the length of its code, and only the villages
+     * whose code falls in the parent's code range are examined.
+     *
+     * @param query      the search query string
+     * @param parentCode the code of the province, city or district to search in
+     * @return a list of matching villages under the parent, all villages of the parent if query is empty,
+     * or an empty list if the parent code is not a valid province, city or district code
+     * @since 1.2
+     */
+    List<Village> searchVillages(String query, Long parentCode);
+
     /**
      * Retrieves all villages within a specific province.
      *
@@ -142,6 +305,17 @@ public interface IndonesiaService {
      */
     List<Village> getVillagesByProvince(Long provinceCode);
 
+    /**
+     * Retrieves all villages within a specific province by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param provinceCode the province code
+     * @return a list of villages in the specified province
+     * @since 1.2
+     */
+    List<Village> getVillagesByProvince(long provinceCode);
+
     /**
      * Retrieves all villages within a specific city.
      *
@@ -150,6 +324,413 @@ public interface IndonesiaService {
      */
     List<Village> getVillagesByCity(Long cityCode);
 
+    /**
+     * Retrieves all villages within a specific city by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param cityCode the city code
+     * @return a list of villages in the specified city
+     * @since 1.2
+     */
+    List<Village> getVillagesByCity(long cityCode);
+
+    /**
+     * Searches provinces, cities, districts and villages at once and ranks the matches.
+     * <p>
+     * Matching is case-insensitive. Exact name matches rank above prefix matches, which rank
+     * above matches at the start of a word, which rank above other partial matches. Within the
+     * same kind of match, higher administrative levels rank first. Administrative prefixes of city
+     * names such as "Kabupaten" or "Kota" may be omitted from the query.
+     *
+     * @param query the search query string
+     * @param limit the maximum number of hits to return
+     * @return up to {@code limit} hits with their complete hierarchy, best first, or an empty list if query is empty
+     * @throws IllegalArgumentException if limit is not positive
+     * @since 1.2
+     */
+    List<SearchHit> search(String query, int limit);
+
+    /**
+     * Retrieves one page of all villages, ordered by village code.
+     * <p>
+     * The items of the page are a read-only view over the cached data, so the cost of a call
+     * depends on the page size rather than on the number of villages.
+     *
+     * @param offset the position of the first village to return (zero-based)
+     * @param limit  the maximum number of villages to return
+     * @return the requested page
+     * @throws IllegalArgumentException if offset is negative or limit is not positive
+     * @since 1.2
+     */
+    Page<Village> getVillagesPage(int offset, int limit);
+
+    /**
+     * Retrieves one page of the villages within a province, city or district, ordered by village code.
+     * <p>
+     * The level of the parent is derived from the length of its code.
+     *
+     * @param parentCode the code of the province, city or district
+     * @param offset     the position of the first village to return (zero-based)
+     * @param limit      the maximum number of villages to return
+     * @return the requested page, or an empty page if the parent code is not valid
+     * @throws IllegalArgumentException if offset is negative or limit is not positive
+     * @since 1.2
+     */
+    Page<Village> getVillagesPage(Long parentCode, int offset, int limit);
+
+    /**
+     * Retrieves the page of villages that follows the given cursor, ordered by village code.
+     * <p>
+     * Unlike offset paging, cursor paging stays stable when the data is refreshed between requests.
+     * Each page, including its offset and total, is taken from a single read of the data.
+     *
+     * @param cursor the village code returned by {@link Page#getNextCursor()}, or null for the first page
+     * @param limit  the maximum number of villages to return
+     * @return the villages with a code greater than the cursor
+     * @throws IllegalArgumentException if limit is not positive
+     * @since 1.2
+     */
+    Page<Village> getVillagesPageAfter(Long cursor, int limit);
+
+    /**
+     * Streams all villages in village code order without materializing a list.
+     *
+     * @return a sequential stream over the cached villages
+     * @since 1.2
+     */
+    Stream<Village> streamVillages();
+
+    /**
+     * Streams the villages within a province, city or district in village code order
+     * without materializing a list.
+     *
+     * @param parentCode the code of the province, city or district
+     * @return a sequential stream over the villages, or an empty stream if the parent code is not valid
+     * @since 1.2
+     */
+    Stream<Village> streamVillages(Long parentCode);
+
+    /**
+     * Streams the villages whose name matches the query (case-insensitive partial match), in
+     * village code order.
+     * <p>
+     * Matching is performed lazily while the stream is consumed.
+     *
+     * @param query the search query string
+     * @return a stream of matching villages, or of all villages if the query is empty
+     * @since 1.2
+     */
+    Stream<Village> streamSearchVillages(String query);
+
+    /**
+     * Streams the villages within a province, city or district whose name matches the query
+     * (case-insensitive partial match), in village code order.
+     * <p>
+     * Matching is performed lazily while the stream is consumed.
+     *
+     * @param query      the search query string
+     * @param parentCode the code of the province, city or district to search in
+     * @return a stream of matching villages under the parent, of all villages of the parent if the
+     * query is empty, or an empty stream if the parent code is not valid
+     * @since 1.2
+     */
+    Stream<Village> streamSearchVillages(String query, Long parentCode);
+
+    /**
+     * Finds the province whose centroid is nearest to the given location.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return an Optional containing the nearest province, or empty if no provinces are loaded
+     * @since 1.2
+     */
+    Optional<Province> findNearestProvince(double latitude, double longitude);
+
+    /**
+     * Finds the city whose centroid is nearest to the given location.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return an Optional containing the nearest city, or empty if no cities are loaded
+     * @since 1.2
+     */
+    Optional<City> findNearestCity(double latitude, double longitude);
+
+    /**
+     * Finds the district whose centroid is nearest to the given location.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return an Optional containing the nearest district, or empty if no districts are loaded
+     * @since 1.2
+     */
+    Optional<District> findNearestDistrict(double latitude, double longitude);
+
+    /**
+     * Finds the village whose centroid is nearest to the given location.
+     * <p>
+     * The lookup uses the spatial index of the cache and does not scan all villages.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return an Optional containing the nearest village, or empty if no villages are loaded
+     * @since 1.2
+     */
+    Optional<Village> findNearestVillage(double latitude, double longitude);
+
+    /**
+     * Finds the city nearest to the given location within a province.
+     *
+     * @param latitude     the latitude of the location
+     * @param longitude    the longitude of the location
+     * @param provinceCode the code of the province to search in
+     * @return an Optional containing the nearest city, or empty if the province code is not valid or has no cities
+     * @since 1.2
+     */
+    Optional<City> findNearestCity(double latitude, double longitude, Long provinceCode);
+
+    /**
+     * Finds the city nearest to the given location within a province given by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param latitude     the latitude of the location
+     * @param longitude    the longitude of the location
+     * @param provinceCode the code of the province to search in
+     * @return an Optional containing the nearest city, or empty if the province code is not valid or has no cities
+     * @since 1.2
+     */
+    Optional<City> findNearestCity(double latitude, double longitude, long provinceCode);
+
+    /**
+     * Finds the district nearest to the given location within a province or city.
+     *
+     * @param latitude   the latitude of the location
+     * @param longitude  the longitude of the location
+     * @param parentCode the code of the province or city to search in
+     * @return an Optional containing the nearest district, or empty if the parent code is not valid or has no districts
+     * @since 1.2
+     */
+    Optional<District> findNearestDistrict(double latitude, double longitude, Long parentCode);
+
+    /**
+     * Finds the district nearest to the given location within a province or city given by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param latitude   the latitude of the location
+     * @param longitude  the longitude of the location
+     * @param parentCode the code of the province or city to search in
+     * @return an Optional containing the nearest district, or empty if the parent code is not valid or has no districts
+     * @since 1.2
+     */
+    Optional<District> findNearestDistrict(double latitude, double longitude, long parentCode);
+
+    /**
+     * Finds the village nearest to the given location within a province, city or district.
+     * <p>
+     * Only the villages in the parent's code range are compared, using coordinates precomputed
+     * by the cache.
+     *
+     * @param latitude   the latitude of the location
+     * @param longitude  the longitude of the location
+     * @param parentCode the code of the province, city or district to search in
+     * @return an Optional containing the nearest village, or empty if the parent code is not valid or has no villages
+     * @since 1.2
+     */
+    Optional<Village> findNearestVillage(double latitude, double longitude, Long parentCode);
+
+    /**
+     * Finds the village nearest to the given location within a province, city or district given by its primitive code.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param latitude   the latitude of the location
+     * @param longitude  the longitude of the location
+     * @param parentCode the code of the province, city or district to search in
+     * @return an Optional containing the nearest village, or empty if the parent code is not valid or has no villages
+     * @since 1.2
+     */
+    Optional<Village> findNearestVillage(double latitude, double longitude, long parentCode);
+
+    /**
+     * Finds the village nearest to the given location by descending the administrative hierarchy.
+     * <p>
+     * The {@code beamWidth} provinces with the nearest centroids are selected first, then the
+     * {@code beamWidth} nearest cities within them, then the {@code beamWidth} nearest districts
+     * within those cities, and finally the villages of the selected districts are compared
+     * exactly. No spatial index is needed, but because administrative units are not shaped like
+     * circles around their centroids, the result may differ from
+     * {@link #findNearestVillage(double, double)} near borders. Wider beams compare more
+     * candidates and miss less often.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param beamWidth the number of candidates kept at each level
+     * @return an Optional containing the nearest village found, or empty if no data is loaded
+     * @throws IllegalArgumentException if beamWidth is not positive
+     * @since 1.2
+     */
+    Optional<Village> findNearestVillageByHierarchy(double latitude, double longitude, int beamWidth);
+
+    /**
+     * Finds the units of a level whose centroids are nearest to the given location.
+     * <p>
+     * Only the part of the level's spatial index near the location is examined.
+     *
+     * @param level     the administrative level to search
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param count     the maximum number of units to return
+     * @return up to {@code count} hits, nearest first
+     * @throws NullPointerException     if level is null
+     * @throws IllegalArgumentException if count is not positive
+     * @since 1.2
+     */
+    List<NearbyHit> findKNearest(AdministrativeLevel level, double latitude, double longitude, int count);
+
+    /**
+     * Finds all units of a level whose centroids lie within a great-circle distance of the given location.
+     * <p>
+     * Only the part of the level's spatial index that intersects the radius is examined.
+     *
+     * @param level     the administrative level to search
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param radiusKm  the radius in kilometers
+     * @return the hits within the radius, nearest first, or empty list if none
+     * @throws NullPointerException     if level is null
+     * @throws IllegalArgumentException if radiusKm is negative or not a number
+     * @since 1.2
+     */
+    List<NearbyHit> findWithinRadius(AdministrativeLevel level, double latitude, double longitude, double radiusKm);
+
+    /**
+     * Finds the cities or districts nearest to a city or district, excluding the unit itself.
+     * <p>
+     * The nearest neighbors of every city and district are computed once when the data is
+     * loaded, so small neighbor counts are answered without any distance search. Larger counts
+     * fall back to a k-nearest query on the spatial index.
+     *
+     * @param code  the code of a city or district
+     * @param count the maximum number of neighbors to return
+     * @return up to {@code count} hits of the same level, nearest first, with distances measured
+     * from the unit's centroid, or empty list if the code is not a known city or district
+     * @throws IllegalArgumentException if count is not positive
+     * @since 1.2
+     */
+    List<NearbyHit> getNeighbors(Long code, int count);
+
+    /**
+     * Finds the cities or districts nearest to a city or district given by its primitive code,
+     * excluding the unit itself.
+     * <p>
+     * Unlike the {@code Long} overload, this method does not box the code.
+     *
+     * @param code  the code of a city or district
+     * @param count the maximum number of neighbors to return
+     * @return up to {@code count} hits of the same level, nearest first, or empty list if the
+     * code is not a known city or district
+     * @throws IllegalArgumentException if count is not positive
+     * @since 1.2
+     */
+    List<NearbyHit> getNeighbors(long code, int count);
+
+    /**
+     * Streams the provinces whose centroids lie within a region.
+     * <p>
+     * Only the cells of the spatial index that intersect the region are visited.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a stream of the provinces within the region
+     * @throws NullPointerException if region is null
+     * @since 1.2
+     */
+    Stream<Province> streamProvincesWithin(GeoRegion region);
+
+    /**
+     * Streams the cities whose centroids lie within a region.
+     * <p>
+     * Only the cells of the spatial index that intersect the region are visited.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a stream of the cities within the region
+     * @throws NullPointerException if region is null
+     * @since 1.2
+     */
+    Stream<City> streamCitiesWithin(GeoRegion region);
+
+    /**
+     * Streams the districts whose centroids lie within a region.
+     * <p>
+     * Only the cells of the spatial index that intersect the region are visited.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a stream of the districts within the region
+     * @throws NullPointerException if region is null
+     * @since 1.2
+     */
+    Stream<District> streamDistrictsWithin(GeoRegion region);
+
+    /**
+     * Streams the villages whose centroids lie within a region.
+     * <p>
+     * Only the cells of the spatial index that intersect the region are visited.
+     *
+     * @param region the bounding box or polygon to query
+     * @return a stream of the villages within the region
+     * @throws NullPointerException if region is null
+     * @since 1.2
+     */
+    Stream<Village> streamVillagesWithin(GeoRegion region);
+
+    /**
+     * Finds the units of a level whose centroid geohash starts with a prefix.
+     * <p>
+     * Geohashes are computed once when the data is cached, so a lookup is two binary searches
+     * over the sorted geohashes and needs no distance calculations. Tile services and sharded
+     * workers can use a prefix as the key of a map tile or shard.
+     *
+     * @param level  the administrative level to search
+     * @param prefix the geohash prefix, matched case-insensitively
+     * @return the hits in geohash order, or empty list if the prefix is longer than 12 characters or is not a geohash
+     * @throws NullPointerException if level or prefix is null
+     * @since 1.2
+     */
+    List<GeohashHit> findByGeohashPrefix(AdministrativeLevel level, String prefix);
+
+    /**
+     * Aggregates the villages within a map viewport into grid clusters for a zoom level.
+     * <p>
+     * At zoom level {@code z} villages are grouped into square cells of {@code 360 / 2^(z + 3)}
+     * degrees, and each cell with villages yields one cluster with their count and mean position.
+     * The clusters of a zoom level are computed once and cached, so rendering a map tile only
+     * visits the clusters near the viewport.
+     *
+     * @param zoom   the map zoom level; levels above 20 are clustered like level 20
+     * @param region the map viewport or other region; clusters whose position lies within it are returned
+     * @return the clusters within the region
+     * @throws NullPointerException     if region is null
+     * @throws IllegalArgumentException if zoom is negative
+     * @since 1.2
+     */
+    List<Cluster> clusterVillages(int zoom, GeoRegion region);
+
+    /**
+     * Resolves a location into the administrative hierarchy that contains it.
+     * <p>
+     * The dataset holds centroids rather than boundaries, so the location is assigned to the
+     * village with the nearest centroid, and the district, city and province are taken from the
+     * codes of that village. If no villages are loaded, the deepest level that is loaded is used.
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @return an Optional containing the hierarchy of the nearest unit, or empty if no data is loaded
+     * @since 1.2
+     */
+    Optional<Indonesia> reverseGeocode(double latitude, double longitude);
+
     /**
      * Builds an Indonesia object from a province, with only the province populated.
      *
@@ -176,6 +757,9 @@ public interface IndonesiaService {
 
     /**
      * Builds a complete Indonesia object from a village, including all parent administrative units.
+     * <p>
+     * If the cache precomputes hierarchies, the shared object of a cached village is returned
+     * instead of a new one; Indonesia objects are immutable, so callers cannot tell the difference.
      *
      * @param village the village to build from
      * @return an Indonesia object containing the complete hierarchy (province, city, district, village)
@@ -0,0 +1,76 @@
+package id.xtramile.indonesia;
+
+import id.xtramile.indonesia.model.Village;
+import org.reactivestreams.Publisher;
+
+/**
+ * Reactive Streams view of the village queries of an IndonesiaService, for exports and
+ * streaming endpoints.
+ * <p>
+ * Every method returns a cold Publisher. Each subscriber iterates the cached villages afresh,
+ * in village code order, reading only as many villages as it has requested, so results are
+ * never materialized as a list. Villages are emitted on the thread that requests them.
+ * <p>
+ * On Java 9 or later, a publisher can be adapted to {@code java.util.concurrent.Flow} with
+ * {@code org.reactivestreams.FlowAdapters.toFlowPublisher(publisher)}.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public interface ReactiveIndonesiaService {
+
+    /**
+     * Returns the blocking service that this view delegates to.
+     *
+     * @return the underlying service
+     */
+    IndonesiaService getService();
+
+    /**
+     * Publishes all villages.
+     *
+     * @return a publisher of all cached villages
+     */
+    Publisher<Village> getAllVillages();
+
+    /**
+     * Publishes the villages within a specific province.
+     *
+     * @param provinceCode the province code
+     * @return a publisher of the villages in the province, which completes on the first request if
+     * the code is not a valid province code
+     */
+    Publisher<Village> getVillagesByProvince(long provinceCode);
+
+    /**
+     * Publishes the villages within a specific city.
+     *
+     * @param cityCode the city code
+     * @return a publisher of the villages in the city, which completes on the first request if the
+     * code is not a valid city code
+     */
+    Publisher<Village> getVillagesByCity(long cityCode);
+
+    /**
+     * Publishes the villages whose name matches the query (case-insensitive partial match).
+     * <p>
+     * Matching is performed while the villages are requested.
+     *
+     * @param query the search query string
+     * @return a publisher of the matching villages, or of all villages if the query is empty
+     */
+    Publisher<Village> searchVillages(String query);
+
+    /**
+     * Publishes the villages within a province, city or district whose name matches the query
+     * (case-insensitive partial match).
+     * <p>
+     * Matching is performed while the villages are requested.
+     *
+     * @param query      the search query string
+     * @param parentCode the code of the province, city or district to search in
+     * @return a publisher of the matching villages under the parent, which completes on the first
+     * request if the parent code is not valid
+     */
+    Publisher<Village> searchVillages(String query, long parentCode);
+}
@@ -0,0 +1,152 @@
+package id.xtramile.indonesia.cache;
+
+/**
+ * Immutable membership filter over administrative codes, used to reject unknown codes before
+ * any map lookup.
+ * <p>
+ * Codes spanning a small range, such as province, city and district codes, are stored in a
+ * dense bitset with one bit per code in the range, which answers exactly. Codes spanning a
+ * large range, such as village codes, are stored in a blocked Bloom filter: every code sets
+ * {@value #HASH_COUNT} bits of a single 64-bit word, so a query reads one word and never
+ * reports a stored code as absent. About {@value #BITS_PER_CODE} bits per code keep false
+ * positives to roughly one percent.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+abstract class CodeFilter {
+
+    /**
+     * Largest code range, in codes, that is stored as a dense bitset.
+     */
+    static final long MAX_DENSE_SPAN = 1L << 21;
+
+    static final int BITS_PER_CODE = 12;
+    static final int HASH_COUNT = 5;
+
+    private static final CodeFilter EMPTY = new Dense(0L, new long[0]);
+
+    CodeFilter() {
+    }
+
+    /**
+     * Returns a filter that contains no code.
+     *
+     * @return the empty filter
+     */
+    static CodeFilter empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a filter from the given codes, choosing a dense bitset when the codes span at most
+     * {@link #MAX_DENSE_SPAN} values and a Bloom filter otherwise.
+     *
+     * @param codes the codes to store
+     * @return a new filter
+     */
+    static CodeFilter of(long[] codes) {
+        if (codes.length == 0) {
+            return EMPTY;
+        }
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (long code : codes) {
+            min = Math.min(min, code);
+            max = Math.max(max, code);
+        }
+
+        if (max - min >= 0 && max - min < MAX_DENSE_SPAN) {
+            long[] words = new long[(int) ((max - min) >>> 6) + 1];
+            for (long code : codes) {
+                long offset = code - min;
+                words[(int) (offset >>> 6)] |= 1L << offset;
+            }
+
+            return new Dense(min, words);
+        }
+
+        long[] words = new long[Math.max(1, (int) (((long) codes.length * BITS_PER_CODE + 63) >>> 6))];
+        for (long code : codes) {
+            long hash = mix(code);
+            words[Bloom.word(hash, words.length)] |= Bloom.mask(hash);
+        }
+
+        return new Bloom(words);
+    }
+
+    /**
+     * Checks whether a code may be stored in the filter.
+     *
+     * @param code the code to check
+     * @return false if the code is certainly not stored, true if it may be
+     */
+    abstract boolean mightContain(long code);
+
+    /**
+     * Scrambles a code with the SplitMix64 finalizer, so that neighbouring codes map to
+     * unrelated hashes.
+     */
+    private static long mix(long code) {
+        long z = code + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Dense extends CodeFilter {
+
+        private final long min;
+        private final long[] words;
+
+        Dense(long min, long[] words) {
+            this.min = min;
+            this.words = words;
+        }
+
+        @Override
+        boolean mightContain(long code) {
+            long offset = code - min;
+            return offset >= 0 && offset >>> 6 < words.length
+                    && (words[(int) (offset >>> 6)] & (1L << offset)) != 0;
+        }
+    }
+
+    private static final class Bloom extends CodeFilter {
+
+        private final long[] words;
+
+        Bloom(long[] words) {
+            this.words = words;
+        }
+
+        /**
+         * Selects the word of a hash from its upper 32 bits, by multiplication instead of a
+         * remainder.
+         */
+        static int word(long hash, int wordCount) {
+            return (int) (((hash >>> 32) * wordCount) >>> 32);
+        }
+
+        /**
+         * Selects {@link #HASH_COUNT} bits of the word from consecutive 6-bit groups of the lower
+         * 32 bits of a hash.
+         */
+        static long mask(long hash) {
+            long mask = 0L;
+            for (int i = 0; i < HASH_COUNT; i++) {
+                mask |= 1L << (hash >>> (6 * i));
+            }
+
+            return mask;
+        }
+
+        @Override
+        boolean mightContain(long code) {
+            long hash = mix(code);
+            long mask = mask(hash);
+            return (words[word(hash, words.length)] & mask) == mask;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package id.xtramile.indonesia.cache;
+
+import java.util.Map;
+
+/**
+ * Immutable hash table keyed by primitive administrative codes.
+ * <p>
+ * Codes and values are stored in two parallel arrays with open addressing and linear probing,
+ * at a load factor of at most one half. Unlike a {@code Map<Long, T>}, a lookup never boxes
+ * its key, so queries by a primitive code allocate nothing.
+ *
+ * @param <T> the value type
+ * @author Rigsto
+ * @since 1.2
+ */
+final class CodeTable<T> {
+
+    private static final CodeTable<?> EMPTY = new CodeTable<>(new long[1], new Object[1]);
+
+    private final long[] codes;
+    /**
+     * Values aligned with {@link #codes}; a null value marks an unused slot.
+     */
+    private final Object[] values;
+    private final int mask;
+
+    private CodeTable(long[] codes, Object[] values) {
+        this.codes = codes;
+        this.values = values;
+        this.mask = values.length - 1;
+    }
+
+    /**
+     * Returns a table that contains no code.
+     *
+     * @param <T> the value type
+     * @return the empty table
+     */
+    @SuppressWarnings("unchecked")
+    static <T> CodeTable<T> empty() {
+        return (CodeTable<T>) EMPTY;
+    }
+
+    /**
+     * Builds a table from the entries of a map. Entries with a null value are skipped.
+     *
+     * @param entries the values by code
+     * @param <T>     the value type
+     * @return a new table
+     */
+    static <T> CodeTable<T> of(Map<Long, ? extends T> entries) {
+        if (entries.isEmpty()) {
+            return empty();
+        }
+
+        int capacity = Integer.highestOneBit(entries.size() * 2 - 1) << 1;
+        CodeTable<T> table = new CodeTable<>(new long[capacity], new Object[capacity]);
+        entries.forEach((code, value) -> {
+            if (value != null) {
+                table.put(code, value);
+            }
+        });
+
+        return table;
+    }
+
+    /**
+     * Returns the value stored for a code.
+     *
+     * @param code the code to look up
+     * @return the value, or null if the code is not stored
+     */
+    @SuppressWarnings("unchecked")
+    T get(long code) {
+        for (int slot = slot(code); values[slot] != null; slot = (slot + 1) & mask) {
+            if (codes[slot] == code) {
+                return (T) values[slot];
+            }
+        }
+
+        return null;
+    }
+
+    private void put(long code, Object value) {
+        int slot = slot(code);
+        while (values[slot] != null && codes[slot] != code) {
+            slot = (slot + 1) & mask;
+        }
+
+        codes[slot] = code;
+        values[slot] = value;
+    }
+
+    /**
+     * Selects the home slot of a code with a Fibonacci hash folded to 32 bits.
+     */
+    private int slot(long code) {
+        long hash = code * 0x9e3779b97f4a7c15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
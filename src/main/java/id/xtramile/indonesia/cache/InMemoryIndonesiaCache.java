@@ -2,24 +2,46 @@ package id.xtramile.indonesia.cache;
 
 import id.xtramile.indonesia.IndonesiaDataCache;
 import id.xtramile.indonesia.constant.Constant;
+import id.xtramile.indonesia.model.AdministrativeLevel;
 import id.xtramile.indonesia.model.City;
 import id.xtramile.indonesia.model.District;
+import id.xtramile.indonesia.model.Indonesia;
 import id.xtramile.indonesia.model.Province;
 import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.spatial.ClusterIndex;
+import id.xtramile.indonesia.spatial.GeohashIndex;
+import id.xtramile.indonesia.spatial.NeighborIndex;
+import id.xtramile.indonesia.spatial.SpatialIndex;
+import id.xtramile.indonesia.util.CodeBatch;
+import id.xtramile.indonesia.util.CodeValidator;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Thread-safe in-memory implementation of IndonesiaDataCache.
  * <p>
  * This implementation uses ConcurrentHashMap for thread-safe storage and maintains
  * hierarchical indexes for efficient lookups. All returned maps are defensive copies
- * to prevent external modification of the cache.
+ * to prevent external modification of the cache. Code range queries are served from
+ * code-sorted arrays as read-only views, and nearest-location queries from spatial
+ * indexes that are built when each level is stored. Lookups by code first consult a compact
+ * existence filter, so unknown codes are rejected without hashing a boxed key. Known codes are
+ * then resolved through primitive-keyed hash tables, so lookups through the {@code long}
+ * overloads never box their argument.
+ * <p>
+ * By default, one shared Indonesia object is also built for every cached unit, so that
+ * {@link #getHierarchy(Village)} and its overloads answer without lookups or allocation. This
+ * costs roughly 70 bytes per unit, about 6 MB for the bundled data, and can be disabled with
+ * {@link #InMemoryIndonesiaCache(boolean)}.
  *
  * @author Rigsto
  * @since 1.1
@@ -36,18 +58,79 @@ public class InMemoryIndonesiaCache implements IndonesiaDataCache {
     private final Map<Long, List<Village>> villagesByDistrict = new ConcurrentHashMap<>();
     private final Map<Long, List<Village>> villagesByProvince = new ConcurrentHashMap<>();
     private final Map<Long, List<Village>> villagesByCity = new ConcurrentHashMap<>();
+    private volatile CodeTable<Province> provinceTable = CodeTable.empty();
+    private volatile CodeTable<City> cityTable = CodeTable.empty();
+    private volatile CodeTable<District> districtTable = CodeTable.empty();
+    private volatile CodeTable<Village> villageTable = CodeTable.empty();
+    private volatile CodeTable<List<City>> citiesByProvinceTable = CodeTable.empty();
+    private volatile CodeTable<List<District>> districtsByCityTable = CodeTable.empty();
+    private volatile CodeTable<List<Village>> villagesByDistrictTable = CodeTable.empty();
+    private volatile CodeTable<List<Village>> villagesByProvinceTable = CodeTable.empty();
+    private volatile CodeTable<List<Village>> villagesByCityTable = CodeTable.empty();
+    private volatile CodeFilter provinceFilter = CodeFilter.empty();
+    private volatile CodeFilter cityFilter = CodeFilter.empty();
+    private volatile CodeFilter districtFilter = CodeFilter.empty();
+    private volatile CodeFilter villageFilter = CodeFilter.empty();
+    private volatile SortedCodeIndex<Province> sortedProvinces = SortedCodeIndex.empty();
+    private volatile SortedCodeIndex<City> sortedCities = SortedCodeIndex.empty();
+    private volatile SortedCodeIndex<District> sortedDistricts = SortedCodeIndex.empty();
+    private volatile SortedCodeIndex<Village> sortedVillages = SortedCodeIndex.empty();
+    private volatile SpatialIndex<Province> provinceSpatialIndex = SpatialIndex.empty();
+    private volatile SpatialIndex<City> citySpatialIndex = SpatialIndex.empty();
+    private volatile SpatialIndex<District> districtSpatialIndex = SpatialIndex.empty();
+    private volatile SpatialIndex<Village> villageSpatialIndex = SpatialIndex.empty();
+    private volatile GeohashIndex<Province> provinceGeohashIndex = GeohashIndex.empty();
+    private volatile GeohashIndex<City> cityGeohashIndex = GeohashIndex.empty();
+    private volatile GeohashIndex<District> districtGeohashIndex = GeohashIndex.empty();
+    private volatile GeohashIndex<Village> villageGeohashIndex = GeohashIndex.empty();
+    private volatile ClusterIndex villageClusterIndex = ClusterIndex.empty();
+    private volatile NeighborIndex<City> cityNeighborIndex = NeighborIndex.empty();
+    private volatile NeighborIndex<District> districtNeighborIndex = NeighborIndex.empty();
+    private volatile Map<Province, Indonesia> provinceHierarchies = Collections.emptyMap();
+    private volatile Map<City, Indonesia> cityHierarchies = Collections.emptyMap();
+    private volatile Map<District, Indonesia> districtHierarchies = Collections.emptyMap();
+    private volatile Map<Village, Indonesia> villageHierarchies = Collections.emptyMap();
+    private final boolean precomputeHierarchies;
     private final AtomicLong lastRefreshTime = new AtomicLong(0);
     private volatile boolean loaded = false;
 
+    /**
+     * Creates an empty cache that precomputes the hierarchy of every stored unit.
+     */
+    public InMemoryIndonesiaCache() {
+        this(true);
+    }
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param precomputeHierarchies whether to build one shared Indonesia object per unit when
+     *                              the data is stored
+     * @since 1.2
+     */
+    public InMemoryIndonesiaCache(boolean precomputeHierarchies) {
+        this.precomputeHierarchies = precomputeHierarchies;
+    }
+
     @Override
     public void putProvinces(Map<Long, Province> provinces) {
+        this.provinceFilter = CodeFilter.of(provinces.values().stream().mapToLong(Province::getCode).toArray());
         this.provinces.clear();
         this.provinces.putAll(provinces);
+        this.provinceTable = CodeTable.of(provinces);
+
+        this.sortedProvinces = SortedCodeIndex.of(provinces.values(), Province::getCode, Province::getLatitude, Province::getLongitude);
+        this.provinceSpatialIndex = SpatialIndex.of(provinces.values(), Province::getLatitude, Province::getLongitude);
+        this.provinceGeohashIndex = GeohashIndex.of(provinces.values(), Province::getLatitude, Province::getLongitude);
+
+        buildHierarchies(AdministrativeLevel.PROVINCE);
+
         updateRefreshTime();
     }
 
     @Override
     public void putCities(Map<Long, City> cities) {
+        this.cityFilter = CodeFilter.of(cities.values().stream().mapToLong(City::getCode).toArray());
         this.cities.clear();
         this.cities.putAll(cities);
 
@@ -55,12 +138,22 @@ public class InMemoryIndonesiaCache implements IndonesiaDataCache {
         cities.values().forEach(city ->
                 this.citiesByProvince.computeIfAbsent(city.getProvinceCode(), k -> new ArrayList<>())
                         .add(city));
+        this.cityTable = CodeTable.of(cities);
+        this.citiesByProvinceTable = CodeTable.of(citiesByProvince);
+
+        this.sortedCities = SortedCodeIndex.of(cities.values(), City::getCode, City::getLatitude, City::getLongitude);
+        this.citySpatialIndex = SpatialIndex.of(cities.values(), City::getLatitude, City::getLongitude);
+        this.cityGeohashIndex = GeohashIndex.of(cities.values(), City::getLatitude, City::getLongitude);
+        this.cityNeighborIndex = NeighborIndex.of(citySpatialIndex, City::getCode, Constant.NEIGHBOR_COUNT);
+
+        buildHierarchies(AdministrativeLevel.CITY);
 
         updateRefreshTime();
     }
 
     @Override
     public void putDistricts(Map<Long, District> districts) {
+        this.districtFilter = CodeFilter.of(districts.values().stream().mapToLong(District::getCode).toArray());
         this.districts.clear();
         this.districts.putAll(districts);
 
@@ -68,12 +161,22 @@ public class InMemoryIndonesiaCache implements IndonesiaDataCache {
         districts.values().forEach(district ->
                 this.districtsByCity.computeIfAbsent(district.getCityCode(), k -> new ArrayList<>())
                         .add(district));
+        this.districtTable = CodeTable.of(districts);
+        this.districtsByCityTable = CodeTable.of(districtsByCity);
+
+        this.sortedDistricts = SortedCodeIndex.of(districts.values(), District::getCode, District::getLatitude, District::getLongitude);
+        this.districtSpatialIndex = SpatialIndex.of(districts.values(), District::getLatitude, District::getLongitude);
+        this.districtGeohashIndex = GeohashIndex.of(districts.values(), District::getLatitude, District::getLongitude);
+        this.districtNeighborIndex = NeighborIndex.of(districtSpatialIndex, District::getCode, Constant.NEIGHBOR_COUNT);
+
+        buildHierarchies(AdministrativeLevel.DISTRICT);
 
         updateRefreshTime();
     }
 
     @Override
     public void putVillages(Map<Long, Village> villages) {
+        this.villageFilter = CodeFilter.of(villages.values().stream().mapToLong(Village::getCode).toArray());
         this.villages.clear();
         this.villages.putAll(villages);
 
@@ -93,6 +196,17 @@ public class InMemoryIndonesiaCache implements IndonesiaDataCache {
             this.villagesByCity.computeIfAbsent(cityCode, k -> new ArrayList<>())
                     .add(village);
         });
+        this.villageTable = CodeTable.of(villages);
+        this.villagesByDistrictTable = CodeTable.of(villagesByDistrict);
+        this.villagesByProvinceTable = CodeTable.of(villagesByProvince);
+        this.villagesByCityTable = CodeTable.of(villagesByCity);
+
+        this.sortedVillages = SortedCodeIndex.of(villages.values(), Village::getCode, Village::getLatitude, Village::getLongitude);
+        this.villageSpatialIndex = SpatialIndex.of(villages.values(), Village::getLatitude, Village::getLongitude);
+        this.villageGeohashIndex = GeohashIndex.of(villages.values(), Village::getLatitude, Village::getLongitude);
+        this.villageClusterIndex = ClusterIndex.of(villageGeohashIndex, Village::getLatitude, Village::getLongitude);
+
+        buildHierarchies(AdministrativeLevel.VILLAGE);
 
         updateRefreshTime();
     }
@@ -142,74 +256,216 @@ public class InMemoryIndonesiaCache implements IndonesiaDataCache {
 
     @Override
     public Province getProvince(Long provinceCode) {
-        return provinceCode != null ? provinces.get(provinceCode) : null;
+        return provinceCode != null ? getProvince(provinceCode.longValue()) : null;
+    }
+
+    @Override
+    public Province getProvince(long provinceCode) {
+        return provinceFilter.mightContain(provinceCode) ? provinceTable.get(provinceCode) : null;
     }
 
     @Override
     public City getCity(Long cityCode) {
-        return cityCode != null ? cities.get(cityCode) : null;
+        return cityCode != null ? getCity(cityCode.longValue()) : null;
+    }
+
+    @Override
+    public City getCity(long cityCode) {
+        return cityFilter.mightContain(cityCode) ? cityTable.get(cityCode) : null;
     }
 
     @Override
     public District getDistrict(Long districtCode) {
-        return districtCode != null ? districts.get(districtCode) : null;
+        return districtCode != null ? getDistrict(districtCode.longValue()) : null;
+    }
+
+    @Override
+    public District getDistrict(long districtCode) {
+        return districtFilter.mightContain(districtCode) ? districtTable.get(districtCode) : null;
     }
 
     @Override
     public Village getVillage(Long villageCode) {
-        return villageCode != null ? villages.get(villageCode) : null;
+        return villageCode != null ? getVillage(villageCode.longValue()) : null;
+    }
+
+    @Override
+    public Village getVillage(long villageCode) {
+        return villageFilter.mightContain(villageCode) ? villageTable.get(villageCode) : null;
     }
 
     @Override
     public List<City> getCitiesByProvinceCode(Long provinceCode) {
-        if (provinceCode == null) {
-            return new ArrayList<>();
-        }
+        return provinceCode != null ? getCitiesByProvinceCode(provinceCode.longValue()) : new ArrayList<>();
+    }
 
-        List<City> cities = citiesByProvince.get(provinceCode);
+    @Override
+    public List<City> getCitiesByProvinceCode(long provinceCode) {
+        List<City> cities = citiesByProvinceTable.get(provinceCode);
         return cities != null ? new ArrayList<>(cities) : new ArrayList<>();
     }
 
     @Override
     public List<District> getDistrictsByCityCode(Long cityCode) {
-        if (cityCode == null) {
-            return new ArrayList<>();
-        }
+        return cityCode != null ? getDistrictsByCityCode(cityCode.longValue()) : new ArrayList<>();
+    }
 
-        List<District> districts = districtsByCity.get(cityCode);
+    @Override
+    public List<District> getDistrictsByCityCode(long cityCode) {
+        List<District> districts = districtsByCityTable.get(cityCode);
         return districts != null ? new ArrayList<>(districts) : new ArrayList<>();
     }
 
     @Override
     public List<Village> getVillagesByDistrictCode(Long districtCode) {
-        if (districtCode == null) {
-            return new ArrayList<>();
-        }
+        return districtCode != null ? getVillagesByDistrictCode(districtCode.longValue()) : new ArrayList<>();
+    }
 
-        List<Village> villages = villagesByDistrict.get(districtCode);
+    @Override
+    public List<Village> getVillagesByDistrictCode(long districtCode) {
+        List<Village> villages = villagesByDistrictTable.get(districtCode);
         return villages != null ? new ArrayList<>(villages) : new ArrayList<>();
     }
 
     @Override
     public List<Village> getVillagesByProvinceCode(Long provinceCode) {
-        if (provinceCode == null) {
-            return new ArrayList<>();
-        }
+        return provinceCode != null ? getVillagesByProvinceCode(provinceCode.longValue()) : new ArrayList<>();
+    }
 
-        List<Village> villages = villagesByProvince.get(provinceCode);
+    @Override
+    public List<Village> getVillagesByProvinceCode(long provinceCode) {
+        List<Village> villages = villagesByProvinceTable.get(provinceCode);
         return villages != null ? new ArrayList<>(villages) : new ArrayList<>();
     }
 
     @Override
     public List<Village> getVillagesByCityCode(Long cityCode) {
-        if (cityCode == null) {
-            return new ArrayList<>();
-        }
+        return cityCode != null ? getVillagesByCityCode(cityCode.longValue()) : new ArrayList<>();
+    }
 
-        List<Village> villages = villagesByCity.get(cityCode);
+    @Override
+    public List<Village> getVillagesByCityCode(long cityCode) {
+        List<Village> villages = villagesByCityTable.get(cityCode);
         return villages != null ? new ArrayList<>(villages) : new ArrayList<>();
     }
 
+    @Override
+    public List<City> getCitiesInCodeRange(long fromCode, long toCode) {
+        return sortedCities.range(fromCode, toCode);
+    }
+
+    @Override
+    public List<District> getDistrictsInCodeRange(long fromCode, long toCode) {
+        return sortedDistricts.range(fromCode, toCode);
+    }
+
+    @Override
+    public List<Village> getVillagesInCodeRange(long fromCode, long toCode) {
+        return sortedVillages.range(fromCode, toCode);
+    }
+
+    @Override
+    public City findNearestCityInCodeRange(double latitude, double longitude, long fromCode, long toCode) {
+        return sortedCities.nearest(latitude, longitude, fromCode, toCode);
+    }
+
+    @Override
+    public District findNearestDistrictInCodeRange(double latitude, double longitude, long fromCode, long toCode) {
+        return sortedDistricts.nearest(latitude, longitude, fromCode, toCode);
+    }
+
+    @Override
+    public Village findNearestVillageInCodeRange(double latitude, double longitude, long fromCode, long toCode) {
+        return sortedVillages.nearest(latitude, longitude, fromCode, toCode);
+    }
+
+    @Override
+    public SpatialIndex<Province> getProvinceSpatialIndex() {
+        return provinceSpatialIndex;
+    }
+
+    @Override
+    public SpatialIndex<City> getCitySpatialIndex() {
+        return citySpatialIndex;
+    }
+
+    @Override
+    public SpatialIndex<District> getDistrictSpatialIndex() {
+        return districtSpatialIndex;
+    }
+
+    @Override
+    public SpatialIndex<Village> getVillageSpatialIndex() {
+        return villageSpatialIndex;
+    }
+
+    @Override
+    public GeohashIndex<Province> getProvinceGeohashIndex() {
+        return provinceGeohashIndex;
+    }
+
+    @Override
+    public GeohashIndex<City> getCityGeohashIndex() {
+        return cityGeohashIndex;
+    }
+
+    @Override
+    public GeohashIndex<District> getDistrictGeohashIndex() {
+        return districtGeohashIndex;
+    }
+
+    @Override
+    public GeohashIndex<Village> getVillageGeohashIndex() {
+        return villageGeohashIndex;
+    }
+
+    @Override
+    public ClusterIndex getVillageClusterIndex() {
+        return villageClusterIndex;
+    }
+
+    @Override
+    public NeighborIndex<City> getCityNeighborIndex() {
+        return cityNeighborIndex;
+    }
+
+    @Override
+    public NeighborIndex<District> getDistrictNeighborIndex() {
+        return districtNeighborIndex;
+    }
+
+    @Override
+    public Indonesia getHierarchy(Province province) {
+        return province != null ? provinceHierarchies.get(province) : null;
+    }
+
+    @Override
+    public Indonesia getHierarchy(City city) {
+        return city != null ? cityHierarchies.get(city) : null;
+    }
+
+    @Override
+    public Indonesia getHierarchy(District district) {
+        return district != null ? districtHierarchies.get(district) : null;
+    }
+
+    @Override
+    public Indonesia getHierarchy(Village village) {
+        return village != null ? villageHierarchies.get(village) : null;
+    }
+
+    @Override
+    public BitSet findExistingCodes(AdministrativeLevel level, long[] codes) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        CodeFilter filter = filter(level);
+        SortedCodeIndex<?> index = sortedIndex(level);
+        return CodeBatch.test(codes, code -> CodeValidator.isValidCode(level, code)
+                && filter.mightContain(code) && index.contains(code));
+    }
+
     @Override
     public void refresh() {
         clearAll();
@@ -242,6 +498,107 @@ public class InMemoryIndonesiaCache implements IndonesiaDataCache {
         villagesByDistrict.clear();
         villagesByProvince.clear();
         villagesByCity.clear();
+        provinceTable = CodeTable.empty();
+        cityTable = CodeTable.empty();
+        districtTable = CodeTable.empty();
+        villageTable = CodeTable.empty();
+        citiesByProvinceTable = CodeTable.empty();
+        districtsByCityTable = CodeTable.empty();
+        villagesByDistrictTable = CodeTable.empty();
+        villagesByProvinceTable = CodeTable.empty();
+        villagesByCityTable = CodeTable.empty();
+        provinceHierarchies = Collections.emptyMap();
+        cityHierarchies = Collections.emptyMap();
+        districtHierarchies = Collections.emptyMap();
+        villageHierarchies = Collections.emptyMap();
+        provinceFilter = CodeFilter.empty();
+        cityFilter = CodeFilter.empty();
+        districtFilter = CodeFilter.empty();
+        villageFilter = CodeFilter.empty();
+        sortedProvinces = SortedCodeIndex.empty();
+        sortedCities = SortedCodeIndex.empty();
+        sortedDistricts = SortedCodeIndex.empty();
+        sortedVillages = SortedCodeIndex.empty();
+        provinceSpatialIndex = SpatialIndex.empty();
+        provinceGeohashIndex = GeohashIndex.empty();
+        citySpatialIndex = SpatialIndex.empty();
+        cityGeohashIndex = GeohashIndex.empty();
+        cityNeighborIndex = NeighborIndex.empty();
+        districtSpatialIndex = SpatialIndex.empty();
+        districtGeohashIndex = GeohashIndex.empty();
+        districtNeighborIndex = NeighborIndex.empty();
+        villageSpatialIndex = SpatialIndex.empty();
+        villageGeohashIndex = GeohashIndex.empty();
+        villageClusterIndex = ClusterIndex.empty();
+    }
+
+    /**
+     * Rebuilds the precomputed hierarchies of the given level and of every level below it, whose
+     * hierarchies refer to the units of the given level.
+     */
+    private void buildHierarchies(AdministrativeLevel level) {
+        if (!precomputeHierarchies) {
+            return;
+        }
+
+        if (level == AdministrativeLevel.PROVINCE) {
+            provinceHierarchies = hierarchies(provinces.values(),
+                    province -> new Indonesia(province, null, null, null));
+        }
+
+        if (level.compareTo(AdministrativeLevel.CITY) <= 0) {
+            cityHierarchies = hierarchies(cities.values(),
+                    city -> new Indonesia(provinces.get(city.getProvinceCode()), city, null, null));
+        }
+
+        if (level.compareTo(AdministrativeLevel.DISTRICT) <= 0) {
+            districtHierarchies = hierarchies(districts.values(), district -> new Indonesia(
+                    provinces.get(district.getCode() / Constant.DIVISOR_PROVINCE_FROM_DISTRICT),
+                    cities.get(district.getCityCode()), district, null));
+        }
+
+        villageHierarchies = hierarchies(villages.values(), village -> new Indonesia(
+                provinces.get(village.getCode() / Constant.DIVISOR_PROVINCE_FROM_VILLAGE),
+                cities.get(village.getCode() / Constant.DIVISOR_CITY_FROM_VILLAGE),
+                districts.get(village.getDistrictCode()), village));
+    }
+
+    private static <T> Map<T, Indonesia> hierarchies(Collection<T> units, Function<T, Indonesia> hierarchyOf) {
+        Map<T, Indonesia> hierarchies = new HashMap<>(units.size() * 4 / 3 + 1);
+        units.forEach(unit -> hierarchies.put(unit, hierarchyOf.apply(unit)));
+        return hierarchies;
+    }
+
+    private CodeFilter filter(AdministrativeLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return provinceFilter;
+
+            case CITY:
+                return cityFilter;
+
+            case DISTRICT:
+                return districtFilter;
+
+            default:
+                return villageFilter;
+        }
+    }
+
+    private SortedCodeIndex<?> sortedIndex(AdministrativeLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return sortedProvinces;
+
+            case CITY:
+                return sortedCities;
+
+            case DISTRICT:
+                return sortedDistricts;
+
+            default:
+                return sortedVillages;
+        }
     }
 
     private void updateRefreshTime() {
@@ -0,0 +1,207 @@
+package id.xtramile.indonesia.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable array of entities sorted by administrative code.
+ * <p>
+ * Because administrative codes are hierarchical, all descendants of a parent occupy a
+ * contiguous code range (for example, every village of city 3273 lies in
+ * [3273000000, 3274000000)). Range queries are answered with two binary searches and
+ * returned as read-only views over the internal array, without copying.
+ * <p>
+ * The coordinates of each entity are stored as a point on the unit sphere, computed once from
+ * the entity's latitude and longitude when the index is built. Nearest-entity scans over a code
+ * range rank candidates by the squared chord distance between these points, which grows
+ * monotonically with the great-circle distance and needs no trigonometry per candidate.
+ *
+ * @param <T> the entity type
+ * @author Rigsto
+ * @since 1.2
+ */
+final class SortedCodeIndex<T> {
+
+    private static final SortedCodeIndex<?> EMPTY = new SortedCodeIndex<>(new long[0], new Object[0],
+            new double[0], new double[0], new double[0]);
+
+    /**
+     * Entity codes in ascending order.
+     */
+    private final long[] codes;
+    /**
+     * Read-only view over the entities, aligned with {@link #codes}.
+     */
+    private final List<T> items;
+    /**
+     * Unit-sphere coordinates of the entities, aligned with {@link #codes}.
+     */
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    @SuppressWarnings("unchecked")
+    private SortedCodeIndex(long[] codes, Object[] items, double[] xs, double[] ys, double[] zs) {
+        this.codes = codes;
+        this.items = Collections.unmodifiableList(Arrays.asList((T[]) items));
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+    }
+
+    /**
+     * Returns an empty index.
+     *
+     * @param <T> the entity type
+     * @return the empty index
+     */
+    @SuppressWarnings("unchecked")
+    static <T> SortedCodeIndex<T> empty() {
+        return (SortedCodeIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds an index from the given entities.
+     *
+     * @param values      the entities to index
+     * @param codeOf      function extracting the code of an entity
+     * @param latitudeOf  function extracting the latitude of an entity
+     * @param longitudeOf function extracting the longitude of an entity
+     * @param <T>         the entity type
+     * @return a new index sorted by code
+     */
+    static <T> SortedCodeIndex<T> of(Collection<T> values, ToLongFunction<T> codeOf,
+                                     ToDoubleFunction<T> latitudeOf, ToDoubleFunction<T> longitudeOf) {
+        Object[] items = values.toArray();
+        Arrays.sort(items, (a, b) -> {
+            @SuppressWarnings("unchecked") T left = (T) a;
+            @SuppressWarnings("unchecked") T right = (T) b;
+            return Long.compare(codeOf.applyAsLong(left), codeOf.applyAsLong(right));
+        });
+
+        long[] codes = new long[items.length];
+        double[] xs = new double[items.length];
+        double[] ys = new double[items.length];
+        double[] zs = new double[items.length];
+        for (int i = 0; i < items.length; i++) {
+            @SuppressWarnings("unchecked") T item = (T) items[i];
+            codes[i] = codeOf.applyAsLong(item);
+
+            double latRad = Math.toRadians(latitudeOf.applyAsDouble(item));
+            double lonRad = Math.toRadians(longitudeOf.applyAsDouble(item));
+            double cosLat = Math.cos(latRad);
+            xs[i] = cosLat * Math.cos(lonRad);
+            ys[i] = cosLat * Math.sin(lonRad);
+            zs[i] = Math.sin(latRad);
+        }
+
+        return new SortedCodeIndex<>(codes, items, xs, ys, zs);
+    }
+
+    /**
+     * Returns all entities in code order.
+     *
+     * @return a read-only view over all entities
+     */
+    List<T> all() {
+        return items;
+    }
+
+    /**
+     * Returns the entities whose code lies in [fromCode, toCode).
+     *
+     * @param fromCode the inclusive lower bound
+     * @param toCode   the exclusive upper bound
+     * @return a read-only view over the matching entities
+     */
+    List<T> range(long fromCode, long toCode) {
+        if (fromCode >= toCode) {
+            return Collections.emptyList();
+        }
+
+        return items.subList(lowerBound(fromCode), lowerBound(toCode));
+    }
+
+    /**
+     * Finds the entity nearest to a location among those whose code lies in [fromCode, toCode).
+     *
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param fromCode  the inclusive lower bound
+     * @param toCode    the exclusive upper bound
+     * @return the nearest entity, or null if the range is empty
+     */
+    T nearest(double latitude, double longitude, long fromCode, long toCode) {
+        if (fromCode >= toCode) {
+            return null;
+        }
+
+        double latRad = Math.toRadians(latitude);
+        double lonRad = Math.toRadians(longitude);
+        double cosLat = Math.cos(latRad);
+        double x = cosLat * Math.cos(lonRad);
+        double y = cosLat * Math.sin(lonRad);
+        double z = Math.sin(latRad);
+
+        int nearest = -1;
+        double minDistance = Double.POSITIVE_INFINITY;
+        for (int i = lowerBound(fromCode), end = lowerBound(toCode); i < end; i++) {
+            double dx = xs[i] - x;
+            double dy = ys[i] - y;
+            double dz = zs[i] - z;
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (distance < minDistance) {
+                minDistance = distance;
+                nearest = i;
+            }
+        }
+
+        return nearest >= 0 ? items.get(nearest) : null;
+    }
+
+    /**
+     * Checks whether an entity with the given code is indexed.
+     *
+     * @param code the code to search for
+     * @return true if the code is indexed
+     */
+    boolean contains(long code) {
+        int position = lowerBound(code);
+        return position < codes.length && codes[position] == code;
+    }
+
+    /**
+     * Finds the position of the first code that is greater than or equal to the given code.
+     *
+     * @param code the code to search for
+     * @return the insertion point of the code
+     */
+    int lowerBound(long code) {
+        int low = 0;
+        int high = codes.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (codes[mid] < code) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the number of indexed entities.
+     *
+     * @return the entity count
+     */
+    int size() {
+        return codes.length;
+    }
+}
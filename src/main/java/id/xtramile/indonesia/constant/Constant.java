@@ -154,6 +154,96 @@ public final class Constant {
      */
     public static final String ERROR_FAILED_TO_REFRESH_DATA = "Failed to refresh data";
 
+    /**
+     * Error message when a page is requested with a negative offset or a non-positive limit.
+     */
+    public static final String ERROR_INVALID_PAGE_REQUEST = "Offset must not be negative and limit must be positive";
+
+    /**
+     * Error message when a search is requested with a non-positive result limit.
+     */
+    public static final String ERROR_INVALID_SEARCH_LIMIT = "Search limit must be positive";
+
+    /**
+     * Error message when a service is configured with a negative search pre-warm size.
+     */
+    public static final String ERROR_NEGATIVE_PREWARM_SIZE = "Pre-warm size must not be negative";
+
+    /**
+     * Error message when a nearest-location query is requested with a non-positive result count.
+     */
+    public static final String ERROR_INVALID_NEAREST_COUNT = "Number of nearest results must be positive";
+
+    /**
+     * Error message when a radius query is requested with a negative or non-finite radius.
+     */
+    public static final String ERROR_INVALID_RADIUS = "Radius must be a non-negative number of kilometers";
+
+    /**
+     * Error message when the latitude and longitude arrays of a batch distance calculation differ in length.
+     */
+    public static final String ERROR_MISMATCHED_COORDINATES = "Latitude and longitude arrays must have the same length";
+
+    /**
+     * Error message when the result array of a distance matrix cannot hold all distances.
+     */
+    public static final String ERROR_DISTANCE_MATRIX_TOO_SMALL = "Result array is too small for the distance matrix";
+
+    /**
+     * Error message when a distance matrix has more cells than an array can hold.
+     */
+    public static final String ERROR_DISTANCE_MATRIX_TOO_LARGE = "Distance matrix exceeds the maximum array size";
+
+    /**
+     * Error message when a bounding box has its southern edge north of its northern edge.
+     */
+    public static final String ERROR_INVALID_BOUNDING_BOX = "Bounding box latitudes must be ordered from south to north";
+
+    /**
+     * Error message when a polygon has too few vertices to enclose an area.
+     */
+    public static final String ERROR_INVALID_POLYGON = "Polygon must have at least 3 vertices";
+
+    /**
+     * Error message when a geohash precision is outside the supported range.
+     */
+    public static final String ERROR_INVALID_GEOHASH_PRECISION = "Geohash precision must be between 1 and 12";
+
+    /**
+     * Error message when a map zoom level is negative.
+     */
+    public static final String ERROR_INVALID_ZOOM = "Zoom level must not be negative";
+
+    /**
+     * Error message when the beam width of a hierarchical search is not positive.
+     */
+    public static final String ERROR_INVALID_BEAM_WIDTH = "Beam width must be positive";
+
+    /**
+     * Error message when a subscriber requests a non-positive number of elements.
+     */
+    public static final String ERROR_INVALID_DEMAND = "Requested number of elements must be positive";
+
+    /**
+     * Error message when virtual threads are requested on a Java runtime without them.
+     */
+    public static final String ERROR_VIRTUAL_THREADS_UNAVAILABLE = "Virtual threads require Java 21 or later, or Java 19 or 20 with preview features enabled";
+
+    /**
+     * Mean radius of the Earth in kilometers, used by all distance calculations.
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    /**
+     * Number of nearest neighbors precomputed for every city and district when the cache is loaded.
+     */
+    public static final int NEIGHBOR_COUNT = 16;
+
+    /**
+     * Maximum number of distinct searches whose request counts are tracked for pre-warming.
+     */
+    public static final int MAX_TRACKED_SEARCHES = 10000;
+
     /**
      * Divisor for extracting province code from a district code.
      * <p>
@@ -184,6 +274,33 @@ public final class Constant {
      */
     public static final long DIVISOR_CITY_FROM_VILLAGE = 1000000L;
 
+    /**
+     * Divisor for extracting province code from a city code.
+     * <p>
+     * Example: city code 1101 / 100 = 11 (province code)
+     * <p>
+     * City codes are 4 digits, province codes are 2 digits.
+     */
+    public static final long DIVISOR_PROVINCE_FROM_CITY = 100L;
+
+    /**
+     * Divisor for extracting city code from a district code.
+     * <p>
+     * Example: district code 110101 / 100 = 1101 (city code)
+     * <p>
+     * District codes are 6 digits, city codes are 4 digits.
+     */
+    public static final long DIVISOR_CITY_FROM_DISTRICT = 100L;
+
+    /**
+     * Divisor for extracting district code from a village code.
+     * <p>
+     * Example: village code 1101011001 / 10000 = 110101 (district code)
+     * <p>
+     * Village codes are 10 digits, district codes are 6 digits.
+     */
+    public static final long DIVISOR_DISTRICT_FROM_VILLAGE = 10000L;
+
     private Constant() {
         throw new AssertionError("Utility class should not be instantiated");
     }
@@ -22,14 +22,90 @@ import java.util.Objects;
  *   <li>districts.csv - contains district data</li>
  *   <li>villages/{provinceCode}.csv - contains village data per province</li>
  * </ul>
+ * <p>
+ * In a linked mode (see {@link LinkMode}), every level is linked to the parent level most
+ * recently loaded by this loader, loading the parent level first if it has not been loaded
+ * yet. Loading the levels from the top down, as the service does, therefore links each level
+ * to the objects that are cached with it.
  *
  * @author Rigsto
  * @since 1.0
  */
 public class CsvIndonesiaDataLoader implements IndonesiaDataLoader {
 
+    private final LinkMode linkMode;
+    private volatile Map<Long, Province> linkedProvinces;
+    private volatile Map<Long, City> linkedCities;
+    private volatile Map<Long, District> linkedDistricts;
+
+    /**
+     * Creates a loader that does not link the loaded models.
+     */
+    public CsvIndonesiaDataLoader() {
+        this(LinkMode.NONE);
+    }
+
+    /**
+     * Creates a loader that links the loaded models in the given mode.
+     *
+     * @param linkMode how to link the loaded models
+     * @throws NullPointerException if linkMode is null
+     * @since 1.2
+     */
+    public CsvIndonesiaDataLoader(LinkMode linkMode) {
+        if (linkMode == null) {
+            throw new NullPointerException("Link mode cannot be null");
+        }
+
+        this.linkMode = linkMode;
+    }
+
     @Override
     public Map<Long, Province> loadProvinces() throws DataLoadException {
+        Map<Long, Province> provinces = readProvinces();
+        if (linkMode != LinkMode.NONE) {
+            linkedProvinces = provinces;
+        }
+
+        return provinces;
+    }
+
+    @Override
+    public Map<Long, City> loadCities() throws DataLoadException {
+        Map<Long, City> cities = readCities();
+        if (linkMode != LinkMode.NONE) {
+            Map<Long, Province> provinces = linkedProvinces != null ? linkedProvinces : loadProvinces();
+            ModelLinker.linkCities(provinces, cities.values(), linkMode == LinkMode.PARENTS_AND_CHILDREN);
+            linkedCities = cities;
+        }
+
+        return cities;
+    }
+
+    @Override
+    public Map<Long, District> loadDistricts() throws DataLoadException {
+        Map<Long, District> districts = readDistricts();
+        if (linkMode != LinkMode.NONE) {
+            Map<Long, City> cities = linkedCities != null ? linkedCities : loadCities();
+            ModelLinker.linkDistricts(cities, districts.values(), linkMode == LinkMode.PARENTS_AND_CHILDREN);
+            linkedDistricts = districts;
+        }
+
+        return districts;
+    }
+
+    @Override
+    public Map<Long, Village> loadVillages() throws DataLoadException {
+        Map<Long, Village> villages = readVillages();
+        if (linkMode != LinkMode.NONE) {
+            Map<Long, District> districts = linkedDistricts != null ? linkedDistricts : loadDistricts();
+            ModelLinker.linkVillages(districts, villages.values(), linkMode == LinkMode.PARENTS_AND_CHILDREN);
+        }
+
+        return villages;
+    }
+
+    private Map<Long, Province> readProvinces() throws DataLoadException {
         Map<Long, Province> provinces = new HashMap<>();
 
         try (CSVReader reader = new CSVReader(new InputStreamReader(
@@ -67,8 +143,7 @@ public class CsvIndonesiaDataLoader implements IndonesiaDataLoader {
         return provinces;
     }
 
-    @Override
-    public Map<Long, City> loadCities() throws DataLoadException {
+    private Map<Long, City> readCities() throws DataLoadException {
         Map<Long, City> cities = new HashMap<>();
 
         try (CSVReader reader = new CSVReader(new InputStreamReader(
@@ -107,8 +182,7 @@ public class CsvIndonesiaDataLoader implements IndonesiaDataLoader {
         return cities;
     }
 
-    @Override
-    public Map<Long, District> loadDistricts() throws DataLoadException {
+    private Map<Long, District> readDistricts() throws DataLoadException {
         Map<Long, District> districts = new HashMap<>();
 
         try (CSVReader reader = new CSVReader(new InputStreamReader(
@@ -147,12 +221,11 @@ public class CsvIndonesiaDataLoader implements IndonesiaDataLoader {
         return districts;
     }
 
-    @Override
-    public Map<Long, Village> loadVillages() throws DataLoadException {
+    private Map<Long, Village> readVillages() throws DataLoadException {
         Map<Long, Village> villages = new HashMap<>();
 
         try {
-            Map<Long, Province> provinces = loadProvinces();
+            Map<Long, Province> provinces = linkedProvinces != null ? linkedProvinces : readProvinces();
 
             for (Long provinceCode : provinces.keySet()) {
                 String villageCsvPath = Constant.CSV_PATH_VILLAGES_PREFIX + provinceCode + Constant.CSV_EXTENSION;
@@ -0,0 +1,22 @@
+package id.xtramile.indonesia.loader;
+
+/**
+ * How a loader links the model objects it loads; see {@link id.xtramile.indonesia.model.ModelLinker}.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public enum LinkMode {
+    /**
+     * Models only carry the codes of their parents.
+     */
+    NONE,
+    /**
+     * Models also reference their parent objects.
+     */
+    PARENTS,
+    /**
+     * Models also reference their parent objects, and parents hold the lists of their children.
+     */
+    PARENTS_AND_CHILDREN
+}
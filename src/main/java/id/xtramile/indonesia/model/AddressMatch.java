@@ -0,0 +1,76 @@
+package id.xtramile.indonesia.model;
+
+/**
+ * Represents the administrative hierarchy resolved from a free-text address.
+ * <p>
+ * The hierarchy is populated from the province down to the deepest level that could be
+ * matched. The confidence reflects both how many levels were matched and how closely the
+ * address text matched their names.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class AddressMatch {
+    /**
+     * The resolved hierarchy.
+     */
+    private final Indonesia indonesia;
+    /**
+     * The deepest administrative level that was resolved.
+     */
+    private final AdministrativeLevel level;
+    /**
+     * The confidence of the match, between 0 (exclusive) and 1 (inclusive).
+     */
+    private final double confidence;
+
+    /**
+     * Constructs a new AddressMatch.
+     *
+     * @param indonesia  the resolved hierarchy
+     * @param level      the deepest administrative level that was resolved
+     * @param confidence the confidence of the match
+     */
+    public AddressMatch(Indonesia indonesia, AdministrativeLevel level, double confidence) {
+        this.indonesia = indonesia;
+        this.level = level;
+        this.confidence = confidence;
+    }
+
+    /**
+     * Gets the resolved hierarchy.
+     *
+     * @return the Indonesia hierarchy
+     */
+    public Indonesia getIndonesia() {
+        return indonesia;
+    }
+
+    /**
+     * Gets the deepest administrative level that was resolved.
+     *
+     * @return the level
+     */
+    public AdministrativeLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the confidence of the match. A confidence of 1 means that all four levels were
+     * matched exactly; unmatched levels and partial name matches lower the confidence.
+     *
+     * @return the confidence, between 0 (exclusive) and 1 (inclusive)
+     */
+    public double getConfidence() {
+        return confidence;
+    }
+
+    @Override
+    public String toString() {
+        return "AddressMatch{" +
+                "level=" + level +
+                ", confidence=" + confidence +
+                ", indonesia=" + indonesia +
+                '}';
+    }
+}
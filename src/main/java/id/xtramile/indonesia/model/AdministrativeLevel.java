@@ -0,0 +1,26 @@
+package id.xtramile.indonesia.model;
+
+/**
+ * The levels of the Indonesia administrative hierarchy, from the top down.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public enum AdministrativeLevel {
+    /**
+     * First-level division (provinsi), identified by a 2-digit code.
+     */
+    PROVINCE,
+    /**
+     * Second-level division (kabupaten/kota), identified by a 4-digit code.
+     */
+    CITY,
+    /**
+     * Third-level division (kecamatan), identified by a 6-digit code.
+     */
+    DISTRICT,
+    /**
+     * Fourth-level division (kelurahan/desa), identified by a 10-digit code.
+     */
+    VILLAGE
+}
@@ -1,5 +1,8 @@
 package id.xtramile.indonesia.model;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a city (kabupaten/kota) in Indonesia.
  * <p>
@@ -30,6 +33,14 @@ public class City {
      * The longitude coordinate of the city.
      */
     private final double longitude;
+    /**
+     * The parent province, set only when the model is linked.
+     */
+    private volatile Province province;
+    /**
+     * The child districts in code order, set only when the model is linked with children.
+     */
+    private volatile List<District> districts = Collections.emptyList();
 
     /**
      * Constructs a new City.
@@ -93,6 +104,41 @@ public class City {
         return longitude;
     }
 
+    /**
+     * Gets the parent province.
+     * <p>
+     * Parent references are only set when the data is loaded in a linked mode; see
+     * {@link ModelLinker}.
+     *
+     * @return the parent province, or null if the model is not linked
+     * @since 1.2
+     */
+    public Province getProvince() {
+        return province;
+    }
+
+    void setProvince(Province province) {
+        this.province = province;
+    }
+
+    /**
+     * Gets the child districts.
+     * <p>
+     * Child lists are only set when the data is loaded in a linked mode with children; see
+     * {@link ModelLinker}.
+     *
+     * @return a read-only list of the child districts in code order, or an empty list if the model
+     * is not linked with children
+     * @since 1.2
+     */
+    public List<District> getDistricts() {
+        return districts;
+    }
+
+    void setDistricts(List<District> districts) {
+        this.districts = districts;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
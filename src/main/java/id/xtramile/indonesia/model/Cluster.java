@@ -0,0 +1,74 @@
+package id.xtramile.indonesia.model;
+
+/**
+ * Represents a group of nearby administrative units aggregated for map rendering.
+ * <p>
+ * A cluster stands for all units whose centroids fall into one cell of a zoom-dependent grid,
+ * and is drawn at the mean position of those centroids.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class Cluster {
+    /**
+     * The mean latitude of the clustered units.
+     */
+    private final double latitude;
+    /**
+     * The mean longitude of the clustered units.
+     */
+    private final double longitude;
+    /**
+     * The number of clustered units.
+     */
+    private final int count;
+
+    /**
+     * Constructs a new Cluster.
+     *
+     * @param latitude  the mean latitude of the clustered units
+     * @param longitude the mean longitude of the clustered units
+     * @param count     the number of clustered units
+     */
+    public Cluster(double latitude, double longitude, int count) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+    }
+
+    /**
+     * Gets the mean latitude of the clustered units.
+     *
+     * @return the latitude
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Gets the mean longitude of the clustered units.
+     *
+     * @return the longitude
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Gets the number of clustered units.
+     *
+     * @return the count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "Cluster{" +
+                "latitude=" + latitude +
+                ", longitude=" + longitude +
+                ", count=" + count +
+                '}';
+    }
+}
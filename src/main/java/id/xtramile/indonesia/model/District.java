@@ -1,5 +1,8 @@
 package id.xtramile.indonesia.model;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a district (kecamatan) in Indonesia.
  * <p>
@@ -30,6 +33,14 @@ public class District {
      * The longitude coordinate of the district.
      */
     private final double longitude;
+    /**
+     * The parent city, set only when the model is linked.
+     */
+    private volatile City city;
+    /**
+     * The child villages in code order, set only when the model is linked with children.
+     */
+    private volatile List<Village> villages = Collections.emptyList();
 
     /**
      * Constructs a new District.
@@ -93,6 +104,41 @@ public class District {
         return longitude;
     }
 
+    /**
+     * Gets the parent city.
+     * <p>
+     * Parent references are only set when the data is loaded in a linked mode; see
+     * {@link ModelLinker}.
+     *
+     * @return the parent city, or null if the model is not linked
+     * @since 1.2
+     */
+    public City getCity() {
+        return city;
+    }
+
+    void setCity(City city) {
+        this.city = city;
+    }
+
+    /**
+     * Gets the child villages.
+     * <p>
+     * Child lists are only set when the data is loaded in a linked mode with children; see
+     * {@link ModelLinker}.
+     *
+     * @return a read-only list of the child villages in code order, or an empty list if the model
+     * is not linked with children
+     * @since 1.2
+     */
+    public List<Village> getVillages() {
+        return villages;
+    }
+
+    void setVillages(List<Village> villages) {
+        this.villages = villages;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,105 @@
+package id.xtramile.indonesia.model;
+
+/**
+ * Represents one result of a geohash prefix lookup.
+ * <p>
+ * A hit identifies the found administrative unit by level and code, carries its complete
+ * Indonesia hierarchy, and the full-precision geohash of its centroid.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class GeohashHit {
+    /**
+     * The administrative level of the found unit.
+     */
+    private final AdministrativeLevel level;
+    /**
+     * The code of the found unit.
+     */
+    private final long code;
+    /**
+     * The name of the found unit.
+     */
+    private final String name;
+    /**
+     * The hierarchy from the province down to the found unit.
+     */
+    private final Indonesia indonesia;
+    /**
+     * The geohash of the unit's centroid.
+     */
+    private final String geohash;
+
+    /**
+     * Constructs a new GeohashHit.
+     *
+     * @param level     the administrative level of the found unit
+     * @param code      the code of the found unit
+     * @param name      the name of the found unit
+     * @param indonesia the hierarchy from the province down to the found unit
+     * @param geohash   the geohash of the unit's centroid
+     */
+    public GeohashHit(AdministrativeLevel level, long code, String name, Indonesia indonesia, String geohash) {
+        this.level = level;
+        this.code = code;
+        this.name = name;
+        this.indonesia = indonesia;
+        this.geohash = geohash;
+    }
+
+    /**
+     * Gets the administrative level of the found unit.
+     *
+     * @return the level
+     */
+    public AdministrativeLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the code of the found unit.
+     *
+     * @return the code
+     */
+    public long getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the name of the found unit.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the hierarchy from the province down to the found unit.
+     *
+     * @return the Indonesia hierarchy
+     */
+    public Indonesia getIndonesia() {
+        return indonesia;
+    }
+
+    /**
+     * Gets the geohash of the unit's centroid at full precision.
+     *
+     * @return the geohash
+     */
+    public String getGeohash() {
+        return geohash;
+    }
+
+    @Override
+    public String toString() {
+        return "GeohashHit{" +
+                "level=" + level +
+                ", code=" + code +
+                ", name='" + name + '\'' +
+                ", geohash='" + geohash + '\'' +
+                '}';
+    }
+}
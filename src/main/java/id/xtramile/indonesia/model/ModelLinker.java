@@ -0,0 +1,119 @@
+package id.xtramile.indonesia.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Utility class wiring parent references, and optionally child lists, between model objects.
+ * <p>
+ * Linked models can be navigated upwards ({@link Village#getDistrict()},
+ * {@link District#getCity()}, {@link City#getProvince()}) and downwards
+ * ({@link Province#getCities()}, {@link City#getDistricts()}, {@link District#getVillages()})
+ * by following references, without a cache or service. Parent references cost one reference
+ * field per unit, and child lists one reference per unit plus one small list per parent. On the
+ * bundled data, parent references retain about 0.3 MB and child lists about 0.9 MB more.
+ * <p>
+ * The loaders in {@code id.xtramile.indonesia.loader} are the only intended callers; the class is
+ * public because they live in another package, and the model setters it calls stay package-private.
+ * A loader links the models it creates before returning them, so they reach other threads only
+ * through the returned maps. Parent references and child lists are volatile and replaced
+ * atomically, so linking models that are already shared is still visible to every thread.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class ModelLinker {
+
+    private ModelLinker() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Links cities to their provinces.
+     *
+     * @param provinces    the provinces by code
+     * @param cities       the cities to link
+     * @param withChildren whether to also set the city list of every province
+     * @throws NullPointerException if provinces or cities is null
+     */
+    public static void linkCities(Map<Long, Province> provinces, Collection<City> cities, boolean withChildren) {
+        link(provinces, cities, City::getProvinceCode, City::setProvince, City::getCode,
+                withChildren ? Province::setCities : null);
+    }
+
+    /**
+     * Links districts to their cities.
+     *
+     * @param cities       the cities by code
+     * @param districts    the districts to link
+     * @param withChildren whether to also set the district list of every city
+     * @throws NullPointerException if cities or districts is null
+     */
+    public static void linkDistricts(Map<Long, City> cities, Collection<District> districts, boolean withChildren) {
+        link(cities, districts, District::getCityCode, District::setCity, District::getCode,
+                withChildren ? City::setDistricts : null);
+    }
+
+    /**
+     * Links villages to their districts.
+     *
+     * @param districts    the districts by code
+     * @param villages     the villages to link
+     * @param withChildren whether to also set the village list of every district
+     * @throws NullPointerException if districts or villages is null
+     */
+    public static void linkVillages(Map<Long, District> districts, Collection<Village> villages, boolean withChildren) {
+        link(districts, villages, Village::getDistrictCode, Village::setDistrict, Village::getCode,
+                withChildren ? District::setVillages : null);
+    }
+
+    /**
+     * Sets the parent of every child found among the parents, then, if children are requested,
+     * gives every parent the read-only list of its children in code order.
+     */
+    private static <P, C> void link(Map<Long, P> parents, Collection<C> children, ToLongFunction<C> parentCodeOf,
+                                    BiConsumer<C, P> setParent, ToLongFunction<C> codeOf,
+                                    BiConsumer<P, List<C>> setChildren) {
+        if (parents == null) {
+            throw new NullPointerException("Parents cannot be null");
+        }
+
+        if (children == null) {
+            throw new NullPointerException("Children cannot be null");
+        }
+
+        Map<P, ArrayList<C>> childrenByParent = new HashMap<>();
+        Function<P, ArrayList<C>> newList = parent -> new ArrayList<>();
+        for (C child : children) {
+            P parent = parents.get(parentCodeOf.applyAsLong(child));
+            setParent.accept(child, parent);
+            if (parent != null && setChildren != null) {
+                childrenByParent.computeIfAbsent(parent, newList).add(child);
+            }
+        }
+
+        if (setChildren == null) {
+            return;
+        }
+
+        Comparator<C> byCode = Comparator.comparingLong(codeOf);
+        for (P parent : parents.values()) {
+            ArrayList<C> list = childrenByParent.get(parent);
+            if (list == null) {
+                setChildren.accept(parent, Collections.emptyList());
+            } else {
+                list.sort(byCode);
+                list.trimToSize();
+                setChildren.accept(parent, Collections.unmodifiableList(list));
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package id.xtramile.indonesia.model;
+
+/**
+ * Represents one result of a nearest-location or radius query.
+ * <p>
+ * A hit identifies the found administrative unit by level and code, carries its complete
+ * Indonesia hierarchy, and the great-circle distance from the queried location to its centroid.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class NearbyHit {
+    /**
+     * The administrative level of the found unit.
+     */
+    private final AdministrativeLevel level;
+    /**
+     * The code of the found unit.
+     */
+    private final long code;
+    /**
+     * The name of the found unit.
+     */
+    private final String name;
+    /**
+     * The hierarchy from the province down to the found unit.
+     */
+    private final Indonesia indonesia;
+    /**
+     * The distance from the queried location to the unit's centroid, in kilometers.
+     */
+    private final double distance;
+
+    /**
+     * Constructs a new NearbyHit.
+     *
+     * @param level     the administrative level of the found unit
+     * @param code      the code of the found unit
+     * @param name      the name of the found unit
+     * @param indonesia the hierarchy from the province down to the found unit
+     * @param distance  the distance from the queried location, in kilometers
+     */
+    public NearbyHit(AdministrativeLevel level, long code, String name, Indonesia indonesia, double distance) {
+        this.level = level;
+        this.code = code;
+        this.name = name;
+        this.indonesia = indonesia;
+        this.distance = distance;
+    }
+
+    /**
+     * Gets the administrative level of the found unit.
+     *
+     * @return the level
+     */
+    public AdministrativeLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the code of the found unit.
+     *
+     * @return the code
+     */
+    public long getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the name of the found unit.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the hierarchy from the province down to the found unit.
+     *
+     * @return the Indonesia hierarchy
+     */
+    public Indonesia getIndonesia() {
+        return indonesia;
+    }
+
+    /**
+     * Gets the great-circle distance from the queried location to the unit's centroid.
+     *
+     * @return the distance in kilometers
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    @Override
+    public String toString() {
+        return "NearbyHit{" +
+                "level=" + level +
+                ", code=" + code +
+                ", name='" + name + '\'' +
+                ", distance=" + distance +
+                '}';
+    }
+}
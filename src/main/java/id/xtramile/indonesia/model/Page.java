@@ -0,0 +1,112 @@
+package id.xtramile.indonesia.model;
+
+import java.util.List;
+
+/**
+ * Represents one page of a larger, code-ordered listing.
+ * <p>
+ * A page holds a read-only view of its items together with the position of the page in the
+ * listing. Pages can be traversed by offset using {@link #getNextOffset()} or by cursor using
+ * {@link #getNextCursor()}, which is the code of the last item on the page.
+ *
+ * @param <T> the type of the items on the page
+ * @author Rigsto
+ * @since 1.2
+ */
+public class Page<T> {
+    /**
+     * The items on this page.
+     */
+    private final List<T> items;
+    /**
+     * The position of the first item of this page in the listing.
+     */
+    private final int offset;
+    /**
+     * The total number of items in the listing.
+     */
+    private final int totalCount;
+    /**
+     * The cursor to request the next page with, or null if this is the last page.
+     */
+    private final Long nextCursor;
+
+    /**
+     * Constructs a new Page.
+     *
+     * @param items      the items on the page
+     * @param offset     the position of the first item in the listing
+     * @param totalCount the total number of items in the listing
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public Page(List<T> items, int offset, int totalCount, Long nextCursor) {
+        this.items = items;
+        this.offset = offset;
+        this.totalCount = totalCount;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the items on this page.
+     *
+     * @return a read-only list of items
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the position of the first item of this page in the listing.
+     *
+     * @return the offset of this page
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the total number of items in the listing.
+     *
+     * @return the total item count
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Gets the offset to request the next page with.
+     *
+     * @return the offset of the next page
+     */
+    public int getNextOffset() {
+        return offset + items.size();
+    }
+
+    /**
+     * Gets the cursor to request the next page with.
+     *
+     * @return the code of the last item on this page, or null if this is the last page
+     */
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Checks whether more items follow this page.
+     *
+     * @return true if there is a next page, false otherwise
+     */
+    public boolean hasNext() {
+        return getNextOffset() < totalCount;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "offset=" + offset +
+                ", size=" + items.size() +
+                ", totalCount=" + totalCount +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
@@ -1,5 +1,8 @@
 package id.xtramile.indonesia.model;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a province in Indonesia.
  * <p>
@@ -26,6 +29,10 @@ public class Province {
      * The longitude coordinate of the province.
      */
     private final double longitude;
+    /**
+     * The child cities in code order, set only when the model is linked with children.
+     */
+    private volatile List<City> cities = Collections.emptyList();
 
     /**
      * Constructs a new Province.
@@ -78,6 +85,24 @@ public class Province {
         return longitude;
     }
 
+    /**
+     * Gets the child cities.
+     * <p>
+     * Child lists are only set when the data is loaded in a linked mode with children; see
+     * {@link ModelLinker}.
+     *
+     * @return a read-only list of the child cities in code order, or an empty list if the model
+     * is not linked with children
+     * @since 1.2
+     */
+    public List<City> getCities() {
+        return cities;
+    }
+
+    void setCities(List<City> cities) {
+        this.cities = cities;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
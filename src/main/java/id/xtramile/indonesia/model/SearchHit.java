@@ -0,0 +1,105 @@
+package id.xtramile.indonesia.model;
+
+/**
+ * Represents one result of a search across all administrative levels.
+ * <p>
+ * A hit identifies the matched administrative unit by level and code, carries its complete
+ * Indonesia hierarchy, and a relevance score used to rank hits against each other.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class SearchHit {
+    /**
+     * The administrative level of the matched unit.
+     */
+    private final AdministrativeLevel level;
+    /**
+     * The code of the matched unit.
+     */
+    private final long code;
+    /**
+     * The name of the matched unit.
+     */
+    private final String name;
+    /**
+     * The hierarchy from the province down to the matched unit.
+     */
+    private final Indonesia indonesia;
+    /**
+     * The relevance score of the hit, between 0 (exclusive) and 1 (inclusive).
+     */
+    private final double score;
+
+    /**
+     * Constructs a new SearchHit.
+     *
+     * @param level     the administrative level of the matched unit
+     * @param code      the code of the matched unit
+     * @param name      the name of the matched unit
+     * @param indonesia the hierarchy from the province down to the matched unit
+     * @param score     the relevance score of the hit
+     */
+    public SearchHit(AdministrativeLevel level, long code, String name, Indonesia indonesia, double score) {
+        this.level = level;
+        this.code = code;
+        this.name = name;
+        this.indonesia = indonesia;
+        this.score = score;
+    }
+
+    /**
+     * Gets the administrative level of the matched unit.
+     *
+     * @return the level
+     */
+    public AdministrativeLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the code of the matched unit.
+     *
+     * @return the code
+     */
+    public long getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the name of the matched unit.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the hierarchy from the province down to the matched unit.
+     *
+     * @return the Indonesia hierarchy
+     */
+    public Indonesia getIndonesia() {
+        return indonesia;
+    }
+
+    /**
+     * Gets the relevance score of the hit. Higher scores indicate better matches.
+     *
+     * @return the score, between 0 (exclusive) and 1 (inclusive)
+     */
+    public double getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHit{" +
+                "level=" + level +
+                ", code=" + code +
+                ", name='" + name + '\'' +
+                ", score=" + score +
+                '}';
+    }
+}
@@ -30,6 +30,10 @@ public class Village {
      * The longitude coordinate of the village.
      */
     private final double longitude;
+    /**
+     * The parent district, set only when the model is linked.
+     */
+    private volatile District district;
 
     /**
      * Constructs a new Village.
@@ -93,6 +97,23 @@ public class Village {
         return longitude;
     }
 
+    /**
+     * Gets the parent district.
+     * <p>
+     * Parent references are only set when the data is loaded in a linked mode; see
+     * {@link ModelLinker}.
+     *
+     * @return the parent district, or null if the model is not linked
+     * @since 1.2
+     */
+    public District getDistrict() {
+        return district;
+    }
+
+    void setDistrict(District district) {
+        this.district = district;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
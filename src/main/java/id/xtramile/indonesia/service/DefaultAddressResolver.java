@@ -0,0 +1,765 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.AddressResolver;
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.cache.CacheStats;
+import id.xtramile.indonesia.constant.Constant;
+import id.xtramile.indonesia.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Default implementation of AddressResolver on top of an IndonesiaService.
+ * <p>
+ * An address is split into comma-separated parts. Each part may start with a level marker
+ * such as "Kel.", "Desa", "Kec.", "Kab.", "Kota" or "Prov.", which restricts the level it is
+ * matched against. Postal codes are ignored and common abbreviations such as "DKI" or "NTB"
+ * are expanded.
+ * <p>
+ * Parts are matched top-down: the province first, then a city within that province, a
+ * district within that city, and a village within that district. Each step only examines the
+ * children of the units matched before it. Units of one level that match about equally well,
+ * such as Kabupaten Bandung and Kota Bandung for "Bandung", are all kept, and the lower levels
+ * decide between them. Levels that cannot be matched are skipped, and their parents are filled
+ * in from the deepest unit that was matched.
+ * <p>
+ * The normalized names of all units are computed once and kept sorted by code, so the children
+ * of a unit are found by binary search. They are rebuilt when the cache statistics of the
+ * service change, which happens on every refresh.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class DefaultAddressResolver implements AddressResolver {
+
+    private static final String[] VILLAGE_MARKERS = {"kelurahan ", "kel. ", "kel.", "kel ", "desa ", "ds. ", "ds.", "ds "};
+    private static final String[] DISTRICT_MARKERS = {"kecamatan ", "kec. ", "kec.", "kec ", "distrik "};
+    private static final String[] REGENCY_MARKERS = {"kabupaten ", "kab. ", "kab.", "kab "};
+    private static final String[] MUNICIPALITY_MARKERS = {"kota administrasi ", "kota adm. ", "kotamadya ", "kodya ", "kota "};
+    private static final String[] PROVINCE_MARKERS = {"provinsi ", "propinsi ", "prov. ", "prov.", "prov "};
+    /**
+     * Markers that start a new part even without a separator before them, as in "Kelurahan Gambir
+     * Kecamatan Gambir". Short forms without a dot are left out, because they also occur as words.
+     */
+    private static final String[] SPLIT_MARKERS = {"kelurahan ", "kel. ", "desa ", "kecamatan ", "kec. ", "distrik ",
+            "kabupaten ", "kab. ", "kota ", "kotamadya ", "provinsi ", "propinsi ", "prov. "};
+
+    /**
+     * Common abbreviations in addresses and their expansion as used in the data.
+     */
+    private static final Map<String, String> ABBREVIATIONS = new HashMap<>();
+
+    static {
+        ABBREVIATIONS.put("dki", "daerah khusus ibukota");
+        ABBREVIATIONS.put("diy", "daerah istimewa yogyakarta");
+        ABBREVIATIONS.put("ntb", "nusa tenggara barat");
+        ABBREVIATIONS.put("ntt", "nusa tenggara timur");
+        ABBREVIATIONS.put("kep", "kepulauan");
+        ABBREVIATIONS.put("jabar", "jawa barat");
+        ABBREVIATIONS.put("jateng", "jawa tengah");
+        ABBREVIATIONS.put("jatim", "jawa timur");
+        ABBREVIATIONS.put("sumut", "sumatera utara");
+        ABBREVIATIONS.put("sumbar", "sumatera barat");
+        ABBREVIATIONS.put("sumsel", "sumatera selatan");
+        ABBREVIATIONS.put("kalbar", "kalimantan barat");
+        ABBREVIATIONS.put("kalteng", "kalimantan tengah");
+        ABBREVIATIONS.put("kalsel", "kalimantan selatan");
+        ABBREVIATIONS.put("kaltim", "kalimantan timur");
+        ABBREVIATIONS.put("kaltara", "kalimantan utara");
+        ABBREVIATIONS.put("sulut", "sulawesi utara");
+        ABBREVIATIONS.put("sulteng", "sulawesi tengah");
+        ABBREVIATIONS.put("sulsel", "sulawesi selatan");
+        ABBREVIATIONS.put("sultra", "sulawesi tenggara");
+        ABBREVIATIONS.put("sulbar", "sulawesi barat");
+        ABBREVIATIONS.put("babel", "kepulauan bangka belitung");
+        ABBREVIATIONS.put("kepri", "kepulauan riau");
+    }
+
+    /**
+     * Leading word of a part that abbreviates "daerah istimewa", as in "DI Yogyakarta".
+     * It is only expanded when the part is matched against provinces, because "di" is also the
+     * everyday preposition "in".
+     */
+    private static final String SPECIAL_REGION_ABBREVIATION = "di ";
+    private static final String SPECIAL_REGION = "daerah istimewa ";
+
+    /**
+     * Minimum score for a name to be accepted as the match of an address part.
+     * Prefix and word-prefix matches pass; matches in the middle of a word do not.
+     */
+    private static final double MIN_SCORE = 0.5;
+    /**
+     * Minimum score for a name that only appears as whole words inside a longer address part.
+     * The name must cover at least half of the part.
+     */
+    private static final double MIN_CONTAINED_SCORE = 0.25;
+    /**
+     * Base score for a name that appears as whole words inside a longer address part.
+     */
+    private static final double SCORE_CONTAINED = 0.5;
+    /**
+     * Adjustment when an address part's Kabupaten/Kota marker agrees or disagrees with a city name.
+     */
+    private static final double SCORE_CITY_KIND = 0.05;
+    /**
+     * Candidates scoring within this margin of the best candidate of a level are kept, so that
+     * the lower levels can decide between them.
+     */
+    private static final double TIE_MARGIN = 0.1;
+    /**
+     * Maximum number of candidates kept per level.
+     */
+    private static final int MAX_CANDIDATES = 4;
+    /**
+     * Maximum number of address parts considered, bounded by the bits of a {@code long} mask.
+     */
+    private static final int MAX_PARTS = Long.SIZE;
+
+    /**
+     * The service to resolve addresses against.
+     */
+    private final IndonesiaService service;
+    /**
+     * Normalized names of all units, built on first use and rebuilt when the data changes.
+     */
+    private volatile Names names;
+
+    /**
+     * Constructs a new DefaultAddressResolver on top of the specified service.
+     *
+     * @param service the service to resolve addresses against
+     * @throws NullPointerException if service is null
+     */
+    public DefaultAddressResolver(IndonesiaService service) {
+        if (service == null) {
+            throw new NullPointerException("Service cannot be null");
+        }
+
+        this.service = service;
+    }
+
+    @Override
+    public Optional<AddressMatch> resolve(String address) {
+        if (address == null || address.trim().isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<Part> parts = parse(address);
+        if (parts.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (parts.size() > MAX_PARTS) {
+            parts = parts.subList(0, MAX_PARTS);
+        }
+
+        Names data = names();
+        Match<Province> bestProvince = null;
+        Match<City> bestCity = null;
+        Match<District> bestDistrict = null;
+        Match<Village> bestVillage = null;
+        double bestScore = -1.0;
+
+        for (Match<Province> province : matches(data.provinces, 0, data.provinces.size(),
+                AdministrativeLevel.PROVINCE, parts, 0L)) {
+            int[] cityRange = province.candidate != null
+                    ? data.range(data.cities, province.candidate.code, Constant.DIVISOR_PROVINCE_FROM_CITY)
+                    : new int[]{0, data.cities.size()};
+
+            for (Match<City> city : matches(data.cities, cityRange[0], cityRange[1],
+                    AdministrativeLevel.CITY, parts, province.used)) {
+                int[] districtRange;
+                if (city.candidate != null) {
+                    districtRange = data.range(data.districts, city.candidate.code, Constant.DIVISOR_CITY_FROM_DISTRICT);
+                } else if (province.candidate != null) {
+                    districtRange = data.range(data.districts, province.candidate.code, Constant.DIVISOR_PROVINCE_FROM_DISTRICT);
+                } else {
+                    districtRange = new int[]{0, data.districts.size()};
+                }
+
+                for (Match<District> district : matches(data.districts, districtRange[0], districtRange[1],
+                        AdministrativeLevel.DISTRICT, parts, city.used)) {
+                    int[] villageRange;
+                    if (district.candidate != null) {
+                        villageRange = data.range(data.villages, district.candidate.code, Constant.DIVISOR_DISTRICT_FROM_VILLAGE);
+                    } else if (city.candidate != null) {
+                        villageRange = data.range(data.villages, city.candidate.code, Constant.DIVISOR_CITY_FROM_VILLAGE);
+                    } else {
+                        villageRange = new int[]{0, 0};
+                    }
+
+                    Match<Village> village = matches(data.villages, villageRange[0], villageRange[1],
+                            AdministrativeLevel.VILLAGE, parts, district.used).get(0);
+
+                    double score = province.score + city.score + district.score + village.score;
+                    if (score > bestScore) {
+                        bestProvince = province;
+                        bestCity = city;
+                        bestDistrict = district;
+                        bestVillage = village;
+                        bestScore = score;
+                    }
+                }
+            }
+        }
+
+        Indonesia indonesia;
+        AdministrativeLevel level;
+        if (bestVillage.candidate != null) {
+            indonesia = service.buildFrom(bestVillage.candidate.entity);
+            level = AdministrativeLevel.VILLAGE;
+        } else if (bestDistrict.candidate != null) {
+            indonesia = service.buildFrom(bestDistrict.candidate.entity);
+            level = AdministrativeLevel.DISTRICT;
+        } else if (bestCity.candidate != null) {
+            indonesia = service.buildFrom(bestCity.candidate.entity);
+            level = AdministrativeLevel.CITY;
+        } else if (bestProvince.candidate != null) {
+            indonesia = service.buildFrom(bestProvince.candidate.entity);
+            level = AdministrativeLevel.PROVINCE;
+        } else {
+            return Optional.empty();
+        }
+
+        return Optional.of(new AddressMatch(indonesia, level, bestScore / AdministrativeLevel.values().length));
+    }
+
+    /**
+     * Returns the normalized names of the current data, rebuilding them if the data has changed.
+     *
+     * @return the normalized names
+     */
+    private Names names() {
+        CacheStats stats = service.getCacheStats();
+        Names current = names;
+        if (current == null || !current.isCurrent(stats)) {
+            current = new Names(service, stats);
+            names = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * Splits an address into normalized parts and recognizes their level markers.
+     * <p>
+     * Parts are separated by commas, semicolons and line breaks, and a separated part is split
+     * again before every level marker inside it. The name of a part split off this way may be
+     * followed by the names of higher levels, as in "Kecamatan Gambir Jakarta Pusat", so its text
+     * is also added as an unmarked part that any level may match.
+     *
+     * @param address the free-text address
+     * @return the non-empty parts, in address order
+     */
+    static List<Part> parse(String address) {
+        List<Part> parts = new ArrayList<>();
+        int start = 0;
+
+        for (int i = 0; i <= address.length(); i++) {
+            if (i == address.length() || isSeparator(address.charAt(i))) {
+                List<String> pieces = splitAtMarkers(address.substring(start, i).trim().toLowerCase());
+                for (String piece : pieces) {
+                    Part part = parsePart(piece);
+                    if (part == null) {
+                        continue;
+                    }
+
+                    parts.add(part);
+                    if (pieces.size() > 1 && part.level != null && part.text.indexOf(' ') > 0) {
+                        parts.add(new Part(part.text, part.provinceText, null, null));
+                    }
+                }
+
+                start = i + 1;
+            }
+        }
+
+        return parts;
+    }
+
+    /**
+     * Splits a lowercase part before every level marker that starts a word inside it.
+     * <p>
+     * A marker directly after another marker is part of a name, as "Kota" in "Kecamatan Kota
+     * Baru", and does not split.
+     *
+     * @param text the trimmed, lowercase part
+     * @return the pieces, in order
+     */
+    private static List<String> splitAtMarkers(String text) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+
+        for (int i = 1; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i - 1)) || Character.isWhitespace(text.charAt(i))) {
+                continue;
+            }
+
+            for (String marker : SPLIT_MARKERS) {
+                if (text.startsWith(marker, i)) {
+                    String piece = text.substring(start, i).trim();
+                    if (!isBareMarker(piece)) {
+                        pieces.add(piece);
+                        start = i;
+                    }
+
+                    break;
+                }
+            }
+        }
+
+        pieces.add(text.substring(start));
+        return pieces;
+    }
+
+    private static boolean isBareMarker(String text) {
+        for (String[] markers : new String[][]{VILLAGE_MARKERS, DISTRICT_MARKERS, REGENCY_MARKERS, MUNICIPALITY_MARKERS, PROVINCE_MARKERS}) {
+            for (String marker : markers) {
+                if (text.equals(marker.trim())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Normalizes a name or address text for matching.
+     * <p>
+     * Letters are lowercased, apostrophes are dropped, and any other punctuation is treated
+     * as a word boundary. Words are separated by single spaces.
+     *
+     * @param text the text to normalize
+     * @return the normalized text
+     */
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+
+                normalized.append(Character.toLowerCase(c));
+                pendingSpace = false;
+            } else if (c != '\'') {
+                pendingSpace = true;
+            }
+        }
+
+        return normalized.toString();
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == ',' || c == ';' || c == '\n';
+    }
+
+    private static Part parsePart(String raw) {
+        String text = raw.trim().toLowerCase();
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        AdministrativeLevel level = null;
+        String cityPrefix = null;
+
+        String rest = stripMarker(text, VILLAGE_MARKERS);
+        if (rest != null) {
+            level = AdministrativeLevel.VILLAGE;
+        } else if ((rest = stripMarker(text, DISTRICT_MARKERS)) != null) {
+            level = AdministrativeLevel.DISTRICT;
+        } else if ((rest = stripMarker(text, REGENCY_MARKERS)) != null) {
+            level = AdministrativeLevel.CITY;
+            cityPrefix = "kabupaten ";
+        } else if ((rest = stripMarker(text, MUNICIPALITY_MARKERS)) != null) {
+            level = AdministrativeLevel.CITY;
+            cityPrefix = "kota ";
+        } else if ((rest = stripMarker(text, PROVINCE_MARKERS)) != null) {
+            level = AdministrativeLevel.PROVINCE;
+        } else {
+            rest = text;
+        }
+
+        StringBuilder words = new StringBuilder();
+        for (String word : normalize(rest).split(" ")) {
+            if (word.isEmpty() || isNumber(word)) {
+                continue;
+            }
+
+            if (words.length() > 0) {
+                words.append(' ');
+            }
+
+            words.append(ABBREVIATIONS.getOrDefault(word, word));
+        }
+
+        if (words.length() == 0) {
+            return null;
+        }
+
+        String partText = words.toString();
+        String provinceText = partText.startsWith(SPECIAL_REGION_ABBREVIATION)
+                ? SPECIAL_REGION + partText.substring(SPECIAL_REGION_ABBREVIATION.length())
+                : partText;
+
+        return new Part(partText, provinceText, level, cityPrefix);
+    }
+
+    private static String stripMarker(String text, String[] markers) {
+        for (String marker : markers) {
+            if (text.length() > marker.length() && text.startsWith(marker)) {
+                return text.substring(marker.length());
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isNumber(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!Character.isDigit(word.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Finds the candidates of a code range that best match one of the address parts eligible for the level.
+     * <p>
+     * A part is eligible if it has no marker or a marker of this level, and has not already been
+     * matched by a unit of a higher level. Every candidate scoring within {@link #TIE_MARGIN} of
+     * the best one is returned, best first, and marks its matched part as used unless the
+     * candidate's name was only contained in it.
+     *
+     * @param candidates the candidates of the level, sorted by code
+     * @param from       the position of the first candidate to examine
+     * @param to         the position after the last candidate to examine
+     * @param level      the level of the candidates
+     * @param parts      the address parts
+     * @param used       the mask of parts already used by higher levels
+     * @param <T>        the entity type
+     * @return the best matches, or a single match with a null candidate if no candidate scored high enough
+     */
+    private static <T> List<Match<T>> matches(List<Candidate<T>> candidates, int from, int to,
+                                              AdministrativeLevel level, List<Part> parts, long used) {
+        List<Match<T>> matches = new ArrayList<>();
+        double bestScore = 0.0;
+
+        for (int i = from; i < to; i++) {
+            Candidate<T> candidate = candidates.get(i);
+            double candidateScore = 0.0;
+            long candidateUsed = used;
+
+            for (int p = 0; p < parts.size(); p++) {
+                Part part = parts.get(p);
+                if ((used & (1L << p)) != 0 || (part.level != null && part.level != level)) {
+                    continue;
+                }
+
+                if ((candidate.initials & part.first) == 0 && (part.initials & candidate.first) == 0) {
+                    // The part starts no word of the name, and the name starts no word of the part
+                    continue;
+                }
+
+                String text = level == AdministrativeLevel.PROVINCE ? part.provinceText : part.text;
+                double score = NameIndex.matchScore(candidate.name, text);
+                if (candidate.shortName != candidate.name) {
+                    score = Math.max(score, NameIndex.matchScore(candidate.shortName, text));
+                }
+
+                if (score < MIN_SCORE && part.level == level) {
+                    score = Math.max(score, leadingScore(text, candidate));
+                }
+
+                boolean contained = false;
+                if (score < MIN_SCORE) {
+                    score = containedScore(text, candidate);
+                    contained = true;
+                }
+
+                if (score == 0.0) {
+                    continue;
+                }
+
+                if (part.cityPrefix != null) {
+                    score += candidate.name.startsWith(part.cityPrefix) ? SCORE_CITY_KIND : -SCORE_CITY_KIND;
+                }
+
+                if (score > candidateScore) {
+                    candidateScore = score;
+                    candidateUsed = contained ? used : used | (1L << p);
+                }
+            }
+
+            if (candidateScore > 0.0 && candidateScore >= bestScore - TIE_MARGIN) {
+                matches.add(new Match<>(candidate, Math.min(1.0, candidateScore), candidateUsed));
+                bestScore = Math.max(bestScore, candidateScore);
+            }
+        }
+
+        if (matches.isEmpty()) {
+            return Collections.singletonList(new Match<>(null, 0.0, used));
+        }
+
+        double threshold = Math.min(1.0, bestScore) - TIE_MARGIN;
+        matches.removeIf(match -> match.score < threshold);
+        matches.sort((a, b) -> Double.compare(b.score, a.score));
+
+        return matches.size() > MAX_CANDIDATES ? matches.subList(0, MAX_CANDIDATES) : matches;
+    }
+
+    /**
+     * Scores a name that forms the leading words of a longer address part marked with its level.
+     * <p>
+     * A marker is followed by the name of its unit, so the words after the name belong to other
+     * levels, as in "Kecamatan Gambir Jakarta Pusat".
+     *
+     * @param text      the normalized address part
+     * @param candidate the candidate
+     * @return the score, at least {@link #MIN_SCORE}, or 0 if neither name leads the part
+     */
+    private static double leadingScore(String text, Candidate<?> candidate) {
+        double score = 0.0;
+        for (String name : new String[]{candidate.name, candidate.shortName}) {
+            if (name.length() < text.length() && text.charAt(name.length()) == ' ' && text.startsWith(name)) {
+                score = Math.max(score, MIN_SCORE + SCORE_CONTAINED * name.length() / text.length());
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * Scores a name that appears as whole words inside a longer address part.
+     * <p>
+     * The full name is preferred over the name without its Kabupaten/Kota prefix, so "Kota
+     * Bandung" inside a part scores higher for Kota Bandung than for Kabupaten Bandung. Names
+     * covering less than half of the part are rejected.
+     *
+     * @param text      the normalized address part
+     * @param candidate the candidate
+     * @return the score, or 0 if neither name is contained or the match is too weak
+     */
+    private static double containedScore(String text, Candidate<?> candidate) {
+        // A name must be shorter than the part, and long enough to cover half of it
+        int minLength = (text.length() + 1) / 2;
+        String name;
+        if (candidate.name.length() < text.length() && candidate.name.length() >= minLength
+                && containsWords(text, candidate.name)) {
+            name = candidate.name;
+        } else if (candidate.shortName != candidate.name && candidate.shortName.length() >= minLength
+                && candidate.shortName.length() < text.length() && containsWords(text, candidate.shortName)) {
+            name = candidate.shortName;
+        } else {
+            return 0.0;
+        }
+
+        return SCORE_CONTAINED * name.length() / text.length();
+    }
+
+    /**
+     * Checks whether a name appears as a sequence of whole words in a longer text.
+     *
+     * @param text the text to search in
+     * @param name the name to search for
+     * @return true if the name appears at word boundaries, false otherwise
+     */
+    private static boolean containsWords(String text, String name) {
+        int at = text.indexOf(name);
+        while (at >= 0) {
+            int end = at + name.length();
+            if ((at == 0 || text.charAt(at - 1) == ' ') && (end == text.length() || text.charAt(end) == ' ')) {
+                return true;
+            }
+
+            at = text.indexOf(name, at + 1);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns a bit set of the characters that start a word of a normalized text.
+     * <p>
+     * A name can only be accepted as the match of a part if one of them starts a word of the
+     * other, which this set checks without comparing the texts.
+     *
+     * @param text the normalized text
+     * @return the initials, with one bit per letter and shared bits for digits and other letters
+     */
+    private static int initials(String text) {
+        int initials = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (i == 0 || text.charAt(i - 1) == ' ') {
+                initials |= initial(text.charAt(i));
+            }
+        }
+
+        return initials;
+    }
+
+    private static int initial(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return 1 << (c - 'a');
+        }
+
+        return Character.isDigit(c) ? 1 << 26 : 1 << 27;
+    }
+
+    /**
+     * A normalized part of an address.
+     */
+    static final class Part {
+        final String text;
+        /**
+         * The text used for matching provinces, with a leading "di" expanded to "daerah istimewa".
+         */
+        final String provinceText;
+        final AdministrativeLevel level;
+        final String cityPrefix;
+        /**
+         * The initials of the words of both texts.
+         */
+        final int initials;
+        /**
+         * The initial of the first word, which both texts share.
+         */
+        final int first;
+
+        Part(String text, String provinceText, AdministrativeLevel level, String cityPrefix) {
+            this.text = text;
+            this.provinceText = provinceText;
+            this.level = level;
+            this.cityPrefix = cityPrefix;
+            this.initials = initials(text) | initials(provinceText);
+            this.first = initial(text.charAt(0));
+        }
+    }
+
+    /**
+     * A unit and its normalized names.
+     */
+    private static final class Candidate<T> {
+        final T entity;
+        final long code;
+        final String name;
+        final String shortName;
+        /**
+         * The initials of the words of the name.
+         */
+        final int initials;
+        /**
+         * The initials of the first word of the name and of the name without its prefix.
+         */
+        final int first;
+
+        Candidate(T entity, long code, String name) {
+            this.entity = entity;
+            this.code = code;
+            this.name = normalize(name);
+            this.shortName = NameIndex.stripPrefix(this.name);
+            this.initials = initials(this.name);
+            this.first = this.name.isEmpty() ? 0 : initial(this.name.charAt(0)) | initial(this.shortName.charAt(0));
+        }
+    }
+
+    /**
+     * A candidate of one level, its score and the parts used by it and its ancestors.
+     */
+    private static final class Match<T> {
+        final Candidate<T> candidate;
+        final double score;
+        final long used;
+
+        Match(Candidate<T> candidate, double score, long used) {
+            this.candidate = candidate;
+            this.score = score;
+            this.used = used;
+        }
+    }
+
+    /**
+     * The candidates of all levels, each sorted by code.
+     */
+    private static final class Names {
+        final CacheStats stats;
+        final List<Candidate<Province>> provinces;
+        final List<Candidate<City>> cities;
+        final List<Candidate<District>> districts;
+        final List<Candidate<Village>> villages;
+
+        Names(IndonesiaService service, CacheStats stats) {
+            this.stats = stats;
+            this.provinces = candidates(service.getAllProvinces(), Province::getCode, Province::getName);
+            this.cities = candidates(service.getAllCities(), City::getCode, City::getName);
+            this.districts = candidates(service.getAllDistricts(), District::getCode, District::getName);
+            this.villages = candidates(service.getAllVillages(), Village::getCode, Village::getName);
+        }
+
+        /**
+         * Checks whether these names were built from data with the given statistics.
+         *
+         * @param current the current cache statistics
+         * @return true if the statistics are unchanged, false otherwise
+         */
+        boolean isCurrent(CacheStats current) {
+            return stats != null && current != null
+                    && stats.getLastRefreshTime() == current.getLastRefreshTime()
+                    && stats.getProvinceCount() == current.getProvinceCount()
+                    && stats.getCityCount() == current.getCityCount()
+                    && stats.getDistrictCount() == current.getDistrictCount()
+                    && stats.getVillageCount() == current.getVillageCount();
+        }
+
+        /**
+         * Finds the positions of the children of a parent in a code-sorted list.
+         *
+         * @param candidates the code-sorted candidates
+         * @param parentCode the code of the parent
+         * @param divisor    the divisor that maps a child code onto its parent code
+         * @return the position of the first child and the position after the last child
+         */
+        int[] range(List<? extends Candidate<?>> candidates, long parentCode, long divisor) {
+            return new int[]{lowerBound(candidates, parentCode * divisor), lowerBound(candidates, (parentCode + 1) * divisor)};
+        }
+
+        private static int lowerBound(List<? extends Candidate<?>> candidates, long code) {
+            int low = 0;
+            int high = candidates.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (candidates.get(mid).code < code) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+
+        private static <T> List<Candidate<T>> candidates(List<T> entities, ToLongFunction<T> codeOf,
+                                                         Function<T, String> nameOf) {
+            List<Candidate<T>> candidates = new ArrayList<>(entities.size());
+            for (T entity : entities) {
+                candidates.add(new Candidate<>(entity, codeOf.applyAsLong(entity), nameOf.apply(entity)));
+            }
+
+            candidates.sort((a, b) -> Long.compare(a.code, b.code));
+            return candidates;
+        }
+    }
+}
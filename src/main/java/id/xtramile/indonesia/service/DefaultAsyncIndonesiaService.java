@@ -0,0 +1,352 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.AsyncIndonesiaService;
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.AdministrativeLevel;
+import id.xtramile.indonesia.model.City;
+import id.xtramile.indonesia.model.Cluster;
+import id.xtramile.indonesia.model.District;
+import id.xtramile.indonesia.model.GeohashHit;
+import id.xtramile.indonesia.model.Indonesia;
+import id.xtramile.indonesia.model.NearbyHit;
+import id.xtramile.indonesia.model.Province;
+import id.xtramile.indonesia.model.SearchHit;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.spatial.GeoRegion;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Default implementation of AsyncIndonesiaService on top of an IndonesiaService.
+ * <p>
+ * Cheap queries are called directly and wrapped in a completed future. All other queries are
+ * submitted to the executor given at construction, or to the common fork-join pool by default.
+ * Applications whose searches may wait on a search computed by another caller, or that refresh
+ * data through this view, should pass a dedicated executor so that the common pool is not
+ * blocked.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class DefaultAsyncIndonesiaService implements AsyncIndonesiaService {
+
+    /**
+     * The service to delegate to.
+     */
+    private final IndonesiaService service;
+    /**
+     * The executor that runs expensive queries.
+     */
+    private final Executor executor;
+
+    /**
+     * Constructs a new DefaultAsyncIndonesiaService that runs expensive queries on the common
+     * fork-join pool.
+     *
+     * @param service the service to delegate to
+     * @throws NullPointerException if service is null
+     */
+    public DefaultAsyncIndonesiaService(IndonesiaService service) {
+        this(service, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new DefaultAsyncIndonesiaService that runs expensive queries on the specified executor.
+     *
+     * @param service  the service to delegate to
+     * @param executor the executor to run expensive queries on
+     * @throws NullPointerException if service or executor is null
+     */
+    public DefaultAsyncIndonesiaService(IndonesiaService service, Executor executor) {
+        if (service == null) {
+            throw new NullPointerException("Service cannot be null");
+        }
+
+        if (executor == null) {
+            throw new NullPointerException("Executor cannot be null");
+        }
+
+        this.service = service;
+        this.executor = executor;
+    }
+
+    @Override
+    public IndonesiaService getService() {
+        return service;
+    }
+
+    @Override
+    public CompletableFuture<Optional<Province>> findProvince(long provinceCode) {
+        return inline(() -> service.findProvince(provinceCode));
+    }
+
+    @Override
+    public CompletableFuture<Optional<City>> findCity(long cityCode) {
+        return inline(() -> service.findCity(cityCode));
+    }
+
+    @Override
+    public CompletableFuture<Optional<District>> findDistrict(long districtCode) {
+        return inline(() -> service.findDistrict(districtCode));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Village>> findVillage(long villageCode) {
+        return inline(() -> service.findVillage(villageCode));
+    }
+
+    @Override
+    public CompletableFuture<List<City>> getCitiesByProvince(long provinceCode) {
+        return inline(() -> service.getCitiesByProvince(provinceCode));
+    }
+
+    @Override
+    public CompletableFuture<List<District>> getDistrictsByCity(long cityCode) {
+        return inline(() -> service.getDistrictsByCity(cityCode));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> getVillagesByDistrict(long districtCode) {
+        return inline(() -> service.getVillagesByDistrict(districtCode));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> getVillagesByCity(long cityCode) {
+        return submit(() -> service.getVillagesByCity(cityCode));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> getVillagesByProvince(long provinceCode) {
+        return submit(() -> service.getVillagesByProvince(provinceCode));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> findVillages(long[] villageCodes) {
+        if (villageCodes == null) {
+            throw new NullPointerException("Village codes cannot be null");
+        }
+
+        long[] codes = villageCodes.clone();
+        return submit(() -> service.findVillages(codes));
+    }
+
+    @Override
+    public CompletableFuture<List<Indonesia>> buildFromVillageCodes(long[] villageCodes) {
+        if (villageCodes == null) {
+            throw new NullPointerException("Village codes cannot be null");
+        }
+
+        long[] codes = villageCodes.clone();
+        return submit(() -> service.buildFromVillageCodes(codes));
+    }
+
+    @Override
+    public CompletableFuture<BitSet> validateCodes(AdministrativeLevel level, long[] codes) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        if (codes == null) {
+            throw new NullPointerException("Codes cannot be null");
+        }
+
+        long[] copy = codes.clone();
+        return submit(() -> service.validateCodes(level, copy));
+    }
+
+    @Override
+    public CompletableFuture<List<Province>> searchProvinces(String query) {
+        return submit(() -> service.searchProvinces(query));
+    }
+
+    @Override
+    public CompletableFuture<List<City>> searchCities(String query) {
+        return submit(() -> service.searchCities(query));
+    }
+
+    @Override
+    public CompletableFuture<List<City>> searchCities(String query, long provinceCode) {
+        return submit(() -> service.searchCities(query, provinceCode));
+    }
+
+    @Override
+    public CompletableFuture<List<District>> searchDistricts(String query) {
+        return submit(() -> service.searchDistricts(query));
+    }
+
+    @Override
+    public CompletableFuture<List<District>> searchDistricts(String query, long parentCode) {
+        return submit(() -> service.searchDistricts(query, parentCode));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> searchVillages(String query) {
+        return submit(() -> service.searchVillages(query));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> searchVillages(String query, long parentCode) {
+        return submit(() -> service.searchVillages(query, parentCode));
+    }
+
+    @Override
+    public CompletableFuture<List<SearchHit>> search(String query, int limit) {
+        return submit(() -> service.search(query, limit));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Province>> findNearestProvince(double latitude, double longitude) {
+        return submit(() -> service.findNearestProvince(latitude, longitude));
+    }
+
+    @Override
+    public CompletableFuture<Optional<City>> findNearestCity(double latitude, double longitude) {
+        return submit(() -> service.findNearestCity(latitude, longitude));
+    }
+
+    @Override
+    public CompletableFuture<Optional<District>> findNearestDistrict(double latitude, double longitude) {
+        return submit(() -> service.findNearestDistrict(latitude, longitude));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Village>> findNearestVillage(double latitude, double longitude) {
+        return submit(() -> service.findNearestVillage(latitude, longitude));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Village>> findNearestVillage(double latitude, double longitude, long parentCode) {
+        return submit(() -> service.findNearestVillage(latitude, longitude, parentCode));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Village>> findNearestVillageByHierarchy(double latitude, double longitude, int beamWidth) {
+        return submit(() -> service.findNearestVillageByHierarchy(latitude, longitude, beamWidth));
+    }
+
+    @Override
+    public CompletableFuture<List<NearbyHit>> findKNearest(AdministrativeLevel level, double latitude, double longitude, int count) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        return submit(() -> service.findKNearest(level, latitude, longitude, count));
+    }
+
+    @Override
+    public CompletableFuture<List<NearbyHit>> findWithinRadius(AdministrativeLevel level, double latitude, double longitude, double radiusKm) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        return submit(() -> service.findWithinRadius(level, latitude, longitude, radiusKm));
+    }
+
+    @Override
+    public CompletableFuture<List<NearbyHit>> getNeighbors(long code, int count) {
+        return submit(() -> service.getNeighbors(code, count));
+    }
+
+    @Override
+    public CompletableFuture<List<Province>> findProvincesWithin(GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        return submit(() -> service.streamProvincesWithin(region).collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<City>> findCitiesWithin(GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        return submit(() -> service.streamCitiesWithin(region).collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<District>> findDistrictsWithin(GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        return submit(() -> service.streamDistrictsWithin(region).collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<Village>> findVillagesWithin(GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        return submit(() -> service.streamVillagesWithin(region).collect(Collectors.toList()));
+    }
+
+    @Override
+    public CompletableFuture<List<GeohashHit>> findByGeohashPrefix(AdministrativeLevel level, String prefix) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        if (prefix == null) {
+            throw new NullPointerException("Prefix cannot be null");
+        }
+
+        return submit(() -> service.findByGeohashPrefix(level, prefix));
+    }
+
+    @Override
+    public CompletableFuture<List<Cluster>> clusterVillages(int zoom, GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        return submit(() -> service.clusterVillages(zoom, region));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Indonesia>> reverseGeocode(double latitude, double longitude) {
+        return submit(() -> service.reverseGeocode(latitude, longitude));
+    }
+
+    @Override
+    public CompletableFuture<Void> refreshData() {
+        return CompletableFuture.runAsync(service::refreshData, executor);
+    }
+
+    /**
+     * Runs a cheap query on the calling thread.
+     *
+     * @param query the query to run
+     * @param <T>   the result type
+     * @return a future that is already completed with the result, or exceptionally with the failure of the query
+     */
+    private static <T> CompletableFuture<T> inline(Supplier<T> query) {
+        try {
+            return CompletableFuture.completedFuture(query.get());
+        } catch (RuntimeException e) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    /**
+     * Runs an expensive query on the executor.
+     *
+     * @param query the query to run
+     * @param <T>   the result type
+     * @return a future of the result
+     */
+    private <T> CompletableFuture<T> submit(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor);
+    }
+}
@@ -7,12 +7,34 @@ import id.xtramile.indonesia.cache.CacheStats;
 import id.xtramile.indonesia.constant.Constant;
 import id.xtramile.indonesia.exception.DataLoadException;
 import id.xtramile.indonesia.model.*;
+import id.xtramile.indonesia.spatial.ClusterIndex;
+import id.xtramile.indonesia.spatial.GeoRegion;
+import id.xtramile.indonesia.spatial.GeohashIndex;
+import id.xtramile.indonesia.spatial.NeighborIndex;
+import id.xtramile.indonesia.spatial.SpatialIndex;
+import id.xtramile.indonesia.util.CodeValidator;
+import id.xtramile.indonesia.util.DistanceCalculator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of IndonesiaService.
@@ -21,12 +43,21 @@ import java.util.stream.Collectors;
  * a cache and data loader. Data is automatically loaded during construction and can
  * be refreshed on demand. The service supports searching, finding, and hierarchical
  * queries across all administrative levels.
+ * <p>
+ * Callers that must wait, for the lazily built name index, for a search computed by another
+ * caller or for a refresh, wait on {@code java.util.concurrent} locks and futures rather than
+ * on monitors, so virtual threads that wait do not pin their carrier thread.
  *
  * @author Rigsto
  * @since 1.1
  */
 public class DefaultIndonesiaService implements IndonesiaService {
 
+    /**
+     * Number of low bits holding the position of a code when a batch is sorted by code.
+     */
+    private static final int POSITION_BITS = 30;
+
     /**
      * The cache for storing administrative data.
      */
@@ -37,10 +68,44 @@ public class DefaultIndonesiaService implements IndonesiaService {
     private final IndonesiaDataLoader loader;
     /**
      * Cache for search results to improve performance on repeated queries.
-     * Key format: "searchType:normalizedQuery" (e.g., "provinces:jakarta")
+     * Key format: "searchType:normalizedQuery" (e.g., "provinces:jakarta"), or
+     * "searchType@parentCode:normalizedQuery" for scoped searches (e.g., "villages@3273:cibeunying")
      */
     private final ConcurrentHashMap<String, List<?>> searchResultCache;
 
+    /**
+     * Searches currently being computed, keyed like {@link #searchResultCache}.
+     * Concurrent identical searches share the computation of the first caller.
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<List<?>>> inFlightSearches;
+    /**
+     * Hit counts of search keys, used to replay the most popular searches after a refresh.
+     * Only populated when pre-warming is enabled.
+     */
+    private final ConcurrentHashMap<String, SearchRecord> searchRecords;
+    /**
+     * Incremented whenever the search result cache is cleared, so that searches computed
+     * against older data are not stored.
+     */
+    private final AtomicLong dataGeneration;
+    /**
+     * Number of most popular searches to replay after a refresh, or 0 to disable pre-warming.
+     */
+    private final int prewarmSize;
+    /**
+     * Lock guarding the lazy construction of {@link #nameIndex}.
+     */
+    private final ReentrantLock nameIndexLock = new ReentrantLock();
+    /**
+     * Lock serializing {@link #refreshData()}, so that concurrent refreshes do not interleave
+     * clearing and loading the cache.
+     */
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    /**
+     * Combined name index across all levels, built on first use and dropped on refresh.
+     */
+    private volatile NameIndex nameIndex;
+
     /**
      * Constructs a new DefaultIndonesiaService with the specified cache and loader.
      * Data is automatically loaded during construction.
@@ -50,14 +115,46 @@ public class DefaultIndonesiaService implements IndonesiaService {
      * @throws DataLoadException if data cannot be loaded during initialization
      */
     public DefaultIndonesiaService(IndonesiaDataCache cache, IndonesiaDataLoader loader) {
+        this(cache, loader, 0);
+    }
+
+    /**
+     * Constructs a new DefaultIndonesiaService that pre-warms its search result cache after a refresh.
+     * Data is automatically loaded during construction.
+     * <p>
+     * The service counts how often each search is requested. After {@link #refreshData()} the
+     * {@code prewarmSize} most requested searches are replayed, so that the first requests after
+     * a refresh do not all miss the search result cache at once.
+     *
+     * @param cache       the cache implementation to use
+     * @param loader      the data loader implementation to use
+     * @param prewarmSize the number of most popular searches to replay after a refresh, or 0 to disable
+     * @throws DataLoadException        if data cannot be loaded during initialization
+     * @throws IllegalArgumentException if prewarmSize is negative
+     * @since 1.2
+     */
+    public DefaultIndonesiaService(IndonesiaDataCache cache, IndonesiaDataLoader loader, int prewarmSize) {
+        if (prewarmSize < 0) {
+            throw new IllegalArgumentException(Constant.ERROR_NEGATIVE_PREWARM_SIZE);
+        }
+
         this.cache = cache;
         this.loader = loader;
         this.searchResultCache = new ConcurrentHashMap<>();
+        this.inFlightSearches = new ConcurrentHashMap<>();
+        this.searchRecords = new ConcurrentHashMap<>();
+        this.dataGeneration = new AtomicLong();
+        this.prewarmSize = prewarmSize;
         loadData();
     }
 
     @Override
     public Optional<Province> findProvince(Long provinceCode) {
+        return provinceCode != null ? findProvince(provinceCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Province> findProvince(long provinceCode) {
         return Optional.ofNullable(cache.getProvince(provinceCode));
     }
 
@@ -67,34 +164,34 @@ public class DefaultIndonesiaService implements IndonesiaService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<Province> searchProvinces(String query) {
         if (isQueryEmpty(query)) {
             return getAllProvinces();
         }
 
-        String cacheKey = "provinces:" + normalizeQuery(query);
-        List<?> cached = searchResultCache.get(cacheKey);
-        if (cached != null) {
-            return (List<Province>) cached;
-        }
-
         String lowerQuery = query.toLowerCase();
-        List<Province> results = cache.getProvinces().values().stream()
+        return cachedSearch("provinces:" + normalizeQuery(query), () -> searchProvinces(query), () -> cache.getProvinces().values().stream()
                 .filter(province -> province.getName().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
-        
-        searchResultCache.put(cacheKey, results);
-        return results;
+                .collect(Collectors.toList()));
     }
 
     @Override
     public Optional<City> findCity(Long cityCode) {
+        return cityCode != null ? findCity(cityCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<City> findCity(long cityCode) {
         return Optional.ofNullable(cache.getCity(cityCode));
     }
 
     @Override
     public List<City> getCitiesByProvince(Long provinceCode) {
+        return provinceCode != null ? getCitiesByProvince(provinceCode.longValue()) : new ArrayList<>();
+    }
+
+    @Override
+    public List<City> getCitiesByProvince(long provinceCode) {
         return cache.getCitiesByProvinceCode(provinceCode);
     }
 
@@ -104,34 +201,48 @@ public class DefaultIndonesiaService implements IndonesiaService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<City> searchCities(String query) {
         if (isQueryEmpty(query)) {
             return getAllCities();
         }
 
-        String cacheKey = "cities:" + normalizeQuery(query);
-        List<?> cached = searchResultCache.get(cacheKey);
-        if (cached != null) {
-            return (List<City>) cached;
-        }
-
         String lowerQuery = query.toLowerCase();
-        List<City> results = cache.getCities().values().stream()
+        return cachedSearch("cities:" + normalizeQuery(query), () -> searchCities(query), () -> cache.getCities().values().stream()
                 .filter(city -> city.getName().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
-        
-        searchResultCache.put(cacheKey, results);
-        return results;
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<City> searchCities(String query, Long provinceCode) {
+        long divisor = provinceCode != null
+                ? scopeDivisor(provinceCode, Constant.DIVISOR_PROVINCE_FROM_CITY, 0L, 0L)
+                : 0L;
+        if (divisor == 0L) {
+            return new ArrayList<>();
+        }
+
+        List<City> scope = cache.getCitiesInCodeRange(provinceCode * divisor, (provinceCode + 1) * divisor);
+        return searchInScope("cities", provinceCode, query, scope, City::getName,
+                () -> searchCities(query, provinceCode));
     }
 
     @Override
     public Optional<District> findDistrict(Long districtCode) {
+        return districtCode != null ? findDistrict(districtCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<District> findDistrict(long districtCode) {
         return Optional.ofNullable(cache.getDistrict(districtCode));
     }
 
     @Override
     public List<District> getDistrictsByCity(Long cityCode) {
+        return cityCode != null ? getDistrictsByCity(cityCode.longValue()) : new ArrayList<>();
+    }
+
+    @Override
+    public List<District> getDistrictsByCity(long cityCode) {
         return cache.getDistrictsByCityCode(cityCode);
     }
 
@@ -141,34 +252,135 @@ public class DefaultIndonesiaService implements IndonesiaService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<District> searchDistricts(String query) {
         if (isQueryEmpty(query)) {
             return getAllDistricts();
         }
 
-        String cacheKey = "districts:" + normalizeQuery(query);
-        List<?> cached = searchResultCache.get(cacheKey);
-        if (cached != null) {
-            return (List<District>) cached;
-        }
-
         String lowerQuery = query.toLowerCase();
-        List<District> results = cache.getDistricts().values().stream()
+        return cachedSearch("districts:" + normalizeQuery(query), () -> searchDistricts(query), () -> cache.getDistricts().values().stream()
                 .filter(district -> district.getName().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
-        
-        searchResultCache.put(cacheKey, results);
-        return results;
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<District> searchDistricts(String query, Long parentCode) {
+        long divisor = parentCode != null
+                ? scopeDivisor(parentCode, Constant.DIVISOR_PROVINCE_FROM_DISTRICT, Constant.DIVISOR_CITY_FROM_DISTRICT, 0L)
+                : 0L;
+        if (divisor == 0L) {
+            return new ArrayList<>();
+        }
+
+        List<District> scope = cache.getDistrictsInCodeRange(parentCode * divisor, (parentCode + 1) * divisor);
+        return searchInScope("districts", parentCode, query, scope, District::getName,
+                () -> searchDistricts(query, parentCode));
     }
 
     @Override
     public Optional<Village> findVillage(Long villageCode) {
+        return villageCode != null ? findVillage(villageCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Village> findVillage(long villageCode) {
         return Optional.ofNullable(cache.getVillage(villageCode));
     }
 
+    @Override
+    public List<Village> findVillages(long[] villageCodes) {
+        if (villageCodes == null) {
+            throw new NullPointerException("Village codes cannot be null");
+        }
+
+        Village[] villages = new Village[villageCodes.length];
+        long previousCode = -1L;
+        Village village = null;
+        for (int position : villagePositionsInCodeOrder(villageCodes)) {
+            long code = villageCodes[position];
+            if (code != previousCode) {
+                previousCode = code;
+                village = cache.getVillage(code);
+            }
+
+            villages[position] = village;
+        }
+
+        return Arrays.asList(villages);
+    }
+
+    @Override
+    public List<Indonesia> buildFromVillageCodes(long[] villageCodes) {
+        if (villageCodes == null) {
+            throw new NullPointerException("Village codes cannot be null");
+        }
+
+        Indonesia[] hierarchies = new Indonesia[villageCodes.length];
+        long previousCode = -1L;
+        long districtCode = -1L;
+        long cityCode = -1L;
+        long provinceCode = -1L;
+        Indonesia indonesia = null;
+        District district = null;
+        City city = null;
+        Province province = null;
+        for (int position : villagePositionsInCodeOrder(villageCodes)) {
+            long code = villageCodes[position];
+            if (code != previousCode) {
+                previousCode = code;
+                Village village = cache.getVillage(code);
+                Indonesia hierarchy = cache.getHierarchy(village);
+                if (village == null) {
+                    indonesia = null;
+                } else if (hierarchy != null && hierarchy.getVillage() == village) {
+                    indonesia = hierarchy;
+                } else {
+                    if (village.getDistrictCode() != districtCode) {
+                        districtCode = village.getDistrictCode();
+                        district = cache.getDistrict(districtCode);
+                    }
+
+                    if (code / Constant.DIVISOR_CITY_FROM_VILLAGE != cityCode) {
+                        cityCode = code / Constant.DIVISOR_CITY_FROM_VILLAGE;
+                        city = cache.getCity(cityCode);
+                    }
+
+                    if (code / Constant.DIVISOR_PROVINCE_FROM_VILLAGE != provinceCode) {
+                        provinceCode = code / Constant.DIVISOR_PROVINCE_FROM_VILLAGE;
+                        province = cache.getProvince(provinceCode);
+                    }
+
+                    indonesia = new Indonesia(province, city, district, village);
+                }
+            }
+
+            hierarchies[position] = indonesia;
+        }
+
+        return Arrays.asList(hierarchies);
+    }
+
+    @Override
+    public BitSet validateCodes(AdministrativeLevel level, long[] codes) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        if (codes == null) {
+            throw new NullPointerException("Codes cannot be null");
+        }
+
+        BitSet existing = cache.findExistingCodes(level, codes);
+        return existing != null ? existing : new BitSet();
+    }
+
     @Override
     public List<Village> getVillagesByDistrict(Long districtCode) {
+        return districtCode != null ? getVillagesByDistrict(districtCode.longValue()) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Village> getVillagesByDistrict(long districtCode) {
         return cache.getVillagesByDistrictCode(districtCode);
     }
 
@@ -178,39 +390,345 @@ public class DefaultIndonesiaService implements IndonesiaService {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<Village> searchVillages(String query) {
         if (isQueryEmpty(query)) {
             return getAllVillages();
         }
 
-        String cacheKey = "villages:" + normalizeQuery(query);
-        List<?> cached = searchResultCache.get(cacheKey);
-        if (cached != null) {
-            return (List<Village>) cached;
-        }
-
         String lowerQuery = query.toLowerCase();
-        List<Village> results = cache.getVillages().values().stream()
+        return cachedSearch("villages:" + normalizeQuery(query), () -> searchVillages(query), () -> cache.getVillages().values().stream()
                 .filter(village -> village.getName().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
-        
-        searchResultCache.put(cacheKey, results);
-        return results;
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public List<Village> searchVillages(String query, Long parentCode) {
+        List<Village> scope = villagesUnder(parentCode);
+        if (scope.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        return searchInScope("villages", parentCode, query, scope, Village::getName,
+                () -> searchVillages(query, parentCode));
     }
 
     @Override
     public List<Village> getVillagesByProvince(Long provinceCode) {
+        return provinceCode != null ? getVillagesByProvince(provinceCode.longValue()) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Village> getVillagesByProvince(long provinceCode) {
         return cache.getVillagesByProvinceCode(provinceCode);
     }
 
     @Override
     public List<Village> getVillagesByCity(Long cityCode) {
+        return cityCode != null ? getVillagesByCity(cityCode.longValue()) : new ArrayList<>();
+    }
+
+    @Override
+    public List<Village> getVillagesByCity(long cityCode) {
         return cache.getVillagesByCityCode(cityCode);
     }
 
+    @Override
+    public List<SearchHit> search(String query, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_SEARCH_LIMIT);
+        }
+
+        if (isQueryEmpty(query)) {
+            return new ArrayList<>();
+        }
+
+        String normalizedQuery = normalizeQuery(query);
+        return cachedSearch("all" + limit + ":" + normalizedQuery, () -> search(query, limit), () -> {
+            List<SearchHit> hits = new ArrayList<>();
+            for (NameIndex.Match match : nameIndex().search(normalizedQuery, limit)) {
+                hits.add(toSearchHit(match));
+            }
+
+            return hits;
+        });
+    }
+
+    @Override
+    public Page<Village> getVillagesPage(int offset, int limit) {
+        return page(cache.getVillagesInCodeRange(0L, Long.MAX_VALUE), offset, limit);
+    }
+
+    @Override
+    public Page<Village> getVillagesPage(Long parentCode, int offset, int limit) {
+        return page(villagesUnder(parentCode), offset, limit);
+    }
+
+    @Override
+    public Page<Village> getVillagesPageAfter(Long cursor, int limit) {
+        List<Village> listing = cache.getVillagesInCodeRange(0L, Long.MAX_VALUE);
+        if (cursor == null) {
+            return page(listing, 0, limit);
+        }
+
+        return page(listing, positionAfter(listing, cursor), limit);
+    }
+
+    @Override
+    public Stream<Village> streamVillages() {
+        return cache.getVillagesInCodeRange(0L, Long.MAX_VALUE).stream();
+    }
+
+    @Override
+    public Stream<Village> streamVillages(Long parentCode) {
+        return villagesUnder(parentCode).stream();
+    }
+
+    @Override
+    public Stream<Village> streamSearchVillages(String query) {
+        if (isQueryEmpty(query)) {
+            return streamVillages();
+        }
+
+        // Cached results of searchVillages(query) are not in code order, so they are not reused
+        String lowerQuery = query.toLowerCase();
+        return streamVillages().filter(village -> village.getName().toLowerCase().contains(lowerQuery));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Village> streamSearchVillages(String query, Long parentCode) {
+        if (isQueryEmpty(query)) {
+            return streamVillages(parentCode);
+        }
+
+        List<?> cached = searchResultCache.get("villages@" + parentCode + ":" + normalizeQuery(query));
+        if (cached != null) {
+            return ((List<Village>) cached).stream();
+        }
+
+        String lowerQuery = query.toLowerCase();
+        return streamVillages(parentCode).filter(village -> village.getName().toLowerCase().contains(lowerQuery));
+    }
+
+    @Override
+    public Optional<Province> findNearestProvince(double latitude, double longitude) {
+        return nearest(cache.getProvinceSpatialIndex(), latitude, longitude);
+    }
+
+    @Override
+    public Optional<City> findNearestCity(double latitude, double longitude) {
+        return nearest(cache.getCitySpatialIndex(), latitude, longitude);
+    }
+
+    @Override
+    public Optional<District> findNearestDistrict(double latitude, double longitude) {
+        return nearest(cache.getDistrictSpatialIndex(), latitude, longitude);
+    }
+
+    @Override
+    public Optional<Village> findNearestVillage(double latitude, double longitude) {
+        return nearest(cache.getVillageSpatialIndex(), latitude, longitude);
+    }
+
+    @Override
+    public Optional<City> findNearestCity(double latitude, double longitude, Long provinceCode) {
+        return provinceCode != null ? findNearestCity(latitude, longitude, provinceCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<City> findNearestCity(double latitude, double longitude, long provinceCode) {
+        long divisor = scopeDivisor(provinceCode, Constant.DIVISOR_PROVINCE_FROM_CITY, 0L, 0L);
+        if (divisor == 0L) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(cache.findNearestCityInCodeRange(
+                latitude, longitude, provinceCode * divisor, (provinceCode + 1) * divisor));
+    }
+
+    @Override
+    public Optional<District> findNearestDistrict(double latitude, double longitude, Long parentCode) {
+        return parentCode != null ? findNearestDistrict(latitude, longitude, parentCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<District> findNearestDistrict(double latitude, double longitude, long parentCode) {
+        long divisor = scopeDivisor(parentCode,
+                Constant.DIVISOR_PROVINCE_FROM_DISTRICT, Constant.DIVISOR_CITY_FROM_DISTRICT, 0L);
+        if (divisor == 0L) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(cache.findNearestDistrictInCodeRange(
+                latitude, longitude, parentCode * divisor, (parentCode + 1) * divisor));
+    }
+
+    @Override
+    public Optional<Village> findNearestVillage(double latitude, double longitude, Long parentCode) {
+        return parentCode != null ? findNearestVillage(latitude, longitude, parentCode.longValue()) : Optional.empty();
+    }
+
+    @Override
+    public Optional<Village> findNearestVillage(double latitude, double longitude, long parentCode) {
+        long divisor = scopeDivisor(parentCode, Constant.DIVISOR_PROVINCE_FROM_VILLAGE,
+                Constant.DIVISOR_CITY_FROM_VILLAGE, Constant.DIVISOR_DISTRICT_FROM_VILLAGE);
+        if (divisor == 0L) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(cache.findNearestVillageInCodeRange(
+                latitude, longitude, parentCode * divisor, (parentCode + 1) * divisor));
+    }
+
+    @Override
+    public Optional<Village> findNearestVillageByHierarchy(double latitude, double longitude, int beamWidth) {
+        if (beamWidth <= 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_BEAM_WIDTH);
+        }
+
+        List<City> cities = childrenOfNearest(cache.getProvinces().values(), latitude, longitude, beamWidth,
+                Province::getLatitude, Province::getLongitude, province -> cache.getCitiesByProvinceCode(province.getCode()));
+        List<District> districts = childrenOfNearest(cities, latitude, longitude, beamWidth,
+                City::getLatitude, City::getLongitude, city -> cache.getDistrictsByCityCode(city.getCode()));
+        List<Village> villages = childrenOfNearest(districts, latitude, longitude, beamWidth,
+                District::getLatitude, District::getLongitude, district -> cache.getVillagesByDistrictCode(district.getCode()));
+
+        return Optional.ofNullable(DistanceCalculator.findNearestVillage(latitude, longitude, villages));
+    }
+
+    @Override
+    public List<NearbyHit> findKNearest(AdministrativeLevel level, double latitude, double longitude, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_NEAREST_COUNT);
+        }
+
+        return nearbyHits(level, latitude, longitude, index -> index.kNearest(latitude, longitude, count));
+    }
+
+    @Override
+    public List<NearbyHit> findWithinRadius(AdministrativeLevel level, double latitude, double longitude, double radiusKm) {
+        if (!(radiusKm >= 0.0) || Double.isInfinite(radiusKm)) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_RADIUS);
+        }
+
+        return nearbyHits(level, latitude, longitude, index -> index.withinRadius(latitude, longitude, radiusKm));
+    }
+
+    @Override
+    public List<NearbyHit> getNeighbors(Long code, int count) {
+        if (code != null) {
+            return getNeighbors(code.longValue(), count);
+        }
+
+        if (count <= 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_NEAREST_COUNT);
+        }
+
+        return new ArrayList<>();
+    }
+
+    @Override
+    public List<NearbyHit> getNeighbors(long code, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_NEAREST_COUNT);
+        }
+
+        if (CodeValidator.isValidCityCode(code)) {
+            City city = cache.getCity(code);
+            NeighborIndex<City> index = cache.getCityNeighborIndex();
+            return city != null && index != null
+                    ? toNearbyHits(AdministrativeLevel.CITY, index.neighbors(code, count), city.getLatitude(), city.getLongitude())
+                    : new ArrayList<>();
+        }
+
+        if (CodeValidator.isValidDistrictCode(code)) {
+            District district = cache.getDistrict(code);
+            NeighborIndex<District> index = cache.getDistrictNeighborIndex();
+            return district != null && index != null
+                    ? toNearbyHits(AdministrativeLevel.DISTRICT, index.neighbors(code, count), district.getLatitude(), district.getLongitude())
+                    : new ArrayList<>();
+        }
+
+        return new ArrayList<>();
+    }
+
+    @Override
+    public Stream<Province> streamProvincesWithin(GeoRegion region) {
+        return within(cache.getProvinceSpatialIndex(), region);
+    }
+
+    @Override
+    public Stream<City> streamCitiesWithin(GeoRegion region) {
+        return within(cache.getCitySpatialIndex(), region);
+    }
+
+    @Override
+    public Stream<District> streamDistrictsWithin(GeoRegion region) {
+        return within(cache.getDistrictSpatialIndex(), region);
+    }
+
+    @Override
+    public Stream<Village> streamVillagesWithin(GeoRegion region) {
+        return within(cache.getVillageSpatialIndex(), region);
+    }
+
+    @Override
+    public List<GeohashHit> findByGeohashPrefix(AdministrativeLevel level, String prefix) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        if (prefix == null) {
+            throw new NullPointerException("Prefix cannot be null");
+        }
+
+        GeohashIndex<?> index = geohashIndex(level);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+
+        return index.findByPrefix(prefix, (unit, geohash) -> toGeohashHit(level, unit, geohash));
+    }
+
+    @Override
+    public List<Cluster> clusterVillages(int zoom, GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        if (zoom < 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_ZOOM);
+        }
+
+        ClusterIndex index = cache.getVillageClusterIndex();
+        return index != null ? index.clusters(zoom, region) : new ArrayList<>();
+    }
+
+    @Override
+    public Optional<Indonesia> reverseGeocode(double latitude, double longitude) {
+        Optional<Indonesia> result = findNearestVillage(latitude, longitude).map(this::buildFrom);
+        if (!result.isPresent()) {
+            result = findNearestDistrict(latitude, longitude).map(this::buildFrom);
+        }
+
+        if (!result.isPresent()) {
+            result = findNearestCity(latitude, longitude).map(this::buildFrom);
+        }
+
+        if (!result.isPresent()) {
+            result = findNearestProvince(latitude, longitude).map(this::buildFrom);
+        }
+
+        return result;
+    }
+
     @Override
     public Indonesia buildFrom(Province province) {
+        Indonesia hierarchy = cache.getHierarchy(province);
+        if (hierarchy != null && hierarchy.getProvince() == province) {
+            return hierarchy;
+        }
+
         return new Indonesia(province, null, null, null);
     }
 
@@ -220,6 +738,11 @@ public class DefaultIndonesiaService implements IndonesiaService {
             return new Indonesia(null, null, null, null);
         }
 
+        Indonesia hierarchy = cache.getHierarchy(city);
+        if (hierarchy != null && hierarchy.getCity() == city) {
+            return hierarchy;
+        }
+
         return new Indonesia(cache.getProvince(city.getProvinceCode()), city, null, null);
     }
 
@@ -229,6 +752,11 @@ public class DefaultIndonesiaService implements IndonesiaService {
             return new Indonesia(null, null, null, null);
         }
 
+        Indonesia hierarchy = cache.getHierarchy(district);
+        if (hierarchy != null && hierarchy.getDistrict() == district) {
+            return hierarchy;
+        }
+
         long provinceCode = district.getCode() / Constant.DIVISOR_PROVINCE_FROM_DISTRICT;
 
         return new Indonesia(cache.getProvince(provinceCode), cache.getCity(district.getCityCode()), district, null);
@@ -240,6 +768,11 @@ public class DefaultIndonesiaService implements IndonesiaService {
             return new Indonesia(null, null, null, null);
         }
 
+        Indonesia hierarchy = cache.getHierarchy(village);
+        if (hierarchy != null && hierarchy.getVillage() == village) {
+            return hierarchy;
+        }
+
         long provinceCode = village.getCode() / Constant.DIVISOR_PROVINCE_FROM_VILLAGE;
         long cityCode = village.getCode() / Constant.DIVISOR_CITY_FROM_VILLAGE;
 
@@ -253,13 +786,44 @@ public class DefaultIndonesiaService implements IndonesiaService {
 
     @Override
     public void refreshData() {
+        refreshLock.lock();
         try {
             cache.refresh();
-            searchResultCache.clear(); // Clear search cache when data is refreshed
+            clearSearchResults();
             loadData();
+            clearSearchResults(); // Drop results computed against partially loaded data
 
         } catch (DataLoadException e) {
             throw new RuntimeException(Constant.ERROR_FAILED_TO_REFRESH_DATA, e);
+
+        } finally {
+            refreshLock.unlock();
+        }
+
+        if (prewarmSize > 0) {
+            searchRecords.keySet().retainAll(mostRequestedSearches(prewarmSize).keySet());
+            prewarmSearchResults(prewarmSize);
+        }
+    }
+
+    /**
+     * Replays the most frequently requested searches to populate the search result cache.
+     * <p>
+     * Each search is issued again with its original arguments, so it reads the data loaded at
+     * the time of the replay. Replays count as requests, which keeps the replayed searches
+     * ranked across refreshes. Search frequencies are only tracked when the service was
+     * constructed with a positive pre-warm size; otherwise this method does nothing.
+     *
+     * @param topN the maximum number of searches to replay
+     * @since 1.2
+     */
+    public void prewarmSearchResults(int topN) {
+        if (topN <= 0 || searchRecords.isEmpty()) {
+            return;
+        }
+
+        for (SearchRecord record : mostRequestedSearches(topN).values()) {
+            record.replay.run();
         }
     }
 
@@ -285,6 +849,546 @@ public class DefaultIndonesiaService implements IndonesiaService {
         cache.putVillages(loader.loadVillages());
     }
 
+    /**
+     * Returns the most frequently requested searches, most requested first.
+     *
+     * @param topN the maximum number of searches to return
+     * @return the search records by cache key, in descending order of hits
+     */
+    private Map<String, SearchRecord> mostRequestedSearches(int topN) {
+        List<Map.Entry<String, SearchRecord>> records = new ArrayList<>(searchRecords.entrySet());
+        records.sort((a, b) -> Long.compare(b.getValue().hits.sum(), a.getValue().hits.sum()));
+
+        Map<String, SearchRecord> popular = new LinkedHashMap<>();
+        for (Map.Entry<String, SearchRecord> record : records.subList(0, Math.min(topN, records.size()))) {
+            popular.put(record.getKey(), record.getValue());
+        }
+
+        return popular;
+    }
+
+    /**
+     * Searches the entities of a parent's code range by name.
+     *
+     * @param searchType the search type used in the cache key
+     * @param parentCode the parent code used in the cache key
+     * @param query      the search query string
+     * @param scope      the entities under the parent
+     * @param nameOf     function extracting the name of an entity
+     * @param replay     the public search call that rebuilds the scope from the current data
+     * @param <T>        the entity type
+     * @return the matching entities, or all entities in scope if the query is empty
+     */
+    private <T> List<T> searchInScope(String searchType, Long parentCode, String query, List<T> scope,
+                                      Function<T, String> nameOf, Runnable replay) {
+        if (isQueryEmpty(query)) {
+            return new ArrayList<>(scope);
+        }
+
+        String lowerQuery = query.toLowerCase();
+        return cachedSearch(searchType + "@" + parentCode + ":" + normalizeQuery(query), replay, () -> {
+            List<T> results = new ArrayList<>();
+            for (T entity : scope) {
+                if (nameOf.apply(entity).toLowerCase().contains(lowerQuery)) {
+                    results.add(entity);
+                }
+            }
+
+            return results;
+        });
+    }
+
+    /**
+     * Returns the cached result of a search, computing it at most once across concurrent callers.
+     * <p>
+     * When pre-warming is enabled, the request is counted. New searches stop being tracked once
+     * {@link Constant#MAX_TRACKED_SEARCHES} distinct searches are tracked, until the next refresh
+     * drops all but the most requested ones.
+     *
+     * @param cacheKey the search result cache key
+     * @param replay   the public search call that repeats this search against the current data
+     * @param search   the search to run on a miss
+     * @param <T>      the entity type
+     * @return the search results
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> cachedSearch(String cacheKey, Runnable replay, Supplier<List<T>> search) {
+        if (prewarmSize > 0) {
+            SearchRecord record = searchRecords.get(cacheKey);
+            if (record == null && searchRecords.size() < Math.max(prewarmSize, Constant.MAX_TRACKED_SEARCHES)) {
+                record = searchRecords.computeIfAbsent(cacheKey, key -> new SearchRecord(replay));
+            }
+
+            if (record != null) {
+                record.hits.increment();
+            }
+        }
+
+        return (List<T>) coalescedSearch(cacheKey, search);
+    }
+
+    /**
+     * Looks up a search result, running the search on a miss.
+     * <p>
+     * On a miss, the first caller registers an in-flight future for the key and runs the search;
+     * concurrent callers with the same key wait on that future instead of repeating the scan.
+     * Results computed against data that has since been refreshed are returned to their callers
+     * but not stored.
+     *
+     * @param cacheKey the search result cache key
+     * @param search   the search to run on a miss
+     * @return the search results
+     */
+    private List<?> coalescedSearch(String cacheKey, Supplier<? extends List<?>> search) {
+        List<?> cached = searchResultCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<List<?>> flight = new CompletableFuture<>();
+        CompletableFuture<List<?>> existing = inFlightSearches.putIfAbsent(cacheKey, flight);
+        if (existing != null) {
+            return awaitSearch(existing);
+        }
+
+        long generation = dataGeneration.get();
+        try {
+            List<?> results = searchResultCache.get(cacheKey);
+            if (results == null) {
+                results = search.get();
+                if (generation == dataGeneration.get()) {
+                    searchResultCache.put(cacheKey, results);
+                }
+            }
+
+            flight.complete(results);
+            return results;
+
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            inFlightSearches.remove(cacheKey, flight);
+        }
+    }
+
+    /**
+     * Waits for a search that is being computed by another caller.
+     *
+     * @param flight the in-flight search
+     * @return the search results
+     */
+    private List<?> awaitSearch(CompletableFuture<List<?>> flight) {
+        try {
+            return flight.join();
+
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Drops all cached and in-flight search results and invalidates searches still running.
+     */
+    private void clearSearchResults() {
+        dataGeneration.incrementAndGet();
+        inFlightSearches.clear();
+        searchResultCache.clear();
+        nameIndex = null;
+    }
+
+    /**
+     * Returns the combined name index, building it from the cache on first use.
+     *
+     * @return the name index
+     */
+    private NameIndex nameIndex() {
+        NameIndex index = nameIndex;
+        if (index != null) {
+            return index;
+        }
+
+        nameIndexLock.lock();
+        try {
+            index = nameIndex;
+            if (index == null) {
+                long generation = dataGeneration.get();
+                index = NameIndex.build(cache.getProvinces().values(), cache.getCities().values(),
+                        cache.getDistricts().values(), cache.getVillages().values());
+
+                if (generation == dataGeneration.get()) {
+                    nameIndex = index;
+                }
+            }
+
+            return index;
+
+        } finally {
+            nameIndexLock.unlock();
+        }
+    }
+
+    /**
+     * Converts a name index match into a search hit with its complete hierarchy.
+     *
+     * @param match the match
+     * @return the search hit
+     */
+    private SearchHit toSearchHit(NameIndex.Match match) {
+        switch (match.level) {
+            case PROVINCE:
+                Province province = (Province) match.entity;
+                return new SearchHit(match.level, match.code, province.getName(), buildFrom(province), match.score);
+
+            case CITY:
+                City city = (City) match.entity;
+                return new SearchHit(match.level, match.code, city.getName(), buildFrom(city), match.score);
+
+            case DISTRICT:
+                District district = (District) match.entity;
+                return new SearchHit(match.level, match.code, district.getName(), buildFrom(district), match.score);
+
+            default:
+                Village village = (Village) match.entity;
+                return new SearchHit(match.level, match.code, village.getName(), buildFrom(village), match.score);
+        }
+    }
+
+    /**
+     * Runs a query against the spatial index of a level and converts the found units into hits.
+     *
+     * @param level     the administrative level to query
+     * @param latitude  the latitude of the queried location
+     * @param longitude the longitude of the queried location
+     * @param query     the query to run against the index
+     * @return the hits, in the order returned by the query
+     */
+    private List<NearbyHit> nearbyHits(AdministrativeLevel level, double latitude, double longitude,
+                                       Function<SpatialIndex<?>, List<?>> query) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
+        }
+
+        SpatialIndex<?> index = spatialIndex(level);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+
+        return toNearbyHits(level, query.apply(index), latitude, longitude);
+    }
+
+    /**
+     * Converts units found by a spatial query into hits with their hierarchy and exact distance.
+     *
+     * @param level     the administrative level of the units
+     * @param units     the units
+     * @param latitude  the latitude of the queried location
+     * @param longitude the longitude of the queried location
+     * @return the hits, in the order of the units
+     */
+    private List<NearbyHit> toNearbyHits(AdministrativeLevel level, List<?> units, double latitude, double longitude) {
+        List<NearbyHit> hits = new ArrayList<>(units.size());
+        for (Object unit : units) {
+            hits.add(toNearbyHit(level, unit, latitude, longitude));
+        }
+
+        return hits;
+    }
+
+    private SpatialIndex<?> spatialIndex(AdministrativeLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return cache.getProvinceSpatialIndex();
+
+            case CITY:
+                return cache.getCitySpatialIndex();
+
+            case DISTRICT:
+                return cache.getDistrictSpatialIndex();
+
+            default:
+                return cache.getVillageSpatialIndex();
+        }
+    }
+
+    private GeohashIndex<?> geohashIndex(AdministrativeLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return cache.getProvinceGeohashIndex();
+
+            case CITY:
+                return cache.getCityGeohashIndex();
+
+            case DISTRICT:
+                return cache.getDistrictGeohashIndex();
+
+            default:
+                return cache.getVillageGeohashIndex();
+        }
+    }
+
+    /**
+     * Converts a unit found by a geohash lookup into a hit with its hierarchy and geohash.
+     *
+     * @param level   the administrative level of the unit
+     * @param unit    the unit
+     * @param geohash the geohash of the unit, taken from the index
+     * @return the hit
+     */
+    private GeohashHit toGeohashHit(AdministrativeLevel level, Object unit, String geohash) {
+        switch (level) {
+            case PROVINCE:
+                Province province = (Province) unit;
+                return new GeohashHit(level, province.getCode(), province.getName(), buildFrom(province), geohash);
+
+            case CITY:
+                City city = (City) unit;
+                return new GeohashHit(level, city.getCode(), city.getName(), buildFrom(city), geohash);
+
+            case DISTRICT:
+                District district = (District) unit;
+                return new GeohashHit(level, district.getCode(), district.getName(), buildFrom(district), geohash);
+
+            default:
+                Village village = (Village) unit;
+                return new GeohashHit(level, village.getCode(), village.getName(), buildFrom(village), geohash);
+        }
+    }
+
+    /**
+     * Converts a unit found by a spatial query into a hit with its hierarchy and exact distance.
+     *
+     * @param level     the administrative level of the unit
+     * @param unit      the unit
+     * @param latitude  the latitude of the queried location
+     * @param longitude the longitude of the queried location
+     * @return the hit
+     */
+    private NearbyHit toNearbyHit(AdministrativeLevel level, Object unit, double latitude, double longitude) {
+        switch (level) {
+            case PROVINCE:
+                Province province = (Province) unit;
+                return new NearbyHit(level, province.getCode(), province.getName(), buildFrom(province),
+                        DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, province.getLatitude(), province.getLongitude()));
+
+            case CITY:
+                City city = (City) unit;
+                return new NearbyHit(level, city.getCode(), city.getName(), buildFrom(city),
+                        DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, city.getLatitude(), city.getLongitude()));
+
+            case DISTRICT:
+                District district = (District) unit;
+                return new NearbyHit(level, district.getCode(), district.getName(), buildFrom(district),
+                        DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, district.getLatitude(), district.getLongitude()));
+
+            default:
+                Village village = (Village) unit;
+                return new NearbyHit(level, village.getCode(), village.getName(), buildFrom(village),
+                        DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, village.getLatitude(), village.getLongitude()));
+        }
+    }
+
+    /**
+     * Finds the unit nearest to a location in a spatial index of the cache.
+     *
+     * @param index     the spatial index, or null if the cache does not provide one
+     * @param latitude  the latitude of the location
+     * @param longitude the longitude of the location
+     * @param <T>       the type of the indexed units
+     * @return an Optional containing the nearest unit, or empty if the index is empty
+     */
+    private static <T> Optional<T> nearest(SpatialIndex<T> index, double latitude, double longitude) {
+        return index != null ? Optional.ofNullable(index.nearest(latitude, longitude)) : Optional.empty();
+    }
+
+    /**
+     * Collects the children of the units whose centroids are nearest to a location.
+     * <p>
+     * Units without children are skipped, so that gaps in the data do not use up the beam.
+     *
+     * @param units       the candidate units
+     * @param latitude    the latitude of the location
+     * @param longitude   the longitude of the location
+     * @param beamWidth   the maximum number of units whose children are collected
+     * @param latitudeOf  function extracting the latitude of a unit
+     * @param longitudeOf function extracting the longitude of a unit
+     * @param childrenOf  function retrieving the children of a unit
+     * @param <T>         the type of the units
+     * @param <C>         the type of the children
+     * @return the children of up to {@code beamWidth} nearest units that have children
+     */
+    private static <T, C> List<C> childrenOfNearest(Collection<T> units, double latitude, double longitude, int beamWidth,
+                                                    ToDoubleFunction<T> latitudeOf, ToDoubleFunction<T> longitudeOf,
+                                                    Function<T, List<C>> childrenOf) {
+        List<T> candidates = new ArrayList<>(units);
+        double[] distances = new double[candidates.size()];
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < distances.length; i++) {
+            T unit = candidates.get(i);
+            distances[i] = DistanceCalculator.distanceBetweenCoordinates(
+                    latitude, longitude, latitudeOf.applyAsDouble(unit), longitudeOf.applyAsDouble(unit));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+
+        List<C> children = new ArrayList<>();
+        int selected = 0;
+        for (int i = 0; i < order.length && selected < beamWidth; i++) {
+            List<C> unitChildren = childrenOf.apply(candidates.get(order[i]));
+            if (!unitChildren.isEmpty()) {
+                children.addAll(unitChildren);
+                selected++;
+            }
+        }
+
+        return children;
+    }
+
+    /**
+     * Returns the positions of the valid village codes of a batch, ordered by code.
+     * <p>
+     * Each code is packed with its position into one {@code long}, code in the upper bits, so a
+     * primitive sort orders the positions without boxing. Village codes need 34 bits, which
+     * leaves {@value #POSITION_BITS} bits for the position; larger batches keep their order.
+     * Codes of 2^33 and above reach the sign bit, so the sign bit of every key is flipped, which
+     * makes the signed sort order the keys as unsigned numbers and therefore by code.
+     */
+    private static int[] villagePositionsInCodeOrder(long[] villageCodes) {
+        boolean packed = villageCodes.length <= 1 << POSITION_BITS;
+        long[] keys = new long[villageCodes.length];
+        int count = 0;
+        for (int i = 0; i < villageCodes.length; i++) {
+            if (CodeValidator.isValidVillageCode(villageCodes[i])) {
+                keys[count++] = packed ? (villageCodes[i] << POSITION_BITS | i) ^ Long.MIN_VALUE : i;
+            }
+        }
+
+        if (packed) {
+            Arrays.sort(keys, 0, count);
+        }
+
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = (int) (packed ? keys[i] & ((1L << POSITION_BITS) - 1) : keys[i]);
+        }
+
+        return positions;
+    }
+
+    /**
+     * Streams the units of a spatial index of the cache that lie within a region.
+     *
+     * @param index  the spatial index, or null if the cache does not provide one
+     * @param region the region to query
+     * @param <T>    the type of the indexed units
+     * @return a stream of the units within the region
+     */
+    private static <T> Stream<T> within(SpatialIndex<T> index, GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        return index != null ? index.within(region) : Stream.empty();
+    }
+
+    /**
+     * Retrieves the villages in the code range of a province, city or district.
+     *
+     * @param parentCode the parent code
+     * @return a read-only list of villages under the parent, or empty list if the code is not valid
+     */
+    private List<Village> villagesUnder(Long parentCode) {
+        long divisor = parentCode != null
+                ? scopeDivisor(parentCode, Constant.DIVISOR_PROVINCE_FROM_VILLAGE,
+                Constant.DIVISOR_CITY_FROM_VILLAGE, Constant.DIVISOR_DISTRICT_FROM_VILLAGE)
+                : 0L;
+        if (divisor == 0L) {
+            return Collections.emptyList();
+        }
+
+        return cache.getVillagesInCodeRange(parentCode * divisor, (parentCode + 1) * divisor);
+    }
+
+    /**
+     * Cuts one page out of a code-ordered listing without copying it.
+     *
+     * @param listing the full listing
+     * @param offset  the position of the first item of the page
+     * @param limit   the maximum number of items on the page
+     * @return the page
+     * @throws IllegalArgumentException if offset is negative or limit is not positive
+     */
+    private Page<Village> page(List<Village> listing, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_PAGE_REQUEST);
+        }
+
+        int from = Math.min(offset, listing.size());
+        int to = (int) Math.min((long) from + limit, listing.size());
+        List<Village> items = listing.subList(from, to);
+        Long nextCursor = to < listing.size() ? items.get(items.size() - 1).getCode() : null;
+
+        return new Page<>(items, from, listing.size(), nextCursor);
+    }
+
+    /**
+     * Finds the position of the first village whose code is greater than the cursor.
+     * <p>
+     * The listing is searched rather than read again from the cache, so the position and the
+     * page cut from it always come from the same data.
+     *
+     * @param listing the code-ordered listing
+     * @param cursor  the code to search past
+     * @return the position of the first village after the cursor, or the size of the listing if there is none
+     */
+    private static int positionAfter(List<Village> listing, long cursor) {
+        int low = 0;
+        int high = listing.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (listing.get(mid).getCode() <= cursor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Resolves the divisor that maps a descendant code onto the given parent code.
+     * <p>
+     * The level of the parent is derived from its code. Descendants of the parent occupy
+     * the code range [parentCode * divisor, (parentCode + 1) * divisor).
+     *
+     * @param parentCode       the parent code
+     * @param provinceDivisor  the divisor to use if the parent is a province, or 0 if not allowed
+     * @param cityDivisor      the divisor to use if the parent is a city, or 0 if not allowed
+     * @param districtDivisor  the divisor to use if the parent is a district, or 0 if not allowed
+     * @return the divisor for the parent's level, or 0 if the parent code is not valid
+     */
+    private long scopeDivisor(long parentCode, long provinceDivisor, long cityDivisor, long districtDivisor) {
+        if (CodeValidator.isValidProvinceCode(parentCode)) {
+            return provinceDivisor;
+        }
+
+        if (CodeValidator.isValidCityCode(parentCode)) {
+            return cityDivisor;
+        }
+
+        if (CodeValidator.isValidDistrictCode(parentCode)) {
+            return districtDivisor;
+        }
+
+        return 0L;
+    }
+
     /**
      * Checks if a search query is empty or null.
      *
@@ -308,4 +1412,22 @@ public class DefaultIndonesiaService implements IndonesiaService {
         return query == null ? "" : query.trim().toLowerCase();
     }
 
+    /**
+     * Hit count and replayable request of a search.
+     */
+    private static final class SearchRecord {
+        /**
+         * Number of times the search was requested.
+         */
+        private final LongAdder hits = new LongAdder();
+        /**
+         * The public search call with its original arguments. It holds no data, so a replay
+         * rebuilds the search, including its scope, from the data loaded at the time it is run.
+         */
+        private final Runnable replay;
+
+        private SearchRecord(Runnable replay) {
+            this.replay = replay;
+        }
+    }
 }
@@ -0,0 +1,95 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.ReactiveIndonesiaService;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.util.CodeValidator;
+import org.reactivestreams.Publisher;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Default implementation of ReactiveIndonesiaService on top of an IndonesiaService.
+ * <p>
+ * Publishers iterate the lazy village streams of the service, which read the cache's
+ * code-sorted village storage without copying it. Searches within a parent reuse a cached
+ * search result when one exists, which is in code order as well. All other searches match
+ * names while the villages are requested.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public class DefaultReactiveIndonesiaService implements ReactiveIndonesiaService {
+
+    /**
+     * The service to delegate to.
+     */
+    private final IndonesiaService service;
+
+    /**
+     * Constructs a new DefaultReactiveIndonesiaService on top of the specified service.
+     *
+     * @param service the service to delegate to
+     * @throws NullPointerException if service is null
+     */
+    public DefaultReactiveIndonesiaService(IndonesiaService service) {
+        if (service == null) {
+            throw new NullPointerException("Service cannot be null");
+        }
+
+        this.service = service;
+    }
+
+    @Override
+    public IndonesiaService getService() {
+        return service;
+    }
+
+    @Override
+    public Publisher<Village> getAllVillages() {
+        return publish(service::streamVillages);
+    }
+
+    @Override
+    public Publisher<Village> getVillagesByProvince(long provinceCode) {
+        if (!CodeValidator.isValidProvinceCode(provinceCode)) {
+            return publish(Stream::empty);
+        }
+
+        return publish(() -> service.streamVillages(provinceCode));
+    }
+
+    @Override
+    public Publisher<Village> getVillagesByCity(long cityCode) {
+        if (!CodeValidator.isValidCityCode(cityCode)) {
+            return publish(Stream::empty);
+        }
+
+        return publish(() -> service.streamVillages(cityCode));
+    }
+
+    @Override
+    public Publisher<Village> searchVillages(String query) {
+        return publish(() -> service.streamSearchVillages(query));
+    }
+
+    @Override
+    public Publisher<Village> searchVillages(String query, long parentCode) {
+        return publish(() -> service.streamSearchVillages(query, parentCode));
+    }
+
+    /**
+     * Creates a publisher that opens a new stream for every subscriber.
+     *
+     * @param villages the supplier of the stream to publish
+     * @return the publisher
+     */
+    private static Publisher<Village> publish(Supplier<Stream<Village>> villages) {
+        return new IteratorPublisher<Village>(() -> {
+            Stream<Village> stream = villages.get();
+            return stream != null ? stream.iterator() : Collections.<Village>emptyIterator();
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.constant.Constant;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cold publisher that emits the elements of an iterator as they are requested.
+ * <p>
+ * Every subscriber gets a fresh iterator from the source, which is advanced only as elements
+ * are requested, so nothing is buffered. Elements are emitted on the thread that requests them.
+ * Requests made while elements are being emitted, including from within {@code onNext}, only
+ * add to the outstanding demand and are served by the emitting thread, which bounds the
+ * recursion depth. The iterator is only advanced or asked for more elements while there is
+ * outstanding demand, so exhaustion, and with it completion, is noticed on the first drain with
+ * demand after the last element.
+ *
+ * @param <T> the element type
+ * @author Rigsto
+ * @since 1.2
+ */
+final class IteratorPublisher<T> implements Publisher<T> {
+
+    private final Supplier<? extends Iterator<? extends T>> source;
+
+    IteratorPublisher(Supplier<? extends Iterator<? extends T>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+
+        Iterator<? extends T> iterator;
+        try {
+            iterator = source.get();
+        } catch (RuntimeException e) {
+            subscriber.onSubscribe(new IteratorSubscription<T>(subscriber, null));
+            subscriber.onError(e);
+            return;
+        }
+
+        IteratorSubscription<T> subscription = new IteratorSubscription<>(subscriber, iterator);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private static final class IteratorSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final Iterator<? extends T> iterator;
+        /**
+         * Outstanding demand, saturated at {@link Long#MAX_VALUE}, which means unbounded.
+         */
+        private final AtomicLong requested = new AtomicLong();
+        /**
+         * Number of drain requests not yet observed; only the caller that raises it from zero emits.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+
+        IteratorSubscription(Subscriber<? super T> subscriber, Iterator<? extends T> iterator) {
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+            this.cancelled = iterator == null;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = true;
+            } else {
+                long current;
+                do {
+                    current = requested.get();
+                } while (current != Long.MAX_VALUE
+                        && !requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void drain() {
+            if (pending.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                long demand = requested.get();
+                long emitted = 0L;
+                while (true) {
+                    if (cancelled) {
+                        return;
+                    }
+
+                    if (invalidRequest) {
+                        cancelled = true;
+                        subscriber.onError(new IllegalArgumentException(Constant.ERROR_INVALID_DEMAND));
+                        return;
+                    }
+
+                    if (emitted == demand) {
+                        break;
+                    }
+
+                    T next;
+                    try {
+                        if (!iterator.hasNext()) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+
+                        next = iterator.next();
+                        if (next == null) {
+                            throw new NullPointerException("Published element cannot be null");
+                        }
+                    } catch (RuntimeException e) {
+                        cancelled = true;
+                        subscriber.onError(e);
+                        return;
+                    }
+
+                    subscriber.onNext(next);
+                    emitted++;
+                }
+
+                if (emitted != 0L && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.model.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Combined name index over all administrative levels.
+ * <p>
+ * Names are normalized once when the index is built, so a search only compares the query
+ * against precomputed lowercase names. Matches are ranked by how the query matches the name
+ * (exact, prefix, word prefix or substring), by administrative level, and by how much of the
+ * name the query covers. Only the best {@code limit} matches are retained while scanning.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+final class NameIndex {
+
+    /**
+     * Administrative prefixes of city names that users commonly omit, longest first.
+     */
+    private static final String[] NAME_PREFIXES = {"kota administrasi ", "kabupaten ", "kota ", "kab. ", "kab "};
+
+    private static final double SCORE_EXACT = 1.0;
+    private static final double SCORE_PREFIX = 0.7;
+    private static final double SCORE_WORD_PREFIX = 0.55;
+    private static final double SCORE_SUBSTRING = 0.35;
+    private static final double SCORE_COVERAGE = 0.05;
+    private static final double[] SCORE_LEVEL = {0.12, 0.08, 0.04, 0.0};
+    private static final double SCORE_MAX = SCORE_EXACT + SCORE_LEVEL[0];
+
+    /**
+     * Normalized names, including administrative prefixes.
+     */
+    private final String[] names;
+    /**
+     * Normalized names without administrative prefixes; same instance as in {@link #names} if there is none.
+     */
+    private final String[] shortNames;
+    private final Object[] entities;
+    private final AdministrativeLevel[] levels;
+    private final long[] codes;
+
+    private NameIndex(int size) {
+        this.names = new String[size];
+        this.shortNames = new String[size];
+        this.entities = new Object[size];
+        this.levels = new AdministrativeLevel[size];
+        this.codes = new long[size];
+    }
+
+    /**
+     * Builds an index over the given administrative units.
+     *
+     * @param provinces the provinces to index
+     * @param cities    the cities to index
+     * @param districts the districts to index
+     * @param villages  the villages to index
+     * @return a new index
+     */
+    static NameIndex build(Collection<Province> provinces, Collection<City> cities,
+                           Collection<District> districts, Collection<Village> villages) {
+        NameIndex index = new NameIndex(provinces.size() + cities.size() + districts.size() + villages.size());
+        int position = 0;
+
+        for (Province province : provinces) {
+            index.set(position++, province, AdministrativeLevel.PROVINCE, province.getCode(), province.getName());
+        }
+
+        for (City city : cities) {
+            index.set(position++, city, AdministrativeLevel.CITY, city.getCode(), city.getName());
+        }
+
+        for (District district : districts) {
+            index.set(position++, district, AdministrativeLevel.DISTRICT, district.getCode(), district.getName());
+        }
+
+        for (Village village : villages) {
+            index.set(position++, village, AdministrativeLevel.VILLAGE, village.getCode(), village.getName());
+        }
+
+        return index;
+    }
+
+    /**
+     * Normalizes a name or query for matching.
+     *
+     * @param text the text to normalize
+     * @return the trimmed, lowercase text
+     */
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase();
+    }
+
+    /**
+     * Strips a leading administrative prefix such as "kabupaten " or "kota " from a normalized name.
+     *
+     * @param name the normalized name
+     * @return the name without prefix, or the same instance if it has none
+     */
+    static String stripPrefix(String name) {
+        for (String prefix : NAME_PREFIXES) {
+            if (name.length() > prefix.length() && name.startsWith(prefix)) {
+                return name.substring(prefix.length());
+            }
+        }
+
+        return name;
+    }
+
+    /**
+     * Scores how well a normalized query matches a normalized name, ignoring level.
+     *
+     * @param name  the normalized name
+     * @param query the normalized query
+     * @return the match score, or 0 if the name does not contain the query
+     */
+    static double matchScore(String name, String query) {
+        int at = name.indexOf(query);
+        if (at < 0) {
+            return 0.0;
+        }
+
+        if (at == 0 && name.length() == query.length()) {
+            return SCORE_EXACT;
+        }
+
+        double coverage = SCORE_COVERAGE * query.length() / name.length();
+        if (at == 0) {
+            return SCORE_PREFIX + coverage;
+        }
+
+        return (name.charAt(at - 1) == ' ' ? SCORE_WORD_PREFIX : SCORE_SUBSTRING) + coverage;
+    }
+
+    /**
+     * Finds the best matches for a query across all levels.
+     *
+     * @param query the normalized, non-empty query
+     * @param limit the maximum number of matches to return
+     * @return the matches, best first
+     */
+    List<Match> search(String query, int limit) {
+        Comparator<Match> worstFirst = Comparator.comparingDouble((Match match) -> match.score)
+                .thenComparing(match -> match.level, Comparator.reverseOrder())
+                .thenComparing(Comparator.comparingLong((Match match) -> match.code).reversed());
+        PriorityQueue<Match> best = new PriorityQueue<>(Math.min(limit, 64) + 1, worstFirst);
+
+        for (int i = 0; i < names.length; i++) {
+            double score = matchScore(names[i], query);
+            if (shortNames[i] != names[i]) {
+                score = Math.max(score, matchScore(shortNames[i], query));
+            }
+
+            if (score == 0.0) {
+                continue;
+            }
+
+            score = (score + SCORE_LEVEL[levels[i].ordinal()]) / SCORE_MAX;
+            if (best.size() == limit && !isBetter(score, i, best.peek())) {
+                continue;
+            }
+
+            best.add(new Match(entities[i], levels[i], codes[i], score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(Collections.reverseOrder(worstFirst));
+        return matches;
+    }
+
+    private boolean isBetter(double score, int position, Match other) {
+        if (score != other.score) {
+            return score > other.score;
+        }
+
+        if (levels[position] != other.level) {
+            return levels[position].ordinal() < other.level.ordinal();
+        }
+
+        return codes[position] < other.code;
+    }
+
+    private void set(int position, Object entity, AdministrativeLevel level, long code, String name) {
+        String normalized = normalize(name);
+        names[position] = normalized;
+        shortNames[position] = stripPrefix(normalized);
+        entities[position] = entity;
+        levels[position] = level;
+        codes[position] = code;
+    }
+
+    /**
+     * A scored match of the index.
+     */
+    static final class Match {
+        final Object entity;
+        final AdministrativeLevel level;
+        final long code;
+        final double score;
+
+        private Match(Object entity, AdministrativeLevel level, long code, double score) {
+            this.entity = entity;
+            this.level = level;
+            this.code = code;
+            this.score = score;
+        }
+    }
+}
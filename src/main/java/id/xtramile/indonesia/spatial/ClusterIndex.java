@@ -0,0 +1,162 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.constant.Constant;
+import id.xtramile.indonesia.model.Cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Grid clusters of administrative units for every map zoom level.
+ * <p>
+ * At zoom level {@code z} the world is divided into square cells of {@code 360 / 2^(z + 3)}
+ * degrees, an eighth of the width of a 256-pixel web map tile. These cells are exactly the
+ * geohash cells of {@code 2z + 5} bits, so when the units are sorted by geohash the units of each
+ * cell are adjacent, and the clusters of a zoom level are aggregated in a single pass.
+ * <p>
+ * The clusters of a zoom level are built on first use and cached together with a spatial index
+ * over their positions, so later queries for that zoom level only visit the cells near the
+ * queried region.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class ClusterIndex {
+
+    /**
+     * Highest zoom level with its own grid; higher zoom levels use this grid.
+     */
+    public static final int MAX_ZOOM = 20;
+
+    private static final ClusterIndex EMPTY = new ClusterIndex(new long[0], new double[0], new double[0]);
+
+    /**
+     * Cells of the units in ascending order.
+     */
+    private final long[] cells;
+    /**
+     * Latitudes and longitudes of the units, aligned with {@link #cells}.
+     */
+    private final double[] latitudes;
+    private final double[] longitudes;
+    /**
+     * Clusters of each zoom level, built on first use.
+     */
+    private final AtomicReferenceArray<SpatialIndex<Cluster>> levels = new AtomicReferenceArray<>(MAX_ZOOM + 1);
+
+    private ClusterIndex(long[] cells, double[] latitudes, double[] longitudes) {
+        this.cells = cells;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    /**
+     * Returns an index without units.
+     *
+     * @return the empty index
+     */
+    public static ClusterIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index over the units of a geohash index.
+     *
+     * @param index       the geohash index of the units
+     * @param latitudeOf  function extracting the latitude of a unit, in degrees
+     * @param longitudeOf function extracting the longitude of a unit, in degrees
+     * @param <T>         the type of the units
+     * @return a new cluster index
+     */
+    public static <T> ClusterIndex of(GeohashIndex<T> index,
+                                      ToDoubleFunction<? super T> latitudeOf, ToDoubleFunction<? super T> longitudeOf) {
+        List<T> units = index.all();
+        long[] cells = new long[units.size()];
+        double[] latitudes = new double[units.size()];
+        double[] longitudes = new double[units.size()];
+        for (int i = 0; i < cells.length; i++) {
+            T unit = units.get(i);
+            cells[i] = index.cell(i);
+            latitudes[i] = latitudeOf.applyAsDouble(unit);
+            longitudes[i] = longitudeOf.applyAsDouble(unit);
+        }
+
+        return new ClusterIndex(cells, latitudes, longitudes);
+    }
+
+    /**
+     * Returns the clusters of a zoom level whose positions lie within a region.
+     *
+     * @param zoom   the zoom level; levels above {@link #MAX_ZOOM} use the grid of {@link #MAX_ZOOM}
+     * @param region the region to query, usually the bounding box of the map viewport
+     * @return the clusters within the region
+     * @throws IllegalArgumentException if zoom is negative
+     */
+    public List<Cluster> clusters(int zoom, GeoRegion region) {
+        return level(zoom).within(region).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the number of indexed units.
+     *
+     * @return the unit count
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Returns the spatial index over the clusters of a zoom level, building it on first use.
+     *
+     * @param zoom the zoom level
+     * @return the spatial index of the clusters
+     */
+    SpatialIndex<Cluster> level(int zoom) {
+        if (zoom < 0) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_ZOOM);
+        }
+
+        int level = Math.min(zoom, MAX_ZOOM);
+        SpatialIndex<Cluster> clusters = levels.get(level);
+        if (clusters == null) {
+            clusters = SpatialIndex.of(aggregate(level), Cluster::getLatitude, Cluster::getLongitude);
+            levels.compareAndSet(level, null, clusters);
+        }
+
+        return clusters;
+    }
+
+    /**
+     * Aggregates the units of each grid cell of a zoom level into a cluster.
+     *
+     * @param zoom the zoom level
+     * @return the clusters in geohash order
+     */
+    private List<Cluster> aggregate(int zoom) {
+        int shift = Geohash.CELL_BITS - (2 * zoom + 5);
+        List<Cluster> clusters = new ArrayList<>();
+
+        int start = 0;
+        while (start < cells.length) {
+            long cell = cells[start] >>> shift;
+            double latitudeSum = 0.0;
+            double longitudeSum = 0.0;
+
+            int end = start;
+            while (end < cells.length && cells[end] >>> shift == cell) {
+                latitudeSum += latitudes[end];
+                longitudeSum += longitudes[end];
+                end++;
+            }
+
+            int count = end - start;
+            clusters.add(new Cluster(latitudeSum / count, longitudeSum / count, count));
+            start = end;
+        }
+
+        return clusters;
+    }
+}
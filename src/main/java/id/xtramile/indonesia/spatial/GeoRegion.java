@@ -0,0 +1,208 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.constant.Constant;
+
+/**
+ * A geographic region that administrative units can be queried by.
+ * <p>
+ * Regions are created with {@link #boundingBox(double, double, double, double)} for map
+ * viewports and {@link #polygon(double[], double[])} for service areas. A unit belongs to a
+ * region if its centroid lies within it.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public abstract class GeoRegion {
+
+    GeoRegion() {
+    }
+
+    /**
+     * Creates a rectangular region between two latitudes and two longitudes.
+     * <p>
+     * If {@code minLongitude} is greater than {@code maxLongitude}, the box crosses the
+     * antimeridian and covers the longitudes from {@code minLongitude} to 180 and from -180
+     * to {@code maxLongitude}.
+     *
+     * @param minLatitude  the southern edge, in degrees
+     * @param minLongitude the western edge, in degrees
+     * @param maxLatitude  the northern edge, in degrees
+     * @param maxLongitude the eastern edge, in degrees
+     * @return the bounding box region
+     * @throws IllegalArgumentException if minLatitude is greater than maxLatitude or any edge is not a number
+     */
+    public static GeoRegion boundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        if (!(minLatitude <= maxLatitude) || Double.isNaN(minLongitude) || Double.isNaN(maxLongitude)) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_BOUNDING_BOX);
+        }
+
+        return new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /**
+     * Creates a simple polygon region from its vertices.
+     * <p>
+     * The polygon is closed implicitly between the last and the first vertex. Edges are straight
+     * lines in latitude/longitude space, which is accurate for service areas of city or province
+     * scale. Polygons crossing the antimeridian are not supported.
+     *
+     * @param latitudes  the latitudes of the vertices, in degrees
+     * @param longitudes the longitudes of the vertices, in degrees
+     * @return the polygon region
+     * @throws IllegalArgumentException if the arrays differ in length or there are fewer than 3 vertices
+     */
+    public static GeoRegion polygon(double[] latitudes, double[] longitudes) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException(Constant.ERROR_MISMATCHED_COORDINATES);
+        }
+
+        if (latitudes.length < 3) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_POLYGON);
+        }
+
+        return new Polygon(latitudes.clone(), longitudes.clone());
+    }
+
+    /**
+     * Checks whether the region may contain points of an area.
+     *
+     * @param minLatitude  the southern edge of the area
+     * @param maxLatitude  the northern edge of the area
+     * @param minLongitude the western edge of the area
+     * @param maxLongitude the eastern edge of the area
+     * @return false if no point of the area lies in the region
+     */
+    abstract boolean intersects(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude);
+
+    /**
+     * Checks whether the region contains every point of an area.
+     *
+     * @param minLatitude  the southern edge of the area
+     * @param maxLatitude  the northern edge of the area
+     * @param minLongitude the western edge of the area
+     * @param maxLongitude the eastern edge of the area
+     * @return true only if every point of the area lies in the region
+     */
+    abstract boolean covers(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude);
+
+    /**
+     * Checks whether the region contains a point.
+     *
+     * @param latitude  the latitude of the point
+     * @param longitude the longitude of the point
+     * @return true if the point lies in the region
+     */
+    abstract boolean contains(double latitude, double longitude);
+
+    private static final class BoundingBox extends GeoRegion {
+
+        private final double minLatitude;
+        private final double minLongitude;
+        private final double maxLatitude;
+        private final double maxLongitude;
+
+        BoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+            this.minLatitude = minLatitude;
+            this.minLongitude = minLongitude;
+            this.maxLatitude = maxLatitude;
+            this.maxLongitude = maxLongitude;
+        }
+
+        @Override
+        boolean intersects(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            if (maxLatitude < this.minLatitude || minLatitude > this.maxLatitude) {
+                return false;
+            }
+
+            if (this.minLongitude <= this.maxLongitude) {
+                return maxLongitude >= this.minLongitude && minLongitude <= this.maxLongitude;
+            }
+
+            return maxLongitude >= this.minLongitude || minLongitude <= this.maxLongitude;
+        }
+
+        @Override
+        boolean covers(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            if (minLatitude < this.minLatitude || maxLatitude > this.maxLatitude) {
+                return false;
+            }
+
+            if (this.minLongitude <= this.maxLongitude) {
+                return minLongitude >= this.minLongitude && maxLongitude <= this.maxLongitude;
+            }
+
+            return minLongitude >= this.minLongitude || maxLongitude <= this.maxLongitude;
+        }
+
+        @Override
+        boolean contains(double latitude, double longitude) {
+            if (latitude < minLatitude || latitude > maxLatitude) {
+                return false;
+            }
+
+            if (minLongitude <= maxLongitude) {
+                return longitude >= minLongitude && longitude <= maxLongitude;
+            }
+
+            return longitude >= minLongitude || longitude <= maxLongitude;
+        }
+    }
+
+    private static final class Polygon extends GeoRegion {
+
+        private final double[] latitudes;
+        private final double[] longitudes;
+        private final GeoRegion bounds;
+
+        Polygon(double[] latitudes, double[] longitudes) {
+            this.latitudes = latitudes;
+            this.longitudes = longitudes;
+
+            double minLatitude = Double.POSITIVE_INFINITY;
+            double maxLatitude = Double.NEGATIVE_INFINITY;
+            double minLongitude = Double.POSITIVE_INFINITY;
+            double maxLongitude = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < latitudes.length; i++) {
+                minLatitude = Math.min(minLatitude, latitudes[i]);
+                maxLatitude = Math.max(maxLatitude, latitudes[i]);
+                minLongitude = Math.min(minLongitude, longitudes[i]);
+                maxLongitude = Math.max(maxLongitude, longitudes[i]);
+            }
+
+            this.bounds = new BoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        }
+
+        @Override
+        boolean intersects(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            return bounds.intersects(minLatitude, maxLatitude, minLongitude, maxLongitude);
+        }
+
+        @Override
+        boolean covers(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+            return false;
+        }
+
+        /**
+         * Tests the point with the even-odd rule by casting a ray towards increasing longitude.
+         */
+        @Override
+        boolean contains(double latitude, double longitude) {
+            if (!bounds.contains(latitude, longitude)) {
+                return false;
+            }
+
+            boolean inside = false;
+            for (int i = 0, j = latitudes.length - 1; i < latitudes.length; j = i++) {
+                if ((latitudes[i] > latitude) != (latitudes[j] > latitude)) {
+                    double crossing = longitudes[i] + (latitude - latitudes[i])
+                            * (longitudes[j] - longitudes[i]) / (latitudes[j] - latitudes[i]);
+                    if (longitude < crossing) {
+                        inside = !inside;
+                    }
+                }
+            }
+
+            return inside;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.constant.Constant;
+
+import java.util.Arrays;
+
+/**
+ * Encoder for geohashes, the base-32 cell identifiers used by tile services and geo-sharding.
+ * <p>
+ * A geohash of precision {@code n} identifies a cell of a grid that halves the longitude and
+ * latitude ranges alternately {@code 5 * n} times. Locations whose geohashes share a prefix lie
+ * in the same cell of the coarser grid, which makes a prefix usable as a routing or grouping key.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class Geohash {
+
+    /**
+     * Longest supported geohash, about 37 mm by 19 mm at the equator.
+     */
+    public static final int MAX_PRECISION = 12;
+
+    /**
+     * Number of bits per geohash character.
+     */
+    static final int BITS_PER_CHARACTER = 5;
+
+    /**
+     * Number of bits in a cell of {@link #MAX_PRECISION}.
+     */
+    static final int CELL_BITS = MAX_PRECISION * BITS_PER_CHARACTER;
+
+    private static final char[] ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private static final int[] ALPHABET_INDEX = new int[128];
+
+    static {
+        Arrays.fill(ALPHABET_INDEX, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            ALPHABET_INDEX[ALPHABET[i]] = i;
+            ALPHABET_INDEX[Character.toUpperCase(ALPHABET[i])] = i;
+        }
+    }
+
+    private Geohash() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Encodes a location into a geohash.
+     *
+     * @param latitude  the latitude of the location, in degrees
+     * @param longitude the longitude of the location, in degrees
+     * @param precision the number of characters, from 1 to {@link #MAX_PRECISION}
+     * @return the geohash of the cell containing the location
+     * @throws IllegalArgumentException if precision is out of range
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException(Constant.ERROR_INVALID_GEOHASH_PRECISION);
+        }
+
+        return toString(cell(latitude, longitude), precision);
+    }
+
+    /**
+     * Computes the cell of a location at {@link #MAX_PRECISION}, with the bits of the first
+     * geohash character in the most significant positions.
+     * <p>
+     * Longitude and latitude are quantized into 30 bits each and interleaved, longitude first.
+     * Quantizing once gives the same bits as the repeated halving of the reference algorithm.
+     *
+     * @param latitude  the latitude of the location, in degrees
+     * @param longitude the longitude of the location, in degrees
+     * @return the 60-bit cell
+     */
+    static long cell(double latitude, double longitude) {
+        long latitudeBits = quantize((latitude + 90.0) / 180.0);
+        long longitudeBits = quantize((longitude + 180.0) / 360.0);
+
+        long cell = 0L;
+        for (int bit = CELL_BITS / 2 - 1; bit >= 0; bit--) {
+            cell = (cell << 2) | (((longitudeBits >>> bit) & 1L) << 1) | ((latitudeBits >>> bit) & 1L);
+        }
+
+        return cell;
+    }
+
+    /**
+     * Formats the leading characters of a cell as a geohash.
+     *
+     * @param cell      the 60-bit cell
+     * @param precision the number of characters
+     * @return the geohash
+     */
+    static String toString(long cell, int precision) {
+        char[] characters = new char[precision];
+        for (int i = 0; i < precision; i++) {
+            int shift = CELL_BITS - BITS_PER_CHARACTER * (i + 1);
+            characters[i] = ALPHABET[(int) ((cell >>> shift) & 31L)];
+        }
+
+        return new String(characters);
+    }
+
+    /**
+     * Parses a geohash prefix into its bits, ignoring case.
+     *
+     * @param prefix the prefix, at most {@link #MAX_PRECISION} characters
+     * @return the {@code 5 * prefix.length()} bits of the prefix, or -1 if it is too long or
+     * contains a character outside the geohash alphabet
+     */
+    static long parse(CharSequence prefix) {
+        if (prefix.length() > MAX_PRECISION) {
+            return -1L;
+        }
+
+        long bits = 0L;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            int value = c < ALPHABET_INDEX.length ? ALPHABET_INDEX[c] : -1;
+            if (value < 0) {
+                return -1L;
+            }
+
+            bits = (bits << BITS_PER_CHARACTER) | value;
+        }
+
+        return bits;
+    }
+
+    private static long quantize(double fraction) {
+        long max = (1L << (CELL_BITS / 2)) - 1L;
+        long bits = (long) Math.floor(fraction * (max + 1L));
+        return Math.max(0L, Math.min(max, bits));
+    }
+}
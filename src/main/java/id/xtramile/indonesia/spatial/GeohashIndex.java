@@ -0,0 +1,199 @@
+package id.xtramile.indonesia.spatial;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Immutable array of administrative units sorted by geohash.
+ * <p>
+ * The geohash cell of every unit is computed once at {@link Geohash#MAX_PRECISION} when the
+ * index is built and stored as a 60-bit integer. All cells sharing a geohash prefix form a
+ * contiguous range of these integers, so a prefix lookup is answered with two binary searches
+ * and returned as a read-only view over the internal array, without copying or computing any
+ * distances.
+ *
+ * @param <T> the type of the indexed units
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class GeohashIndex<T> {
+
+    private static final GeohashIndex<?> EMPTY = new GeohashIndex<>(new long[0], new Object[0]);
+
+    /**
+     * Cells of the units in ascending order.
+     */
+    private final long[] cells;
+    /**
+     * Read-only view over the units, aligned with {@link #cells}.
+     */
+    private final List<T> items;
+
+    @SuppressWarnings("unchecked")
+    private GeohashIndex(long[] cells, Object[] items) {
+        this.cells = cells;
+        this.items = Collections.unmodifiableList(Arrays.asList((T[]) items));
+    }
+
+    /**
+     * Returns an empty index.
+     *
+     * @param <T> the type of the indexed units
+     * @return the empty index
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> GeohashIndex<T> empty() {
+        return (GeohashIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds an index over the given units.
+     *
+     * @param values      the units to index
+     * @param latitudeOf  function extracting the latitude of a unit, in degrees
+     * @param longitudeOf function extracting the longitude of a unit, in degrees
+     * @param <T>         the type of the indexed units
+     * @return a new index sorted by geohash
+     */
+    public static <T> GeohashIndex<T> of(Collection<? extends T> values,
+                                         ToDoubleFunction<? super T> latitudeOf, ToDoubleFunction<? super T> longitudeOf) {
+        Object[] units = values.toArray();
+        long[] unitCells = new long[units.length];
+        Integer[] order = new Integer[units.length];
+        for (int i = 0; i < units.length; i++) {
+            @SuppressWarnings("unchecked") T unit = (T) units[i];
+            unitCells[i] = Geohash.cell(latitudeOf.applyAsDouble(unit), longitudeOf.applyAsDouble(unit));
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Long.compare(unitCells[a], unitCells[b]));
+
+        long[] cells = new long[units.length];
+        Object[] items = new Object[units.length];
+        for (int i = 0; i < order.length; i++) {
+            cells[i] = unitCells[order[i]];
+            items[i] = units[order[i]];
+        }
+
+        return new GeohashIndex<>(cells, items);
+    }
+
+    /**
+     * Returns the units whose geohash starts with a prefix.
+     * <p>
+     * The prefix is matched case-insensitively. An empty prefix matches every unit.
+     *
+     * @param prefix the geohash prefix
+     * @return a read-only view over the matching units in geohash order, or empty list if the
+     * prefix is longer than {@link Geohash#MAX_PRECISION} or is not a geohash
+     */
+    public List<T> findByPrefix(CharSequence prefix) {
+        if (prefix == null) {
+            throw new NullPointerException("Prefix cannot be null");
+        }
+
+        long bits = Geohash.parse(prefix);
+        if (bits < 0L) {
+            return Collections.emptyList();
+        }
+
+        int shift = Geohash.CELL_BITS - Geohash.BITS_PER_CHARACTER * prefix.length();
+        return items.subList(lowerBound(bits << shift), lowerBound((bits + 1L) << shift));
+    }
+
+    /**
+     * Returns the units whose geohash starts with a prefix, each converted together with its geohash.
+     * <p>
+     * The geohash of a unit is formatted from the cell stored when the index was built, so the
+     * coordinates of the units are not encoded again.
+     *
+     * @param prefix    the geohash prefix
+     * @param converter function converting a unit and its geohash at {@link Geohash#MAX_PRECISION}
+     * @param <R>       the type of the converted units
+     * @return the converted units in geohash order, or empty list if the prefix is longer than
+     * {@link Geohash#MAX_PRECISION} or is not a geohash
+     * @see #findByPrefix(CharSequence)
+     */
+    public <R> List<R> findByPrefix(CharSequence prefix, BiFunction<? super T, String, ? extends R> converter) {
+        if (prefix == null) {
+            throw new NullPointerException("Prefix cannot be null");
+        }
+
+        if (converter == null) {
+            throw new NullPointerException("Converter cannot be null");
+        }
+
+        long bits = Geohash.parse(prefix);
+        if (bits < 0L) {
+            return new ArrayList<>();
+        }
+
+        int shift = Geohash.CELL_BITS - Geohash.BITS_PER_CHARACTER * prefix.length();
+        int from = lowerBound(bits << shift);
+        int to = lowerBound((bits + 1L) << shift);
+
+        List<R> converted = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            converted.add(converter.apply(items.get(i), Geohash.toString(cells[i], Geohash.MAX_PRECISION)));
+        }
+
+        return converted;
+    }
+
+    /**
+     * Returns all units in geohash order.
+     *
+     * @return a read-only view over all units
+     */
+    List<T> all() {
+        return items;
+    }
+
+    /**
+     * Returns the cell of the unit at a position of {@link #all()}.
+     *
+     * @param position the position of the unit
+     * @return the 60-bit cell of the unit
+     */
+    long cell(int position) {
+        return cells[position];
+    }
+
+    /**
+     * Returns the number of indexed units.
+     *
+     * @return the unit count
+     */
+    public int size() {
+        return cells.length;
+    }
+
+    /**
+     * Checks whether the index contains no units.
+     *
+     * @return true if the index is empty
+     */
+    public boolean isEmpty() {
+        return cells.length == 0;
+    }
+
+    private int lowerBound(long cell) {
+        int low = 0;
+        int high = cells.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cells[mid] < cell) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+}
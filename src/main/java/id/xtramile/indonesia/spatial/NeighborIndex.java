@@ -0,0 +1,180 @@
+package id.xtramile.indonesia.spatial;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable nearest-neighbor graph between administrative units.
+ * <p>
+ * The neighbors of every unit are found once with a spatial index when the graph is built. The
+ * units are kept sorted by code, and the neighbors of the unit at position {@code i} are stored
+ * nearest first as positions in {@code neighbors[i * k, (i + 1) * k)}, so the whole graph takes
+ * one {@code int} per edge. Looking up the neighbors of a code is a binary search followed by an
+ * array read, without any distance calculations.
+ *
+ * @param <T> the type of the units
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class NeighborIndex<T> {
+
+    private static final NeighborIndex<?> EMPTY = new NeighborIndex<>(
+            SpatialIndex.empty(), new long[0], new Object[0], new int[0], new int[0], 0);
+
+    /**
+     * Spatial index the graph was built from, used for requests beyond the precomputed neighbors.
+     */
+    private final SpatialIndex<T> spatialIndex;
+    /**
+     * Unit codes in ascending order.
+     */
+    private final long[] codes;
+    /**
+     * Units aligned with {@link #codes}.
+     */
+    private final Object[] items;
+    /**
+     * Positions of the units in the spatial index, aligned with {@link #codes}.
+     */
+    private final int[] treePositions;
+    /**
+     * Positions of the neighbors of each unit, nearest first; -1 pads units with fewer neighbors.
+     */
+    private final int[] neighbors;
+    private final int k;
+
+    private NeighborIndex(SpatialIndex<T> spatialIndex, long[] codes, Object[] items, int[] treePositions,
+                          int[] neighbors, int k) {
+        this.spatialIndex = spatialIndex;
+        this.codes = codes;
+        this.items = items;
+        this.treePositions = treePositions;
+        this.neighbors = neighbors;
+        this.k = k;
+    }
+
+    /**
+     * Returns an empty graph.
+     *
+     * @param <T> the type of the units
+     * @return the empty graph
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> NeighborIndex<T> empty() {
+        return (NeighborIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds the graph of the k nearest neighbors of every unit of a spatial index.
+     *
+     * @param spatialIndex the spatial index of the units
+     * @param codeOf       function extracting the code of a unit
+     * @param k            the number of neighbors to precompute per unit
+     * @param <T>          the type of the units
+     * @return a new neighbor graph
+     */
+    public static <T> NeighborIndex<T> of(SpatialIndex<T> spatialIndex, ToLongFunction<? super T> codeOf, int k) {
+        int size = spatialIndex.size();
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(codeOf.applyAsLong(spatialIndex.item(a)), codeOf.applyAsLong(spatialIndex.item(b))));
+
+        long[] codes = new long[size];
+        Object[] items = new Object[size];
+        int[] treePositions = new int[size];
+        for (int i = 0; i < size; i++) {
+            treePositions[i] = order[i];
+            items[i] = spatialIndex.item(order[i]);
+            codes[i] = codeOf.applyAsLong(spatialIndex.item(order[i]));
+        }
+
+        int[] neighbors = new int[size * k];
+        Arrays.fill(neighbors, -1);
+        for (int i = 0; i < size; i++) {
+            int found = 0;
+            for (T neighbor : nearest(spatialIndex, treePositions[i], k)) {
+                neighbors[i * k + found++] = position(codes, codeOf.applyAsLong(neighbor));
+            }
+        }
+
+        return new NeighborIndex<>(spatialIndex, codes, items, treePositions, neighbors, k);
+    }
+
+    /**
+     * Returns the units nearest to the unit with a code, excluding the unit itself.
+     * <p>
+     * Up to the number of precomputed neighbors, the result is read from the graph; larger
+     * counts are answered with a k-nearest query on the spatial index.
+     *
+     * @param code  the code of the unit
+     * @param count the maximum number of neighbors
+     * @return up to {@code count} neighbors, nearest first, or empty list if the code is not in the graph
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> neighbors(long code, int count) {
+        int position = position(codes, code);
+        if (position < 0 || count <= 0) {
+            return Collections.emptyList();
+        }
+
+        if (count > k) {
+            return nearest(spatialIndex, treePositions[position], count);
+        }
+
+        List<T> result = new ArrayList<>(count);
+        for (int i = position * k, end = i + count; i < end && neighbors[i] >= 0; i++) {
+            result.add((T) items[neighbors[i]]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of neighbors precomputed per unit.
+     *
+     * @return the number of precomputed neighbors
+     */
+    public int precomputedNeighbors() {
+        return k;
+    }
+
+    /**
+     * Returns the number of units in the graph.
+     *
+     * @return the unit count
+     */
+    public int size() {
+        return codes.length;
+    }
+
+    /**
+     * Finds the units nearest to a unit of a spatial index, excluding the unit itself.
+     *
+     * @param spatialIndex the spatial index
+     * @param tree         the position of the unit in the spatial index
+     * @param count        the maximum number of neighbors
+     * @param <T>          the type of the units
+     * @return up to {@code count} neighbors, nearest first
+     */
+    private static <T> List<T> nearest(SpatialIndex<T> spatialIndex, int tree, int count) {
+        T unit = spatialIndex.item(tree);
+        List<T> nearest = new ArrayList<>(spatialIndex.kNearest(spatialIndex.latitude(tree), spatialIndex.longitude(tree), count + 1));
+
+        // The unit itself is normally the nearest hit, but may be crowded out by units at the same position
+        if (!nearest.remove(unit) && nearest.size() > count) {
+            nearest.remove(nearest.size() - 1);
+        }
+
+        return nearest;
+    }
+
+    private static int position(long[] codes, long code) {
+        int position = Arrays.binarySearch(codes, code);
+        return position >= 0 ? position : -1;
+    }
+}
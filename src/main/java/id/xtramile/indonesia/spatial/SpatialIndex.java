@@ -0,0 +1,687 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.constant.Constant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable KD-tree over the coordinates of administrative units.
+ * <p>
+ * Coordinates are converted once to points on the unit sphere. The straight-line (chord)
+ * distance between two such points grows monotonically with their great-circle distance, so
+ * candidates can be ranked and pruned with plain squared Euclidean distances instead of the
+ * trigonometry of the Haversine formula. Because the points are three-dimensional, the index
+ * has no seams at the antimeridian or near the poles.
+ * <p>
+ * Points are stored in tree order in flat arrays. Each tree node keeps the bounding box of the
+ * points below it, and small groups of points are kept together in leaf buckets. A nearest
+ * lookup descends into the closer child first and skips every node whose box is farther away
+ * than the best candidate found so far, which takes logarithmic time on average. Radius queries
+ * convert the radius into a chord length once and only visit nodes whose box intersects the
+ * resulting sphere. Region queries use the latitude and longitude extent of each node instead,
+ * and only test individual points in nodes that straddle the region's border.
+ *
+ * @param <T> the type of the indexed units
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class SpatialIndex<T> {
+
+    /**
+     * Maximum number of points in a leaf bucket.
+     */
+    private static final int LEAF_SIZE = 8;
+
+    private static final SpatialIndex<?> EMPTY = new SpatialIndex<>(new Object[0], new double[0], new double[0]);
+
+    /**
+     * Indexed units, in tree order.
+     */
+    private final Object[] items;
+    /**
+     * Unit-sphere coordinates of the units, aligned with {@link #items}.
+     */
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    /**
+     * Latitudes and longitudes of the units in degrees, aligned with {@link #items}.
+     */
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    /**
+     * Range of points below each node, as [start, end).
+     */
+    private final int[] nodeStart;
+    private final int[] nodeEnd;
+    /**
+     * Children of each node; -1 for leaf buckets.
+     */
+    private final int[] nodeLeft;
+    private final int[] nodeRight;
+    /**
+     * Bounding box of each node, as minX, maxX, minY, maxY, minZ, maxZ.
+     */
+    private final double[] nodeBox;
+    /**
+     * Extent of each node in degrees, as minLatitude, maxLatitude, minLongitude, maxLongitude.
+     */
+    private final double[] nodeExtent;
+    private int nodeCount;
+
+    private SpatialIndex(Object[] items, double[] latitudes, double[] longitudes) {
+        int size = items.length;
+        this.items = items;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.xs = new double[size];
+        this.ys = new double[size];
+        this.zs = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            double lat = Math.toRadians(latitudes[i]);
+            double lon = Math.toRadians(longitudes[i]);
+            double cosLat = Math.cos(lat);
+            xs[i] = cosLat * Math.cos(lon);
+            ys[i] = cosLat * Math.sin(lon);
+            zs[i] = Math.sin(lat);
+        }
+
+        int capacity = Math.max(1, 4 * size / LEAF_SIZE + 1);
+        this.nodeStart = new int[capacity];
+        this.nodeEnd = new int[capacity];
+        this.nodeLeft = new int[capacity];
+        this.nodeRight = new int[capacity];
+        this.nodeBox = new double[6 * capacity];
+        this.nodeExtent = new double[4 * capacity];
+
+        if (size > 0) {
+            build(0, size);
+        }
+    }
+
+    /**
+     * Returns an empty index.
+     *
+     * @param <T> the type of the indexed units
+     * @return the empty index
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> SpatialIndex<T> empty() {
+        return (SpatialIndex<T>) EMPTY;
+    }
+
+    /**
+     * Builds an index over the given units.
+     *
+     * @param values      the units to index
+     * @param latitudeOf  function extracting the latitude of a unit, in degrees
+     * @param longitudeOf function extracting the longitude of a unit, in degrees
+     * @param <T>         the type of the indexed units
+     * @return a new index
+     */
+    public static <T> SpatialIndex<T> of(Collection<? extends T> values,
+                                         ToDoubleFunction<? super T> latitudeOf,
+                                         ToDoubleFunction<? super T> longitudeOf) {
+        Object[] items = values.toArray();
+        double[] latitudes = new double[items.length];
+        double[] longitudes = new double[items.length];
+
+        for (int i = 0; i < items.length; i++) {
+            @SuppressWarnings("unchecked") T item = (T) items[i];
+            latitudes[i] = latitudeOf.applyAsDouble(item);
+            longitudes[i] = longitudeOf.applyAsDouble(item);
+        }
+
+        return new SpatialIndex<>(items, latitudes, longitudes);
+    }
+
+    /**
+     * Finds the unit nearest to the given location.
+     *
+     * @param latitude  the latitude of the location, in degrees
+     * @param longitude the longitude of the location, in degrees
+     * @return the nearest unit, or null if the index is empty or no distance to the location is finite
+     */
+    @SuppressWarnings("unchecked")
+    public T nearest(double latitude, double longitude) {
+        if (items.length == 0) {
+            return null;
+        }
+
+        Query query = new Query(latitude, longitude);
+        nearest(0, query);
+        return query.best < 0 ? null : (T) items[query.best];
+    }
+
+    /**
+     * Finds the units nearest to the given location.
+     *
+     * @param latitude  the latitude of the location, in degrees
+     * @param longitude the longitude of the location, in degrees
+     * @param count     the maximum number of units to return
+     * @return up to {@code count} units, nearest first, or empty list if the index is empty, count is not positive
+     * or the location is not finite
+     */
+    public List<T> kNearest(double latitude, double longitude, int count) {
+        if (items.length == 0 || count <= 0 || !Double.isFinite(latitude) || !Double.isFinite(longitude)) {
+            return Collections.emptyList();
+        }
+
+        Query query = new Query(latitude, longitude);
+        query.heap = new int[Math.min(count, items.length)];
+        query.heapDistances = new double[query.heap.length];
+        kNearest(0, query);
+
+        int[] found = new int[query.heapSize];
+        for (int i = found.length - 1; i >= 0; i--) {
+            found[i] = query.heap[0];
+            query.pollHeap();
+        }
+
+        return toList(found, found.length);
+    }
+
+    /**
+     * Finds all units within a great-circle distance of the given location.
+     *
+     * @param latitude  the latitude of the location, in degrees
+     * @param longitude the longitude of the location, in degrees
+     * @param radiusKm  the radius in kilometers
+     * @return the units within the radius, nearest first, or empty list if none
+     */
+    public List<T> withinRadius(double latitude, double longitude, double radiusKm) {
+        if (items.length == 0 || !(radiusKm >= 0.0)) {
+            return Collections.emptyList();
+        }
+
+        Query query = new Query(latitude, longitude);
+        query.bestDistance = chordSquared(radiusKm);
+        query.heap = new int[16];
+        query.heapDistances = new double[16];
+        withinRadius(0, query);
+
+        sortByDistance(query.heap, query.heapDistances, query.heapSize);
+        return toList(query.heap, query.heapSize);
+    }
+
+    /**
+     * Streams the units whose coordinates lie within a region.
+     * <p>
+     * The tree is traversed lazily while the stream is consumed. Nodes outside the region's
+     * extent are skipped, nodes entirely inside it are emitted without testing their points,
+     * and only the points of nodes on the region's border are tested individually.
+     *
+     * @param region the region to query
+     * @return a sequential stream of the units within the region, in index order
+     */
+    public Stream<T> within(GeoRegion region) {
+        if (region == null) {
+            throw new NullPointerException("Region cannot be null");
+        }
+
+        if (items.length == 0) {
+            return Stream.empty();
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new RegionIterator(region),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+    }
+
+    /**
+     * Converts a great-circle distance into the squared chord length between two points
+     * on the unit sphere.
+     *
+     * @param distanceKm the great-circle distance in kilometers
+     * @return the squared chord length, at most 4
+     */
+    static double chordSquared(double distanceKm) {
+        double angle = Math.min(distanceKm / Constant.EARTH_RADIUS_KM, Math.PI);
+        double chord = 2.0 * Math.sin(angle / 2.0);
+        return chord * chord;
+    }
+
+    /**
+     * Returns the unit at a position in tree order.
+     *
+     * @param position the position, from 0 to {@link #size()} - 1
+     * @return the unit
+     */
+    @SuppressWarnings("unchecked")
+    T item(int position) {
+        return (T) items[position];
+    }
+
+    double latitude(int position) {
+        return latitudes[position];
+    }
+
+    double longitude(int position) {
+        return longitudes[position];
+    }
+
+    /**
+     * Returns the number of indexed units.
+     *
+     * @return the unit count
+     */
+    public int size() {
+        return items.length;
+    }
+
+    /**
+     * Checks whether the index contains no units.
+     *
+     * @return true if the index is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    private void nearest(int node, Query query) {
+        if (nodeLeft[node] < 0) {
+            for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                double distance = chordSquared(i, query);
+                if (distance < query.bestDistance) {
+                    query.bestDistance = distance;
+                    query.best = i;
+                }
+            }
+
+            return;
+        }
+
+        int left = nodeLeft[node];
+        int right = nodeRight[node];
+        double leftDistance = boxDistanceSquared(left, query);
+        double rightDistance = boxDistanceSquared(right, query);
+
+        int near = leftDistance <= rightDistance ? left : right;
+        int far = near == left ? right : left;
+        double farDistance = near == left ? rightDistance : leftDistance;
+
+        nearest(near, query);
+        if (farDistance < query.bestDistance) {
+            nearest(far, query);
+        }
+    }
+
+    private void kNearest(int node, Query query) {
+        if (nodeLeft[node] < 0) {
+            for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                double distance = chordSquared(i, query);
+                if (query.heapSize < query.heap.length) {
+                    query.pushHeap(i, distance);
+                } else if (distance < query.heapDistances[0]) {
+                    query.pollHeap();
+                    query.pushHeap(i, distance);
+                }
+            }
+
+            if (query.heapSize == query.heap.length) {
+                query.bestDistance = query.heapDistances[0];
+            }
+
+            return;
+        }
+
+        int left = nodeLeft[node];
+        int right = nodeRight[node];
+        double leftDistance = boxDistanceSquared(left, query);
+        double rightDistance = boxDistanceSquared(right, query);
+
+        int near = leftDistance <= rightDistance ? left : right;
+        int far = near == left ? right : left;
+        double farDistance = near == left ? rightDistance : leftDistance;
+
+        kNearest(near, query);
+        if (farDistance < query.bestDistance) {
+            kNearest(far, query);
+        }
+    }
+
+    private void withinRadius(int node, Query query) {
+        if (boxDistanceSquared(node, query) > query.bestDistance) {
+            return;
+        }
+
+        if (nodeLeft[node] >= 0) {
+            withinRadius(nodeLeft[node], query);
+            withinRadius(nodeRight[node], query);
+            return;
+        }
+
+        for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+            double distance = chordSquared(i, query);
+            if (distance <= query.bestDistance) {
+                query.append(i, distance);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> toList(int[] points, int count) {
+        List<T> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add((T) items[points[i]]);
+        }
+
+        return result;
+    }
+
+    /**
+     * Sorts the first {@code count} points by distance, keeping the two arrays aligned.
+     */
+    private static void sortByDistance(int[] points, double[] distances, int count) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> Double.compare(distances[a], distances[b]));
+
+        int[] sortedPoints = new int[count];
+        double[] sortedDistances = new double[count];
+        for (int i = 0; i < count; i++) {
+            sortedPoints[i] = points[order[i]];
+            sortedDistances[i] = distances[order[i]];
+        }
+
+        System.arraycopy(sortedPoints, 0, points, 0, count);
+        System.arraycopy(sortedDistances, 0, distances, 0, count);
+    }
+
+    private double chordSquared(int point, Query query) {
+        double dx = xs[point] - query.x;
+        double dy = ys[point] - query.y;
+        double dz = zs[point] - query.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private double boxDistanceSquared(int node, Query query) {
+        int box = 6 * node;
+        double dx = axisDistance(query.x, nodeBox[box], nodeBox[box + 1]);
+        double dy = axisDistance(query.y, nodeBox[box + 2], nodeBox[box + 3]);
+        double dz = axisDistance(query.z, nodeBox[box + 4], nodeBox[box + 5]);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private static double axisDistance(double value, double min, double max) {
+        if (value < min) {
+            return min - value;
+        }
+
+        return value > max ? value - max : 0.0;
+    }
+
+    /**
+     * Builds the subtree over the points in [start, end) and returns its node.
+     */
+    private int build(int start, int end) {
+        int node = nodeCount++;
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+
+        int box = 6 * node;
+        nodeBox[box] = nodeBox[box + 2] = nodeBox[box + 4] = Double.POSITIVE_INFINITY;
+        nodeBox[box + 1] = nodeBox[box + 3] = nodeBox[box + 5] = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            nodeBox[box] = Math.min(nodeBox[box], xs[i]);
+            nodeBox[box + 1] = Math.max(nodeBox[box + 1], xs[i]);
+            nodeBox[box + 2] = Math.min(nodeBox[box + 2], ys[i]);
+            nodeBox[box + 3] = Math.max(nodeBox[box + 3], ys[i]);
+            nodeBox[box + 4] = Math.min(nodeBox[box + 4], zs[i]);
+            nodeBox[box + 5] = Math.max(nodeBox[box + 5], zs[i]);
+        }
+
+        int extent = 4 * node;
+        nodeExtent[extent] = nodeExtent[extent + 2] = Double.POSITIVE_INFINITY;
+        nodeExtent[extent + 1] = nodeExtent[extent + 3] = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            nodeExtent[extent] = Math.min(nodeExtent[extent], latitudes[i]);
+            nodeExtent[extent + 1] = Math.max(nodeExtent[extent + 1], latitudes[i]);
+            nodeExtent[extent + 2] = Math.min(nodeExtent[extent + 2], longitudes[i]);
+            nodeExtent[extent + 3] = Math.max(nodeExtent[extent + 3], longitudes[i]);
+        }
+
+        if (end - start <= LEAF_SIZE) {
+            nodeLeft[node] = -1;
+            nodeRight[node] = -1;
+            return node;
+        }
+
+        double extentX = nodeBox[box + 1] - nodeBox[box];
+        double extentY = nodeBox[box + 3] - nodeBox[box + 2];
+        double extentZ = nodeBox[box + 5] - nodeBox[box + 4];
+        double[] axis = extentX >= extentY && extentX >= extentZ ? xs : extentY >= extentZ ? ys : zs;
+
+        int middle = (start + end) >>> 1;
+        select(axis, start, end - 1, middle);
+
+        nodeLeft[node] = build(start, middle);
+        nodeRight[node] = build(middle, end);
+        return node;
+    }
+
+    /**
+     * Partially sorts the points in [low, high] along an axis so that the point at position
+     * {@code k} is in its sorted position, with no larger values before it and no smaller after it.
+     */
+    private void select(double[] axis, int low, int high, int k) {
+        while (high > low) {
+            double pivot = axis[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+
+            while (i <= j) {
+                while (axis[i] < pivot) {
+                    i++;
+                }
+
+                while (axis[j] > pivot) {
+                    j--;
+                }
+
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+
+            if (k <= j) {
+                high = j;
+            } else if (k >= i) {
+                low = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        Object item = items[a];
+        items[a] = items[b];
+        items[b] = item;
+
+        swap(xs, a, b);
+        swap(ys, a, b);
+        swap(zs, a, b);
+        swap(latitudes, a, b);
+        swap(longitudes, a, b);
+    }
+
+    private static void swap(double[] values, int a, int b) {
+        double value = values[a];
+        values[a] = values[b];
+        values[b] = value;
+    }
+
+    /**
+     * Lazy depth-first traversal of the nodes intersecting a region.
+     */
+    private final class RegionIterator implements Iterator<T> {
+
+        private final GeoRegion region;
+        private final int[] stack = new int[64];
+        private int stackSize;
+        private int position;
+        private int end;
+        private boolean covered;
+        private int next = -1;
+
+        RegionIterator(GeoRegion region) {
+            this.region = region;
+            this.stack[stackSize++] = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next >= 0) {
+                return true;
+            }
+
+            while (true) {
+                while (position < end) {
+                    int point = position++;
+                    if (covered || region.contains(latitudes[point], longitudes[point])) {
+                        next = point;
+                        return true;
+                    }
+                }
+
+                if (stackSize == 0) {
+                    return false;
+                }
+
+                int node = stack[--stackSize];
+                int extent = 4 * node;
+                double minLatitude = nodeExtent[extent];
+                double maxLatitude = nodeExtent[extent + 1];
+                double minLongitude = nodeExtent[extent + 2];
+                double maxLongitude = nodeExtent[extent + 3];
+
+                if (!region.intersects(minLatitude, maxLatitude, minLongitude, maxLongitude)) {
+                    continue;
+                }
+
+                covered = region.covers(minLatitude, maxLatitude, minLongitude, maxLongitude);
+                if (covered || nodeLeft[node] < 0) {
+                    position = nodeStart[node];
+                    end = nodeEnd[node];
+                } else {
+                    stack[stackSize++] = nodeRight[node];
+                    stack[stackSize++] = nodeLeft[node];
+                }
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            T item = (T) items[next];
+            next = -1;
+            return item;
+        }
+    }
+
+    /**
+     * State of a single lookup.
+     */
+    private static final class Query {
+        final double x;
+        final double y;
+        final double z;
+        int best = -1;
+        /**
+         * Squared chord distance beyond which nodes are pruned.
+         */
+        double bestDistance = Double.POSITIVE_INFINITY;
+        /**
+         * Found points: a max-heap on distance for k-nearest queries, a plain list for radius queries.
+         */
+        int[] heap;
+        double[] heapDistances;
+        int heapSize;
+
+        Query(double latitude, double longitude) {
+            double lat = Math.toRadians(latitude);
+            double lon = Math.toRadians(longitude);
+            double cosLat = Math.cos(lat);
+            this.x = cosLat * Math.cos(lon);
+            this.y = cosLat * Math.sin(lon);
+            this.z = Math.sin(lat);
+        }
+
+        void append(int point, double distance) {
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+                heapDistances = Arrays.copyOf(heapDistances, heapSize * 2);
+            }
+
+            heap[heapSize] = point;
+            heapDistances[heapSize++] = distance;
+        }
+
+        void pushHeap(int point, double distance) {
+            int child = heapSize++;
+            while (child > 0) {
+                int parent = (child - 1) >>> 1;
+                if (heapDistances[parent] >= distance) {
+                    break;
+                }
+
+                heap[child] = heap[parent];
+                heapDistances[child] = heapDistances[parent];
+                child = parent;
+            }
+
+            heap[child] = point;
+            heapDistances[child] = distance;
+        }
+
+        void pollHeap() {
+            int point = heap[--heapSize];
+            double distance = heapDistances[heapSize];
+            int parent = 0;
+
+            while (true) {
+                int child = 2 * parent + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+
+                if (child + 1 < heapSize && heapDistances[child + 1] > heapDistances[child]) {
+                    child++;
+                }
+
+                if (heapDistances[child] <= distance) {
+                    break;
+                }
+
+                heap[parent] = heap[child];
+                heapDistances[parent] = heapDistances[child];
+                parent = child;
+            }
+
+            if (heapSize > 0) {
+                heap[parent] = point;
+                heapDistances[parent] = distance;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package id.xtramile.indonesia.util;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongPredicate;
+
+/**
+ * Utility class for testing large batches of administrative codes.
+ * <p>
+ * Results are collected as the 64-bit words of a {@link BitSet}, one bit per code. Large batches
+ * are split into chunks of whole words and tested in parallel on the common fork-join pool; each
+ * task writes only its own words, so no synchronization is needed.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class CodeBatch {
+
+    /**
+     * Minimum number of codes tested by one task before a batch is split.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    private CodeBatch() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Tests every code of a batch.
+     *
+     * @param codes     the codes to test
+     * @param predicate the test; must be safe to call from several threads
+     * @return a bit set in which bit {@code i} is set if {@code codes[i]} passed the test
+     */
+    public static BitSet test(long[] codes, LongPredicate predicate) {
+        if (codes == null) {
+            throw new NullPointerException("Codes cannot be null");
+        }
+
+        if (predicate == null) {
+            throw new NullPointerException("Predicate cannot be null");
+        }
+
+        long[] words = new long[(codes.length + 63) >>> 6];
+        TestTask task = new TestTask(codes, predicate, words, 0, words.length);
+        if (codes.length < PARALLEL_THRESHOLD) {
+            task.testWords();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        return BitSet.valueOf(words);
+    }
+
+    private static final class TestTask extends RecursiveAction {
+
+        private final long[] codes;
+        private final LongPredicate predicate;
+        private final long[] words;
+        private final int wordStart;
+        private final int wordEnd;
+
+        TestTask(long[] codes, LongPredicate predicate, long[] words, int wordStart, int wordEnd) {
+            this.codes = codes;
+            this.predicate = predicate;
+            this.words = words;
+            this.wordStart = wordStart;
+            this.wordEnd = wordEnd;
+        }
+
+        @Override
+        protected void compute() {
+            if ((wordEnd - wordStart) << 6 > PARALLEL_THRESHOLD) {
+                int middle = (wordStart + wordEnd) >>> 1;
+                invokeAll(new TestTask(codes, predicate, words, wordStart, middle),
+                        new TestTask(codes, predicate, words, middle, wordEnd));
+                return;
+            }
+
+            testWords();
+        }
+
+        void testWords() {
+            for (int word = wordStart; word < wordEnd; word++) {
+                int start = word << 6;
+                int end = Math.min(codes.length, start + 64);
+                long bits = 0L;
+                for (int i = start; i < end; i++) {
+                    if (predicate.test(codes[i])) {
+                        bits |= 1L << (i - start);
+                    }
+                }
+
+                words[word] = bits;
+            }
+        }
+    }
+}
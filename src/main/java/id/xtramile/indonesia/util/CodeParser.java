@@ -0,0 +1,229 @@
+package id.xtramile.indonesia.util;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Utility class for parsing administrative codes from text without allocation.
+ * <p>
+ * Codes are accepted in plain form ({@code "3273011001"}) and in the dotted or dashed forms
+ * used in official publications ({@code "32.73.01.1001"}, {@code "32-73-01-1001"}). A
+ * separator may only follow the province, city or district part of a code. Surrounding
+ * whitespace and double quotes are ignored. The digit count determines the level of the code,
+ * which can be recovered with {@link CodeValidator#levelOf(long)}.
+ * <p>
+ * Parsing reads the characters in place and returns a primitive {@code long}; text that is not
+ * a well-formed province, city, district or village code yields {@link #INVALID} instead of
+ * an exception.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class CodeParser {
+
+    /**
+     * The value returned for text that is not a well-formed administrative code.
+     */
+    public static final long INVALID = -1L;
+
+    private static final int MAX_DIGITS = 10;
+
+    private CodeParser() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Parses an administrative code.
+     *
+     * @param text the text to parse
+     * @return the code, or {@link #INVALID} if the text is not a well-formed code
+     * @throws NullPointerException if text is null
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            throw new NullPointerException("Text cannot be null");
+        }
+
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parses an administrative code from a region of a character sequence, such as one field of
+     * a CSV line.
+     *
+     * @param text  the text containing the code
+     * @param start the index of the first character of the region
+     * @param end   the index after the last character of the region
+     * @return the code, or {@link #INVALID} if the region is not a well-formed code
+     * @throws NullPointerException      if text is null
+     * @throws IndexOutOfBoundsException if the region is not within the text
+     */
+    public static long parse(CharSequence text, int start, int end) {
+        if (text == null) {
+            throw new NullPointerException("Text cannot be null");
+        }
+
+        if (start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException("Invalid region [" + start + ", " + end + ") of length " + text.length());
+        }
+
+        while (start < end && isPadding(text.charAt(start))) {
+            start++;
+        }
+
+        while (end > start && isPadding(text.charAt(end - 1))) {
+            end--;
+        }
+
+        long code = 0L;
+        int digits = 0;
+        boolean afterDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    return INVALID;
+                }
+
+                code = code * 10 + (c - '0');
+                afterDigit = true;
+            } else if ((c == '.' || c == '-') && afterDigit && (digits == 2 || digits == 4 || digits == 6)) {
+                afterDigit = false;
+            } else {
+                return INVALID;
+            }
+        }
+
+        return afterDigit && isValidCode(code, digits) ? code : INVALID;
+    }
+
+    /**
+     * Parses a batch of administrative codes.
+     *
+     * @param texts the texts to parse
+     * @return an array holding, at each position, the parsed code or {@link #INVALID}
+     * @throws NullPointerException if texts or any of its elements is null
+     */
+    public static long[] parseAll(List<? extends CharSequence> texts) {
+        if (texts == null) {
+            throw new NullPointerException("Texts cannot be null");
+        }
+
+        long[] codes = new long[texts.size()];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = parse(texts.get(i));
+        }
+
+        return codes;
+    }
+
+    /**
+     * Parses the administrative codes in one column of CSV content.
+     * <p>
+     * Lines are separated by {@code \n} or {@code \r\n}, and blank lines are skipped. Delimiters
+     * inside double-quoted fields do not separate fields. A line without the requested column,
+     * such as a header line, yields {@link #INVALID} like any other malformed field.
+     *
+     * @param content   the CSV content
+     * @param delimiter the field delimiter, such as {@code ','} or {@code ';'}
+     * @param column    the zero-based index of the column holding the codes
+     * @return an array holding, for each non-blank line in order, the parsed code or {@link #INVALID}
+     * @throws NullPointerException     if content is null
+     * @throws IllegalArgumentException if column is negative
+     */
+    public static long[] parseColumn(CharSequence content, char delimiter, int column) {
+        if (content == null) {
+            throw new NullPointerException("Content cannot be null");
+        }
+
+        if (column < 0) {
+            throw new IllegalArgumentException("Column cannot be negative");
+        }
+
+        long[] codes = new long[16];
+        int count = 0;
+        int length = content.length();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && content.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && content.charAt(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (!isBlank(content, lineStart, lineEnd)) {
+                if (count == codes.length) {
+                    codes = Arrays.copyOf(codes, count * 2);
+                }
+
+                codes[count++] = parseField(content, lineStart, lineEnd, delimiter, column);
+            }
+
+            lineStart = next;
+        }
+
+        return Arrays.copyOf(codes, count);
+    }
+
+    private static long parseField(CharSequence line, int start, int end, char delimiter, int column) {
+        int field = 0;
+        int fieldStart = start;
+        boolean quoted = false;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == delimiter && !quoted) {
+                if (field == column) {
+                    return parse(line, fieldStart, i);
+                }
+
+                field++;
+                fieldStart = i + 1;
+            }
+        }
+
+        return field == column ? parse(line, fieldStart, end) : INVALID;
+    }
+
+    /**
+     * Checks the code against the format of the level its digit count denotes, so that leading
+     * zeros are rejected rather than shifting the code to a higher level.
+     */
+    private static boolean isValidCode(long code, int digits) {
+        switch (digits) {
+            case 2:
+                return CodeValidator.isValidProvinceCode(code);
+
+            case 4:
+                return CodeValidator.isValidCityCode(code);
+
+            case 6:
+                return CodeValidator.isValidDistrictCode(code);
+
+            case MAX_DIGITS:
+                return CodeValidator.isValidVillageCode(code);
+
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isPadding(char c) {
+        return Character.isWhitespace(c) || c == '"';
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -1,5 +1,9 @@
 package id.xtramile.indonesia.util;
 
+import id.xtramile.indonesia.model.AdministrativeLevel;
+
+import java.util.BitSet;
+
 /**
  * Utility class for validating Indonesia administrative codes.
  * <p>
@@ -70,12 +74,20 @@ public final class CodeValidator {
      * @return true if the code is valid, false otherwise
      */
     public static boolean isValidProvinceCode(Long provinceCode) {
-        if (provinceCode == null) {
-            return false;
-        }
+        return provinceCode != null && isValidProvinceCode(provinceCode.longValue());
+    }
 
-        return provinceCode >= MIN_PROVINCE_CODE && provinceCode <= MAX_PROVINCE_CODE
-                && getDigitCount(provinceCode) == 2;
+    /**
+     * Validates a province code without boxing.
+     * <p>
+     * The range check alone guarantees the digit count, because both bounds have 2 digits.
+     *
+     * @param provinceCode the province code to validate
+     * @return true if the code is valid, false otherwise
+     * @since 1.2
+     */
+    public static boolean isValidProvinceCode(long provinceCode) {
+        return provinceCode >= MIN_PROVINCE_CODE && provinceCode <= MAX_PROVINCE_CODE;
     }
 
     /**
@@ -91,12 +103,20 @@ public final class CodeValidator {
      * @return true if the code is valid, false otherwise
      */
     public static boolean isValidCityCode(Long cityCode) {
-        if (cityCode == null) {
-            return false;
-        }
+        return cityCode != null && isValidCityCode(cityCode.longValue());
+    }
 
-        return cityCode >= MIN_CITY_CODE && cityCode <= MAX_CITY_CODE
-                && getDigitCount(cityCode) == 4;
+    /**
+     * Validates a city code without boxing.
+     * <p>
+     * The range check alone guarantees the digit count, because both bounds have 4 digits.
+     *
+     * @param cityCode the city code to validate
+     * @return true if the code is valid, false otherwise
+     * @since 1.2
+     */
+    public static boolean isValidCityCode(long cityCode) {
+        return cityCode >= MIN_CITY_CODE && cityCode <= MAX_CITY_CODE;
     }
 
     /**
@@ -112,12 +132,20 @@ public final class CodeValidator {
      * @return true if the code is valid, false otherwise
      */
     public static boolean isValidDistrictCode(Long districtCode) {
-        if (districtCode == null) {
-            return false;
-        }
+        return districtCode != null && isValidDistrictCode(districtCode.longValue());
+    }
 
-        return districtCode >= MIN_DISTRICT_CODE && districtCode <= MAX_DISTRICT_CODE
-                && getDigitCount(districtCode) == 6;
+    /**
+     * Validates a district code without boxing.
+     * <p>
+     * The range check alone guarantees the digit count, because both bounds have 6 digits.
+     *
+     * @param districtCode the district code to validate
+     * @return true if the code is valid, false otherwise
+     * @since 1.2
+     */
+    public static boolean isValidDistrictCode(long districtCode) {
+        return districtCode >= MIN_DISTRICT_CODE && districtCode <= MAX_DISTRICT_CODE;
     }
 
     /**
@@ -133,12 +161,90 @@ public final class CodeValidator {
      * @return true if the code is valid, false otherwise
      */
     public static boolean isValidVillageCode(Long villageCode) {
-        if (villageCode == null) {
-            return false;
+        return villageCode != null && isValidVillageCode(villageCode.longValue());
+    }
+
+    /**
+     * Validates a village code without boxing.
+     * <p>
+     * The range check alone guarantees the digit count, because both bounds have 10 digits.
+     *
+     * @param villageCode the village code to validate
+     * @return true if the code is valid, false otherwise
+     * @since 1.2
+     */
+    public static boolean isValidVillageCode(long villageCode) {
+        return villageCode >= MIN_VILLAGE_CODE && villageCode <= MAX_VILLAGE_CODE;
+    }
+
+    /**
+     * Validates a code of the given administrative level without boxing.
+     *
+     * @param level the administrative level of the code
+     * @param code  the code to validate
+     * @return true if the code is valid for the level, false otherwise
+     * @throws NullPointerException if level is null
+     * @since 1.2
+     */
+    public static boolean isValidCode(AdministrativeLevel level, long code) {
+        switch (level) {
+            case PROVINCE:
+                return isValidProvinceCode(code);
+
+            case CITY:
+                return isValidCityCode(code);
+
+            case DISTRICT:
+                return isValidDistrictCode(code);
+
+            default:
+                return isValidVillageCode(code);
+        }
+    }
+
+    /**
+     * Determines the administrative level of a code from its digit count.
+     *
+     * @param code the code to examine
+     * @return the level whose code format the code matches, or null if it matches none
+     * @since 1.2
+     */
+    public static AdministrativeLevel levelOf(long code) {
+        if (isValidVillageCode(code)) {
+            return AdministrativeLevel.VILLAGE;
+        }
+
+        if (isValidDistrictCode(code)) {
+            return AdministrativeLevel.DISTRICT;
+        }
+
+        if (isValidCityCode(code)) {
+            return AdministrativeLevel.CITY;
+        }
+
+        return isValidProvinceCode(code) ? AdministrativeLevel.PROVINCE : null;
+    }
+
+    /**
+     * Validates the format of a batch of codes of the given administrative level.
+     * <p>
+     * Codes are read from the primitive array without boxing, and large batches are validated
+     * in parallel.
+     *
+     * @param level the administrative level of the codes
+     * @param codes the codes to validate
+     * @return a bit set in which bit {@code i} is set if {@code codes[i]} is valid
+     * @throws NullPointerException if level or codes is null
+     * @since 1.2
+     */
+    public static BitSet validateCodes(AdministrativeLevel level, long[] codes) {
+        if (level == null) {
+            throw new NullPointerException("Level cannot be null");
         }
 
-        return villageCode >= MIN_VILLAGE_CODE && villageCode <= MAX_VILLAGE_CODE
-                && getDigitCount(villageCode) == 10;
+        long min = minCode(level);
+        long span = maxCode(level) - min;
+        return CodeBatch.test(codes, code -> Long.compareUnsigned(code - min, span) <= 0);
     }
 
     /**
@@ -207,17 +313,35 @@ public final class CodeValidator {
         return extractedDistrictCode == districtCode;
     }
 
-    /**
-     * Counts the number of digits in a number.
-     *
-     * @param number the number to count digits for
-     * @return the number of digits
-     */
-    private static int getDigitCount(long number) {
-        if (number == 0) {
-            return 1;
+    private static long minCode(AdministrativeLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return MIN_PROVINCE_CODE;
+
+            case CITY:
+                return MIN_CITY_CODE;
+
+            case DISTRICT:
+                return MIN_DISTRICT_CODE;
+
+            default:
+                return MIN_VILLAGE_CODE;
         }
-        return (int) Math.log10(Math.abs(number)) + 1;
     }
-}
 
+    private static long maxCode(AdministrativeLevel level) {
+        switch (level) {
+            case PROVINCE:
+                return MAX_PROVINCE_CODE;
+
+            case CITY:
+                return MAX_CITY_CODE;
+
+            case DISTRICT:
+                return MAX_DISTRICT_CODE;
+
+            default:
+                return MAX_VILLAGE_CODE;
+        }
+    }
+}
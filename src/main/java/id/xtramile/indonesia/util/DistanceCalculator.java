@@ -1,7 +1,13 @@
 package id.xtramile.indonesia.util;
 
+import id.xtramile.indonesia.constant.Constant;
 import id.xtramile.indonesia.model.*;
 
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+
 /**
  * Utility class for calculating distances between Indonesia administrative locations.
  * <p>
@@ -10,6 +16,9 @@ import id.xtramile.indonesia.model.*;
  * <p>
  * All distance calculations use the Haversine formula to compute the great-circle
  * distance between two points on Earth, which accounts for the Earth's spherical shape.
+ * Nearest-entity searches only need a ranking, so they compare the intermediate Haversine
+ * term instead, which grows monotonically with the distance and skips the square roots and
+ * arc tangent. The trigonometry of the target location is computed once per search.
  * <p>
  * The Earth's radius used in calculations is approximately 6,371 kilometers.
  *
@@ -19,9 +28,15 @@ import id.xtramile.indonesia.model.*;
 public final class DistanceCalculator {
 
     /**
-     * Earth's radius in kilometers (mean radius).
+     * Minimum number of cells for which a distance matrix is computed in parallel.
      */
-    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Number of destination columns computed per tile, sized so that a tile's destination
+     * coordinates and result cells stay in the L1 cache.
+     */
+    private static final int TILE_COLUMNS = 512;
 
     private DistanceCalculator() {
         throw new AssertionError("Utility class should not be instantiated");
@@ -126,38 +141,79 @@ public final class DistanceCalculator {
     }
 
     /**
-     * Finds the nearest village to a given location from a list of villages.
+     * Calculates the distances from every origin to every destination in kilometers.
      *
-     * @param latitude  the latitude of the target location
-     * @param longitude the longitude of the target location
-     * @param villages  the list of villages to search
-     * @return the nearest village, or null if the list is empty or null
+     * @param fromLatitudes  latitudes of the origins
+     * @param fromLongitudes longitudes of the origins
+     * @param toLatitudes    latitudes of the destinations
+     * @param toLongitudes   longitudes of the destinations
+     * @return a row-major matrix where the distance from origin {@code i} to destination {@code j}
+     * is at index {@code i * toLatitudes.length + j}
+     * @throws IllegalArgumentException if the latitude and longitude arrays differ in length or the matrix has more cells than an array can hold
+     * @see #distanceMatrix(double[], double[], double[], double[], double[])
+     * @since 1.2
      */
-    public static Village findNearestVillage(double latitude, double longitude, java.util.List<Village> villages) {
-        if (villages == null || villages.isEmpty()) {
-            return null;
+    public static double[] distanceMatrix(double[] fromLatitudes, double[] fromLongitudes,
+                                          double[] toLatitudes, double[] toLongitudes) {
+        long cells = (long) fromLatitudes.length * toLatitudes.length;
+        if (cells > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(Constant.ERROR_DISTANCE_MATRIX_TOO_LARGE);
         }
 
-        Village nearest = null;
-        double minDistance = Double.MAX_VALUE;
+        double[] result = new double[(int) cells];
+        distanceMatrix(fromLatitudes, fromLongitudes, toLatitudes, toLongitudes, result);
+        return result;
+    }
 
-        for (Village village : villages) {
-            if (village == null) {
-                continue;
-            }
+    /**
+     * Calculates the distances from every origin to every destination in kilometers into an existing array.
+     * <p>
+     * Coordinates are converted once to points on the unit sphere. Each cell is then the chord
+     * length between two points, converted to the great-circle distance, which is the same
+     * quantity the Haversine formula computes. The matrix is split into tiles that are computed
+     * in parallel on the common fork-join pool when it is large enough; the inner loops over a
+     * tile only read and write primitive arrays and do not allocate.
+     *
+     * @param fromLatitudes  latitudes of the origins
+     * @param fromLongitudes longitudes of the origins
+     * @param toLatitudes    latitudes of the destinations
+     * @param toLongitudes   longitudes of the destinations
+     * @param result         the row-major array to fill, with room for at least
+     *                       {@code fromLatitudes.length * toLatitudes.length} distances
+     * @throws IllegalArgumentException if the latitude and longitude arrays differ in length or the result array is too small
+     * @since 1.2
+     */
+    public static void distanceMatrix(double[] fromLatitudes, double[] fromLongitudes,
+                                      double[] toLatitudes, double[] toLongitudes, double[] result) {
+        if (fromLatitudes.length != fromLongitudes.length || toLatitudes.length != toLongitudes.length) {
+            throw new IllegalArgumentException(Constant.ERROR_MISMATCHED_COORDINATES);
+        }
 
-            double distance = haversineDistance(
-                    latitude, longitude,
-                    village.getLatitude(), village.getLongitude()
-            );
+        int rows = fromLatitudes.length;
+        int columns = toLatitudes.length;
+        if ((long) rows * columns > result.length) {
+            throw new IllegalArgumentException(Constant.ERROR_DISTANCE_MATRIX_TOO_SMALL);
+        }
 
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = village;
-            }
+        DistanceMatrixTask task = new DistanceMatrixTask(
+                unitVectors(fromLatitudes, fromLongitudes), unitVectors(toLatitudes, toLongitudes), result, 0, rows);
+        if ((long) rows * columns < PARALLEL_THRESHOLD) {
+            task.computeTiles();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
         }
+    }
 
-        return nearest;
+    /**
+     * Finds the nearest village to a given location from a list of villages.
+     *
+     * @param latitude  the latitude of the target location
+     * @param longitude the longitude of the target location
+     * @param villages  the list of villages to search
+     * @return the nearest village, or null if the list is empty or null
+     */
+    public static Village findNearestVillage(double latitude, double longitude, List<Village> villages) {
+        return findNearest(latitude, longitude, villages, Village::getLatitude, Village::getLongitude);
     }
 
     /**
@@ -168,31 +224,8 @@ public final class DistanceCalculator {
      * @param districts the list of districts to search
      * @return the nearest district, or null if the list is empty or null
      */
-    public static District findNearestDistrict(double latitude, double longitude, java.util.List<District> districts) {
-        if (districts == null || districts.isEmpty()) {
-            return null;
-        }
-
-        District nearest = null;
-        double minDistance = Double.MAX_VALUE;
-
-        for (District district : districts) {
-            if (district == null) {
-                continue;
-            }
-
-            double distance = haversineDistance(
-                    latitude, longitude,
-                    district.getLatitude(), district.getLongitude()
-            );
-            
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = district;
-            }
-        }
-
-        return nearest;
+    public static District findNearestDistrict(double latitude, double longitude, List<District> districts) {
+        return findNearest(latitude, longitude, districts, District::getLatitude, District::getLongitude);
     }
 
     /**
@@ -203,33 +236,74 @@ public final class DistanceCalculator {
      * @param cities    the list of cities to search
      * @return the nearest city, or null if the list is empty or null
      */
-    public static City findNearestCity(double latitude, double longitude, java.util.List<City> cities) {
-        if (cities == null || cities.isEmpty()) {
+    public static City findNearestCity(double latitude, double longitude, List<City> cities) {
+        return findNearest(latitude, longitude, cities, City::getLatitude, City::getLongitude);
+    }
+
+    /**
+     * Finds the entity nearest to a location by ranking on the Haversine term.
+     *
+     * @param latitude    the latitude of the target location
+     * @param longitude   the longitude of the target location
+     * @param entities    the entities to search, may contain nulls
+     * @param latitudeOf  function extracting the latitude of an entity
+     * @param longitudeOf function extracting the longitude of an entity
+     * @param <T>         the entity type
+     * @return the nearest entity, or null if the list is empty or null
+     */
+    private static <T> T findNearest(double latitude, double longitude, List<T> entities,
+                                     ToDoubleFunction<T> latitudeOf, ToDoubleFunction<T> longitudeOf) {
+        if (entities == null || entities.isEmpty()) {
             return null;
         }
 
-        City nearest = null;
-        double minDistance = Double.MAX_VALUE;
+        double latRad = Math.toRadians(latitude);
+        double lonRad = Math.toRadians(longitude);
+        double cosLat = Math.cos(latRad);
 
-        for (City city : cities) {
-            if (city == null) {
+        T nearest = null;
+        double minTerm = Double.MAX_VALUE;
+
+        for (T entity : entities) {
+            if (entity == null) {
                 continue;
             }
 
-            double distance = haversineDistance(
-                    latitude, longitude,
-                    city.getLatitude(), city.getLongitude()
-            );
-            
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = city;
+            double entityLatRad = Math.toRadians(latitudeOf.applyAsDouble(entity));
+            double sinDeltaLat = Math.sin((entityLatRad - latRad) / 2);
+            double sinDeltaLon = Math.sin((Math.toRadians(longitudeOf.applyAsDouble(entity)) - lonRad) / 2);
+            double term = sinDeltaLat * sinDeltaLat + cosLat * Math.cos(entityLatRad) * sinDeltaLon * sinDeltaLon;
+
+            if (term < minTerm) {
+                minTerm = term;
+                nearest = entity;
             }
         }
 
         return nearest;
     }
 
+    /**
+     * Converts coordinates into points on the unit sphere.
+     *
+     * @param latitudes  the latitudes in degrees
+     * @param longitudes the longitudes in degrees
+     * @return the x, y and z components of the points
+     */
+    private static double[][] unitVectors(double[] latitudes, double[] longitudes) {
+        double[][] vectors = new double[3][latitudes.length];
+        for (int i = 0; i < latitudes.length; i++) {
+            double latRad = Math.toRadians(latitudes[i]);
+            double lonRad = Math.toRadians(longitudes[i]);
+            double cosLat = Math.cos(latRad);
+            vectors[0][i] = cosLat * Math.cos(lonRad);
+            vectors[1][i] = cosLat * Math.sin(lonRad);
+            vectors[2][i] = Math.sin(latRad);
+        }
+
+        return vectors;
+    }
+
     /**
      * Calculates the great-circle distance between two points on Earth using the Haversine formula.
      * <p>
@@ -254,7 +328,74 @@ public final class DistanceCalculator {
 
         double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
 
-        return EARTH_RADIUS_KM * c;
+        return Constant.EARTH_RADIUS_KM * c;
     }
-}
 
+    /**
+     * Computes a band of rows of a distance matrix, splitting it while it is large.
+     */
+    private static final class DistanceMatrixTask extends RecursiveAction {
+
+        private final double[][] from;
+        private final double[][] to;
+        private final double[] result;
+        private final int rowStart;
+        private final int rowEnd;
+
+        DistanceMatrixTask(double[][] from, double[][] to, double[] result, int rowStart, int rowEnd) {
+            this.from = from;
+            this.to = to;
+            this.result = result;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowEnd - rowStart > 1 && (long) (rowEnd - rowStart) * to[0].length > PARALLEL_THRESHOLD) {
+                int middle = (rowStart + rowEnd) >>> 1;
+                invokeAll(new DistanceMatrixTask(from, to, result, rowStart, middle),
+                        new DistanceMatrixTask(from, to, result, middle, rowEnd));
+                return;
+            }
+
+            computeTiles();
+        }
+
+        void computeTiles() {
+            int columns = to[0].length;
+            for (int columnStart = 0; columnStart < columns; columnStart += TILE_COLUMNS) {
+                int columnEnd = Math.min(columns, columnStart + TILE_COLUMNS);
+                for (int row = rowStart; row < rowEnd; row++) {
+                    computeTile(row, columnStart, columnEnd);
+                }
+            }
+        }
+
+        /**
+         * Fills one row of a tile. The first loop is plain arithmetic over primitive arrays and can
+         * be vectorized by the JIT; the second converts chord lengths into kilometers.
+         */
+        private void computeTile(int row, int columnStart, int columnEnd) {
+            double[] toX = to[0];
+            double[] toY = to[1];
+            double[] toZ = to[2];
+            double x = from[0][row];
+            double y = from[1][row];
+            double z = from[2][row];
+            int offset = row * toX.length;
+
+            for (int column = columnStart; column < columnEnd; column++) {
+                double dx = toX[column] - x;
+                double dy = toY[column] - y;
+                double dz = toZ[column] - z;
+                result[offset + column] = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            }
+
+            double diameter = 2.0 * Constant.EARTH_RADIUS_KM;
+            for (int column = columnStart; column < columnEnd; column++) {
+                result[offset + column] = diameter * Math.asin(Math.min(1.0, 0.5 * result[offset + column]));
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package id.xtramile.indonesia.util;
+
+import id.xtramile.indonesia.constant.Constant;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Factory of executors for fanning bulk work out over many concurrent tasks.
+ * <p>
+ * On Java 21 and later, {@link #newBulkExecutor()} starts one virtual thread per task, so tens
+ * of thousands of concurrent lookups cost little more than their own work. The library is
+ * compiled for Java 8, so virtual threads are looked up reflectively; on older runtimes a fixed
+ * pool of platform threads is used instead. The executors can be passed to
+ * {@code DefaultAsyncIndonesiaService} or used with {@link #fanOut(List, Function, Executor)}.
+ *
+ * @author Rigsto
+ * @since 1.2
+ */
+public final class IndonesiaExecutors {
+
+    /**
+     * {@code Executors.newVirtualThreadPerTaskExecutor()}, or null if the runtime has no usable virtual threads.
+     */
+    private static final MethodHandle VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadPerTaskExecutor();
+
+    private IndonesiaExecutors() {
+        throw new AssertionError("Utility class should not be instantiated");
+    }
+
+    /**
+     * Checks whether the running Java runtime supports virtual threads.
+     *
+     * @return true on Java 21 or later, or on Java 19 and 20 with preview features enabled
+     */
+    public static boolean isVirtualThreadAvailable() {
+        return VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task.
+     *
+     * @return a new virtual-thread-per-task executor
+     * @throws UnsupportedOperationException if virtual threads are not available
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (VIRTUAL_THREAD_PER_TASK_EXECUTOR == null) {
+            throw new UnsupportedOperationException(Constant.ERROR_VIRTUAL_THREADS_UNAVAILABLE);
+        }
+
+        try {
+            return (ExecutorService) VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke();
+
+        } catch (RuntimeException | Error e) {
+            throw e;
+
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates an executor for bulk operations: one virtual thread per task if virtual threads are
+     * available, otherwise a fixed pool with one daemon thread per available processor.
+     *
+     * @return a new executor, which the caller should shut down when done
+     */
+    public static ExecutorService newBulkExecutor() {
+        if (isVirtualThreadAvailable()) {
+            return newVirtualThreadPerTaskExecutor();
+        }
+
+        AtomicInteger threads = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "indonesia-bulk-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), factory);
+    }
+
+    /**
+     * Applies an operation to every item as a separate task on the executor.
+     * <p>
+     * With a virtual-thread executor, every item gets its own virtual thread, so blocking
+     * operations such as uncached searches wait concurrently.
+     *
+     * @param items     the items to process
+     * @param operation the operation to apply to each item
+     * @param executor  the executor to run the tasks on
+     * @param <T>       the item type
+     * @param <R>       the result type
+     * @return a future of the results aligned with {@code items}, which fails if any operation fails
+     * @throws NullPointerException if items, operation or executor is null
+     */
+    public static <T, R> CompletableFuture<List<R>> fanOut(List<? extends T> items, Function<? super T, ? extends R> operation,
+                                                          Executor executor) {
+        if (items == null) {
+            throw new NullPointerException("Items cannot be null");
+        }
+
+        if (operation == null) {
+            throw new NullPointerException("Operation cannot be null");
+        }
+
+        if (executor == null) {
+            throw new NullPointerException("Executor cannot be null");
+        }
+
+        List<CompletableFuture<? extends R>> tasks = new ArrayList<>(items.size());
+        for (T item : items) {
+            tasks.add(CompletableFuture.supplyAsync(() -> operation.apply(item), executor));
+        }
+
+        return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<R> results = new ArrayList<>(tasks.size());
+            for (CompletableFuture<? extends R> task : tasks) {
+                results.add(task.join());
+            }
+
+            return results;
+        });
+    }
+
+    /**
+     * Looks up {@code Executors.newVirtualThreadPerTaskExecutor()} and checks that it can be
+     * used, which fails on Java 19 and 20 unless preview features are enabled.
+     *
+     * @return the method handle, or null if virtual threads are not available
+     */
+    private static MethodHandle findVirtualThreadPerTaskExecutor() {
+        try {
+            MethodHandle handle = MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class));
+            ((ExecutorService) handle.invoke()).shutdown();
+            return handle;
+
+        } catch (Throwable e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package id.xtramile.indonesia.benchmark;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.Indonesia;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.util.IndonesiaServiceFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the resolution of a batch of village codes into hierarchies with a
+ * loop of {@code findVillage} and {@code buildFrom} calls against one
+ * {@code buildFromVillageCodes} call. Codes are drawn from a few districts, as in an order
+ * batch of one region.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=BatchLookupBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchLookupBenchmark {
+
+    @Param({"500"})
+    private int batchSize;
+
+    private IndonesiaService service;
+    private long[] codes;
+
+    @Setup
+    public void setUp() {
+        service = IndonesiaServiceFactory.createDefault();
+        List<Village> villages = service.getVillagesByCity(3273L);
+
+        Random random = new Random(42);
+        codes = new long[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            codes[i] = villages.get(random.nextInt(villages.size())).getCode();
+        }
+    }
+
+    @Benchmark
+    public List<Indonesia> loop() {
+        List<Indonesia> hierarchies = new ArrayList<>(codes.length);
+        for (long code : codes) {
+            hierarchies.add(service.findVillage(code).map(service::buildFrom).orElse(null));
+        }
+
+        return hierarchies;
+    }
+
+    @Benchmark
+    public List<Indonesia> batch() {
+        return service.buildFromVillageCodes(codes);
+    }
+}
@@ -0,0 +1,105 @@
+package id.xtramile.indonesia.benchmark;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.AdministrativeLevel;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.util.IndonesiaServiceFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of village lookups of known and unknown codes. Unknown codes are rejected by the
+ * cache's existence filter, both for single boxed lookups, compared here with a plain map lookup,
+ * and for batches of primitive codes, where known codes still need a binary search. Known codes
+ * held as primitives are also looked up through the primitive overload and through the boxed one,
+ * which allocates a Long per call for codes outside the Long cache.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=CodeLookupBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CodeLookupBenchmark {
+
+    private static final int CODES = 4096;
+
+    private IndonesiaService service;
+    private Map<Long, Village> villages;
+    private Long[] unknownCodes;
+    private Long[] knownCodes;
+    private long[] unknownBatch;
+    private long[] knownBatch;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        service = IndonesiaServiceFactory.createDefault();
+        List<Village> all = service.getAllVillages();
+        villages = new HashMap<>();
+        all.forEach(village -> villages.put(village.getCode(), village));
+
+        Random random = new Random(42);
+        unknownCodes = new Long[CODES];
+        knownCodes = new Long[CODES];
+        for (int i = 0; i < CODES; i++) {
+            long code;
+            do {
+                code = 1101011001L + (random.nextLong() & Long.MAX_VALUE) % 8_898_988_998L;
+            } while (villages.containsKey(code));
+            unknownCodes[i] = code;
+            knownCodes[i] = all.get(random.nextInt(all.size())).getCode();
+        }
+
+        unknownBatch = Arrays.stream(unknownCodes).mapToLong(Long::longValue).toArray();
+        knownBatch = Arrays.stream(knownCodes).mapToLong(Long::longValue).toArray();
+    }
+
+    @Benchmark
+    public Optional<Village> unknownCodeThroughFilter() {
+        return service.findVillage(unknownCodes[next++ & (CODES - 1)]);
+    }
+
+    @Benchmark
+    public Village unknownCodeThroughMap() {
+        return villages.get(unknownCodes[next++ & (CODES - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Village> knownCodeThroughFilter() {
+        return service.findVillage(knownCodes[next++ & (CODES - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Village> knownPrimitiveCode() {
+        return service.findVillage(knownBatch[next++ & (CODES - 1)]);
+    }
+
+    @Benchmark
+    public Optional<Village> knownPrimitiveCodeBoxed() {
+        return service.findVillage(Long.valueOf(knownBatch[next++ & (CODES - 1)]));
+    }
+
+    @Benchmark
+    public BitSet unknownBatchThroughFilter() {
+        return service.validateCodes(AdministrativeLevel.VILLAGE, unknownBatch);
+    }
+
+    @Benchmark
+    public BitSet knownBatchThroughFilter() {
+        return service.validateCodes(AdministrativeLevel.VILLAGE, knownBatch);
+    }
+}
@@ -0,0 +1,83 @@
+package id.xtramile.indonesia.benchmark;
+
+import id.xtramile.indonesia.util.DistanceCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing the batch distance matrix against a scalar loop over
+ * {@link DistanceCalculator#distanceBetweenCoordinates(double, double, double, double)}.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=DistanceMatrixBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistanceMatrixBenchmark {
+
+    @Param({"100", "500"})
+    private int origins;
+
+    @Param({"7000"})
+    private int destinations;
+
+    private double[] fromLatitudes;
+    private double[] fromLongitudes;
+    private double[] toLatitudes;
+    private double[] toLongitudes;
+    private double[] result;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fromLatitudes = randomLatitudes(random, origins);
+        fromLongitudes = randomLongitudes(random, origins);
+        toLatitudes = randomLatitudes(random, destinations);
+        toLongitudes = randomLongitudes(random, destinations);
+        result = new double[origins * destinations];
+    }
+
+    @Benchmark
+    public double[] scalarLoop() {
+        for (int i = 0; i < origins; i++) {
+            for (int j = 0; j < destinations; j++) {
+                result[i * destinations + j] = DistanceCalculator.distanceBetweenCoordinates(
+                        fromLatitudes[i], fromLongitudes[i], toLatitudes[j], toLongitudes[j]);
+            }
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    public double[] distanceMatrix() {
+        DistanceCalculator.distanceMatrix(fromLatitudes, fromLongitudes, toLatitudes, toLongitudes, result);
+        return result;
+    }
+
+    private static double[] randomLatitudes(Random random, int count) {
+        double[] latitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            latitudes[i] = -11.0 + random.nextDouble() * 17.0;
+        }
+
+        return latitudes;
+    }
+
+    private static double[] randomLongitudes(Random random, int count) {
+        double[] longitudes = new double[count];
+        for (int i = 0; i < count; i++) {
+            longitudes[i] = 95.0 + random.nextDouble() * 46.0;
+        }
+
+        return longitudes;
+    }
+}
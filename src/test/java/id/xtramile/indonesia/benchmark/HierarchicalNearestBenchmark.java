@@ -0,0 +1,74 @@
+package id.xtramile.indonesia.benchmark;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.util.DistanceCalculator;
+import id.xtramile.indonesia.util.IndonesiaServiceFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing nearest-village lookups over the bundled CSV data: a brute-force scan
+ * of all villages, the hierarchical beam search at several beam widths, and the KD-tree.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=HierarchicalNearestBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HierarchicalNearestBenchmark {
+
+    private static final int LOCATIONS = 1024;
+
+    @Param({"1", "3", "8"})
+    private int beamWidth;
+
+    private IndonesiaService service;
+    private List<Village> villages;
+    private double[] latitudes;
+    private double[] longitudes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        service = IndonesiaServiceFactory.createDefault();
+        villages = service.getAllVillages();
+
+        Random random = new Random(42);
+        latitudes = new double[LOCATIONS];
+        longitudes = new double[LOCATIONS];
+        for (int i = 0; i < LOCATIONS; i++) {
+            Village village = villages.get(random.nextInt(villages.size()));
+            latitudes[i] = village.getLatitude() + (random.nextDouble() - 0.5) * 0.05;
+            longitudes[i] = village.getLongitude() + (random.nextDouble() - 0.5) * 0.05;
+        }
+    }
+
+    @Benchmark
+    public Village bruteForce() {
+        int i = next++ & (LOCATIONS - 1);
+        return DistanceCalculator.findNearestVillage(latitudes[i], longitudes[i], villages);
+    }
+
+    @Benchmark
+    public Optional<Village> hierarchical() {
+        int i = next++ & (LOCATIONS - 1);
+        return service.findNearestVillageByHierarchy(latitudes[i], longitudes[i], beamWidth);
+    }
+
+    @Benchmark
+    public Optional<Village> spatialIndex() {
+        int i = next++ & (LOCATIONS - 1);
+        return service.findNearestVillage(latitudes[i], longitudes[i]);
+    }
+}
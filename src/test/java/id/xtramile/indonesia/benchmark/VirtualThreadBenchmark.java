@@ -0,0 +1,86 @@
+package id.xtramile.indonesia.benchmark;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.util.IndonesiaExecutors;
+import id.xtramile.indonesia.util.IndonesiaServiceFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of 10,000 concurrent callers against DefaultIndonesiaService, each running a
+ * request mix of a lookup by code, a name search and a nearest-village query, as a request
+ * handler would. Callers run either on one virtual thread each, which requires Java 21, or
+ * Java 19 or 20 with preview features enabled, or on a pool of 200 platform threads, the
+ * default worker pool size of common servlet containers.
+ * Scores are per caller.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=VirtualThreadBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VirtualThreadBenchmark {
+
+    private static final int CALLERS = 10_000;
+    private static final String[] QUERIES = {"menteng", "sukamaju", "cibeunying", "kebon", "tanjung", "sumber"};
+
+    @Param({"virtual", "platform"})
+    private String threads;
+
+    private IndonesiaService service;
+    private ExecutorService executor;
+    private List<Integer> callers;
+    private long[] codes;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @Setup
+    public void setUp() {
+        executor = "virtual".equals(threads) ? IndonesiaExecutors.newVirtualThreadPerTaskExecutor() : Executors.newFixedThreadPool(200);
+        service = IndonesiaServiceFactory.createDefault();
+
+        List<Village> villages = service.getAllVillages();
+        Random random = new Random(50);
+        callers = new ArrayList<>(CALLERS);
+        codes = new long[CALLERS];
+        latitudes = new double[CALLERS];
+        longitudes = new double[CALLERS];
+        for (int i = 0; i < CALLERS; i++) {
+            callers.add(i);
+            codes[i] = villages.get(random.nextInt(villages.size())).getCode();
+            latitudes[i] = -11.0 + random.nextDouble() * 17.0;
+            longitudes[i] = 95.0 + random.nextDouble() * 46.0;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLERS)
+    public List<Integer> concurrentCallers() {
+        return IndonesiaExecutors.fanOut(callers, this::handleRequest, executor).join();
+    }
+
+    private int handleRequest(int caller) {
+        int found = service.findVillage(codes[caller]).isPresent() ? 1 : 0;
+        found += service.searchVillages(QUERIES[caller % QUERIES.length]).size();
+        found += service.findNearestVillage(latitudes[caller], longitudes[caller]).isPresent() ? 1 : 0;
+        return found;
+    }
+}
@@ -0,0 +1,77 @@
+package id.xtramile.indonesia.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeFilterTest {
+
+    @Test
+    void testEmptyFilter() {
+        assertFalse(CodeFilter.empty().mightContain(11L));
+        assertFalse(CodeFilter.of(new long[0]).mightContain(0L));
+    }
+
+    @Test
+    void testDenseFilterIsExact() {
+        CodeFilter filter = CodeFilter.of(new long[]{110101L, 110102L, 317106L, 999999L});
+
+        assertTrue(filter.mightContain(110101L));
+        assertTrue(filter.mightContain(110102L));
+        assertTrue(filter.mightContain(317106L));
+        assertTrue(filter.mightContain(999999L));
+        assertFalse(filter.mightContain(110103L));
+        assertFalse(filter.mightContain(110100L));
+        assertFalse(filter.mightContain(1000000L));
+        assertFalse(filter.mightContain(-1L));
+        assertFalse(filter.mightContain(Long.MIN_VALUE));
+        assertFalse(filter.mightContain(Long.MAX_VALUE));
+    }
+
+    @Test
+    void testBloomFilterHasNoFalseNegatives() {
+        Random random = new Random(42);
+        long[] codes = new long[80_000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = 1101011001L + (random.nextLong() & Long.MAX_VALUE) % 8_898_988_998L;
+        }
+
+        CodeFilter filter = CodeFilter.of(codes);
+
+        for (long code : codes) {
+            assertTrue(filter.mightContain(code));
+        }
+    }
+
+    @Test
+    void testBloomFilterFalsePositiveRate() {
+        Set<Long> stored = new HashSet<>();
+        long[] codes = new long[80_000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = 1101011001L + (i / 2000) * 10000L + (i % 2000);
+            stored.add(codes[i]);
+        }
+        CodeFilter filter = CodeFilter.of(codes);
+
+        Random random = new Random(7);
+        int falsePositives = 0;
+        int queries = 0;
+        while (queries < 100_000) {
+            long code = 1101011001L + (random.nextLong() & Long.MAX_VALUE) % 8_898_988_998L;
+            if (stored.contains(code)) {
+                continue;
+            }
+
+            queries++;
+            if (filter.mightContain(code)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < queries / 50, "False positive rate should stay below 2%, found: " + falsePositives);
+    }
+}
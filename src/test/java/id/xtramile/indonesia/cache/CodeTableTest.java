@@ -0,0 +1,68 @@
+package id.xtramile.indonesia.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeTableTest {
+
+    @Test
+    void testEmptyTable() {
+        CodeTable<String> table = CodeTable.of(new HashMap<>());
+
+        assertNull(table.get(0L));
+        assertNull(table.get(11L));
+        assertNull(CodeTable.<String>empty().get(3273011001L));
+    }
+
+    @Test
+    void testGetReturnsStoredValues() {
+        Map<Long, String> entries = new HashMap<>();
+        entries.put(11L, "ACEH");
+        entries.put(31L, "DKI JAKARTA");
+        entries.put(0L, "ZERO");
+        entries.put(-5L, "NEGATIVE");
+        CodeTable<String> table = CodeTable.of(entries);
+
+        assertEquals("ACEH", table.get(11L));
+        assertEquals("DKI JAKARTA", table.get(31L));
+        assertEquals("ZERO", table.get(0L));
+        assertEquals("NEGATIVE", table.get(-5L));
+        assertNull(table.get(12L));
+    }
+
+    @Test
+    void testNullValuesAreSkipped() {
+        Map<Long, String> entries = new HashMap<>();
+        entries.put(11L, null);
+        entries.put(12L, "SUMATERA UTARA");
+        CodeTable<String> table = CodeTable.of(entries);
+
+        assertNull(table.get(11L));
+        assertEquals("SUMATERA UTARA", table.get(12L));
+    }
+
+    @Test
+    void testMatchesHashMapForManyCodes() {
+        Random random = new Random(47);
+        Map<Long, Long> entries = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long code = 1101011001L + random.nextInt(100_000_000);
+            entries.put(code, code);
+        }
+        for (long code = 3273011001L; code < 3273012001L; code++) {
+            entries.put(code, code);
+        }
+        CodeTable<Long> table = CodeTable.of(entries);
+
+        entries.forEach((code, value) -> assertEquals(value, table.get(code)));
+        for (int i = 0; i < 50_000; i++) {
+            long code = random.nextLong();
+            assertEquals(entries.get(code), table.get(code));
+        }
+    }
+}
@@ -1,17 +1,23 @@
 package id.xtramile.indonesia.cache;
 
+import id.xtramile.indonesia.model.AdministrativeLevel;
 import id.xtramile.indonesia.model.City;
 import id.xtramile.indonesia.model.District;
+import id.xtramile.indonesia.model.Indonesia;
 import id.xtramile.indonesia.model.Province;
 import id.xtramile.indonesia.model.Village;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class InMemoryIndonesiaCacheTest {
 
@@ -267,5 +273,319 @@ class InMemoryIndonesiaCacheTest {
 
         assertTrue(secondTime >= firstTime);
     }
-}
 
+    @Test
+    void testGetVillagesInCodeRange() {
+        Village village3 = new Village(1101011002L, 110101L, "Kebon Kelapa", -6.1700, 106.8200);
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011002L, village3);
+        villages.put(1101011001L, village1);
+        villages.put(1201011001L, village2);
+        cache.putVillages(villages);
+
+        List<Village> inDistrict = cache.getVillagesInCodeRange(1101010000L, 1101020000L);
+        assertEquals(2, inDistrict.size());
+        assertEquals(village1, inDistrict.get(0));
+        assertEquals(village3, inDistrict.get(1));
+
+        List<Village> inProvince = cache.getVillagesInCodeRange(1200000000L, 1300000000L);
+        assertEquals(1, inProvince.size());
+        assertEquals(village2, inProvince.get(0));
+
+        assertTrue(cache.getVillagesInCodeRange(9900000000L, 9999999999L).isEmpty());
+        assertTrue(cache.getVillagesInCodeRange(1300000000L, 1200000000L).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> inDistrict.remove(0));
+    }
+
+    @Test
+    void testGetCitiesAndDistrictsInCodeRange() {
+        Map<Long, City> cities = new HashMap<>();
+        cities.put(1101L, city1);
+        cities.put(1201L, city2);
+        cache.putCities(cities);
+
+        Map<Long, District> districts = new HashMap<>();
+        districts.put(110101L, district1);
+        districts.put(120101L, district2);
+        cache.putDistricts(districts);
+
+        List<City> citiesInProvince = cache.getCitiesInCodeRange(1100L, 1200L);
+        assertEquals(1, citiesInProvince.size());
+        assertEquals(city1, citiesInProvince.get(0));
+
+        List<District> districtsInCity = cache.getDistrictsInCodeRange(120100L, 120200L);
+        assertEquals(1, districtsInCity.size());
+        assertEquals(district2, districtsInCity.get(0));
+    }
+
+    @Test
+    void testCodeRangeClearedOnRefresh() {
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        cache.putVillages(villages);
+        assertEquals(1, cache.getVillagesInCodeRange(0L, Long.MAX_VALUE).size());
+
+        cache.refresh();
+
+        assertTrue(cache.getVillagesInCodeRange(0L, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    void testSpatialIndexBuiltOnPut() {
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(11L, province1);
+        provinces.put(12L, province2);
+        cache.putProvinces(provinces);
+
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        villages.put(1201011001L, village2);
+        cache.putVillages(villages);
+
+        assertEquals(2, cache.getProvinceSpatialIndex().size());
+        assertEquals(province2, cache.getProvinceSpatialIndex().nearest(3.5, 98.5));
+        assertEquals(village1, cache.getVillageSpatialIndex().nearest(-6.2, 106.8));
+        assertSame(cache.getVillageSpatialIndex(), cache.getVillageSpatialIndex());
+        assertTrue(cache.getCitySpatialIndex().isEmpty());
+    }
+
+    @Test
+    void testSpatialIndexClearedOnRefresh() {
+        Map<Long, District> districts = new HashMap<>();
+        districts.put(110101L, district1);
+        cache.putDistricts(districts);
+        assertEquals(district1, cache.getDistrictSpatialIndex().nearest(0.0, 0.0));
+
+        cache.refresh();
+
+        assertTrue(cache.getDistrictSpatialIndex().isEmpty());
+        assertNull(cache.getDistrictSpatialIndex().nearest(0.0, 0.0));
+    }
+
+    @Test
+    void testGeohashIndexBuiltOnPutAndClearedOnRefresh() {
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        villages.put(1201011001L, village2);
+        cache.putVillages(villages);
+
+        assertEquals(2, cache.getVillageGeohashIndex().size());
+        assertEquals(Collections.singletonList(village1), cache.getVillageGeohashIndex().findByPrefix("qqgu"));
+        assertSame(cache.getVillageGeohashIndex(), cache.getVillageGeohashIndex());
+        assertTrue(cache.getProvinceGeohashIndex().isEmpty());
+
+        cache.refresh();
+
+        assertTrue(cache.getVillageGeohashIndex().isEmpty());
+    }
+
+    @Test
+    void testClusterIndexBuiltOnPutAndClearedOnRefresh() {
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        villages.put(1201011001L, village2);
+        cache.putVillages(villages);
+
+        assertEquals(2, cache.getVillageClusterIndex().size());
+        assertSame(cache.getVillageClusterIndex(), cache.getVillageClusterIndex());
+
+        cache.refresh();
+
+        assertEquals(0, cache.getVillageClusterIndex().size());
+    }
+
+    @Test
+    void testNeighborIndexBuiltOnPutAndClearedOnRefresh() {
+        Map<Long, City> cities = new HashMap<>();
+        cities.put(1101L, city1);
+        cities.put(1201L, city2);
+        cache.putCities(cities);
+
+        assertEquals(2, cache.getCityNeighborIndex().size());
+        assertEquals(Collections.singletonList(city2), cache.getCityNeighborIndex().neighbors(1101L, 5));
+        assertSame(cache.getCityNeighborIndex(), cache.getCityNeighborIndex());
+        assertEquals(0, cache.getDistrictNeighborIndex().size());
+
+        cache.refresh();
+
+        assertEquals(0, cache.getCityNeighborIndex().size());
+    }
+
+    @Test
+    void testFindNearestInCodeRange() {
+        Village nearby = new Village(1101011002L, 110101L, "Nearby", -6.30, 106.90);
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        villages.put(1101011002L, nearby);
+        villages.put(1201011001L, village2);
+        cache.putVillages(villages);
+
+        assertEquals(nearby, cache.findNearestVillageInCodeRange(-6.31, 106.91, 1100000000L, 1200000000L));
+        assertEquals(village2, cache.findNearestVillageInCodeRange(-6.31, 106.91, 1200000000L, 1300000000L));
+        assertNull(cache.findNearestVillageInCodeRange(-6.31, 106.91, 1300000000L, 1400000000L));
+        assertNull(cache.findNearestVillageInCodeRange(-6.31, 106.91, 1200000000L, 1100000000L));
+
+        Map<Long, City> cities = new HashMap<>();
+        cities.put(1101L, city1);
+        cities.put(1201L, city2);
+        cache.putCities(cities);
+        assertEquals(city2, cache.findNearestCityInCodeRange(-6.2, 106.8, 1200L, 1300L));
+        assertNull(cache.findNearestDistrictInCodeRange(-6.2, 106.8, 110100L, 110200L));
+    }
+
+    @Test
+    void testFindExistingCodes() {
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(11L, province1);
+        provinces.put(12L, province2);
+        cache.putProvinces(provinces);
+
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        villages.put(1201011001L, village2);
+        cache.putVillages(villages);
+
+        BitSet provinceCodes = cache.findExistingCodes(AdministrativeLevel.PROVINCE, new long[]{12L, 13L, 11L, 1101L});
+        BitSet villageCodes = cache.findExistingCodes(AdministrativeLevel.VILLAGE, new long[]{1201011001L, 11L, 1101011002L, 1101011001L});
+
+        assertEquals(BitSet.valueOf(new long[]{0b0101L}), provinceCodes);
+        assertEquals(BitSet.valueOf(new long[]{0b1001L}), villageCodes);
+        assertTrue(cache.findExistingCodes(AdministrativeLevel.CITY, new long[]{1101L}).isEmpty());
+        assertThrows(NullPointerException.class, () -> cache.findExistingCodes(null, new long[]{11L}));
+
+        cache.refresh();
+
+        assertTrue(cache.findExistingCodes(AdministrativeLevel.PROVINCE, new long[]{11L, 12L}).isEmpty());
+    }
+
+    @Test
+    void testHierarchiesPrecomputedOnPut() {
+        putAllLevels(cache);
+
+        Indonesia villageHierarchy = cache.getHierarchy(village1);
+        assertSame(villageHierarchy, cache.getHierarchy(village1));
+        assertSame(village1, villageHierarchy.getVillage());
+        assertSame(district1, villageHierarchy.getDistrict());
+        assertSame(city1, villageHierarchy.getCity());
+        assertSame(province1, villageHierarchy.getProvince());
+
+        assertSame(province2, cache.getHierarchy(district2).getProvince());
+        assertSame(city2, cache.getHierarchy(district2).getCity());
+        assertNull(cache.getHierarchy(district2).getVillage());
+        assertSame(province1, cache.getHierarchy(city1).getProvince());
+        assertNull(cache.getHierarchy(city1).getDistrict());
+        assertSame(province2, cache.getHierarchy(province2).getProvince());
+        assertNull(cache.getHierarchy((Village) null));
+
+        cache.refresh();
+
+        assertNull(cache.getHierarchy(village1));
+        assertNull(cache.getHierarchy(province1));
+    }
+
+    @Test
+    void testHierarchiesRebuiltWhenParentsChange() {
+        putAllLevels(cache);
+        Province renamed = new Province(11L, "DKI Jakarta", -6.2088, 106.8456);
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(11L, renamed);
+        provinces.put(12L, province2);
+
+        cache.putProvinces(provinces);
+
+        assertSame(renamed, cache.getHierarchy(village1).getProvince());
+        assertSame(renamed, cache.getHierarchy(district1).getProvince());
+        assertSame(renamed, cache.getHierarchy(city1).getProvince());
+    }
+
+    @Test
+    void testHierarchiesNotPrecomputedWhenDisabled() {
+        InMemoryIndonesiaCache lean = new InMemoryIndonesiaCache(false);
+        putAllLevels(lean);
+
+        assertEquals(village1, lean.getVillage(1101011001L));
+        assertNull(lean.getHierarchy(village1));
+        assertNull(lean.getHierarchy(city1));
+    }
+
+    @Test
+    void testPrimitiveLookups() {
+        putAllLevels(cache);
+
+        assertSame(province1, cache.getProvince(11L));
+        assertSame(city2, cache.getCity(1201L));
+        assertSame(district1, cache.getDistrict(110101L));
+        assertSame(village2, cache.getVillage(1201011001L));
+        assertNull(cache.getVillage(1201011002L));
+        assertNull(cache.getCity(-1L));
+
+        assertEquals(Collections.singletonList(city1), cache.getCitiesByProvinceCode(11L));
+        assertEquals(Collections.singletonList(district2), cache.getDistrictsByCityCode(1201L));
+        assertEquals(Collections.singletonList(village1), cache.getVillagesByDistrictCode(110101L));
+        assertEquals(Collections.singletonList(village1), cache.getVillagesByProvinceCode(11L));
+        assertEquals(Collections.singletonList(village2), cache.getVillagesByCityCode(1201L));
+        assertTrue(cache.getVillagesByCityCode(9999L).isEmpty());
+
+        Long missing = null;
+        assertNull(cache.getProvince(missing));
+        assertNull(cache.getVillage(missing));
+        assertTrue(cache.getCitiesByProvinceCode(missing).isEmpty());
+        assertTrue(cache.getVillagesByProvinceCode(missing).isEmpty());
+
+        cache.refresh();
+
+        assertNull(cache.getProvince(11L));
+        assertNull(cache.getVillage(1201011001L));
+        assertTrue(cache.getCitiesByProvinceCode(11L).isEmpty());
+    }
+
+    @Test
+    void testPrimitiveLookupsDoNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        putAllLevels(cache);
+        long[] villageCodes = {1101011001L, 1201011001L, 1201011002L, 9999999999L};
+        long[] districtCodes = {110101L, 120101L, 120102L, 999999L};
+        long found = 0L;
+        for (int i = 0; i < 100_000; i++) {
+            found += lookup(villageCodes[i & 3], districtCodes[i & 3]);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            found += lookup(villageCodes[i & 3], districtCodes[i & 3]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(200_000L, found);
+        assertTrue(allocated < 100_000, "100000 primitive lookups should not allocate, allocated: " + allocated + " bytes");
+    }
+
+    private int lookup(long villageCode, long districtCode) {
+        return (cache.getVillage(villageCode) != null ? 1 : 0) + (cache.getDistrict(districtCode) != null ? 1 : 0);
+    }
+
+    private void putAllLevels(InMemoryIndonesiaCache target) {
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(11L, province1);
+        provinces.put(12L, province2);
+        Map<Long, City> cities = new HashMap<>();
+        cities.put(1101L, city1);
+        cities.put(1201L, city2);
+        Map<Long, District> districts = new HashMap<>();
+        districts.put(110101L, district1);
+        districts.put(120101L, district2);
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(1101011001L, village1);
+        villages.put(1201011001L, village2);
+
+        target.putProvinces(provinces);
+        target.putCities(cities);
+        target.putDistricts(districts);
+        target.putVillages(villages);
+    }
+}
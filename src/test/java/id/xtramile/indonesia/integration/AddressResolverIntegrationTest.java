@@ -0,0 +1,91 @@
+package id.xtramile.indonesia.integration;
+
+import id.xtramile.indonesia.AddressResolver;
+import id.xtramile.indonesia.model.AddressMatch;
+import id.xtramile.indonesia.model.AdministrativeLevel;
+import id.xtramile.indonesia.service.DefaultAddressResolver;
+import id.xtramile.indonesia.util.IndonesiaServiceFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AddressResolverIntegrationTest {
+
+    private AddressResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new DefaultAddressResolver(IndonesiaServiceFactory.createDefault());
+    }
+
+    @Test
+    void testResolveJakartaAddressWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Kel. Menteng, Kec. Menteng, Jakarta Pusat, DKI Jakarta");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.VILLAGE, match.get().getLevel());
+        assertEquals(3171061001L, match.get().getIndonesia().getVillage().getCode());
+        assertEquals(3171L, match.get().getIndonesia().getCity().getCode());
+        assertTrue(match.get().getConfidence() > 0.8);
+    }
+
+    @Test
+    void testResolveAddressWithStreetAndPostalCodeWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Jl. Gegerkalong Hilir No. 12, Gegerkalong, Sukasari, Kota Bandung, Jawa Barat 40153");
+
+        assertTrue(match.isPresent());
+        assertEquals(3273011002L, match.get().getIndonesia().getVillage().getCode());
+    }
+
+    @Test
+    void testResolveRegencyAddressWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Desa Cileunyi Kulon, Kec. Cileunyi, Kab. Bandung, Jabar");
+
+        assertTrue(match.isPresent());
+        assertEquals(3204052001L, match.get().getIndonesia().getVillage().getCode());
+        assertEquals(3204L, match.get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testResolveDistrictOfAmbiguousCityWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Kec. Coblong, Bandung, Jawa Barat");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.DISTRICT, match.get().getLevel());
+        assertEquals(327302L, match.get().getIndonesia().getDistrict().getCode());
+        assertEquals(3273L, match.get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testResolveAddressWithoutProvinceWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Cibinong, Bogor");
+
+        assertTrue(match.isPresent());
+        assertEquals(320101L, match.get().getIndonesia().getDistrict().getCode());
+        assertEquals(3201L, match.get().getIndonesia().getCity().getCode());
+        assertEquals(3273L, resolver.resolve("Rumah di Kota Bandung").get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testResolveAddressWithoutSeparatorsWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Kelurahan Gambir Kecamatan Gambir Jakarta Pusat");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.VILLAGE, match.get().getLevel());
+        assertEquals(317101L, match.get().getIndonesia().getDistrict().getCode());
+        assertEquals(3171L, match.get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testResolvePartialAddressWithRealData() {
+        Optional<AddressMatch> match = resolver.resolve("Kota Bandung");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.CITY, match.get().getLevel());
+        assertEquals(3273L, match.get().getIndonesia().getCity().getCode());
+        assertEquals(32L, match.get().getIndonesia().getProvince().getCode());
+    }
+}
@@ -1,19 +1,47 @@
 package id.xtramile.indonesia.integration;
 
+import id.xtramile.indonesia.AsyncIndonesiaService;
 import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.ReactiveIndonesiaService;
 import id.xtramile.indonesia.cache.CacheStats;
 import id.xtramile.indonesia.cache.InMemoryIndonesiaCache;
+import id.xtramile.indonesia.constant.Constant;
 import id.xtramile.indonesia.loader.CsvIndonesiaDataLoader;
+import id.xtramile.indonesia.loader.LinkMode;
 import id.xtramile.indonesia.model.*;
+import id.xtramile.indonesia.service.DefaultAsyncIndonesiaService;
 import id.xtramile.indonesia.service.DefaultIndonesiaService;
+import id.xtramile.indonesia.service.DefaultReactiveIndonesiaService;
+import id.xtramile.indonesia.spatial.GeoRegion;
+import id.xtramile.indonesia.spatial.Geohash;
+import id.xtramile.indonesia.util.CodeParser;
+import id.xtramile.indonesia.util.DistanceCalculator;
 import id.xtramile.indonesia.util.IndonesiaServiceFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class IndonesiaServiceIntegrationTest {
 
@@ -416,4 +444,511 @@ class IndonesiaServiceIntegrationTest {
         List<Province> provinces = customService.getAllProvinces();
         assertFalse(provinces.isEmpty());
     }
+
+    @Test
+    void testScopedSearchWithRealData() {
+        List<Village> inCity = service.searchVillages("suka", 3273L);
+        assertFalse(inCity.isEmpty());
+
+        List<Village> nationwide = service.searchVillages("suka");
+        assertTrue(nationwide.size() >= inCity.size());
+
+        for (Village village : inCity) {
+            assertEquals(3273L, village.getCode() / 1000000L);
+            assertTrue(village.getName().toLowerCase().contains("suka"));
+        }
+
+        List<Village> allInDistrict = service.searchVillages("", 317106L);
+        assertEquals(service.getVillagesByDistrict(317106L).size(), allInDistrict.size());
+
+        List<District> districts = service.searchDistricts("menteng", 31L);
+        assertTrue(districts.stream().anyMatch(d -> d.getCode() == 317106L));
+
+        List<City> cities = service.searchCities("bandung", 32L);
+        assertTrue(cities.stream().allMatch(c -> c.getProvinceCode() == 32L));
+        assertTrue(cities.stream().anyMatch(c -> c.getCode() == 3273L));
+    }
+
+    @Test
+    void testPagingWithRealData() {
+        int total = service.getCacheStats().getVillageCount();
+        assertEquals(total, service.streamVillages().count());
+
+        Page<Village> page = service.getVillagesPageAfter(null, 5000);
+        int seen = 0;
+        long previousCode = 0L;
+
+        while (true) {
+            for (Village village : page.getItems()) {
+                assertTrue(village.getCode() > previousCode);
+                previousCode = village.getCode();
+            }
+
+            seen += page.getItems().size();
+            if (!page.hasNext()) {
+                break;
+            }
+
+            page = service.getVillagesPageAfter(page.getNextCursor(), 5000);
+        }
+
+        assertEquals(total, seen);
+
+        Page<Village> province = service.getVillagesPage(32L, 100, 50);
+        assertEquals(service.getVillagesByProvince(32L).size(), province.getTotalCount());
+        assertEquals(50, province.getItems().size());
+        assertTrue(province.getItems().stream().allMatch(v -> v.getCode() / 100000000L == 32L));
+
+        assertEquals(service.getVillagesByCity(3273L).size(), service.streamVillages(3273L).count());
+        assertEquals(service.searchVillages("suka").size(), service.streamSearchVillages("suka").count());
+    }
+
+    @Test
+    void testReactiveSearchKeepsCodeOrderAfterCachedSearchWithRealData() {
+        ReactiveIndonesiaService reactive = new DefaultReactiveIndonesiaService(service);
+        List<Village> searched = service.searchVillages("suka");
+        List<Village> received = new ArrayList<>();
+
+        reactive.searchVillages("suka").subscribe(new Subscriber<Village>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Village village) {
+                received.add(village);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        List<Village> expected = new ArrayList<>(searched);
+        expected.sort(Comparator.comparingLong(Village::getCode));
+        assertEquals(expected, received);
+    }
+
+    @Test
+    void testSearchAcrossLevelsWithRealData() {
+        List<SearchHit> hits = service.search("bandung", 20);
+        assertFalse(hits.isEmpty());
+        assertTrue(hits.size() <= 20);
+
+        assertEquals(AdministrativeLevel.CITY, hits.get(0).getLevel());
+        assertTrue(hits.get(0).getName().toUpperCase().endsWith("BANDUNG"));
+        assertNotNull(hits.get(0).getIndonesia().getProvince());
+
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getScore() >= hits.get(i).getScore());
+        }
+
+        List<SearchHit> menteng = service.search("menteng", 5);
+        assertEquals(AdministrativeLevel.DISTRICT, menteng.get(0).getLevel());
+        assertEquals(317106L, menteng.get(0).getCode());
+        assertEquals(3171L, menteng.get(0).getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testFindNearestMatchesLinearScanWithRealData() {
+        List<Village> villages = service.getAllVillages();
+        List<District> districts = service.getAllDistricts();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 50; i++) {
+            double latitude = -11.0 + random.nextDouble() * 17.0;
+            double longitude = 95.0 + random.nextDouble() * 46.0;
+
+            Village expectedVillage = DistanceCalculator.findNearestVillage(latitude, longitude, villages);
+            Village village = service.findNearestVillage(latitude, longitude).orElseThrow(AssertionError::new);
+            assertEquals(DistanceCalculator.distanceBetweenVillages(expectedVillage, village), 0.0, 1e-6);
+
+            District expectedDistrict = DistanceCalculator.findNearestDistrict(latitude, longitude, districts);
+            District district = service.findNearestDistrict(latitude, longitude).orElseThrow(AssertionError::new);
+            assertEquals(DistanceCalculator.distanceBetweenDistricts(expectedDistrict, district), 0.0, 1e-6);
+        }
+
+        assertEquals(3171061001L, service.findNearestVillage(-6.2009, 106.8339).map(Village::getCode).orElse(0L));
+    }
+
+    @Test
+    void testReverseGeocodeWithRealData() {
+        Optional<Indonesia> menteng = service.reverseGeocode(-6.2009, 106.8339);
+        assertTrue(menteng.isPresent());
+        assertEquals(3171061001L, menteng.get().getVillage().getCode());
+        assertEquals(317106L, menteng.get().getDistrict().getCode());
+        assertEquals(3171L, menteng.get().getCity().getCode());
+        assertEquals(31L, menteng.get().getProvince().getCode());
+
+        Optional<Indonesia> bandung = service.reverseGeocode(-6.8700, 107.5870);
+        assertTrue(bandung.isPresent());
+        assertEquals(327301L, bandung.get().getDistrict().getCode());
+    }
+
+    @Test
+    void testNearbyQueriesWithRealData() {
+        double latitude = -6.1754;
+        double longitude = 106.8272;
+
+        List<NearbyHit> nearest = service.findKNearest(AdministrativeLevel.DISTRICT, latitude, longitude, 5);
+        assertEquals(5, nearest.size());
+        for (int i = 1; i < nearest.size(); i++) {
+            assertTrue(nearest.get(i - 1).getDistance() <= nearest.get(i).getDistance());
+        }
+
+        List<NearbyHit> withinRadius = service.findWithinRadius(AdministrativeLevel.VILLAGE, latitude, longitude, 15.0);
+        long expected = service.getAllVillages().stream()
+                .filter(village -> DistanceCalculator.distanceBetweenCoordinates(
+                        latitude, longitude, village.getLatitude(), village.getLongitude()) <= 15.0)
+                .count();
+        assertEquals(expected, withinRadius.size());
+        assertTrue(withinRadius.stream().allMatch(hit -> hit.getDistance() <= 15.0));
+    }
+
+    @Test
+    void testFindNearestWithinParentWithRealData() {
+        double latitude = -6.9;
+        double longitude = 107.6;
+
+        Village expected = DistanceCalculator.findNearestVillage(latitude, longitude, service.getVillagesByCity(3273L));
+        assertEquals(Optional.of(expected), service.findNearestVillage(latitude, longitude, 3273L));
+
+        District expectedDistrict = DistanceCalculator.findNearestDistrict(latitude, longitude, service.getDistrictsByCity(3204L));
+        assertEquals(Optional.of(expectedDistrict), service.findNearestDistrict(latitude, longitude, 3204L));
+
+        assertEquals(32L, service.findNearestCity(latitude, longitude, 32L).map(City::getProvinceCode).orElse(0L));
+    }
+
+    @Test
+    void testStreamWithinRegionWithRealData() {
+        GeoRegion jakarta = GeoRegion.boundingBox(-6.4, 106.65, -6.05, 107.0);
+        List<District> expected = service.getAllDistricts().stream()
+                .filter(district -> district.getLatitude() >= -6.4 && district.getLatitude() <= -6.05)
+                .filter(district -> district.getLongitude() >= 106.65 && district.getLongitude() <= 107.0)
+                .collect(Collectors.toList());
+
+        List<District> actual = service.streamDistrictsWithin(jakarta).collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(expected));
+        assertTrue(actual.stream().anyMatch(district -> district.getCode() == 317106L));
+
+        GeoRegion triangle = GeoRegion.polygon(new double[]{-6.0, -7.2, -7.2}, new double[]{106.8, 106.2, 107.4});
+        assertTrue(service.streamVillagesWithin(triangle).anyMatch(village -> village.getCode() == 3171061001L));
+        assertTrue(service.streamVillagesWithin(triangle).noneMatch(village -> village.getCode() == 3273011001L));
+    }
+
+    @Test
+    void testFindByGeohashPrefixWithRealData() {
+        String prefix = Geohash.encode(-6.2009, 106.8339, 5);
+        List<GeohashHit> hits = service.findByGeohashPrefix(AdministrativeLevel.VILLAGE, prefix);
+
+        long expected = service.getAllVillages().stream()
+                .filter(village -> Geohash.encode(village.getLatitude(), village.getLongitude(), 5).equals(prefix))
+                .count();
+        assertEquals(expected, hits.size());
+        assertTrue(hits.stream().anyMatch(hit -> hit.getCode() == 3171061001L));
+        assertTrue(hits.stream().allMatch(hit -> hit.getGeohash().startsWith(prefix)));
+
+        int total = 0;
+        for (char c : "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray()) {
+            total += service.findByGeohashPrefix(AdministrativeLevel.DISTRICT, String.valueOf(c)).size();
+        }
+        assertEquals(service.getAllDistricts().size(), total);
+    }
+
+    @Test
+    void testClusterVillagesWithRealData() {
+        GeoRegion world = GeoRegion.boundingBox(-90.0, -180.0, 90.0, 180.0);
+        int villageCount = service.getAllVillages().size();
+
+        List<Cluster> country = service.clusterVillages(4, world);
+        assertEquals(villageCount, country.stream().mapToInt(Cluster::getCount).sum());
+        assertTrue(country.size() < 100);
+
+        List<Cluster> streets = service.clusterVillages(18, world);
+        assertEquals(villageCount, streets.stream().mapToInt(Cluster::getCount).sum());
+        assertTrue(streets.size() > country.size());
+
+        GeoRegion jakarta = GeoRegion.boundingBox(-6.4, 106.65, -6.05, 107.0);
+        List<Cluster> viewport = service.clusterVillages(11, jakarta);
+        assertFalse(viewport.isEmpty());
+        assertTrue(viewport.stream().allMatch(cluster -> cluster.getLatitude() >= -6.4 && cluster.getLatitude() <= -6.05));
+        assertTrue(viewport.stream().mapToInt(Cluster::getCount).sum() < villageCount);
+    }
+
+    @Test
+    void testGetNeighborsWithRealData() {
+        District menteng = service.findDistrict(317106L).orElseThrow(AssertionError::new);
+        List<District> others = new ArrayList<>(service.getAllDistricts());
+        others.remove(menteng);
+        others.sort(Comparator.comparingDouble(district -> DistanceCalculator.distanceBetweenCoordinates(
+                menteng.getLatitude(), menteng.getLongitude(), district.getLatitude(), district.getLongitude())));
+
+        List<NearbyHit> neighbors = service.getNeighbors(317106L, 10);
+        assertEquals(10, neighbors.size());
+        for (int i = 0; i < neighbors.size(); i++) {
+            assertEquals(others.get(i).getCode(), neighbors.get(i).getCode());
+        }
+
+        assertEquals(40, service.getNeighbors(317106L, 40).size());
+        assertTrue(service.getNeighbors(3273L, 5).stream().allMatch(hit -> hit.getLevel() == AdministrativeLevel.CITY));
+        assertTrue(service.getNeighbors(3273L, 5).stream().noneMatch(hit -> hit.getCode() == 3273L));
+    }
+
+    @Test
+    void testFindNearestVillageByHierarchyWithRealData() {
+        assertEquals(3171061001L, service.findNearestVillageByHierarchy(-6.2009, 106.8339, 3).map(Village::getCode).orElse(0L));
+
+        Random random = new Random(7);
+        List<Village> villages = service.getAllVillages();
+        int matches = 0;
+        for (int i = 0; i < 500; i++) {
+            Village village = villages.get(random.nextInt(villages.size()));
+            double latitude = village.getLatitude() + (random.nextDouble() - 0.5) * 0.05;
+            double longitude = village.getLongitude() + (random.nextDouble() - 0.5) * 0.05;
+
+            Village expected = service.findNearestVillage(latitude, longitude).orElseThrow(AssertionError::new);
+            Village actual = service.findNearestVillageByHierarchy(latitude, longitude, 8).orElseThrow(AssertionError::new);
+            if (expected.equals(actual)) {
+                matches++;
+            }
+
+            if (i % 50 == 0) {
+                assertEquals(expected, service.findNearestVillageByHierarchy(latitude, longitude, 1000).orElse(null));
+            }
+        }
+
+        assertTrue(matches >= 475, "A beam width of 8 should find the nearest village for at least 95% of locations, found: " + matches);
+    }
+
+    @Test
+    void testValidateCodesWithRealData() {
+        List<Village> villages = service.getAllVillages();
+        Random random = new Random(41);
+        long[] codes = new long[50_000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i % 2 == 0
+                    ? villages.get(random.nextInt(villages.size())).getCode()
+                    : 1101011001L + random.nextInt(Integer.MAX_VALUE) * 4L;
+        }
+        codes[1] = 317106L;
+        codes[3] = -1L;
+
+        BitSet existing = service.validateCodes(AdministrativeLevel.VILLAGE, codes);
+
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals(service.findVillage(codes[i]).isPresent(), existing.get(i));
+        }
+        assertTrue(existing.cardinality() >= codes.length / 2);
+        assertEquals(BitSet.valueOf(new long[]{0b101L}),
+                service.validateCodes(AdministrativeLevel.DISTRICT, new long[]{317106L, 317199L, 327301L}));
+    }
+
+    @Test
+    void testParseAndValidateCsvColumnWithRealData() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                getClass().getResourceAsStream(Constant.CSV_PATH_DISTRICTS), StandardCharsets.UTF_8))) {
+            reader.lines().forEach(line -> csv.append(line).append('\n'));
+        }
+
+        long[] districtCodes = CodeParser.parseColumn(csv, ',', 0);
+        long[] cityCodes = CodeParser.parseColumn(csv, ',', 1);
+
+        assertTrue(Arrays.stream(districtCodes).noneMatch(code -> code == CodeParser.INVALID));
+        // Districts without coordinates are skipped by the loader
+        assertEquals(service.getAllDistricts().size(), service.validateCodes(AdministrativeLevel.DISTRICT, districtCodes).cardinality());
+        assertEquals(cityCodes.length, service.validateCodes(AdministrativeLevel.CITY, cityCodes).cardinality());
+    }
+
+    @Test
+    void testBatchVillageLookupWithRealData() {
+        List<Village> villages = service.getAllVillages();
+        Random random = new Random(44);
+        long[] codes = new long[2000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i % 10 == 0
+                    ? 1101011001L + random.nextInt(Integer.MAX_VALUE) * 4L
+                    : villages.get(random.nextInt(villages.size())).getCode();
+        }
+
+        List<Village> found = service.findVillages(codes);
+        List<Indonesia> hierarchies = service.buildFromVillageCodes(codes);
+
+        assertEquals(codes.length, found.size());
+        assertEquals(codes.length, hierarchies.size());
+        for (int i = 0; i < codes.length; i++) {
+            Optional<Village> expected = service.findVillage(codes[i]);
+            assertEquals(expected.orElse(null), found.get(i));
+            if (expected.isPresent()) {
+                Indonesia single = service.buildFrom(expected.get());
+                assertEquals(single.getProvince(), hierarchies.get(i).getProvince());
+                assertEquals(single.getCity(), hierarchies.get(i).getCity());
+                assertEquals(single.getDistrict(), hierarchies.get(i).getDistrict());
+                assertEquals(single.getVillage(), hierarchies.get(i).getVillage());
+            } else {
+                assertNull(hierarchies.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testPrecomputedHierarchiesWithRealData() {
+        Village menteng = service.findVillage(3171061001L).orElseThrow(AssertionError::new);
+
+        Indonesia hierarchy = service.buildFrom(menteng);
+        assertSame(hierarchy, service.buildFrom(menteng));
+        assertSame(hierarchy, service.buildFromVillageCodes(new long[]{3171061001L}).get(0));
+        assertEquals(317106L, hierarchy.getDistrict().getCode());
+        assertEquals(3171L, hierarchy.getCity().getCode());
+        assertEquals(31L, hierarchy.getProvince().getCode());
+
+        IndonesiaService lean = new DefaultIndonesiaService(new InMemoryIndonesiaCache(false), new CsvIndonesiaDataLoader());
+        Village leanMenteng = lean.findVillage(3171061001L).orElseThrow(AssertionError::new);
+        Indonesia built = lean.buildFrom(leanMenteng);
+        assertNotSame(built, lean.buildFrom(leanMenteng));
+        assertEquals(hierarchy.getDistrict(), built.getDistrict());
+        assertEquals(hierarchy.getProvince(), built.getProvince());
+    }
+
+    @Test
+    void testLinkedModelsWithRealData() {
+        IndonesiaService linked = new DefaultIndonesiaService(new InMemoryIndonesiaCache(),
+                new CsvIndonesiaDataLoader(LinkMode.PARENTS_AND_CHILDREN));
+
+        Village menteng = linked.findVillage(3171061001L).orElseThrow(AssertionError::new);
+        District district = linked.findDistrict(317106L).orElseThrow(AssertionError::new);
+
+        assertSame(district, menteng.getDistrict());
+        assertSame(linked.findCity(3171L).orElse(null), district.getCity());
+        assertSame(linked.findProvince(31L).orElse(null), district.getCity().getProvince());
+        assertEquals(linked.getVillagesByDistrict(317106L).size(), district.getVillages().size());
+    }
+
+    @Test
+    void testPrimitiveLookupsDoNotBoxWithRealData() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        long[] villageCodes = {3171061001L, 3273011001L, 3171069999L, 9999999999L};
+        long found = 0L;
+        for (int i = 0; i < 200_000; i++) {
+            found += service.findVillage(villageCodes[i & 3]).isPresent() ? 1 : 0;
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            found += service.findVillage(villageCodes[i & 3]).isPresent() ? 1 : 0;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(150_000L, found);
+        assertTrue(allocated < 50_000 * 16 + 100_000,
+                "Only the Optional of each found village should be allocated, allocated: " + allocated + " bytes");
+
+        before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            found += service.findVillage(villageCodes[2 + (i & 1)]).isPresent() ? 1 : 0;
+        }
+        allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(150_000L, found);
+        assertTrue(allocated < 100_000, "100000 primitive misses should not allocate, allocated: " + allocated + " bytes");
+    }
+
+    @Test
+    void testAsyncQueriesWithRealData() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            AsyncIndonesiaService async = new DefaultAsyncIndonesiaService(service, executor);
+
+            CompletableFuture<Optional<Village>> menteng = async.findVillage(3171061001L);
+            assertTrue(menteng.isDone());
+            assertEquals(service.findVillage(3171061001L), menteng.join());
+
+            CompletableFuture<List<Village>> search = async.searchVillages("menteng");
+            CompletableFuture<Optional<Indonesia>> located = async.reverseGeocode(-6.1960, 106.8320);
+            CompletableFuture<BitSet> valid = async.validateCodes(AdministrativeLevel.VILLAGE, new long[]{3171061001L, 3171069999L});
+
+            assertEquals(service.searchVillages("menteng"), search.get(10, TimeUnit.SECONDS));
+            assertEquals(317106L, located.get(10, TimeUnit.SECONDS).get().getDistrict().getCode());
+            assertEquals(1, valid.get(10, TimeUnit.SECONDS).cardinality());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testReactiveVillagesWithRealData() {
+        ReactiveIndonesiaService reactive = new DefaultReactiveIndonesiaService(service);
+        List<Village> received = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+
+        reactive.getVillagesByProvince(31L).subscribe(new Subscriber<Village>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(100);
+            }
+
+            @Override
+            public void onNext(Village village) {
+                received.add(village);
+                if (received.size() % 100 == 0) {
+                    subscription.request(100);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+
+        List<Village> expected = service.getVillagesByProvince(31L);
+        expected.sort(Comparator.comparingLong(Village::getCode));
+        assertTrue(completed[0]);
+        assertEquals(expected, received);
+
+        List<Village> matches = new ArrayList<>();
+        reactive.searchVillages("menteng", 3171L).subscribe(new Subscriber<Village>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Village village) {
+                matches.add(village);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        assertEquals(service.searchVillages("menteng", 3171L), matches);
+    }
 }
@@ -93,5 +93,43 @@ class CsvIndonesiaDataLoaderTest {
 
         assertTrue(uniqueDistricts > 0);
     }
-}
 
+    @Test
+    void testLinkedLoadWiresParentsAndChildren() throws DataLoadException {
+        CsvIndonesiaDataLoader linked = new CsvIndonesiaDataLoader(LinkMode.PARENTS_AND_CHILDREN);
+
+        Map<Long, Province> provinces = linked.loadProvinces();
+        Map<Long, City> cities = linked.loadCities();
+        Map<Long, District> districts = linked.loadDistricts();
+        Map<Long, Village> villages = linked.loadVillages();
+
+        Village menteng = villages.get(3171061001L);
+        assertSame(districts.get(317106L), menteng.getDistrict());
+        assertSame(cities.get(3171L), menteng.getDistrict().getCity());
+        assertSame(provinces.get(31L), menteng.getDistrict().getCity().getProvince());
+        assertTrue(districts.get(317106L).getVillages().contains(menteng));
+        assertTrue(provinces.get(31L).getCities().contains(cities.get(3171L)));
+        assertTrue(villages.values().stream().allMatch(village -> village.getDistrict() != null
+                && village.getDistrict().getCode() == village.getDistrictCode()));
+    }
+
+    @Test
+    void testLinkedLoadOfLowerLevelLoadsParentsFirst() throws DataLoadException {
+        CsvIndonesiaDataLoader linked = new CsvIndonesiaDataLoader(LinkMode.PARENTS);
+
+        District menteng = linked.loadDistricts().get(317106L);
+
+        assertEquals(3171L, menteng.getCity().getCode());
+        assertEquals(31L, menteng.getCity().getProvince().getCode());
+        assertTrue(menteng.getVillages().isEmpty());
+        assertTrue(menteng.getCity().getDistricts().isEmpty());
+    }
+
+    @Test
+    void testUnlinkedLoadLeavesReferencesUnset() throws DataLoadException {
+        City city = loader.loadCities().get(3171L);
+
+        assertNull(city.getProvince());
+        assertThrows(NullPointerException.class, () -> new CsvIndonesiaDataLoader(null));
+    }
+}
@@ -0,0 +1,25 @@
+package id.xtramile.indonesia.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterTest {
+
+    @Test
+    void testConstructorAndGetters() {
+        Cluster cluster = new Cluster(-6.2, 106.8, 42);
+
+        assertEquals(-6.2, cluster.getLatitude());
+        assertEquals(106.8, cluster.getLongitude());
+        assertEquals(42, cluster.getCount());
+    }
+
+    @Test
+    void testToString() {
+        String str = new Cluster(-6.2, 106.8, 42).toString();
+        assertTrue(str.contains("-6.2"));
+        assertTrue(str.contains("106.8"));
+        assertTrue(str.contains("42"));
+    }
+}
@@ -0,0 +1,32 @@
+package id.xtramile.indonesia.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashHitTest {
+
+    @Test
+    void testConstructorAndGetters() {
+        Province province = new Province(11L, "Jakarta", -6.2088, 106.8456);
+        Indonesia indonesia = new Indonesia(province, null, null, null);
+
+        GeohashHit hit = new GeohashHit(AdministrativeLevel.PROVINCE, 11L, "Jakarta", indonesia, "qqguwvfe0e4s");
+
+        assertEquals(AdministrativeLevel.PROVINCE, hit.getLevel());
+        assertEquals(11L, hit.getCode());
+        assertEquals("Jakarta", hit.getName());
+        assertSame(indonesia, hit.getIndonesia());
+        assertEquals("qqguwvfe0e4s", hit.getGeohash());
+    }
+
+    @Test
+    void testToString() {
+        GeohashHit hit = new GeohashHit(AdministrativeLevel.VILLAGE, 1101011001L, "Gambir", null, "qqguw");
+        String str = hit.toString();
+        assertTrue(str.contains("VILLAGE"));
+        assertTrue(str.contains("1101011001"));
+        assertTrue(str.contains("Gambir"));
+        assertTrue(str.contains("qqguw"));
+    }
+}
@@ -0,0 +1,85 @@
+package id.xtramile.indonesia.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelLinkerTest {
+
+    private final Province jakarta = new Province(31L, "DKI Jakarta", -6.2088, 106.8456);
+    private final Province banten = new Province(36L, "Banten", -6.4058, 106.0640);
+    private final City jakartaPusat = new City(3171L, 31L, "Jakarta Pusat", -6.1818, 106.8318);
+    private final City jakartaSelatan = new City(3174L, 31L, "Jakarta Selatan", -6.2615, 106.8106);
+    private final City orphan = new City(9901L, 99L, "Orphan", 0.0, 0.0);
+
+    @Test
+    void testUnlinkedModels() {
+        assertNull(jakartaPusat.getProvince());
+        assertTrue(jakarta.getCities().isEmpty());
+        assertNull(new District(317106L, 3171L, "Menteng", -6.19, 106.83).getCity());
+        assertTrue(new District(317106L, 3171L, "Menteng", -6.19, 106.83).getVillages().isEmpty());
+        assertNull(new Village(3171061001L, 317106L, "Menteng", -6.20, 106.83).getDistrict());
+    }
+
+    @Test
+    void testLinkParentsOnly() {
+        ModelLinker.linkCities(provinces(), Arrays.asList(jakartaSelatan, jakartaPusat, orphan), false);
+
+        assertSame(jakarta, jakartaPusat.getProvince());
+        assertSame(jakarta, jakartaSelatan.getProvince());
+        assertNull(orphan.getProvince());
+        assertTrue(jakarta.getCities().isEmpty());
+    }
+
+    @Test
+    void testLinkParentsAndChildren() {
+        ModelLinker.linkCities(provinces(), Arrays.asList(jakartaSelatan, jakartaPusat, orphan), true);
+
+        assertEquals(Arrays.asList(jakartaPusat, jakartaSelatan), jakarta.getCities());
+        assertTrue(banten.getCities().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> jakarta.getCities().clear());
+    }
+
+    @Test
+    void testLinkWholeHierarchy() {
+        District menteng = new District(317106L, 3171L, "Menteng", -6.1960, 106.8320);
+        Village village = new Village(3171061001L, 317106L, "Menteng", -6.2009, 106.8339);
+        Map<Long, City> cities = new HashMap<>();
+        cities.put(3171L, jakartaPusat);
+        Map<Long, District> districts = new HashMap<>();
+        districts.put(317106L, menteng);
+
+        ModelLinker.linkCities(provinces(), cities.values(), true);
+        ModelLinker.linkDistricts(cities, Collections.singletonList(menteng), true);
+        ModelLinker.linkVillages(districts, Collections.singletonList(village), true);
+
+        assertSame(jakarta, village.getDistrict().getCity().getProvince());
+        assertEquals(Collections.singletonList(village), jakarta.getCities().get(0).getDistricts().get(0).getVillages());
+    }
+
+    @Test
+    void testRelinkingReplacesChildren() {
+        ModelLinker.linkCities(provinces(), Arrays.asList(jakartaPusat, jakartaSelatan), true);
+        ModelLinker.linkCities(provinces(), Collections.singletonList(jakartaPusat), true);
+
+        assertEquals(Collections.singletonList(jakartaPusat), jakarta.getCities());
+    }
+
+    @Test
+    void testNullArguments() {
+        assertThrows(NullPointerException.class, () -> ModelLinker.linkCities(null, Collections.emptyList(), true));
+        assertThrows(NullPointerException.class, () -> ModelLinker.linkVillages(new HashMap<>(), null, false));
+    }
+
+    private Map<Long, Province> provinces() {
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(31L, jakarta);
+        provinces.put(36L, banten);
+        return provinces;
+    }
+}
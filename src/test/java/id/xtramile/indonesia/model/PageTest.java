@@ -0,0 +1,43 @@
+package id.xtramile.indonesia.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageTest {
+
+    @Test
+    void testConstructorAndGetters() {
+        Village village1 = new Village(1101011001L, 110101L, "Gambir", -6.1751, 106.8208);
+        Village village2 = new Village(1101011002L, 110101L, "Kebon Kelapa", -6.1700, 106.8200);
+
+        Page<Village> page = new Page<>(Arrays.asList(village1, village2), 10, 15, 1101011002L);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(10, page.getOffset());
+        assertEquals(15, page.getTotalCount());
+        assertEquals(12, page.getNextOffset());
+        assertEquals(Long.valueOf(1101011002L), page.getNextCursor());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void testLastPage() {
+        Page<Village> page = new Page<>(Collections.emptyList(), 15, 15, null);
+
+        assertFalse(page.hasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(15, page.getNextOffset());
+    }
+
+    @Test
+    void testToString() {
+        Page<Village> page = new Page<>(Collections.emptyList(), 0, 0, null);
+        String str = page.toString();
+        assertTrue(str.contains("offset=0"));
+        assertTrue(str.contains("totalCount=0"));
+    }
+}
@@ -0,0 +1,31 @@
+package id.xtramile.indonesia.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchHitTest {
+
+    @Test
+    void testConstructorAndGetters() {
+        Province province = new Province(11L, "Jakarta", -6.2088, 106.8456);
+        Indonesia indonesia = new Indonesia(province, null, null, null);
+
+        SearchHit hit = new SearchHit(AdministrativeLevel.PROVINCE, 11L, "Jakarta", indonesia, 0.9);
+
+        assertEquals(AdministrativeLevel.PROVINCE, hit.getLevel());
+        assertEquals(11L, hit.getCode());
+        assertEquals("Jakarta", hit.getName());
+        assertSame(indonesia, hit.getIndonesia());
+        assertEquals(0.9, hit.getScore());
+    }
+
+    @Test
+    void testToString() {
+        SearchHit hit = new SearchHit(AdministrativeLevel.VILLAGE, 1101011001L, "Gambir", null, 0.5);
+        String str = hit.toString();
+        assertTrue(str.contains("VILLAGE"));
+        assertTrue(str.contains("1101011001"));
+        assertTrue(str.contains("Gambir"));
+    }
+}
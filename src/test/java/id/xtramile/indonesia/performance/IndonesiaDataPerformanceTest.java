@@ -1,16 +1,26 @@
 package id.xtramile.indonesia.performance;
 
+import id.xtramile.indonesia.AddressResolver;
 import id.xtramile.indonesia.IndonesiaDataCache;
 import id.xtramile.indonesia.IndonesiaDataLoader;
 import id.xtramile.indonesia.IndonesiaService;
 import id.xtramile.indonesia.cache.InMemoryIndonesiaCache;
 import id.xtramile.indonesia.loader.CsvIndonesiaDataLoader;
+import id.xtramile.indonesia.service.DefaultAddressResolver;
+import id.xtramile.indonesia.model.AdministrativeLevel;
 import id.xtramile.indonesia.model.City;
+import id.xtramile.indonesia.model.District;
 import id.xtramile.indonesia.model.Province;
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.spatial.GeoRegion;
+import id.xtramile.indonesia.spatial.Geohash;
+import id.xtramile.indonesia.util.CodeParser;
+import id.xtramile.indonesia.util.DistanceCalculator;
 import id.xtramile.indonesia.util.IndonesiaServiceFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -232,6 +242,279 @@ class IndonesiaDataPerformanceTest {
         System.out.println("50 refresh cycles took: " + refreshTime + "ms");
     }
 
+    @Test
+    void testAddressResolvePerformance() {
+        AddressResolver resolver = new DefaultAddressResolver(service);
+        String[] addresses = {
+                "Kel. Menteng, Kec. Menteng, Jakarta Pusat, DKI Jakarta",
+                "Jl. Gegerkalong Hilir No. 12, Gegerkalong, Sukasari, Kota Bandung, Jawa Barat 40153",
+                "Desa Cileunyi Kulon, Kec. Cileunyi, Kab. Bandung, Jabar"
+        };
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(resolver.resolve(addresses[i % addresses.length]).isPresent());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long resolveTime = endTime - startTime;
+        assertTrue(resolveTime < 1000, "10000 address resolutions should complete within 1 second, took: " + resolveTime + "ms");
+        System.out.println("10000 address resolutions took: " + resolveTime + "ms");
+    }
+
+    @Test
+    void testAddressWithoutProvinceResolvePerformance() {
+        AddressResolver resolver = new DefaultAddressResolver(service);
+        String[] addresses = {
+                "Pegangsaan, Menteng",
+                "Kec. Coblong, Bandung",
+                "Cibinong, Bogor"
+        };
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(resolver.resolve(addresses[i % addresses.length]).isPresent());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long resolveTime = endTime - startTime;
+        assertTrue(resolveTime < 1000, "10000 address resolutions without province should complete within 1 second, took: " + resolveTime + "ms");
+        System.out.println("10000 address resolutions without province took: " + resolveTime + "ms");
+    }
+
+    @Test
+    void testNearestVillagePerformance() {
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            double latitude = -11.0 + (i % 100) * 0.17;
+            double longitude = 95.0 + (i / 100) * 0.46;
+            assertTrue(service.findNearestVillage(latitude, longitude).isPresent());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long nearestTime = endTime - startTime;
+        assertTrue(nearestTime < 1000, "10000 nearest village lookups should complete within 1 second, took: " + nearestTime + "ms");
+        System.out.println("10000 nearest village lookups took: " + nearestTime + "ms");
+    }
+
+    @Test
+    void testReverseGeocodePerformance() {
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 50000; i++) {
+            double latitude = -11.0 + (i % 250) * 0.068;
+            double longitude = 95.0 + (i / 250) * 0.23;
+            assertTrue(service.reverseGeocode(latitude, longitude).isPresent());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long geocodeTime = endTime - startTime;
+        assertTrue(geocodeTime < 1000, "50000 reverse geocodes should complete within 1 second, took: " + geocodeTime + "ms");
+        System.out.println("50000 reverse geocodes took: " + geocodeTime + "ms");
+    }
+
+    @Test
+    void testRadiusQueryPerformance() {
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            double latitude = -6.1754 + (i % 10) * 0.01;
+            double longitude = 106.8272 + (i / 100) * 0.01;
+            service.findWithinRadius(AdministrativeLevel.VILLAGE, latitude, longitude, 15.0);
+            service.findKNearest(AdministrativeLevel.DISTRICT, latitude, longitude, 10);
+        }
+        long endTime = System.currentTimeMillis();
+
+        long queryTime = endTime - startTime;
+        assertTrue(queryTime < 2000, "2000 radius and k-nearest queries should complete within 2 seconds, took: " + queryTime + "ms");
+        System.out.println("2000 radius and k-nearest queries took: " + queryTime + "ms");
+    }
+
+    @Test
+    void testNearestScanPerformance() {
+        List<Village> villages = service.getAllVillages();
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            assertNotNull(DistanceCalculator.findNearestVillage(-6.2 + i * 0.01, 106.8, villages));
+        }
+        long listScanTime = System.currentTimeMillis() - startTime;
+
+        startTime = System.currentTimeMillis();
+        for (int i = 0; i < 200; i++) {
+            assertTrue(service.findNearestVillage(-6.2 + i * 0.001, 106.8, 32L).isPresent());
+        }
+        long rangeScanTime = System.currentTimeMillis() - startTime;
+
+        assertTrue(listScanTime < 2000, "20 nearest scans over all villages should complete within 2 seconds, took: " + listScanTime + "ms");
+        assertTrue(rangeScanTime < 1000, "200 nearest scans over a province should complete within 1 second, took: " + rangeScanTime + "ms");
+        System.out.println("20 nearest scans over all villages took: " + listScanTime + "ms");
+        System.out.println("200 nearest scans over province 32 took: " + rangeScanTime + "ms");
+    }
+
+    @Test
+    void testDistanceMatrixPerformance() {
+        List<District> districts = service.getAllDistricts();
+        double[] fromLatitudes = new double[200];
+        double[] fromLongitudes = new double[200];
+        for (int i = 0; i < fromLatitudes.length; i++) {
+            fromLatitudes[i] = -6.2 + i * 0.001;
+            fromLongitudes[i] = 106.8 + i * 0.001;
+        }
+
+        double[] toLatitudes = districts.stream().mapToDouble(District::getLatitude).toArray();
+        double[] toLongitudes = districts.stream().mapToDouble(District::getLongitude).toArray();
+
+        long startTime = System.currentTimeMillis();
+        double[] matrix = DistanceCalculator.distanceMatrix(fromLatitudes, fromLongitudes, toLatitudes, toLongitudes);
+        long endTime = System.currentTimeMillis();
+
+        long matrixTime = endTime - startTime;
+        assertEquals(fromLatitudes.length * toLatitudes.length, matrix.length);
+        assertTrue(matrixTime < 2000, "Distance matrix (200 x all districts) should complete within 2 seconds, took: " + matrixTime + "ms");
+        System.out.println("Distance matrix (200 x " + toLatitudes.length + ") took: " + matrixTime + "ms");
+    }
+
+    @Test
+    void testRegionQueryPerformance() {
+        long startTime = System.currentTimeMillis();
+        long found = 0;
+        for (int i = 0; i < 1000; i++) {
+            double latitude = -6.4 + (i % 10) * 0.02;
+            double longitude = 106.6 + (i / 100) * 0.02;
+            found += service.streamVillagesWithin(GeoRegion.boundingBox(latitude, longitude, latitude + 0.1, longitude + 0.1)).count();
+        }
+        long endTime = System.currentTimeMillis();
+
+        long queryTime = endTime - startTime;
+        assertTrue(found > 0);
+        assertTrue(queryTime < 1000, "1000 bounding box queries should complete within 1 second, took: " + queryTime + "ms");
+        System.out.println("1000 bounding box queries took: " + queryTime + "ms");
+    }
+
+    @Test
+    void testGeohashPrefixPerformance() {
+        service.findByGeohashPrefix(AdministrativeLevel.VILLAGE, "qqguw");
+
+        long startTime = System.currentTimeMillis();
+        long found = 0;
+        for (int i = 0; i < 10000; i++) {
+            String prefix = Geohash.encode(-6.2 + (i % 100) * 0.002, 106.8 + (i / 100) * 0.002, 6);
+            found += service.findByGeohashPrefix(AdministrativeLevel.VILLAGE, prefix).size();
+        }
+        long endTime = System.currentTimeMillis();
+
+        long lookupTime = endTime - startTime;
+        assertTrue(found > 0);
+        assertTrue(lookupTime < 1000, "10000 geohash prefix lookups should complete within 1 second, took: " + lookupTime + "ms");
+        System.out.println("10000 geohash prefix lookups took: " + lookupTime + "ms");
+    }
+
+    @Test
+    void testClusterVillagesPerformance() {
+        GeoRegion indonesia = GeoRegion.boundingBox(-11.0, 95.0, 6.0, 141.0);
+        for (int zoom = 0; zoom <= 12; zoom++) {
+            service.clusterVillages(zoom, indonesia);
+        }
+
+        long startTime = System.currentTimeMillis();
+        long clusters = 0;
+        for (int i = 0; i < 1000; i++) {
+            int zoom = 6 + i % 7;
+            double latitude = -6.4 + (i % 10) * 0.05;
+            double longitude = 106.6 + (i / 100) * 0.05;
+            clusters += service.clusterVillages(zoom, GeoRegion.boundingBox(latitude, longitude, latitude + 0.5, longitude + 0.5)).size();
+        }
+        long endTime = System.currentTimeMillis();
+
+        long clusterTime = endTime - startTime;
+        assertTrue(clusters > 0);
+        assertTrue(clusterTime < 1000, "1000 cluster tile queries should complete within 1 second, took: " + clusterTime + "ms");
+        System.out.println("1000 cluster tile queries took: " + clusterTime + "ms");
+    }
+
+    @Test
+    void testNeighborLookupPerformance() {
+        List<District> districts = service.getAllDistricts();
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 100000; i++) {
+            assertFalse(service.getNeighbors(districts.get(i % districts.size()).getCode(), 5).isEmpty());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long lookupTime = endTime - startTime;
+        assertTrue(lookupTime < 2000, "100000 neighbor lookups should complete within 2 seconds, took: " + lookupTime + "ms");
+        System.out.println("100000 neighbor lookups took: " + lookupTime + "ms");
+    }
+
+    @Test
+    void testHierarchicalNearestPerformance() {
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(service.findNearestVillageByHierarchy(-6.2 + (i % 100) * 0.001, 106.8 + (i / 100) * 0.001, 3).isPresent());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long lookupTime = endTime - startTime;
+        assertTrue(lookupTime < 2000, "10000 hierarchical nearest village lookups should complete within 2 seconds, took: " + lookupTime + "ms");
+        System.out.println("10000 hierarchical nearest village lookups took: " + lookupTime + "ms");
+    }
+
+    @Test
+    void testBulkCodeValidationPerformance() {
+        List<Village> villages = service.getAllVillages();
+        long[] codes = new long[1_000_000];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = villages.get(i % villages.size()).getCode() + (i % 3 == 0 ? 7L : 0L);
+        }
+
+        long startTime = System.currentTimeMillis();
+        BitSet existing = service.validateCodes(AdministrativeLevel.VILLAGE, codes);
+        long endTime = System.currentTimeMillis();
+
+        long validationTime = endTime - startTime;
+        assertTrue(existing.cardinality() > codes.length / 2);
+        assertTrue(validationTime < 2000, "Validating 1000000 village codes should complete within 2 seconds, took: " + validationTime + "ms");
+        System.out.println("Validating 1000000 village codes took: " + validationTime + "ms");
+    }
+
+    @Test
+    void testCodeParsingPerformance() {
+        String[] texts = {"32.73.01.1001", "3171061001", " 32-73-01 ", "garbage"};
+
+        long startTime = System.currentTimeMillis();
+        long valid = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            if (CodeParser.parse(texts[i & 3]) != CodeParser.INVALID) {
+                valid++;
+            }
+        }
+        long endTime = System.currentTimeMillis();
+
+        long parseTime = endTime - startTime;
+        assertEquals(750_000, valid);
+        assertTrue(parseTime < 1000, "Parsing 1000000 codes should complete within 1 second, took: " + parseTime + "ms");
+        System.out.println("Parsing 1000000 codes took: " + parseTime + "ms");
+    }
+
+    @Test
+    void testBatchVillageLookupPerformance() {
+        List<Village> villages = service.getAllVillages();
+        long[] codes = new long[500];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = villages.get((i * 7919) % villages.size()).getCode();
+        }
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(codes.length, service.buildFromVillageCodes(codes).size());
+        }
+        long endTime = System.currentTimeMillis();
+
+        long batchTime = endTime - startTime;
+        assertTrue(batchTime < 2000, "1000 batches of 500 village hierarchies should complete within 2 seconds, took: " + batchTime + "ms");
+        System.out.println("1000 batches of 500 village hierarchies took: " + batchTime + "ms");
+    }
+
     private Map<Long, Province> createLargeProvincesMap(int count) {
         Map<Long, Province> provinces = new HashMap<>();
         for (int i = 1; i <= count; i++) {
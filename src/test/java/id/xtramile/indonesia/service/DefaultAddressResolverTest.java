@@ -0,0 +1,227 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.IndonesiaDataLoader;
+import id.xtramile.indonesia.cache.InMemoryIndonesiaCache;
+import id.xtramile.indonesia.exception.DataLoadException;
+import id.xtramile.indonesia.model.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultAddressResolverTest {
+
+    @Mock
+    private IndonesiaDataLoader loader;
+
+    private DefaultIndonesiaService service;
+
+    private DefaultAddressResolver resolver;
+
+    @BeforeEach
+    void setUp() throws DataLoadException {
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(31L, new Province(31L, "DAERAH KHUSUS IBUKOTA JAKARTA", -6.2, 106.8));
+        provinces.put(32L, new Province(32L, "JAWA BARAT", -6.9, 107.6));
+        provinces.put(34L, new Province(34L, "DAERAH ISTIMEWA YOGYAKARTA", -7.8, 110.4));
+
+        Map<Long, City> cities = new HashMap<>();
+        cities.put(3171L, new City(3171L, 31L, "KOTA ADMINISTRASI JAKARTA PUSAT", -6.18, 106.83));
+        cities.put(3204L, new City(3204L, 32L, "KABUPATEN BANDUNG", -7.1, 107.6));
+        cities.put(3273L, new City(3273L, 32L, "KOTA BANDUNG", -6.91, 107.61));
+
+        Map<Long, District> districts = new HashMap<>();
+        districts.put(317101L, new District(317101L, 3171L, "GAMBIR", -6.17, 106.82));
+        districts.put(317106L, new District(317106L, 3171L, "MENTENG", -6.19, 106.84));
+        districts.put(320401L, new District(320401L, 3204L, "CILEUNYI", -6.93, 107.74));
+        districts.put(327301L, new District(327301L, 3273L, "SUKASARI", -6.87, 107.58));
+        districts.put(327302L, new District(327302L, 3273L, "COBLONG", -6.88, 107.62));
+
+        Map<Long, Village> villages = new HashMap<>();
+        villages.put(3171011001L, new Village(3171011001L, 317101L, "GAMBIR", -6.17, 106.82));
+        villages.put(3171061001L, new Village(3171061001L, 317106L, "MENTENG", -6.19, 106.83));
+        villages.put(3171061002L, new Village(3171061002L, 317106L, "PEGANGSAAN", -6.20, 106.84));
+        villages.put(3273011001L, new Village(3273011001L, 327301L, "SUKARASA", -6.87, 107.59));
+
+        when(loader.loadProvinces()).thenReturn(provinces);
+        when(loader.loadCities()).thenReturn(cities);
+        when(loader.loadDistricts()).thenReturn(districts);
+        when(loader.loadVillages()).thenReturn(villages);
+
+        service = new DefaultIndonesiaService(new InMemoryIndonesiaCache(), loader);
+        resolver = new DefaultAddressResolver(service);
+    }
+
+    @Test
+    void testConstructorRejectsNullService() {
+        assertThrows(NullPointerException.class, () -> new DefaultAddressResolver(null));
+    }
+
+    @Test
+    void testResolveFullAddress() {
+        Optional<AddressMatch> match = resolver.resolve("Kel. Menteng, Kec. Menteng, Jakarta Pusat, DKI Jakarta");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.VILLAGE, match.get().getLevel());
+        assertEquals(3171061001L, match.get().getIndonesia().getVillage().getCode());
+        assertEquals(317106L, match.get().getIndonesia().getDistrict().getCode());
+        assertEquals(3171L, match.get().getIndonesia().getCity().getCode());
+        assertEquals(31L, match.get().getIndonesia().getProvince().getCode());
+        assertTrue(match.get().getConfidence() > 0.8);
+    }
+
+    @Test
+    void testResolveIgnoresStreetAndPostalCode() {
+        Optional<AddressMatch> match = resolver.resolve("Jl. Sukarasa No. 5, Sukarasa, Sukasari, Kota Bandung, Jawa Barat 40152");
+
+        assertTrue(match.isPresent());
+        assertEquals(3273011001L, match.get().getIndonesia().getVillage().getCode());
+    }
+
+    @Test
+    void testCityMarkerDistinguishesRegencyFromMunicipality() {
+        Optional<AddressMatch> regency = resolver.resolve("Kab. Bandung, Jabar");
+        Optional<AddressMatch> municipality = resolver.resolve("Kota Bandung, Jabar");
+
+        assertTrue(regency.isPresent());
+        assertTrue(municipality.isPresent());
+        assertEquals(AdministrativeLevel.CITY, regency.get().getLevel());
+        assertEquals(3204L, regency.get().getIndonesia().getCity().getCode());
+        assertEquals(3273L, municipality.get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testLowerLevelsDecideBetweenCitiesSharingAName() {
+        Optional<AddressMatch> match = resolver.resolve("Kec. Coblong, Bandung, Jawa Barat");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.DISTRICT, match.get().getLevel());
+        assertEquals(327302L, match.get().getIndonesia().getDistrict().getCode());
+        assertEquals(3273L, match.get().getIndonesia().getCity().getCode());
+        assertEquals(0.75, match.get().getConfidence(), 1e-9);
+    }
+
+    @Test
+    void testContainedCityNamePrefersFullName() {
+        Optional<AddressMatch> match = resolver.resolve("Rumah Kota Bandung");
+        Optional<AddressMatch> withPreposition = resolver.resolve("Rumah di Kota Bandung");
+
+        assertTrue(match.isPresent());
+        assertTrue(withPreposition.isPresent());
+        assertEquals(3273L, match.get().getIndonesia().getCity().getCode());
+        assertEquals(3273L, withPreposition.get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testWeakContainedMatchIsRejected() {
+        assertFalse(resolver.resolve("Toko roti enak di jalan panjang sekali bandung").isPresent());
+    }
+
+    @Test
+    void testSpecialRegionAbbreviationOnlyMatchesProvinces() {
+        Optional<AddressMatch> province = resolver.resolve("DI Yogyakarta");
+
+        assertTrue(province.isPresent());
+        assertEquals(AdministrativeLevel.PROVINCE, province.get().getLevel());
+        assertEquals(34L, province.get().getIndonesia().getProvince().getCode());
+
+        List<DefaultAddressResolver.Part> parts = DefaultAddressResolver.parse("Rumah di Bandung, DI Yogyakarta");
+        assertEquals("rumah di bandung", parts.get(0).text);
+        assertEquals("rumah di bandung", parts.get(0).provinceText);
+        assertEquals("di yogyakarta", parts.get(1).text);
+        assertEquals("daerah istimewa yogyakarta", parts.get(1).provinceText);
+    }
+
+    @Test
+    void testNamesAreRebuiltAfterRefresh() throws DataLoadException {
+        Optional<AddressMatch> before = resolver.resolve("Kec. Cidadap, Kota Bandung");
+        assertTrue(before.isPresent());
+        assertEquals(AdministrativeLevel.CITY, before.get().getLevel());
+
+        Map<Long, District> districts = new HashMap<>(loader.loadDistricts());
+        districts.put(327303L, new District(327303L, 3273L, "CIDADAP", -6.86, 107.60));
+        when(loader.loadDistricts()).thenReturn(districts);
+        service.refreshData();
+
+        Optional<AddressMatch> match = resolver.resolve("Kec. Cidadap, Kota Bandung");
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.DISTRICT, match.get().getLevel());
+        assertEquals(327303L, match.get().getIndonesia().getDistrict().getCode());
+    }
+
+    @Test
+    void testMissingLevelsAreFilledFromDeepestMatch() {
+        Optional<AddressMatch> match = resolver.resolve("Pegangsaan, Menteng");
+
+        assertTrue(match.isPresent());
+        assertEquals(3171061002L, match.get().getIndonesia().getVillage().getCode());
+        assertEquals(31L, match.get().getIndonesia().getProvince().getCode());
+        assertTrue(match.get().getConfidence() < 1.0);
+    }
+
+    @Test
+    void testUnresolvableAddress() {
+        assertFalse(resolver.resolve(null).isPresent());
+        assertFalse(resolver.resolve("   ").isPresent());
+        assertFalse(resolver.resolve("12345").isPresent());
+        assertFalse(resolver.resolve("Nowhere Street, Atlantis").isPresent());
+    }
+
+    @Test
+    void testResolveAddressWithoutSeparators() {
+        Optional<AddressMatch> match = resolver.resolve("Kelurahan Gambir Kecamatan Gambir Jakarta Pusat");
+
+        assertTrue(match.isPresent());
+        assertEquals(AdministrativeLevel.VILLAGE, match.get().getLevel());
+        assertEquals(3171011001L, match.get().getIndonesia().getVillage().getCode());
+        assertEquals(317101L, match.get().getIndonesia().getDistrict().getCode());
+        assertEquals(3171L, match.get().getIndonesia().getCity().getCode());
+    }
+
+    @Test
+    void testParseSplitsOnLevelMarkers() {
+        List<DefaultAddressResolver.Part> parts = DefaultAddressResolver.parse("Kelurahan Gambir Kecamatan Gambir Jakarta Pusat");
+
+        assertEquals(3, parts.size());
+        assertEquals("gambir", parts.get(0).text);
+        assertEquals(AdministrativeLevel.VILLAGE, parts.get(0).level);
+        assertEquals("gambir jakarta pusat", parts.get(1).text);
+        assertEquals(AdministrativeLevel.DISTRICT, parts.get(1).level);
+        assertEquals("gambir jakarta pusat", parts.get(2).text);
+        assertNull(parts.get(2).level);
+
+        List<DefaultAddressResolver.Part> name = DefaultAddressResolver.parse("Kecamatan Kota Baru");
+        assertEquals(1, name.size());
+        assertEquals("kota baru", name.get(0).text);
+        assertEquals(AdministrativeLevel.DISTRICT, name.get(0).level);
+    }
+
+    @Test
+    void testParseRecognizesMarkersAndAbbreviations() {
+        List<DefaultAddressResolver.Part> parts = DefaultAddressResolver.parse("Kel. Menteng; Kec.Menteng\nProv. DKI Jakarta 10310");
+
+        assertEquals(3, parts.size());
+        assertEquals("menteng", parts.get(0).text);
+        assertEquals(AdministrativeLevel.VILLAGE, parts.get(0).level);
+        assertEquals("menteng", parts.get(1).text);
+        assertEquals(AdministrativeLevel.DISTRICT, parts.get(1).level);
+        assertEquals("daerah khusus ibukota jakarta", parts.get(2).text);
+        assertEquals(AdministrativeLevel.PROVINCE, parts.get(2).level);
+    }
+
+    @Test
+    void testNormalize() {
+        assertEquals("kep siau tagulandang biaro", DefaultAddressResolver.normalize("KEP. SIAU  TAGULANDANG-BIARO "));
+        assertEquals("tanjung karang", DefaultAddressResolver.normalize("Tanjung' Karang"));
+    }
+}
@@ -0,0 +1,228 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.*;
+import id.xtramile.indonesia.spatial.GeoRegion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DefaultAsyncIndonesiaServiceTest {
+
+    @Mock
+    private IndonesiaService service;
+
+    private QueuedExecutor executor;
+
+    private DefaultAsyncIndonesiaService async;
+
+    private Village village;
+
+    @BeforeEach
+    void setUp() {
+        executor = new QueuedExecutor();
+        async = new DefaultAsyncIndonesiaService(service, executor);
+
+        village = new Village(3171061001L, 317106L, "MENTENG", -6.1960, 106.8320);
+        when(service.findVillage(3171061001L)).thenReturn(Optional.of(village));
+        when(service.getVillagesByDistrict(317106L)).thenReturn(Collections.singletonList(village));
+        when(service.searchVillages("menteng")).thenReturn(Collections.singletonList(village));
+    }
+
+    @Test
+    void testConstructorRejectsNull() {
+        assertThrows(NullPointerException.class, () -> new DefaultAsyncIndonesiaService(null));
+        assertThrows(NullPointerException.class, () -> new DefaultAsyncIndonesiaService(service, null));
+        assertSame(service, new DefaultAsyncIndonesiaService(service).getService());
+    }
+
+    @Test
+    void testLookupsCompleteOnCallingThread() {
+        CompletableFuture<Optional<Village>> found = async.findVillage(3171061001L);
+        CompletableFuture<List<Village>> children = async.getVillagesByDistrict(317106L);
+
+        assertTrue(found.isDone());
+        assertTrue(children.isDone());
+        assertEquals(Optional.of(village), found.join());
+        assertEquals(Collections.singletonList(village), children.join());
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    @Test
+    void testLookupFailureCompletesExceptionally() {
+        IllegalStateException failure = new IllegalStateException("cache unavailable");
+        when(service.findProvince(11L)).thenThrow(failure);
+
+        CompletableFuture<Optional<Province>> future = async.findProvince(11L);
+
+        assertTrue(future.isCompletedExceptionally());
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertSame(failure, thrown.getCause());
+    }
+
+    @Test
+    void testSearchesRunOnExecutor() {
+        CompletableFuture<List<Village>> future = async.searchVillages("menteng");
+
+        assertFalse(future.isDone());
+        verify(service, never()).searchVillages(anyString());
+
+        executor.runAll();
+
+        assertEquals(Collections.singletonList(village), future.join());
+    }
+
+    @Test
+    void testSpatialAndBulkQueriesRunOnExecutor() {
+        List<CompletableFuture<?>> futures = Arrays.asList(
+                async.findNearestVillage(-6.2, 106.8),
+                async.findNearestVillage(-6.2, 106.8, 31L),
+                async.findKNearest(AdministrativeLevel.CITY, -6.2, 106.8, 3),
+                async.findWithinRadius(AdministrativeLevel.CITY, -6.2, 106.8, 10.0),
+                async.getNeighbors(3171L, 3),
+                async.reverseGeocode(-6.2, 106.8),
+                async.getVillagesByProvince(31L),
+                async.search("menteng", 5),
+                async.refreshData());
+
+        assertEquals(futures.size(), executor.tasks.size());
+        futures.forEach(future -> assertFalse(future.isDone()));
+
+        executor.runAll();
+
+        futures.forEach(future -> assertTrue(future.isDone()));
+        verify(service).refreshData();
+        verify(service).findKNearest(AdministrativeLevel.CITY, -6.2, 106.8, 3);
+    }
+
+    @Test
+    void testRegionAndScopedQueriesRunOnExecutor() {
+        GeoRegion region = GeoRegion.boundingBox(-6.3, 106.7, -6.1, 106.9);
+        when(service.streamVillagesWithin(region)).thenReturn(Stream.of(village));
+
+        CompletableFuture<List<Village>> within = async.findVillagesWithin(region);
+        List<CompletableFuture<?>> futures = Arrays.asList(
+                within,
+                async.findProvincesWithin(region),
+                async.findCitiesWithin(region),
+                async.findDistrictsWithin(region),
+                async.findByGeohashPrefix(AdministrativeLevel.VILLAGE, "qqgu"),
+                async.clusterVillages(10, region),
+                async.findNearestProvince(-6.2, 106.8),
+                async.findNearestCity(-6.2, 106.8),
+                async.findNearestDistrict(-6.2, 106.8),
+                async.findNearestVillageByHierarchy(-6.2, 106.8, 3),
+                async.searchCities("jakarta", 31L),
+                async.searchDistricts("menteng", 3171L),
+                async.buildFromVillageCodes(new long[]{3171061001L}));
+
+        assertEquals(futures.size(), executor.tasks.size());
+        futures.forEach(future -> assertFalse(future.isDone()));
+        verify(service, never()).streamVillagesWithin(any());
+        verify(service, never()).findNearestVillageByHierarchy(anyDouble(), anyDouble(), anyInt());
+
+        executor.runAll();
+
+        futures.forEach(future -> assertTrue(future.isDone()));
+        assertEquals(Collections.singletonList(village), within.join());
+        verify(service).findByGeohashPrefix(AdministrativeLevel.VILLAGE, "qqgu");
+        verify(service).clusterVillages(10, region);
+        verify(service).searchCities("jakarta", 31L);
+        verify(service).searchDistricts("menteng", 3171L);
+    }
+
+    @Test
+    void testExecutorFailureCompletesExceptionally() {
+        when(service.search("menteng", 0)).thenThrow(new IllegalArgumentException("limit"));
+
+        CompletableFuture<List<SearchHit>> future = async.search("menteng", 0);
+        executor.runAll();
+
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(IllegalArgumentException.class, thrown.getCause());
+    }
+
+    @Test
+    void testBatchesCopyTheirCodes() {
+        long[] codes = {3171061001L, 9999999999L};
+        when(service.findVillages(any(long[].class))).thenAnswer(invocation -> {
+            long[] received = invocation.getArgument(0);
+            assertArrayEquals(new long[]{3171061001L, 9999999999L}, received);
+            return Arrays.asList(village, null);
+        });
+        when(service.validateCodes(eq(AdministrativeLevel.VILLAGE), any(long[].class))).thenReturn(new BitSet());
+        when(service.buildFromVillageCodes(any(long[].class))).thenAnswer(invocation -> {
+            long[] received = invocation.getArgument(0);
+            assertArrayEquals(new long[]{3171061001L, 9999999999L}, received);
+            return Arrays.asList(new Indonesia(null, null, null, village), null);
+        });
+
+        CompletableFuture<List<Village>> future = async.findVillages(codes);
+        CompletableFuture<BitSet> valid = async.validateCodes(AdministrativeLevel.VILLAGE, codes);
+        CompletableFuture<List<Indonesia>> built = async.buildFromVillageCodes(codes);
+        codes[0] = 0L;
+        executor.runAll();
+
+        assertEquals(Arrays.asList(village, null), future.join());
+        assertNotNull(valid.join());
+        assertEquals(2, built.join().size());
+    }
+
+    @Test
+    void testNullArgumentsAreRejectedBeforeSubmission() {
+        assertThrows(NullPointerException.class, () -> async.findVillages(null));
+        assertThrows(NullPointerException.class, () -> async.validateCodes(null, new long[0]));
+        assertThrows(NullPointerException.class, () -> async.validateCodes(AdministrativeLevel.VILLAGE, null));
+        assertThrows(NullPointerException.class, () -> async.findKNearest(null, 0.0, 0.0, 1));
+        assertThrows(NullPointerException.class, () -> async.findWithinRadius(null, 0.0, 0.0, 1.0));
+        assertThrows(NullPointerException.class, () -> async.buildFromVillageCodes(null));
+        assertThrows(NullPointerException.class, () -> async.findProvincesWithin(null));
+        assertThrows(NullPointerException.class, () -> async.findCitiesWithin(null));
+        assertThrows(NullPointerException.class, () -> async.findDistrictsWithin(null));
+        assertThrows(NullPointerException.class, () -> async.findVillagesWithin(null));
+        assertThrows(NullPointerException.class, () -> async.findByGeohashPrefix(null, "qqgu"));
+        assertThrows(NullPointerException.class, () -> async.findByGeohashPrefix(AdministrativeLevel.VILLAGE, null));
+        assertThrows(NullPointerException.class, () -> async.clusterVillages(10, null));
+        assertTrue(executor.tasks.isEmpty());
+    }
+
+    /**
+     * Executor that queues tasks until the test runs them.
+     */
+    private static final class QueuedExecutor implements Executor {
+
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+    }
+}
@@ -5,15 +5,28 @@ import id.xtramile.indonesia.IndonesiaDataLoader;
 import id.xtramile.indonesia.cache.CacheStats;
 import id.xtramile.indonesia.exception.DataLoadException;
 import id.xtramile.indonesia.model.*;
+import id.xtramile.indonesia.spatial.ClusterIndex;
+import id.xtramile.indonesia.spatial.GeoRegion;
+import id.xtramile.indonesia.spatial.GeohashIndex;
+import id.xtramile.indonesia.spatial.NeighborIndex;
+import id.xtramile.indonesia.spatial.SpatialIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -257,6 +270,28 @@ class DefaultIndonesiaServiceTest {
         assertEquals(village1, result.get());
     }
 
+    @Test
+    void testBoxedLookupsDelegateToPrimitiveOverloads() {
+        Long villageCode = 1101011001L;
+        Long cityCode = 1101L;
+        Long missing = null;
+
+        assertEquals(Optional.of(village1), service.findVillage(villageCode));
+        assertEquals(Optional.of(city1), service.findCity(cityCode));
+        assertEquals(1, service.getDistrictsByCity(cityCode).size());
+        verify(cache).getVillage(1101011001L);
+        verify(cache).getCity(1101L);
+
+        clearInvocations(cache);
+        assertFalse(service.findProvince(missing).isPresent());
+        assertFalse(service.findVillage(missing).isPresent());
+        assertTrue(service.getCitiesByProvince(missing).isEmpty());
+        assertTrue(service.getVillagesByProvince(missing).isEmpty());
+        assertFalse(service.findNearestVillage(-6.2, 106.8, missing).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> service.getNeighbors(missing, 0));
+        verifyNoInteractions(cache);
+    }
+
     @Test
     void testGetVillagesByDistrict() {
         List<Village> result = service.getVillagesByDistrict(110101L);
@@ -359,6 +394,77 @@ class DefaultIndonesiaServiceTest {
         assertNull(nullResult.getVillage());
     }
 
+    @Test
+    void testFindVillages() {
+        long[] codes = {1201011001L, 1101011002L, 1101011001L, -1L, 1201011001L};
+
+        List<Village> villages = service.findVillages(codes);
+
+        assertEquals(Arrays.asList(village2, null, village1, null, village2), villages);
+        assertTrue(service.findVillages(new long[0]).isEmpty());
+        assertThrows(NullPointerException.class, () -> service.findVillages(null));
+        verify(cache, times(1)).getVillage(1201011001L);
+        verify(cache, never()).getVillage(-1L);
+    }
+
+    @Test
+    void testFindVillagesLooksUpCodesInCodeOrder() {
+        // Codes of 2^33 and above, such as those of Papua, must still sort after lower codes
+        long[] codes = {9471011001L, 1101011001L, 8601011001L, 1201011001L};
+
+        service.findVillages(codes);
+
+        InOrder inOrder = inOrder(cache);
+        inOrder.verify(cache).getVillage(1101011001L);
+        inOrder.verify(cache).getVillage(1201011001L);
+        inOrder.verify(cache).getVillage(8601011001L);
+        inOrder.verify(cache).getVillage(9471011001L);
+    }
+
+    @Test
+    void testBuildFromVillageCodes() {
+        Village village3 = new Village(1101011002L, 110101L, "Kebon Kelapa", -6.1700, 106.8200);
+        when(cache.getVillage(1101011002L)).thenReturn(village3);
+        long[] codes = {1201011001L, 1101011002L, 9999999999L, 1101011001L, 1201011001L};
+
+        List<Indonesia> hierarchies = service.buildFromVillageCodes(codes);
+
+        assertEquals(5, hierarchies.size());
+        assertEquals(village2, hierarchies.get(0).getVillage());
+        assertEquals(province2, hierarchies.get(0).getProvince());
+        assertEquals(city2, hierarchies.get(0).getCity());
+        assertEquals(district2, hierarchies.get(0).getDistrict());
+        assertEquals(village3, hierarchies.get(1).getVillage());
+        assertEquals(district1, hierarchies.get(1).getDistrict());
+        assertNull(hierarchies.get(2));
+        assertEquals(village1, hierarchies.get(3).getVillage());
+        assertEquals(province1, hierarchies.get(3).getProvince());
+        assertSame(hierarchies.get(0), hierarchies.get(4));
+        assertThrows(NullPointerException.class, () -> service.buildFromVillageCodes(null));
+
+        // Villages of the same district share one lookup of each parent
+        verify(cache, times(1)).getDistrict(110101L);
+        verify(cache, times(1)).getCity(1101L);
+        verify(cache, times(1)).getProvince(11L);
+    }
+
+    @Test
+    void testBuildFromUsesPrecomputedHierarchy() {
+        Indonesia shared = new Indonesia(province1, city1, district1, village1);
+        when(cache.getHierarchy(village1)).thenReturn(shared);
+        when(cache.getHierarchy(city2)).thenReturn(new Indonesia(province2, city2, null, null));
+
+        assertSame(shared, service.buildFrom(village1));
+        assertSame(shared, service.buildFromVillageCodes(new long[]{1101011001L}).get(0));
+        verify(cache, never()).getDistrict(anyLong());
+
+        // A hierarchy of an equal but different instance is not reused
+        City copy = new City(1201L, 12L, "Medan", 3.5833, 98.6667);
+        Indonesia built = service.buildFrom(copy);
+        assertSame(copy, built.getCity());
+        assertEquals(province2, built.getProvince());
+    }
+
     @Test
     void testRefreshData() throws DataLoadException {
         service.refreshData();
@@ -366,6 +472,34 @@ class DefaultIndonesiaServiceTest {
         verify(loader, times(2)).loadProvinces(); // Once in constructor, once in refreshData
     }
 
+    @Test
+    void testConcurrentRefreshesAreSerialized() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            active.decrementAndGet();
+            return null;
+        }).when(cache).refresh();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> refreshes = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                refreshes.add(executor.submit(() -> service.refreshData()));
+            }
+            for (Future<?> refresh : refreshes) {
+                refresh.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, maxActive.get());
+        verify(cache, times(4)).refresh();
+    }
+
     @Test
     void testRefreshDataThrowsException() throws DataLoadException {
         doThrow(new DataLoadException("Error")).when(cache).refresh();
@@ -392,5 +526,490 @@ class DefaultIndonesiaServiceTest {
         assertEquals(2, stats.getProvinceCount());
         verify(cache).getStats();
     }
-}
 
+    @Test
+    void testSearchVillagesScoped() {
+        when(cache.getVillagesInCodeRange(1101000000L, 1102000000L)).thenReturn(Collections.singletonList(village1));
+        when(cache.getVillagesInCodeRange(1101010000L, 1101020000L)).thenReturn(Collections.singletonList(village1));
+        when(cache.getVillagesInCodeRange(1200000000L, 1300000000L)).thenReturn(Collections.singletonList(village2));
+
+        List<Village> inCity = service.searchVillages("gambir", 1101L);
+        assertEquals(1, inCity.size());
+        assertEquals(village1, inCity.get(0));
+
+        List<Village> inDistrict = service.searchVillages("GAMBIR", 110101L);
+        assertEquals(1, inDistrict.size());
+
+        List<Village> otherProvince = service.searchVillages("Gambir", 12L);
+        assertTrue(otherProvince.isEmpty());
+
+        List<Village> allInProvince = service.searchVillages("", 12L);
+        assertEquals(1, allInProvince.size());
+        assertEquals(village2, allInProvince.get(0));
+
+        assertTrue(service.searchVillages("Gambir", null).isEmpty());
+        assertTrue(service.searchVillages("Gambir", 1101011001L).isEmpty());
+    }
+
+    @Test
+    void testSearchCitiesAndDistrictsScoped() {
+        when(cache.getCitiesInCodeRange(1100L, 1200L)).thenReturn(Collections.singletonList(city1));
+        when(cache.getDistrictsInCodeRange(120100L, 120200L)).thenReturn(Collections.singletonList(district2));
+
+        List<City> cities = service.searchCities("pusat", 11L);
+        assertEquals(1, cities.size());
+        assertEquals(city1, cities.get(0));
+        assertTrue(service.searchCities("pusat", 1101L).isEmpty());
+
+        List<District> districts = service.searchDistricts("medan", 1201L);
+        assertEquals(1, districts.size());
+        assertEquals(district2, districts.get(0));
+        assertTrue(service.searchDistricts("medan", 120101L).isEmpty());
+    }
+
+    @Test
+    void testGetVillagesPage() {
+        when(cache.getVillagesInCodeRange(0L, Long.MAX_VALUE)).thenReturn(Arrays.asList(village1, village2));
+
+        Page<Village> first = service.getVillagesPage(0, 1);
+        assertEquals(1, first.getItems().size());
+        assertEquals(village1, first.getItems().get(0));
+        assertEquals(2, first.getTotalCount());
+        assertTrue(first.hasNext());
+        assertEquals(Long.valueOf(1101011001L), first.getNextCursor());
+
+        Page<Village> second = service.getVillagesPage(first.getNextOffset(), 1);
+        assertEquals(village2, second.getItems().get(0));
+        assertFalse(second.hasNext());
+        assertNull(second.getNextCursor());
+
+        Page<Village> beyond = service.getVillagesPage(5, 10);
+        assertTrue(beyond.getItems().isEmpty());
+        assertEquals(2, beyond.getOffset());
+
+        assertThrows(IllegalArgumentException.class, () -> service.getVillagesPage(-1, 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getVillagesPage(0, 0));
+    }
+
+    @Test
+    void testGetVillagesPageAfter() {
+        when(cache.getVillagesInCodeRange(0L, Long.MAX_VALUE)).thenReturn(Arrays.asList(village1, village2));
+
+        Page<Village> first = service.getVillagesPageAfter(null, 1);
+        assertEquals(village1, first.getItems().get(0));
+
+        Page<Village> second = service.getVillagesPageAfter(first.getNextCursor(), 1);
+        assertEquals(1, second.getOffset());
+        assertEquals(village2, second.getItems().get(0));
+        assertFalse(second.hasNext());
+
+        Page<Village> between = service.getVillagesPageAfter(village1.getCode() + 1, 1);
+        assertEquals(1, between.getOffset());
+        assertEquals(village2, between.getItems().get(0));
+
+        Page<Village> past = service.getVillagesPageAfter(Long.MAX_VALUE, 1);
+        assertTrue(past.getItems().isEmpty());
+        assertEquals(2, past.getOffset());
+
+        verify(cache, times(4)).getVillagesInCodeRange(0L, Long.MAX_VALUE);
+        verify(cache, never()).getVillagesInCodeRange(longThat(from -> from != 0L), anyLong());
+    }
+
+    @Test
+    void testStreamVillages() {
+        when(cache.getVillagesInCodeRange(0L, Long.MAX_VALUE)).thenReturn(Arrays.asList(village1, village2));
+        when(cache.getVillagesInCodeRange(1200000000L, 1300000000L)).thenReturn(Collections.singletonList(village2));
+
+        assertEquals(2, service.streamVillages().count());
+        assertEquals(1, service.streamVillages(12L).count());
+        assertEquals(0, service.streamVillages(null).count());
+        assertEquals(0, service.getVillagesPage(null, 0, 10).getTotalCount());
+
+        List<Village> matches = service.streamSearchVillages("medan").collect(Collectors.toList());
+        assertEquals(1, matches.size());
+        assertEquals(village2, matches.get(0));
+        assertEquals(2, service.streamSearchVillages("").count());
+    }
+
+    @Test
+    void testStreamSearchVillagesKeepsCodeOrderAfterSearch() {
+        Map<Long, Village> villages = new LinkedHashMap<>();
+        villages.put(village2.getCode(), village2);
+        villages.put(village1.getCode(), village1);
+        doReturn(villages).when(cache).getVillages();
+        when(cache.getVillagesInCodeRange(0L, Long.MAX_VALUE)).thenReturn(Arrays.asList(village1, village2));
+
+        assertEquals(Arrays.asList(village2, village1), service.searchVillages("a"));
+        assertEquals(Arrays.asList(village1, village2), service.streamSearchVillages("a").collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamSearchVillagesWithinParent() {
+        Village medanTimur = new Village(1201011002L, 120101L, "Medan Timur", 3.5900, 98.6800);
+        when(cache.getVillagesInCodeRange(1200000000L, 1300000000L)).thenReturn(Arrays.asList(village2, medanTimur));
+
+        assertEquals(Collections.singletonList(medanTimur),
+                service.streamSearchVillages("timur", 12L).collect(Collectors.toList()));
+        assertEquals(2, service.streamSearchVillages("", 12L).count());
+        assertEquals(0, service.streamSearchVillages("medan", 99L).count());
+        assertEquals(0, service.streamSearchVillages("medan", null).count());
+
+        List<Village> searched = service.searchVillages("medan", 12L);
+        assertEquals(searched, service.streamSearchVillages("medan", 12L).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testConcurrentIdenticalSearchesAreCoalesced() throws Exception {
+        int threads = 8;
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger scans = new AtomicInteger();
+        Map<Long, Village> villages = cache.getVillages();
+
+        when(cache.getVillages()).thenAnswer(invocation -> {
+            scans.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return villages;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<Village>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    return service.searchVillages(" Gambir ");
+                }));
+            }
+
+            assertTrue(ready.await(5, TimeUnit.SECONDS));
+            Thread.sleep(100);
+            release.countDown();
+
+            List<Village> first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<List<Village>> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    void testFailedSearchIsNotCached() {
+        when(cache.getProvinces()).thenThrow(new IllegalStateException("boom"));
+        assertThrows(IllegalStateException.class, () -> service.searchProvinces("Jakarta"));
+
+        Map<Long, Province> provinces = new HashMap<>();
+        provinces.put(11L, province1);
+        doReturn(provinces).when(cache).getProvinces();
+        assertEquals(1, service.searchProvinces("Jakarta").size());
+    }
+
+    @Test
+    void testRefreshPrewarmsPopularSearches() {
+        DefaultIndonesiaService prewarming = new DefaultIndonesiaService(cache, loader, 1);
+        prewarming.searchVillages("gambir");
+        prewarming.searchVillages("gambir");
+        prewarming.searchVillages("medan");
+
+        clearInvocations(cache);
+        prewarming.refreshData();
+        verify(cache, times(1)).getVillages();
+
+        assertEquals(1, prewarming.searchVillages("gambir").size());
+        verify(cache, times(1)).getVillages();
+
+        assertEquals(1, prewarming.searchVillages("medan").size());
+        verify(cache, times(2)).getVillages();
+
+        assertThrows(IllegalArgumentException.class, () -> new DefaultIndonesiaService(cache, loader, -1));
+    }
+
+    @Test
+    void testRefreshPrewarmsScopedSearchesAgainstNewData() {
+        Village renamed = new Village(1101011001L, 110101L, "Gambir Baru", -6.1751, 106.8208);
+        when(cache.getVillagesInCodeRange(1100000000L, 1200000000L)).thenReturn(Collections.singletonList(village1));
+
+        DefaultIndonesiaService prewarming = new DefaultIndonesiaService(cache, loader, 1);
+        assertEquals(Collections.singletonList(village1), prewarming.searchVillages("gambir", 11L));
+
+        when(cache.getVillagesInCodeRange(1100000000L, 1200000000L)).thenReturn(Collections.singletonList(renamed));
+        clearInvocations(cache);
+        prewarming.refreshData();
+        verify(cache, times(1)).getVillagesInCodeRange(1100000000L, 1200000000L);
+
+        assertEquals(Collections.singletonList(renamed), prewarming.searchVillages("gambir", 11L));
+        assertEquals(Collections.singletonList(renamed), prewarming.streamSearchVillages("gambir", 11L)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRefreshKeepsOnlyMostRequestedSearches() {
+        DefaultIndonesiaService prewarming = new DefaultIndonesiaService(cache, loader, 1);
+        for (int i = 0; i < 3; i++) {
+            prewarming.searchVillages("gambir");
+        }
+        for (int i = 0; i < 2; i++) {
+            prewarming.searchVillages("medan");
+        }
+
+        prewarming.refreshData();
+        for (int i = 0; i < 3; i++) {
+            prewarming.searchVillages("medan");
+        }
+
+        // The hits of "medan" before the first refresh were dropped with its record
+        clearInvocations(cache);
+        prewarming.refreshData();
+        verify(cache, times(1)).getVillages();
+
+        prewarming.searchVillages("gambir");
+        verify(cache, times(1)).getVillages();
+    }
+
+    @Test
+    void testSearchAcrossLevels() {
+        List<SearchHit> hits = service.search("gambir", 10);
+        assertEquals(2, hits.size());
+        assertEquals(AdministrativeLevel.DISTRICT, hits.get(0).getLevel());
+        assertEquals(110101L, hits.get(0).getCode());
+        assertEquals(district1, hits.get(0).getIndonesia().getDistrict());
+        assertEquals(province1, hits.get(0).getIndonesia().getProvince());
+        assertEquals(AdministrativeLevel.VILLAGE, hits.get(1).getLevel());
+        assertEquals(village1, hits.get(1).getIndonesia().getVillage());
+        assertTrue(hits.get(0).getScore() > hits.get(1).getScore());
+
+        List<SearchHit> jakarta = service.search("Jakarta", 1);
+        assertEquals(1, jakarta.size());
+        assertEquals(AdministrativeLevel.PROVINCE, jakarta.get(0).getLevel());
+        assertEquals(1.0, jakarta.get(0).getScore(), 1e-9);
+
+        assertTrue(service.search("", 10).isEmpty());
+        assertTrue(service.search(null, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.search("gambir", 0));
+    }
+
+    @Test
+    void testFindNearestUsesSpatialIndex() {
+        when(cache.getVillageSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude));
+        when(cache.getProvinceSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(province1, province2), Province::getLatitude, Province::getLongitude));
+
+        assertEquals(Optional.of(village2), service.findNearestVillage(3.6, 98.7));
+        assertEquals(Optional.of(province1), service.findNearestProvince(-6.3, 106.9));
+        verify(cache, never()).getVillages();
+    }
+
+    @Test
+    void testFindNearestWithoutIndex() {
+        when(cache.getCitySpatialIndex()).thenReturn(SpatialIndex.empty());
+
+        assertFalse(service.findNearestCity(-6.2, 106.8).isPresent());
+        assertFalse(service.findNearestDistrict(-6.2, 106.8).isPresent());
+    }
+
+    @Test
+    void testReverseGeocode() {
+        when(cache.getVillageSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude));
+
+        Optional<Indonesia> result = service.reverseGeocode(-6.18, 106.82);
+
+        assertTrue(result.isPresent());
+        assertEquals(village1, result.get().getVillage());
+        assertEquals(district1, result.get().getDistrict());
+        assertEquals(city1, result.get().getCity());
+        assertEquals(province1, result.get().getProvince());
+    }
+
+    @Test
+    void testFindNearestToNonFiniteLocation() {
+        when(cache.getVillageSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude));
+
+        assertFalse(service.findNearestVillage(Double.NaN, 106.8).isPresent());
+        assertFalse(service.reverseGeocode(Double.NaN, Double.NaN).isPresent());
+    }
+
+    @Test
+    void testReverseGeocodeFallsBackToDeepestLoadedLevel() {
+        when(cache.getVillageSpatialIndex()).thenReturn(SpatialIndex.empty());
+        when(cache.getDistrictSpatialIndex()).thenReturn(SpatialIndex.empty());
+        when(cache.getCitySpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(city1, city2), City::getLatitude, City::getLongitude));
+
+        Optional<Indonesia> result = service.reverseGeocode(3.5, 98.6);
+
+        assertTrue(result.isPresent());
+        assertEquals(city2, result.get().getCity());
+        assertEquals(province2, result.get().getProvince());
+        assertNull(result.get().getVillage());
+        assertFalse(new DefaultIndonesiaService(mock(IndonesiaDataCache.class), loader).reverseGeocode(0.0, 0.0).isPresent());
+    }
+
+    @Test
+    void testFindKNearest() {
+        when(cache.getDistrictSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(district1, district2), District::getLatitude, District::getLongitude));
+
+        List<NearbyHit> hits = service.findKNearest(AdministrativeLevel.DISTRICT, -6.2, 106.8, 5);
+
+        assertEquals(2, hits.size());
+        assertEquals(110101L, hits.get(0).getCode());
+        assertEquals(120101L, hits.get(1).getCode());
+        assertEquals(AdministrativeLevel.DISTRICT, hits.get(0).getLevel());
+        assertEquals(city1, hits.get(0).getIndonesia().getCity());
+        assertTrue(hits.get(0).getDistance() < hits.get(1).getDistance());
+    }
+
+    @Test
+    void testFindWithinRadius() {
+        when(cache.getVillageSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude));
+
+        List<NearbyHit> hits = service.findWithinRadius(AdministrativeLevel.VILLAGE, -6.2, 106.8, 15.0);
+
+        assertEquals(1, hits.size());
+        assertEquals(village1, hits.get(0).getIndonesia().getVillage());
+        assertTrue(hits.get(0).getDistance() <= 15.0);
+        assertTrue(service.findWithinRadius(AdministrativeLevel.CITY, -6.2, 106.8, 15.0).isEmpty());
+    }
+
+    @Test
+    void testNearbyQueriesRejectInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> service.findKNearest(AdministrativeLevel.CITY, 0.0, 0.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.findWithinRadius(AdministrativeLevel.CITY, 0.0, 0.0, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> service.findWithinRadius(AdministrativeLevel.CITY, 0.0, 0.0, Double.NaN));
+        assertThrows(NullPointerException.class, () -> service.findKNearest(null, 0.0, 0.0, 1));
+    }
+
+    @Test
+    void testFindNearestWithinParent() {
+        when(cache.findNearestVillageInCodeRange(-6.2, 106.8, 1101000000L, 1102000000L)).thenReturn(village1);
+        when(cache.findNearestDistrictInCodeRange(3.5, 98.6, 120000L, 130000L)).thenReturn(district2);
+        when(cache.findNearestCityInCodeRange(3.5, 98.6, 1200L, 1300L)).thenReturn(city2);
+
+        assertEquals(Optional.of(village1), service.findNearestVillage(-6.2, 106.8, 1101L));
+        assertEquals(Optional.of(district2), service.findNearestDistrict(3.5, 98.6, 12L));
+        assertEquals(Optional.of(city2), service.findNearestCity(3.5, 98.6, 12L));
+        assertFalse(service.findNearestVillage(-6.2, 106.8, 123L).isPresent());
+        assertFalse(service.findNearestCity(-6.2, 106.8, 1101L).isPresent());
+        assertFalse(service.findNearestDistrict(-6.2, 106.8, null).isPresent());
+    }
+
+    @Test
+    void testStreamWithinRegion() {
+        when(cache.getVillageSpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude));
+        when(cache.getCitySpatialIndex()).thenReturn(
+                SpatialIndex.of(Arrays.asList(city1, city2), City::getLatitude, City::getLongitude));
+        GeoRegion jakarta = GeoRegion.boundingBox(-6.4, 106.6, -6.0, 107.0);
+
+        assertEquals(Collections.singletonList(village1), service.streamVillagesWithin(jakarta).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList(city2), service.streamCitiesWithin(
+                GeoRegion.polygon(new double[]{3.0, 4.0, 4.0}, new double[]{98.0, 98.0, 99.5})).collect(Collectors.toList()));
+        assertEquals(0, service.streamProvincesWithin(jakarta).count());
+        assertThrows(NullPointerException.class, () -> service.streamDistrictsWithin(null));
+        verify(cache, never()).getVillages();
+    }
+
+    @Test
+    void testFindByGeohashPrefix() {
+        when(cache.getVillageGeohashIndex()).thenReturn(
+                GeohashIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude));
+
+        List<GeohashHit> hits = service.findByGeohashPrefix(AdministrativeLevel.VILLAGE, "qqgu");
+
+        assertEquals(1, hits.size());
+        assertEquals(1101011001L, hits.get(0).getCode());
+        assertEquals(village1, hits.get(0).getIndonesia().getVillage());
+        assertEquals(city1, hits.get(0).getIndonesia().getCity());
+        assertTrue(hits.get(0).getGeohash().startsWith("qqgu"));
+        assertEquals(12, hits.get(0).getGeohash().length());
+        assertEquals(2, service.findByGeohashPrefix(AdministrativeLevel.VILLAGE, "").size());
+        assertTrue(service.findByGeohashPrefix(AdministrativeLevel.VILLAGE, "qqga!").isEmpty());
+        assertTrue(service.findByGeohashPrefix(AdministrativeLevel.CITY, "qqgu").isEmpty());
+        assertThrows(NullPointerException.class, () -> service.findByGeohashPrefix(null, "qqgu"));
+        assertThrows(NullPointerException.class, () -> service.findByGeohashPrefix(AdministrativeLevel.CITY, null));
+        verify(cache, never()).getVillages();
+    }
+
+    @Test
+    void testClusterVillages() {
+        when(cache.getVillageClusterIndex()).thenReturn(ClusterIndex.of(
+                GeohashIndex.of(Arrays.asList(village1, village2), Village::getLatitude, Village::getLongitude),
+                Village::getLatitude, Village::getLongitude));
+        GeoRegion indonesia = GeoRegion.boundingBox(-11.0, 95.0, 6.0, 141.0);
+
+        List<Cluster> clusters = service.clusterVillages(8, indonesia);
+
+        assertEquals(2, clusters.size());
+        assertEquals(1, service.clusterVillages(8, GeoRegion.boundingBox(-7.0, 106.0, -6.0, 107.0)).size());
+        assertEquals(2, service.clusterVillages(0, indonesia).stream().mapToInt(Cluster::getCount).sum());
+        assertThrows(IllegalArgumentException.class, () -> service.clusterVillages(-1, indonesia));
+        assertThrows(NullPointerException.class, () -> service.clusterVillages(5, null));
+        assertTrue(new DefaultIndonesiaService(mock(IndonesiaDataCache.class), loader).clusterVillages(5, indonesia).isEmpty());
+        verify(cache, never()).getVillages();
+    }
+
+    @Test
+    void testValidateCodes() {
+        long[] codes = {3171061001L, 1101L, 9999999999L};
+        BitSet existing = new BitSet();
+        existing.set(0);
+        when(cache.findExistingCodes(AdministrativeLevel.VILLAGE, codes)).thenReturn(existing);
+
+        assertEquals(existing, service.validateCodes(AdministrativeLevel.VILLAGE, codes));
+        assertTrue(service.validateCodes(AdministrativeLevel.CITY, codes).isEmpty());
+        assertThrows(NullPointerException.class, () -> service.validateCodes(null, codes));
+        assertThrows(NullPointerException.class, () -> service.validateCodes(AdministrativeLevel.CITY, null));
+        verify(cache, never()).getVillages();
+    }
+
+    @Test
+    void testGetNeighbors() {
+        District menteng = new District(110102L, 1101L, "Menteng", -6.1960, 106.8320);
+        when(cache.getDistrictNeighborIndex()).thenReturn(NeighborIndex.of(
+                SpatialIndex.of(Arrays.asList(district1, district2, menteng), District::getLatitude, District::getLongitude),
+                District::getCode, 2));
+        when(cache.getCityNeighborIndex()).thenReturn(NeighborIndex.of(
+                SpatialIndex.of(Arrays.asList(city1, city2), City::getLatitude, City::getLongitude), City::getCode, 2));
+
+        List<NearbyHit> hits = service.getNeighbors(110101L, 2);
+
+        assertEquals(2, hits.size());
+        assertEquals(110102L, hits.get(0).getCode());
+        assertEquals(120101L, hits.get(1).getCode());
+        assertEquals(AdministrativeLevel.DISTRICT, hits.get(0).getLevel());
+        assertTrue(hits.get(0).getDistance() < hits.get(1).getDistance());
+        assertEquals(city1, hits.get(0).getIndonesia().getCity());
+
+        List<NearbyHit> cityHits = service.getNeighbors(1201L, 3);
+        assertEquals(1, cityHits.size());
+        assertEquals(1101L, cityHits.get(0).getCode());
+
+        assertTrue(service.getNeighbors(11L, 3).isEmpty());
+        assertTrue(service.getNeighbors(999999L, 3).isEmpty());
+        assertTrue(service.getNeighbors(null, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> service.getNeighbors(110101L, 0));
+        verify(cache, never()).getDistricts();
+    }
+
+    @Test
+    void testFindNearestVillageByHierarchy() {
+        assertEquals(Optional.of(village1), service.findNearestVillageByHierarchy(-6.2, 106.8, 1));
+        assertEquals(Optional.of(village2), service.findNearestVillageByHierarchy(3.6, 98.7, 1));
+        assertEquals(Optional.of(village2), service.findNearestVillageByHierarchy(3.6, 98.7, 5));
+
+        when(cache.getVillagesByDistrictCode(120101L)).thenReturn(Collections.emptyList());
+        assertEquals(Optional.of(village1), service.findNearestVillageByHierarchy(3.6, 98.7, 2));
+
+        assertThrows(IllegalArgumentException.class, () -> service.findNearestVillageByHierarchy(0.0, 0.0, 0));
+        assertFalse(new DefaultIndonesiaService(mock(IndonesiaDataCache.class), loader).findNearestVillageByHierarchy(0.0, 0.0, 3).isPresent());
+        verify(cache, never()).getVillages();
+    }
+}
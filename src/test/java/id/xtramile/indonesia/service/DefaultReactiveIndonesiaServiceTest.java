@@ -0,0 +1,108 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.IndonesiaService;
+import id.xtramile.indonesia.model.Village;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DefaultReactiveIndonesiaServiceTest {
+
+    @Mock
+    private IndonesiaService service;
+
+    private DefaultReactiveIndonesiaService reactive;
+
+    private Village menteng;
+    private Village gondangdia;
+
+    @BeforeEach
+    void setUp() {
+        reactive = new DefaultReactiveIndonesiaService(service);
+
+        menteng = new Village(3171061001L, 317106L, "MENTENG", -6.1960, 106.8320);
+        gondangdia = new Village(3171061005L, 317106L, "GONDANGDIA", -6.1870, 106.8330);
+        when(service.streamVillages()).thenAnswer(invocation -> Stream.of(menteng, gondangdia));
+        when(service.streamVillages(31L)).thenAnswer(invocation -> Stream.of(menteng, gondangdia));
+        when(service.streamVillages(3171L)).thenAnswer(invocation -> Stream.of(menteng, gondangdia));
+        when(service.streamSearchVillages("menteng")).thenAnswer(invocation -> Stream.of(menteng));
+        when(service.streamSearchVillages("gondang", 317106L)).thenAnswer(invocation -> Stream.of(gondangdia));
+    }
+
+    @Test
+    void testConstructorRejectsNull() {
+        assertThrows(NullPointerException.class, () -> new DefaultReactiveIndonesiaService(null));
+        assertSame(service, reactive.getService());
+    }
+
+    @Test
+    void testStreamsAreOpenedOnSubscribe() {
+        Publisher<Village> publisher = reactive.getVillagesByProvince(31L);
+        verify(service, never()).streamVillages(anyLong());
+
+        assertEquals(Arrays.asList(menteng, gondangdia), collect(publisher));
+        assertEquals(Arrays.asList(menteng, gondangdia), collect(publisher));
+        verify(service, times(2)).streamVillages(31L);
+    }
+
+    @Test
+    void testPublishesVillageQueries() {
+        assertEquals(Arrays.asList(menteng, gondangdia), collect(reactive.getAllVillages()));
+        assertEquals(Arrays.asList(menteng, gondangdia), collect(reactive.getVillagesByCity(3171L)));
+        assertEquals(Arrays.asList(menteng), collect(reactive.searchVillages("menteng")));
+        assertEquals(Arrays.asList(gondangdia), collect(reactive.searchVillages("gondang", 317106L)));
+    }
+
+    @Test
+    void testCodesOfOtherLevelsPublishNothing() {
+        assertTrue(collect(reactive.getVillagesByProvince(3171L)).isEmpty());
+        assertTrue(collect(reactive.getVillagesByCity(31L)).isEmpty());
+        verify(service, never()).streamVillages(anyLong());
+    }
+
+    private static List<Village> collect(Publisher<Village> publisher) {
+        List<Village> villages = new ArrayList<>();
+        boolean[] completed = new boolean[1];
+        publisher.subscribe(new Subscriber<Village>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Village village) {
+                villages.add(village);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                fail(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+
+        assertTrue(completed[0]);
+        return villages;
+    }
+}
@@ -0,0 +1,272 @@
+package id.xtramile.indonesia.service;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IteratorPublisherTest {
+
+    @Test
+    void testEmitsOnlyRequestedElements() {
+        AtomicInteger reads = new AtomicInteger();
+        IteratorPublisher<Integer> publisher = new IteratorPublisher<>(() -> counting(range(10), reads));
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+        publisher.subscribe(subscriber);
+        assertTrue(subscriber.items.isEmpty());
+        assertEquals(0, reads.get());
+
+        subscriber.subscription.request(3);
+        assertEquals(Arrays.asList(0, 1, 2), subscriber.items);
+        assertEquals(3, reads.get());
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(range(10), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void testSourceIsNotQueriedWithoutDemand() {
+        AtomicInteger queries = new AtomicInteger();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+        new IteratorPublisher<>(() -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                queries.incrementAndGet();
+                return false;
+            }
+
+            @Override
+            public Integer next() {
+                throw new AssertionError("next() on an empty iterator");
+            }
+        }).subscribe(subscriber);
+
+        assertEquals(0, queries.get());
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+        assertEquals(1, queries.get());
+        assertTrue(subscriber.completed);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    @Test
+    void testExhaustionIsSignalledOnNextRequest() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>(2);
+        new IteratorPublisher<>(() -> range(2).iterator()).subscribe(subscriber);
+
+        assertEquals(range(2), subscriber.items);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testEverySubscriberGetsItsOwnIterator() {
+        AtomicInteger opened = new AtomicInteger();
+        IteratorPublisher<Integer> publisher = new IteratorPublisher<>(() -> {
+            opened.incrementAndGet();
+            return range(3).iterator();
+        });
+        RecordingSubscriber<Integer> first = new RecordingSubscriber<>(Long.MAX_VALUE);
+        RecordingSubscriber<Integer> second = new RecordingSubscriber<>(Long.MAX_VALUE);
+
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        assertEquals(2, opened.get());
+        assertEquals(range(3), first.items);
+        assertEquals(range(3), second.items);
+    }
+
+    @Test
+    void testNonPositiveRequestSignalsError() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        new IteratorPublisher<>(() -> range(5).iterator()).subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        subscriber.subscription.request(5);
+        assertTrue(subscriber.items.isEmpty());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testCancelStopsEmission() {
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 4) {
+                    subscription.cancel();
+                }
+            }
+        };
+        new IteratorPublisher<>(() -> range(100).iterator()).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertEquals(range(5), subscriber.items);
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void testSourceFailuresSignalError() {
+        IllegalStateException failure = new IllegalStateException("broken");
+        RecordingSubscriber<Integer> failedSource = new RecordingSubscriber<>(1);
+        new IteratorPublisher<Integer>(() -> {
+            throw failure;
+        }).subscribe(failedSource);
+
+        assertNotNull(failedSource.subscription);
+        assertSame(failure, failedSource.error);
+
+        RecordingSubscriber<Integer> nullElement = new RecordingSubscriber<>(Long.MAX_VALUE);
+        new IteratorPublisher<>(() -> Arrays.asList(1, null, 3).iterator()).subscribe(nullElement);
+
+        assertEquals(Collections.singletonList(1), nullElement.items);
+        assertInstanceOf(NullPointerException.class, nullElement.error);
+        assertThrows(NullPointerException.class, () -> new IteratorPublisher<>(Collections::emptyIterator).subscribe(null));
+    }
+
+    @Test
+    void testRequestsFromOnNextDoNotRecurse() {
+        int count = 1_000_000;
+        AtomicInteger received = new AtomicInteger();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                super.onSubscribe(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Integer item) {
+                received.incrementAndGet();
+                subscription.request(1);
+            }
+        };
+
+        new IteratorPublisher<>(() -> IntStream.range(0, count).boxed().iterator()).subscribe(subscriber);
+
+        assertEquals(count, received.get());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void testConcurrentRequestsEmitEveryElementOnce() throws Exception {
+        int count = 100_000;
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        new IteratorPublisher<>(() -> range(count).iterator()).subscribe(subscriber);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 4; t++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < count / 4; i++) {
+                        subscriber.subscription.request(1);
+                    }
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(range(count), subscriber.items);
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.completed);
+    }
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static Iterator<Integer> counting(List<Integer> items, AtomicInteger reads) {
+        Iterator<Integer> iterator = items.iterator();
+        return new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                reads.incrementAndGet();
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * Subscriber that records the signals it receives, optionally requesting upfront.
+     */
+    private static class RecordingSubscriber<T> implements Subscriber<T> {
+
+        final List<T> items = Collections.synchronizedList(new ArrayList<>());
+        private final long initialRequest;
+        volatile Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable error;
+
+        RecordingSubscriber() {
+            this(0L);
+        }
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package id.xtramile.indonesia.service;
+
+import id.xtramile.indonesia.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    @Test
+    void testMatchScoreOrdering() {
+        double exact = NameIndex.matchScore("menteng", "menteng");
+        double prefix = NameIndex.matchScore("menteng atas", "menteng");
+        double wordPrefix = NameIndex.matchScore("pasar menteng", "menteng");
+        double substring = NameIndex.matchScore("kamenteng", "menteng");
+
+        assertTrue(exact > prefix);
+        assertTrue(prefix > wordPrefix);
+        assertTrue(wordPrefix > substring);
+        assertTrue(substring > 0.0);
+        assertEquals(0.0, NameIndex.matchScore("gambir", "menteng"));
+    }
+
+    @Test
+    void testStripPrefix() {
+        assertEquals("bandung", NameIndex.stripPrefix("kota bandung"));
+        assertEquals("bandung", NameIndex.stripPrefix("kabupaten bandung"));
+        assertEquals("jakarta pusat", NameIndex.stripPrefix("kota administrasi jakarta pusat"));
+        assertEquals("kota", NameIndex.stripPrefix("kota"));
+        assertEquals("gambir", NameIndex.stripPrefix("gambir"));
+    }
+
+    @Test
+    void testSearchRanksAcrossLevels() {
+        Province province = new Province(32L, "JAWA BARAT", -6.9, 107.6);
+        City kota = new City(3273L, 32L, "KOTA BANDUNG", -6.9, 107.6);
+        City kabupaten = new City(3204L, 32L, "KABUPATEN BANDUNG", -7.0, 107.5);
+        District district = new District(327301L, 3273L, "BANDUNG KULON", -6.9, 107.5);
+        Village village = new Village(3204011001L, 320401L, "BANDUNG", -7.0, 107.5);
+
+        NameIndex index = NameIndex.build(Collections.singletonList(province), Arrays.asList(kota, kabupaten),
+                Collections.singletonList(district), Collections.singletonList(village));
+
+        List<NameIndex.Match> matches = index.search("bandung", 10);
+        assertEquals(4, matches.size());
+        assertSame(kabupaten, matches.get(0).entity);
+        assertSame(kota, matches.get(1).entity);
+        assertSame(village, matches.get(2).entity);
+        assertSame(district, matches.get(3).entity);
+        assertEquals(matches.get(0).score, matches.get(1).score, 1e-9);
+
+        List<NameIndex.Match> limited = index.search("bandung", 2);
+        assertEquals(2, limited.size());
+        assertSame(kabupaten, limited.get(0).entity);
+        assertSame(kota, limited.get(1).entity);
+
+        assertTrue(index.search("surabaya", 10).isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.model.Cluster;
+import id.xtramile.indonesia.model.Village;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterIndexTest {
+
+    private static final GeoRegion WORLD = GeoRegion.boundingBox(-90.0, -180.0, 90.0, 180.0);
+
+    @Test
+    void testEmptyIndex() {
+        assertEquals(0, ClusterIndex.empty().size());
+        assertTrue(ClusterIndex.empty().clusters(5, WORLD).isEmpty());
+    }
+
+    @Test
+    void testClustersAggregateCountsAndCentroids() {
+        Village a = new Village(1L, 1L, "A", -6.20, 106.80);
+        Village b = new Village(2L, 1L, "B", -6.22, 106.84);
+        Village c = new Village(3L, 1L, "C", 3.58, 98.67);
+        ClusterIndex index = index(Arrays.asList(a, b, c));
+
+        List<Cluster> clusters = index.clusters(5, WORLD);
+        assertEquals(2, clusters.size());
+
+        Cluster jakarta = clusters.stream().filter(cluster -> cluster.getCount() == 2).findFirst().orElseThrow(AssertionError::new);
+        assertEquals(-6.21, jakarta.getLatitude(), 1e-9);
+        assertEquals(106.82, jakarta.getLongitude(), 1e-9);
+
+        assertEquals(3, index.clusters(ClusterIndex.MAX_ZOOM + 1, WORLD).size());
+        assertEquals(1, index(Arrays.asList(a, b)).clusters(0, WORLD).size());
+    }
+
+    @Test
+    void testClustersWithinViewport() {
+        Village a = new Village(1L, 1L, "A", -6.20, 106.80);
+        Village c = new Village(3L, 1L, "C", 3.58, 98.67);
+        ClusterIndex index = index(Arrays.asList(a, c));
+
+        List<Cluster> clusters = index.clusters(10, GeoRegion.boundingBox(-7.0, 106.0, -6.0, 107.0));
+
+        assertEquals(1, clusters.size());
+        assertEquals(1, clusters.get(0).getCount());
+        assertEquals(-6.20, clusters.get(0).getLatitude(), 1e-9);
+    }
+
+    @Test
+    void testClustersPartitionAllUnits() {
+        Random random = new Random(29);
+        List<Village> villages = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            villages.add(new Village(i, 1L, "V" + i, -11.0 + random.nextDouble() * 17.0, 95.0 + random.nextDouble() * 46.0));
+        }
+        ClusterIndex index = index(villages);
+
+        int previous = 0;
+        for (int zoom : new int[]{0, 1, 2, 3, 8, 12, 16, ClusterIndex.MAX_ZOOM}) {
+            List<Cluster> clusters = index.clusters(zoom, WORLD);
+            double size = 360.0 / (1 << (zoom + 3));
+
+            assertEquals(5000, clusters.stream().mapToInt(Cluster::getCount).sum());
+            assertTrue(clusters.size() >= previous);
+            for (Cluster cluster : clusters) {
+                long column = (long) Math.floor((cluster.getLongitude() + 180.0) / size);
+                long row = (long) Math.floor((cluster.getLatitude() + 90.0) / size);
+                assertEquals(cluster.getCount(), villages.stream()
+                        .filter(village -> (long) Math.floor((village.getLongitude() + 180.0) / size) == column)
+                        .filter(village -> (long) Math.floor((village.getLatitude() + 90.0) / size) == row)
+                        .count());
+            }
+            previous = clusters.size();
+        }
+    }
+
+    @Test
+    void testLevelIsCachedPerZoom() {
+        ClusterIndex index = index(Collections.singletonList(new Village(1L, 1L, "A", -6.2, 106.8)));
+
+        assertSame(index.level(7), index.level(7));
+        assertSame(index.level(ClusterIndex.MAX_ZOOM), index.level(ClusterIndex.MAX_ZOOM + 5));
+        assertThrows(IllegalArgumentException.class, () -> index.clusters(-1, WORLD));
+        assertThrows(NullPointerException.class, () -> index.clusters(3, null));
+    }
+
+    private static ClusterIndex index(List<Village> villages) {
+        return ClusterIndex.of(GeohashIndex.of(villages, Village::getLatitude, Village::getLongitude),
+                Village::getLatitude, Village::getLongitude);
+    }
+}
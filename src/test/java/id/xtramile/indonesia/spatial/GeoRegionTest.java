@@ -0,0 +1,64 @@
+package id.xtramile.indonesia.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoRegionTest {
+
+    @Test
+    void testBoundingBoxContains() {
+        GeoRegion box = GeoRegion.boundingBox(-6.4, 106.6, -6.0, 107.0);
+
+        assertTrue(box.contains(-6.2, 106.8));
+        assertTrue(box.contains(-6.4, 106.6));
+        assertFalse(box.contains(-6.5, 106.8));
+        assertFalse(box.contains(-6.2, 107.1));
+    }
+
+    @Test
+    void testBoundingBoxAcrossAntimeridian() {
+        GeoRegion box = GeoRegion.boundingBox(-1.0, 170.0, 1.0, -170.0);
+
+        assertTrue(box.contains(0.0, 175.0));
+        assertTrue(box.contains(0.0, -175.0));
+        assertFalse(box.contains(0.0, 0.0));
+        assertTrue(box.intersects(-0.5, 0.5, -180.0, -175.0));
+        assertFalse(box.intersects(-0.5, 0.5, -100.0, 100.0));
+        assertTrue(box.covers(-0.5, 0.5, 171.0, 179.0));
+        assertFalse(box.covers(-0.5, 0.5, 160.0, 179.0));
+    }
+
+    @Test
+    void testBoundingBoxIntersectsAndCovers() {
+        GeoRegion box = GeoRegion.boundingBox(0.0, 0.0, 10.0, 10.0);
+
+        assertTrue(box.intersects(5.0, 15.0, 5.0, 15.0));
+        assertFalse(box.intersects(11.0, 15.0, 5.0, 15.0));
+        assertTrue(box.covers(1.0, 9.0, 1.0, 9.0));
+        assertFalse(box.covers(5.0, 15.0, 5.0, 15.0));
+    }
+
+    @Test
+    void testPolygonContains() {
+        GeoRegion square = GeoRegion.polygon(new double[]{0.0, 0.0, 10.0, 10.0}, new double[]{0.0, 10.0, 10.0, 0.0});
+        GeoRegion concave = GeoRegion.polygon(
+                new double[]{0.0, 0.0, 10.0, 10.0, 5.0, 10.0}, new double[]{0.0, 10.0, 10.0, 7.0, 5.0, 0.0});
+
+        assertTrue(square.contains(5.0, 5.0));
+        assertFalse(square.contains(5.0, 11.0));
+        assertTrue(concave.contains(2.0, 5.0));
+        assertFalse(concave.contains(8.0, 5.0));
+        assertTrue(concave.intersects(8.0, 9.0, 4.0, 6.0));
+        assertFalse(concave.covers(1.0, 2.0, 1.0, 2.0));
+    }
+
+    @Test
+    void testInvalidRegions() {
+        assertThrows(IllegalArgumentException.class, () -> GeoRegion.boundingBox(1.0, 0.0, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> GeoRegion.boundingBox(Double.NaN, 0.0, 0.0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> GeoRegion.polygon(new double[]{0.0, 1.0}, new double[]{0.0, 1.0}));
+        assertThrows(IllegalArgumentException.class, () -> GeoRegion.polygon(new double[]{0.0, 1.0, 2.0}, new double[]{0.0, 1.0}));
+        assertThrows(NullPointerException.class, () -> GeoRegion.polygon(null, new double[0]));
+    }
+}
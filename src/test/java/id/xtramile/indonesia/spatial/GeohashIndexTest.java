@@ -0,0 +1,85 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.model.Village;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashIndexTest {
+
+    @Test
+    void testEmptyIndex() {
+        GeohashIndex<Village> index = GeohashIndex.of(Collections.emptyList(), Village::getLatitude, Village::getLongitude);
+
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.size());
+        assertTrue(index.findByPrefix("qq").isEmpty());
+        assertTrue(GeohashIndex.<Village>empty().findByPrefix("").isEmpty());
+    }
+
+    @Test
+    void testFindByPrefix() {
+        Village menteng = new Village(3171061001L, 317106L, "MENTENG", -6.2009, 106.8339);
+        Village sukarasa = new Village(3273011001L, 327301L, "SUKARASA", -6.8742, 107.5854);
+        GeohashIndex<Village> index = GeohashIndex.of(Arrays.asList(sukarasa, menteng), Village::getLatitude, Village::getLongitude);
+
+        assertEquals(Arrays.asList(menteng, sukarasa), index.findByPrefix("qq"));
+        assertEquals(Collections.singletonList(menteng), index.findByPrefix("qqguxp4j4k3w"));
+        assertEquals(Collections.singletonList(sukarasa), index.findByPrefix("QQU8"));
+        assertTrue(index.findByPrefix("qqgv").isEmpty());
+        assertTrue(index.findByPrefix("qqga").isEmpty());
+        assertTrue(index.findByPrefix("qqguxp4j4k3w0").isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> index.findByPrefix("qq").clear());
+        assertThrows(NullPointerException.class, () -> index.findByPrefix(null));
+    }
+
+    @Test
+    void testFindByPrefixWithGeohash() {
+        Village menteng = new Village(3171061001L, 317106L, "MENTENG", -6.2009, 106.8339);
+        Village sukarasa = new Village(3273011001L, 327301L, "SUKARASA", -6.8742, 107.5854);
+        GeohashIndex<Village> index = GeohashIndex.of(Arrays.asList(sukarasa, menteng), Village::getLatitude, Village::getLongitude);
+
+        List<String> geohashes = index.findByPrefix("qq", (village, geohash) -> village.getName() + "=" + geohash);
+
+        assertEquals(Arrays.asList(
+                "MENTENG=" + Geohash.encode(menteng.getLatitude(), menteng.getLongitude(), Geohash.MAX_PRECISION),
+                "SUKARASA=" + Geohash.encode(sukarasa.getLatitude(), sukarasa.getLongitude(), Geohash.MAX_PRECISION)),
+                geohashes);
+        assertTrue(index.findByPrefix("qqga!", (village, geohash) -> geohash).isEmpty());
+        assertThrows(NullPointerException.class, () -> index.findByPrefix("qq", null));
+    }
+
+    @Test
+    void testFindByPrefixMatchesFilteredScan() {
+        Random random = new Random(23);
+        List<Village> villages = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            villages.add(new Village(i, 1L, "V" + i, -11.0 + random.nextDouble() * 17.0, 95.0 + random.nextDouble() * 46.0));
+        }
+        GeohashIndex<Village> index = GeohashIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        for (int precision = 1; precision <= 4; precision++) {
+            for (int i = 0; i < 50; i++) {
+                Village probe = villages.get(random.nextInt(villages.size()));
+                String prefix = Geohash.encode(probe.getLatitude(), probe.getLongitude(), precision);
+
+                List<Village> expected = villages.stream()
+                        .filter(village -> Geohash.encode(village.getLatitude(), village.getLongitude(), 12).startsWith(prefix))
+                        .collect(Collectors.toList());
+                List<Village> actual = index.findByPrefix(prefix);
+
+                assertEquals(expected.size(), actual.size());
+                assertTrue(actual.containsAll(expected));
+            }
+        }
+
+        assertEquals(3000, index.findByPrefix("").size());
+    }
+}
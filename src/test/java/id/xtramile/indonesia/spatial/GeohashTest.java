@@ -0,0 +1,38 @@
+package id.xtramile.indonesia.spatial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void testEncodeKnownLocations() {
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("qqguxp4j4k3w", Geohash.encode(-6.2009, 106.8339, 12));
+        assertEquals("qqu8bht6cs0x", Geohash.encode(-6.8742, 107.5854, 12));
+        assertEquals("qqgux", Geohash.encode(-6.2009, 106.8339, 5));
+    }
+
+    @Test
+    void testEncodeEdges() {
+        assertEquals("s00000000000", Geohash.encode(0.0, 0.0, 12));
+        assertEquals("000000000000", Geohash.encode(-90.0, -180.0, 12));
+        assertEquals("zzzzzzzzzzzz", Geohash.encode(90.0, 180.0, 12));
+    }
+
+    @Test
+    void testEncodeRejectsInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0.0, 0.0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0.0, 0.0, 13));
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(0L, Geohash.parse(""));
+        assertEquals(Geohash.cell(-6.2009, 106.8339), Geohash.parse("qqguxp4j4k3w"));
+        assertEquals(Geohash.parse("qqgux"), Geohash.parse("QQGUX"));
+        assertEquals(-1L, Geohash.parse("qqga"));
+        assertEquals(-1L, Geohash.parse("qqguxp4j4k3w0"));
+    }
+}
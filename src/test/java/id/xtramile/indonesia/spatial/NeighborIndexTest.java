@@ -0,0 +1,94 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.model.District;
+import id.xtramile.indonesia.util.DistanceCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NeighborIndexTest {
+
+    @Test
+    void testEmptyIndex() {
+        assertEquals(0, NeighborIndex.empty().size());
+        assertTrue(NeighborIndex.empty().neighbors(110101L, 3).isEmpty());
+    }
+
+    @Test
+    void testNeighborsInSmallIndex() {
+        District gambir = new District(317101L, 3171L, "GAMBIR", -6.1751, 106.8208);
+        District menteng = new District(317106L, 3171L, "MENTENG", -6.1960, 106.8320);
+        District sukasari = new District(327301L, 3273L, "SUKASARI", -6.8742, 107.5854);
+        NeighborIndex<District> index = index(Arrays.asList(sukasari, gambir, menteng), 2);
+
+        assertEquals(3, index.size());
+        assertEquals(2, index.precomputedNeighbors());
+        assertEquals(Arrays.asList(menteng, sukasari), index.neighbors(317101L, 2));
+        assertEquals(Collections.singletonList(gambir), index.neighbors(317106L, 1));
+        assertEquals(Arrays.asList(menteng, gambir), index.neighbors(327301L, 5));
+        assertTrue(index.neighbors(317101L, 0).isEmpty());
+        assertTrue(index.neighbors(999999L, 1).isEmpty());
+    }
+
+    @Test
+    void testNeighborsMatchSortedScan() {
+        Random random = new Random(31);
+        List<District> districts = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            districts.add(new District(110101L + i, 1101L, "D" + i, -11.0 + random.nextDouble() * 17.0, 95.0 + random.nextDouble() * 46.0));
+        }
+        NeighborIndex<District> index = index(districts, 8);
+
+        for (int i = 0; i < 200; i++) {
+            District district = districts.get(random.nextInt(districts.size()));
+            for (int count : new int[]{3, 8, 20}) {
+                List<Double> expected = districts.stream()
+                        .filter(other -> other != district)
+                        .map(other -> distance(district, other))
+                        .sorted()
+                        .limit(count)
+                        .collect(Collectors.toList());
+                List<Double> actual = index.neighbors(district.getCode(), count).stream()
+                        .map(other -> distance(district, other))
+                        .collect(Collectors.toList());
+
+                assertEquals(expected.size(), actual.size());
+                for (int j = 0; j < expected.size(); j++) {
+                    assertEquals(expected.get(j), actual.get(j), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testNeighborsExcludeSelfAmongDuplicates() {
+        List<District> districts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            districts.add(new District(110101L + i, 1101L, "D" + i, -6.2, 106.8));
+        }
+        NeighborIndex<District> index = index(districts, 3);
+
+        for (District district : districts) {
+            List<District> neighbors = index.neighbors(district.getCode(), 3);
+            assertEquals(3, neighbors.size());
+            assertFalse(neighbors.contains(district));
+            assertEquals(9, index.neighbors(district.getCode(), 20).size());
+            assertFalse(index.neighbors(district.getCode(), 20).contains(district));
+        }
+    }
+
+    private static double distance(District from, District to) {
+        return DistanceCalculator.distanceBetweenCoordinates(from.getLatitude(), from.getLongitude(), to.getLatitude(), to.getLongitude());
+    }
+
+    private static NeighborIndex<District> index(List<District> districts, int k) {
+        return NeighborIndex.of(SpatialIndex.of(districts, District::getLatitude, District::getLongitude), District::getCode, k);
+    }
+}
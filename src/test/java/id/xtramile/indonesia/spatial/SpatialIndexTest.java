@@ -0,0 +1,235 @@
+package id.xtramile.indonesia.spatial;
+
+import id.xtramile.indonesia.model.Village;
+import id.xtramile.indonesia.util.DistanceCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialIndexTest {
+
+    @Test
+    void testEmptyIndex() {
+        SpatialIndex<Village> index = SpatialIndex.of(Collections.emptyList(), Village::getLatitude, Village::getLongitude);
+
+        assertTrue(index.isEmpty());
+        assertEquals(0, index.size());
+        assertNull(index.nearest(-6.2, 106.8));
+        assertNull(SpatialIndex.<Village>empty().nearest(-6.2, 106.8));
+    }
+
+    @Test
+    void testNearestInSmallIndex() {
+        Village menteng = new Village(3171061001L, 317106L, "MENTENG", -6.2009, 106.8339);
+        Village sukarasa = new Village(3273011001L, 327301L, "SUKARASA", -6.8742, 107.5854);
+        SpatialIndex<Village> index = SpatialIndex.of(Arrays.asList(menteng, sukarasa), Village::getLatitude, Village::getLongitude);
+
+        assertEquals(2, index.size());
+        assertSame(menteng, index.nearest(-6.17, 106.82));
+        assertSame(sukarasa, index.nearest(-6.9, 107.6));
+    }
+
+    @Test
+    void testNearestMatchesLinearScan() {
+        Random random = new Random(42);
+        List<Village> villages = randomVillages(random, 5000);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        for (int i = 0; i < 500; i++) {
+            double latitude = -11.0 + random.nextDouble() * 17.0;
+            double longitude = 95.0 + random.nextDouble() * 46.0;
+
+            Village expected = DistanceCalculator.findNearestVillage(latitude, longitude, villages);
+            Village actual = index.nearest(latitude, longitude);
+
+            assertEquals(
+                    DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, expected.getLatitude(), expected.getLongitude()),
+                    DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, actual.getLatitude(), actual.getLongitude()),
+                    1e-9);
+        }
+    }
+
+    @Test
+    void testNearestAcrossAntimeridian() {
+        Village east = new Village(1L, 1L, "EAST", 0.0, 179.9);
+        Village west = new Village(2L, 1L, "WEST", 0.0, -170.0);
+        SpatialIndex<Village> index = SpatialIndex.of(Arrays.asList(east, west), Village::getLatitude, Village::getLongitude);
+
+        assertSame(east, index.nearest(0.0, -179.9));
+    }
+
+    @Test
+    void testNearestToNonFiniteLocation() {
+        Village menteng = new Village(3171061001L, 317106L, "MENTENG", -6.19, 106.83);
+        SpatialIndex<Village> index = SpatialIndex.of(Collections.singletonList(menteng), Village::getLatitude, Village::getLongitude);
+
+        assertNull(index.nearest(Double.NaN, 106.8));
+        assertNull(index.nearest(-6.2, Double.NaN));
+        assertNull(index.nearest(Double.POSITIVE_INFINITY, 106.8));
+        assertTrue(index.kNearest(Double.NaN, 106.8, 3).isEmpty());
+    }
+
+    @Test
+    void testDuplicateCoordinates() {
+        List<Village> villages = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            villages.add(new Village(i, 1L, "V" + i, -6.2, 106.8));
+        }
+        villages.add(new Village(100L, 1L, "FAR", 3.6, 98.7));
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        assertEquals(-6.2, index.nearest(-6.0, 106.0).getLatitude());
+        assertEquals(100L, index.nearest(3.0, 98.0).getCode());
+    }
+
+    @Test
+    void testKNearestMatchesSortedScan() {
+        Random random = new Random(11);
+        List<Village> villages = randomVillages(random, 3000);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        for (int i = 0; i < 100; i++) {
+            double latitude = -11.0 + random.nextDouble() * 17.0;
+            double longitude = 95.0 + random.nextDouble() * 46.0;
+
+            List<Double> expected = villages.stream()
+                    .map(village -> distance(latitude, longitude, village))
+                    .sorted()
+                    .limit(10)
+                    .collect(Collectors.toList());
+            List<Double> actual = index.kNearest(latitude, longitude, 10).stream()
+                    .map(village -> distance(latitude, longitude, village))
+                    .collect(Collectors.toList());
+
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j), actual.get(j), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testKNearestBounds() {
+        List<Village> villages = randomVillages(new Random(3), 20);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        assertTrue(index.kNearest(-6.2, 106.8, 0).isEmpty());
+        assertEquals(1, index.kNearest(-6.2, 106.8, 1).size());
+        assertEquals(index.nearest(-6.2, 106.8), index.kNearest(-6.2, 106.8, 1).get(0));
+        assertEquals(20, index.kNearest(-6.2, 106.8, 100).size());
+    }
+
+    @Test
+    void testWithinRadiusMatchesFilteredScan() {
+        Random random = new Random(5);
+        List<Village> villages = randomVillages(random, 3000);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        for (int i = 0; i < 100; i++) {
+            double latitude = -11.0 + random.nextDouble() * 17.0;
+            double longitude = 95.0 + random.nextDouble() * 46.0;
+            double radius = random.nextDouble() * 300.0;
+
+            List<Village> expected = villages.stream()
+                    .filter(village -> distance(latitude, longitude, village) <= radius)
+                    .collect(Collectors.toList());
+            List<Village> actual = index.withinRadius(latitude, longitude, radius);
+
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+            for (int j = 1; j < actual.size(); j++) {
+                assertTrue(distance(latitude, longitude, actual.get(j - 1)) <= distance(latitude, longitude, actual.get(j)) + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void testWithinRadiusBounds() {
+        List<Village> villages = randomVillages(new Random(8), 50);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+        Village first = villages.get(0);
+
+        assertEquals(Collections.singletonList(first), index.withinRadius(first.getLatitude(), first.getLongitude(), 0.0));
+        assertEquals(50, index.withinRadius(0.0, 0.0, 1e9).size());
+        assertTrue(index.withinRadius(0.0, 0.0, -1.0).isEmpty());
+        assertTrue(index.withinRadius(0.0, 0.0, Double.NaN).isEmpty());
+    }
+
+    @Test
+    void testWithinBoundingBoxMatchesFilteredScan() {
+        Random random = new Random(13);
+        List<Village> villages = randomVillages(random, 3000);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+
+        for (int i = 0; i < 100; i++) {
+            double minLatitude = -11.0 + random.nextDouble() * 17.0;
+            double minLongitude = 95.0 + random.nextDouble() * 46.0;
+            double maxLatitude = minLatitude + random.nextDouble() * 5.0;
+            double maxLongitude = minLongitude + random.nextDouble() * 10.0;
+            GeoRegion region = GeoRegion.boundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+
+            List<Village> expected = villages.stream()
+                    .filter(village -> village.getLatitude() >= minLatitude && village.getLatitude() <= maxLatitude)
+                    .filter(village -> village.getLongitude() >= minLongitude && village.getLongitude() <= maxLongitude)
+                    .collect(Collectors.toList());
+            List<Village> actual = index.within(region).collect(Collectors.toList());
+
+            assertEquals(expected.size(), actual.size());
+            assertTrue(actual.containsAll(expected));
+        }
+
+        assertEquals(3000, index.within(GeoRegion.boundingBox(-90.0, -180.0, 90.0, 180.0)).count());
+    }
+
+    @Test
+    void testWithinPolygonMatchesFilteredScan() {
+        List<Village> villages = randomVillages(new Random(17), 3000);
+        SpatialIndex<Village> index = SpatialIndex.of(villages, Village::getLatitude, Village::getLongitude);
+        GeoRegion triangle = GeoRegion.polygon(new double[]{-10.0, -10.0, 5.0}, new double[]{95.0, 141.0, 95.0});
+
+        List<Village> expected = villages.stream()
+                .filter(village -> village.getLatitude() >= -10.0)
+                .filter(village -> (village.getLatitude() + 10.0) / 15.0 + (village.getLongitude() - 95.0) / 46.0 < 1.0)
+                .collect(Collectors.toList());
+        List<Village> actual = index.within(triangle).collect(Collectors.toList());
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected.size(), actual.size());
+        assertTrue(actual.containsAll(expected));
+    }
+
+    @Test
+    void testWithinBoundingBoxAcrossAntimeridian() {
+        Village east = new Village(1L, 1L, "EAST", 0.0, 179.9);
+        Village west = new Village(2L, 1L, "WEST", 0.0, -179.9);
+        Village middle = new Village(3L, 1L, "MIDDLE", 0.0, 0.0);
+        SpatialIndex<Village> index = SpatialIndex.of(Arrays.asList(east, west, middle), Village::getLatitude, Village::getLongitude);
+
+        List<Village> actual = index.within(GeoRegion.boundingBox(-1.0, 179.0, 1.0, -179.0)).collect(Collectors.toList());
+
+        assertEquals(2, actual.size());
+        assertTrue(actual.containsAll(Arrays.asList(east, west)));
+        assertEquals(0, SpatialIndex.<Village>empty().within(GeoRegion.boundingBox(-1.0, 179.0, 1.0, -179.0)).count());
+        assertThrows(NullPointerException.class, () -> index.within(null));
+    }
+
+    private static double distance(double latitude, double longitude, Village village) {
+        return DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, village.getLatitude(), village.getLongitude());
+    }
+
+    private static List<Village> randomVillages(Random random, int count) {
+        List<Village> villages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            villages.add(new Village(i, 1L, "V" + i, -11.0 + random.nextDouble() * 17.0, 95.0 + random.nextDouble() * 46.0));
+        }
+
+        return villages;
+    }
+}
@@ -0,0 +1,58 @@
+package id.xtramile.indonesia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodeBatchTest {
+
+    @Test
+    void testSmallBatch() {
+        BitSet even = CodeBatch.test(new long[]{2L, 3L, 4L, 5L, 6L}, code -> code % 2 == 0);
+
+        assertEquals(3, even.cardinality());
+        assertTrue(even.get(0));
+        assertFalse(even.get(1));
+        assertTrue(even.get(4));
+    }
+
+    @Test
+    void testEmptyBatch() {
+        assertTrue(CodeBatch.test(new long[0], code -> true).isEmpty());
+    }
+
+    @Test
+    void testBatchSizesAroundWordBoundaries() {
+        for (int length : new int[]{1, 63, 64, 65, 127, 128, 129}) {
+            long[] codes = new long[length];
+
+            BitSet all = CodeBatch.test(codes, code -> true);
+
+            assertEquals(length, all.cardinality());
+            assertEquals(length, all.length());
+        }
+    }
+
+    @Test
+    void testLargeBatchMatchesPredicate() {
+        long[] codes = new long[200_001];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = i;
+        }
+
+        BitSet multiplesOfThree = CodeBatch.test(codes, code -> code % 3 == 0);
+
+        assertEquals(66_667, multiplesOfThree.cardinality());
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals(i % 3 == 0, multiplesOfThree.get(i));
+        }
+    }
+
+    @Test
+    void testNullArguments() {
+        assertThrows(NullPointerException.class, () -> CodeBatch.test(null, code -> true));
+        assertThrows(NullPointerException.class, () -> CodeBatch.test(new long[1], null));
+    }
+}
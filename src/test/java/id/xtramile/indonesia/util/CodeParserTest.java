@@ -0,0 +1,139 @@
+package id.xtramile.indonesia.util;
+
+import id.xtramile.indonesia.model.AdministrativeLevel;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CodeParserTest {
+
+    @Test
+    void testParsePlainCodes() {
+        assertEquals(32L, CodeParser.parse("32"));
+        assertEquals(3273L, CodeParser.parse("3273"));
+        assertEquals(327301L, CodeParser.parse("327301"));
+        assertEquals(3273011001L, CodeParser.parse("3273011001"));
+    }
+
+    @Test
+    void testParseFormattedCodes() {
+        assertEquals(3273011001L, CodeParser.parse("32.73.01.1001"));
+        assertEquals(3273011001L, CodeParser.parse("32-73-01-1001"));
+        assertEquals(3273011001L, CodeParser.parse(" 32.73.01.1001 "));
+        assertEquals(3273011001L, CodeParser.parse("\"32.73.01.1001\""));
+        assertEquals(327301L, CodeParser.parse("32.73.01"));
+        assertEquals(3273L, CodeParser.parse("32.73\t"));
+        assertEquals(3273011001L, CodeParser.parse(new StringBuilder("32.73.01.1001")));
+    }
+
+    @Test
+    void testParseMalformedCodes() {
+        assertEquals(CodeParser.INVALID, CodeParser.parse(""));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("   "));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("3"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("327"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("32730110011"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("99999999999999999999"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("327.3011001"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("32..73"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse(".3273"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("32.73."));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("32 73"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("32a73"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("-3273"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("0011"));
+        assertEquals(CodeParser.INVALID, CodeParser.parse("1000"));
+        assertThrows(NullPointerException.class, () -> CodeParser.parse(null));
+    }
+
+    @Test
+    void testParseRegion() {
+        String line = "3273011001,327301,SUKARASA";
+
+        assertEquals(3273011001L, CodeParser.parse(line, 0, 10));
+        assertEquals(327301L, CodeParser.parse(line, 11, 17));
+        assertEquals(CodeParser.INVALID, CodeParser.parse(line, 11, 18));
+        assertThrows(IndexOutOfBoundsException.class, () -> CodeParser.parse(line, 5, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> CodeParser.parse(line, 0, 100));
+    }
+
+    @Test
+    void testParsedLevelMatchesDigitCount() {
+        assertEquals(AdministrativeLevel.PROVINCE, CodeValidator.levelOf(CodeParser.parse("32")));
+        assertEquals(AdministrativeLevel.CITY, CodeValidator.levelOf(CodeParser.parse("32.73")));
+        assertEquals(AdministrativeLevel.DISTRICT, CodeValidator.levelOf(CodeParser.parse("32.73.01")));
+        assertEquals(AdministrativeLevel.VILLAGE, CodeValidator.levelOf(CodeParser.parse("32.73.01.1001")));
+        assertNull(CodeValidator.levelOf(CodeParser.INVALID));
+    }
+
+    @Test
+    void testParseAll() {
+        long[] codes = CodeParser.parseAll(Arrays.asList("32.73", "garbage", new StringBuilder("3273011001")));
+
+        assertArrayEquals(new long[]{3273L, CodeParser.INVALID, 3273011001L}, codes);
+        assertEquals(0, CodeParser.parseAll(Arrays.<String>asList()).length);
+        assertThrows(NullPointerException.class, () -> CodeParser.parseAll(null));
+    }
+
+    @Test
+    void testParseColumn() {
+        String csv = "name,code,postal\r\n"
+                + "\"Sukarasa, Bandung\",32.73.01.1001,40152\r\n"
+                + "\n"
+                + "Menteng;x,3171061001,10310\n"
+                + "Short\n"
+                + "Gegerkalong,\"3273011002\",40153";
+
+        long[] codes = CodeParser.parseColumn(csv, ',', 1);
+
+        assertArrayEquals(new long[]{CodeParser.INVALID, 3273011001L, 3171061001L, CodeParser.INVALID, 3273011002L}, codes);
+        assertArrayEquals(new long[]{CodeParser.INVALID, 3273L}, CodeParser.parseColumn("a;b\n32;3273", ';', 1));
+        assertEquals(0, CodeParser.parseColumn("", ',', 0).length);
+        assertThrows(NullPointerException.class, () -> CodeParser.parseColumn(null, ',', 0));
+        assertThrows(IllegalArgumentException.class, () -> CodeParser.parseColumn("32", ',', -1));
+    }
+
+    @Test
+    void testParseColumnGrowsBeyondInitialCapacity() {
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            csv.append(3273011001L + i).append(",X\n");
+        }
+
+        long[] codes = CodeParser.parseColumn(csv, ',', 0);
+
+        assertEquals(1000, codes.length);
+        for (int i = 0; i < codes.length; i++) {
+            assertEquals(3273011001L + i, codes[i]);
+        }
+    }
+
+    @Test
+    void testParseDoesNotAllocate() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        String[] texts = {"32.73.01.1001", " 3273011001 ", "32-73", "garbage"};
+        long checksum = 0L;
+        for (int i = 0; i < 100_000; i++) {
+            checksum += CodeParser.parse(texts[i & 3]);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            checksum += CodeParser.parse(texts[i & 3]);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertNotEquals(0L, checksum);
+        // Any allocation per parse would cost at least 16 bytes; the slack absorbs JIT and measurement noise
+        assertTrue(allocated < 100_000, "Parsing 100000 codes should not allocate, allocated: " + allocated + " bytes");
+    }
+}
@@ -1,7 +1,11 @@
 package id.xtramile.indonesia.util;
 
+import id.xtramile.indonesia.model.AdministrativeLevel;
 import org.junit.jupiter.api.Test;
 
+import java.util.BitSet;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -120,5 +124,66 @@ class CodeValidatorTest {
         assertFalse(CodeValidator.isVillageCodeBelongsToDistrict(1101011001L, 317401L)); // Wrong district
         assertFalse(CodeValidator.isVillageCodeBelongsToDistrict(110101L, 110101L)); // Invalid village code
     }
-}
 
+    @Test
+    void testPrimitiveOverloads() {
+        assertTrue(CodeValidator.isValidProvinceCode(31));
+        assertTrue(CodeValidator.isValidCityCode(3174));
+        assertTrue(CodeValidator.isValidDistrictCode(317401));
+        assertTrue(CodeValidator.isValidVillageCode(3174011001L));
+
+        assertFalse(CodeValidator.isValidProvinceCode(-31));
+        assertFalse(CodeValidator.isValidCityCode(Long.MIN_VALUE));
+        assertFalse(CodeValidator.isValidDistrictCode(Long.MAX_VALUE));
+        assertFalse(CodeValidator.isValidVillageCode(0));
+    }
+
+    @Test
+    void testIsValidCode() {
+        assertTrue(CodeValidator.isValidCode(AdministrativeLevel.PROVINCE, 31L));
+        assertTrue(CodeValidator.isValidCode(AdministrativeLevel.CITY, 3174L));
+        assertTrue(CodeValidator.isValidCode(AdministrativeLevel.DISTRICT, 317401L));
+        assertTrue(CodeValidator.isValidCode(AdministrativeLevel.VILLAGE, 3174011001L));
+        assertFalse(CodeValidator.isValidCode(AdministrativeLevel.VILLAGE, 317401L));
+        assertThrows(NullPointerException.class, () -> CodeValidator.isValidCode(null, 31L));
+    }
+
+    @Test
+    void testValidateCodes() {
+        long[] codes = {31L, 3174L, 10L, 99L, -11L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        BitSet valid = CodeValidator.validateCodes(AdministrativeLevel.PROVINCE, codes);
+
+        assertEquals(BitSet.valueOf(new long[]{0b1001L}), valid);
+        assertTrue(CodeValidator.validateCodes(AdministrativeLevel.CITY, new long[0]).isEmpty());
+        assertThrows(NullPointerException.class, () -> CodeValidator.validateCodes(null, codes));
+        assertThrows(NullPointerException.class, () -> CodeValidator.validateCodes(AdministrativeLevel.CITY, null));
+    }
+
+    @Test
+    void testValidateCodesMatchesSingleValidationInParallel() {
+        Random random = new Random(41);
+        long[] codes = new long[100_003];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = random.nextBoolean() ? 1_000_000_000L + random.nextInt(Integer.MAX_VALUE) * 5L : random.nextLong();
+        }
+
+        for (AdministrativeLevel level : AdministrativeLevel.values()) {
+            BitSet valid = CodeValidator.validateCodes(level, codes);
+
+            for (int i = 0; i < codes.length; i++) {
+                assertEquals(CodeValidator.isValidCode(level, codes[i]), valid.get(i));
+            }
+        }
+    }
+
+    @Test
+    void testLevelOf() {
+        assertEquals(AdministrativeLevel.PROVINCE, CodeValidator.levelOf(32L));
+        assertEquals(AdministrativeLevel.CITY, CodeValidator.levelOf(3273L));
+        assertEquals(AdministrativeLevel.DISTRICT, CodeValidator.levelOf(327301L));
+        assertEquals(AdministrativeLevel.VILLAGE, CodeValidator.levelOf(3273011001L));
+        assertNull(CodeValidator.levelOf(327L));
+        assertNull(CodeValidator.levelOf(-32L));
+    }
+}
@@ -1,5 +1,6 @@
 package id.xtramile.indonesia.util;
 
+import id.xtramile.indonesia.constant.Constant;
 import id.xtramile.indonesia.model.*;
 import org.junit.jupiter.api.Test;
 
@@ -7,6 +8,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -177,5 +179,98 @@ class DistanceCalculatorTest {
 
         assertEquals(0.0, distance, 0.1);
     }
-}
 
+    @Test
+    void testFindNearestVillage_MatchesExactDistanceRanking() {
+        Random random = new Random(17);
+        List<Village> villages = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            villages.add(new Village(i, 1L, "Village " + i, -11.0 + random.nextDouble() * 17.0, 95.0 + random.nextDouble() * 46.0));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            double latitude = -11.0 + random.nextDouble() * 17.0;
+            double longitude = 95.0 + random.nextDouble() * 46.0;
+
+            Village expected = null;
+            double minDistance = Double.MAX_VALUE;
+            for (Village village : villages) {
+                double distance = DistanceCalculator.distanceBetweenCoordinates(latitude, longitude, village.getLatitude(), village.getLongitude());
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    expected = village;
+                }
+            }
+
+            assertEquals(expected, DistanceCalculator.findNearestVillage(latitude, longitude, villages));
+        }
+    }
+
+    @Test
+    void testDistanceMatrix_MatchesPairwiseDistances() {
+        double[] fromLatitudes = {JAKARTA_LAT, BANDUNG_LAT};
+        double[] fromLongitudes = {JAKARTA_LON, BANDUNG_LON};
+        double[] toLatitudes = {JAKARTA_LAT, BANDUNG_LAT, 3.5952};
+        double[] toLongitudes = {JAKARTA_LON, BANDUNG_LON, 98.6722};
+
+        double[] matrix = DistanceCalculator.distanceMatrix(fromLatitudes, fromLongitudes, toLatitudes, toLongitudes);
+
+        assertEquals(6, matrix.length);
+        for (int i = 0; i < fromLatitudes.length; i++) {
+            for (int j = 0; j < toLatitudes.length; j++) {
+                double expected = DistanceCalculator.distanceBetweenCoordinates(
+                        fromLatitudes[i], fromLongitudes[i], toLatitudes[j], toLongitudes[j]);
+                assertEquals(expected, matrix[i * toLatitudes.length + j], 1e-6);
+            }
+        }
+        assertEquals(0.0, matrix[0], 1e-9);
+    }
+
+    @Test
+    void testDistanceMatrix_LargeParallel() {
+        Random random = new Random(23);
+        int rows = 300;
+        int columns = 700;
+        double[] fromLatitudes = new double[rows];
+        double[] fromLongitudes = new double[rows];
+        double[] toLatitudes = new double[columns];
+        double[] toLongitudes = new double[columns];
+        for (int i = 0; i < rows; i++) {
+            fromLatitudes[i] = -11.0 + random.nextDouble() * 17.0;
+            fromLongitudes[i] = 95.0 + random.nextDouble() * 46.0;
+        }
+        for (int j = 0; j < columns; j++) {
+            toLatitudes[j] = -11.0 + random.nextDouble() * 17.0;
+            toLongitudes[j] = 95.0 + random.nextDouble() * 46.0;
+        }
+
+        double[] matrix = new double[rows * columns + 1];
+        matrix[rows * columns] = -1.0;
+        DistanceCalculator.distanceMatrix(fromLatitudes, fromLongitudes, toLatitudes, toLongitudes, matrix);
+
+        for (int i = 0; i < rows; i += 7) {
+            for (int j = 0; j < columns; j += 13) {
+                double expected = DistanceCalculator.distanceBetweenCoordinates(
+                        fromLatitudes[i], fromLongitudes[i], toLatitudes[j], toLongitudes[j]);
+                assertEquals(expected, matrix[i * columns + j], 1e-6);
+            }
+        }
+        assertEquals(-1.0, matrix[rows * columns]);
+    }
+
+    @Test
+    void testDistanceMatrix_InvalidArguments() {
+        double[] one = {JAKARTA_LAT};
+        double[] two = {JAKARTA_LAT, BANDUNG_LAT};
+
+        assertEquals(0, DistanceCalculator.distanceMatrix(new double[0], new double[0], two, two).length);
+        assertThrows(IllegalArgumentException.class, () -> DistanceCalculator.distanceMatrix(one, two, two, two));
+        assertThrows(IllegalArgumentException.class, () -> DistanceCalculator.distanceMatrix(two, two, one, two));
+        assertThrows(IllegalArgumentException.class, () -> DistanceCalculator.distanceMatrix(two, two, two, two, new double[3]));
+
+        double[] many = new double[50000];
+        IllegalArgumentException tooLarge = assertThrows(IllegalArgumentException.class,
+                () -> DistanceCalculator.distanceMatrix(many, many, many, many));
+        assertEquals(Constant.ERROR_DISTANCE_MATRIX_TOO_LARGE, tooLarge.getMessage());
+    }
+}
@@ -0,0 +1,95 @@
+package id.xtramile.indonesia.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndonesiaExecutorsTest {
+
+    @Test
+    void testVirtualThreadAvailabilityMatchesRuntime() throws Exception {
+        boolean available = canCreateVirtualThreadExecutor();
+
+        assertEquals(available, IndonesiaExecutors.isVirtualThreadAvailable());
+        if (available) {
+            ExecutorService executor = IndonesiaExecutors.newVirtualThreadPerTaskExecutor();
+            try {
+                Method isVirtual = Thread.class.getMethod("isVirtual");
+                assertEquals(Boolean.TRUE, executor.submit(() -> isVirtual.invoke(Thread.currentThread())).get(5, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        } else {
+            assertThrows(UnsupportedOperationException.class, IndonesiaExecutors::newVirtualThreadPerTaskExecutor);
+        }
+    }
+
+    @Test
+    void testBulkExecutorRunsTasks() throws Exception {
+        ExecutorService executor = IndonesiaExecutors.newBulkExecutor();
+        try {
+            CompletableFuture<Boolean> daemon = CompletableFuture.supplyAsync(() -> Thread.currentThread().isDaemon(), executor);
+
+            assertTrue(daemon.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void testFanOutPreservesOrder() throws Exception {
+        ExecutorService executor = IndonesiaExecutors.newBulkExecutor();
+        try {
+            List<String> codes = Arrays.asList("11", "3171", "317106", "3171061001");
+
+            List<Integer> lengths = IndonesiaExecutors.fanOut(codes, String::length, executor).get(10, TimeUnit.SECONDS);
+
+            assertEquals(Arrays.asList(2, 4, 6, 10), lengths);
+            assertTrue(IndonesiaExecutors.fanOut(Collections.<String>emptyList(), String::length, executor).get().isEmpty());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testFanOutFailure() {
+        ExecutorService executor = IndonesiaExecutors.newBulkExecutor();
+        try {
+            CompletableFuture<List<Long>> parsed = IndonesiaExecutors.fanOut(Arrays.asList("31", "x"), Long::parseLong, executor);
+
+            CompletionException thrown = assertThrows(CompletionException.class, parsed::join);
+            assertInstanceOf(NumberFormatException.class, thrown.getCause());
+            assertThrows(NullPointerException.class, () -> IndonesiaExecutors.<String, Long>fanOut(null, Long::parseLong, executor));
+            assertThrows(NullPointerException.class, () -> IndonesiaExecutors.fanOut(Collections.<String>emptyList(), null, executor));
+            assertThrows(NullPointerException.class, () -> IndonesiaExecutors.fanOut(Collections.<String>emptyList(), Long::parseLong, null));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Probes the runtime directly: virtual threads exist from Java 21, or on Java 19 and 20 with
+     * preview features enabled.
+     */
+    private static boolean canCreateVirtualThreadExecutor() {
+        try {
+            ((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)).shutdown();
+            return true;
+
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return false;
+        }
+    }
+}